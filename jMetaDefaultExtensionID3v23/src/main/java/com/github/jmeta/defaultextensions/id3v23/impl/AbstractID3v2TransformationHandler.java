@@ -3,11 +3,19 @@ package com.github.jmeta.defaultextensions.id3v23.impl;
 
 import java.nio.ByteBuffer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jmeta.library.datablocks.api.exceptions.BinaryValueConversionException;
 import com.github.jmeta.library.datablocks.api.services.DataBlockFactory;
 import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
 import com.github.jmeta.library.datablocks.api.services.ExtendedDataBlockFactory;
 import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.Field;
+import com.github.jmeta.library.datablocks.api.types.Header;
 import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.dataformats.api.types.Flags;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -17,6 +25,8 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
 // TODO: Proper testing required
 public abstract class AbstractID3v2TransformationHandler {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractID3v2TransformationHandler.class);
+
 	private static final int MAX_ID3V2_PAYLOAD_SIZE = (1 << 28) - 1;
 
 	private final ID3v2TransformationType transformationType;
@@ -65,48 +75,142 @@ public abstract class AbstractID3v2TransformationHandler {
 
 		Payload payload = container.getPayload();
 
-		if (payload.getSize() > AbstractID3v2TransformationHandler.MAX_ID3V2_PAYLOAD_SIZE) {
-			throw new IllegalStateException("The size of an ID3v2 container must not exceed 2^28-1 bytes");
-		}
+		ByteBuffer transformedPayloadBytes = transformRawBytes(readPayloadBytes(payload));
 
-		// Intentional cast to int due to size limitation of ID3v2 containers to 2^28-1
-		int size = (int) payload.getSize();
+		payload.setBytes(new byte[][] { AbstractID3v2TransformationHandler.toArray(transformedPayloadBytes) });
 
-		ByteBuffer payloadBytes = payload.getBytes(container.getOffset(), size);
-		byte[][] transformedPayloadBytes = transformRawBytes(payloadBytes);
+		return getDataBlockFactory().createPersistedContainer(container.getId(), container.getSequenceNumber(),
+			container.getParent(), container.getOffset(), container.getHeaders(), payload, container.getFooters(),
+			reader, container.getContainerContext());
+	}
 
-		payload.setBytes(transformedPayloadBytes);
+	public Container untransform(Container container, DataBlockReader reader) {
+		Reject.ifNull(container, "container");
+		Reject.ifFalse(requiresUntransform(container), "requiresUntransform(container)");
+
+		Payload payload = container.getPayload();
+
+		ByteBuffer untransformedPayloadBytes = untransformPayloadBytes(container, readPayloadBytes(payload));
+
+		payload.setBytes(new byte[][] { AbstractID3v2TransformationHandler.toArray(untransformedPayloadBytes) });
 
 		return getDataBlockFactory().createPersistedContainer(container.getId(), container.getSequenceNumber(),
 			container.getParent(), container.getOffset(), container.getHeaders(), payload, container.getFooters(),
 			reader, container.getContainerContext());
 	}
 
-	protected abstract byte[][] transformRawBytes(ByteBuffer payloadBytes);
+	/**
+	 * Untransforms the given payload bytes of the given {@link Container}. This
+	 * allows to chain several transformations without re-reading the payload from
+	 * the medium in between.
+	 *
+	 * @param container    The {@link Container} the payload bytes belong to, must
+	 *                     not be null and must require untransformation
+	 * @param payloadBytes The (still transformed) payload bytes from their
+	 *                     position to their limit, must not be null. Their
+	 *                     position is not changed.
+	 * @return The untransformed payload bytes, from position 0 to the limit
+	 */
+	public ByteBuffer untransformPayloadBytes(Container container, ByteBuffer payloadBytes) {
+		Reject.ifNull(container, "container");
+		Reject.ifNull(payloadBytes, "payloadBytes");
 
-	public Container untransform(Container container, DataBlockReader reader) {
+		return untransformRawBytes(payloadBytes);
+	}
 
+	/**
+	 * Tells whether the flag with the given name is set in the flags field of the
+	 * first header of the given {@link Container}. The headers of both ID3v2 tags
+	 * and frames have such a field with the local id
+	 * {@link DataBlockId#DEFAULT_FIELD_FLAGS_ID}. It is searched by local id, as
+	 * the field ids of the frames differ per frame id.
+	 *
+	 * @param container The {@link Container}, must not be null
+	 * @param flagName  The name of the flag
+	 * @return true if the flag is set, false if it is not set or the first header
+	 *         has no flags field defining it
+	 */
+	protected static boolean isFirstHeaderFlagSet(Container container, String flagName) {
 		Reject.ifNull(container, "container");
-		Reject.ifFalse(requiresUntransform(container), "requiresUntransform(container)");
 
-		Payload payload = container.getPayload();
+		if (container.getHeaders().size() == 0) {
+			return false;
+		}
 
+		Header firstHeader = container.getHeaders().get(0);
+
+		for (int i = 0; i < firstHeader.getFields().size(); ++i) {
+			Field<?> field = firstHeader.getFields().get(i);
+
+			if (field.getId().getLocalId().equals(DataBlockId.DEFAULT_FIELD_FLAGS_ID)) {
+				try {
+					Flags flags = (Flags) field.getInterpretedValue();
+
+					return flags.getSpecification().hasFlag(flagName) && flags.getFlag(flagName);
+				} catch (BinaryValueConversionException e) {
+					AbstractID3v2TransformationHandler.LOGGER.warn(
+						"Field conversion from binary to interpreted value failed for field id <%1$s>. Exception see below.",
+						field.getId());
+					AbstractID3v2TransformationHandler.LOGGER.error("isFirstHeaderFlagSet", e);
+					return false;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Transforms the given bytes.
+	 *
+	 * @param payloadBytes The bytes to transform from their position to their
+	 *                     limit. Their position is not changed.
+	 * @return The transformed bytes, from position 0 to the limit
+	 */
+	protected abstract ByteBuffer transformRawBytes(ByteBuffer payloadBytes);
+
+	/**
+	 * Untransforms the given bytes.
+	 *
+	 * @param payloadBytes The bytes to untransform from their position to their
+	 *                     limit. Their position is not changed.
+	 * @return The untransformed bytes, from position 0 to the limit
+	 */
+	protected abstract ByteBuffer untransformRawBytes(ByteBuffer payloadBytes);
+
+	/**
+	 * Reads all bytes of the given {@link Payload}.
+	 *
+	 * @param payload The {@link Payload}
+	 * @return All bytes of the {@link Payload}
+	 */
+	private ByteBuffer readPayloadBytes(Payload payload) {
 		if (payload.getSize() > AbstractID3v2TransformationHandler.MAX_ID3V2_PAYLOAD_SIZE) {
 			throw new IllegalStateException("The size of an ID3v2 container must not exceed 2^28-1 bytes");
 		}
 
 		// Intentional cast to int due to size limitation of ID3v2 containers to 2^28-1
-		int size = (int) payload.getSize();
+		return payload.getBytes(payload.getOffset(), (int) payload.getSize());
+	}
+
+	/**
+	 * Returns the bytes from position to limit of the given {@link ByteBuffer} as
+	 * array, without copying them if the {@link ByteBuffer} exactly wraps its
+	 * backing array.
+	 *
+	 * @param bytes The {@link ByteBuffer}
+	 * @return The bytes as array
+	 */
+	private static byte[] toArray(ByteBuffer bytes) {
+		if (bytes.hasArray() && bytes.arrayOffset() == 0 && bytes.position() == 0
+			&& bytes.limit() == bytes.array().length) {
+			return bytes.array();
+		}
 
-		ByteBuffer payloadBytes = payload.getBytes(container.getOffset(), size);
-		byte[][] untransformedPayloadBytes = untransformRawBytes(payloadBytes);
+		byte[] byteArray = new byte[bytes.remaining()];
 
-		payload.setBytes(untransformedPayloadBytes);
+		bytes.duplicate().get(byteArray);
 
-		return getDataBlockFactory().createPersistedContainer(container.getId(), container.getSequenceNumber(),
-			container.getParent(), container.getOffset(), container.getHeaders(), payload, container.getFooters(),
-			reader, container.getContainerContext());
+		return byteArray;
 	}
-
-	protected abstract byte[][] untransformRawBytes(ByteBuffer payloadBytes);
-}
\ No newline at end of file
+}
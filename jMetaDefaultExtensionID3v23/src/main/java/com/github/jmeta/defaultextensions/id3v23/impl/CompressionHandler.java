@@ -8,31 +8,56 @@
  */
 package com.github.jmeta.defaultextensions.id3v23.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.github.jmeta.library.datablocks.api.exceptions.BinaryValueConversionException;
 import com.github.jmeta.library.datablocks.api.services.ExtendedDataBlockFactory;
 import com.github.jmeta.library.datablocks.api.types.Container;
-import com.github.jmeta.library.datablocks.api.types.Field;
-import com.github.jmeta.library.datablocks.api.types.Header;
-import com.github.jmeta.library.dataformats.api.types.Flags;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
- * {@link CompressionHandler} compresses ID3v2 frames
+ * {@link CompressionHandler} compresses ID3v2 frames. The payload of a
+ * compressed frame starts with the 4 byte big endian decompressed size,
+ * followed by the zlib compressed bytes. Compressed frames that are
+ * additionally encrypted or grouped are not supported.
  */
 public class CompressionHandler extends AbstractID3v2TransformationHandler {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(CompressionHandler.class);
+	/**
+	 * {@link ArrayRangeConsumer} consumes a range of a byte array, like
+	 * {@link Inflater#setInput(byte[], int, int)}.
+	 */
+	@FunctionalInterface
+	private interface ArrayRangeConsumer {
+
+		/**
+		 * Consumes the given range of the given byte array.
+		 *
+		 * @param bytes  The byte array
+		 * @param offset The start offset of the range
+		 * @param length The length of the range
+		 */
+		void accept(byte[] bytes, int offset, int length);
+	}
+
+	/**
+	 * ID3v2 containers cannot exceed 2^28-1 bytes, so no decompressed size bigger
+	 * than this is accepted
+	 */
+	private static final int MAX_DECOMPRESSED_BYTE_COUNT = (1 << 28) - 1;
+
+	/**
+	 * The output array is initially sized at most this multiple of the compressed
+	 * size, as the decompressed size is read from the medium and cannot be trusted
+	 * for allocating memory upfront
+	 */
+	private static final int MAX_PRESIZED_COMPRESSION_RATIO = 8;
 
-	private static final int BLOCK_SIZE = 1024;
+	private static final int DECOMPRESSED_SIZE_BYTE_LENGTH = Integer.BYTES;
 
 	/**
 	 * Creates a new {@link CompressionHandler}.
@@ -47,31 +72,8 @@ public class CompressionHandler extends AbstractID3v2TransformationHandler {
 	public boolean requiresTransform(Container container) {
 		Reject.ifNull(container, "container");
 
-		if (container.getHeaders().size() == 0) {
-			return false;
-		}
-
-		Header firstHeader = container.getHeaders().get(0);
-
-		for (int i = 0; i < firstHeader.getFields().size(); ++i) {
-			Field<?> field = firstHeader.getFields().get(i);
-
-			if (field.getId().equals(ID3v23Extension.REF_GENERIC_FRAME_HEADER_FLAGS.getId())) {
-				try {
-					Flags flags = (Flags) field.getInterpretedValue();
-
-					return flags.getFlag(ID3v23Extension.FRAME_FLAGS_COMPRESSION);
-				} catch (BinaryValueConversionException e) {
-					CompressionHandler.LOGGER.warn(
-						"Field conversion from binary to interpreted value failed for field id <%1$s>. Exception see below.",
-						field.getId());
-					CompressionHandler.LOGGER.error("requiresTransform", e);
-					return false;
-				}
-			}
-		}
-
-		return false;
+		return AbstractID3v2TransformationHandler.isFirstHeaderFlagSet(container,
+			ID3v23Extension.FRAME_FLAGS_COMPRESSION);
 	}
 
 	@Override
@@ -82,63 +84,143 @@ public class CompressionHandler extends AbstractID3v2TransformationHandler {
 		return requiresTransform(container);
 	}
 
+	/**
+	 * Writes the decompressed size in front of the compressed bytes.
+	 *
+	 * @see com.github.jmeta.defaultextensions.id3v23.impl.AbstractID3v2TransformationHandler#transformRawBytes(java.nio.ByteBuffer)
+	 */
 	@Override
-	protected byte[][] transformRawBytes(ByteBuffer payloadBytes) {
+	protected ByteBuffer transformRawBytes(ByteBuffer payloadBytes) {
 
-		final Deflater compressor = new Deflater();
-		compressor.setInput(payloadBytes.array());
-
-		final ByteArrayOutputStream bos = new ByteArrayOutputStream(payloadBytes.remaining());
-		byte[] buf = new byte[CompressionHandler.BLOCK_SIZE];
+		// Inflaters and deflaters allocate native memory that is only freed
+		// reliably by ending them, so they are created per call instead of being
+		// pooled per thread
+		Deflater compressor = new Deflater();
 
 		try {
-			int count = 0;
+			setInput(payloadBytes, compressor::setInput);
+			compressor.finish();
 
-			while ((count = compressor.deflate(buf)) > 0) {
-				bos.write(buf, 0, count);
-			}
+			// Incompressible input grows by a few bytes per 16 KB block plus the zlib
+			// header and trailer
+			byte[] compressedBytes = new byte[CompressionHandler.DECOMPRESSED_SIZE_BYTE_LENGTH
+				+ payloadBytes.remaining() + payloadBytes.remaining() / 1000 + 64];
 
-			if (!compressor.finished()) {
-				throw new RuntimeException("Bad zip data, size:" + payloadBytes.remaining());
+			ByteBuffer.wrap(compressedBytes).putInt(payloadBytes.remaining());
+
+			int compressedByteCount = CompressionHandler.DECOMPRESSED_SIZE_BYTE_LENGTH;
+
+			while (!compressor.finished()) {
+				if (compressedByteCount == compressedBytes.length) {
+					compressedBytes = Arrays.copyOf(compressedBytes, grow(compressedBytes.length, Integer.MAX_VALUE));
+				}
+
+				compressedByteCount += compressor.deflate(compressedBytes, compressedByteCount,
+					compressedBytes.length - compressedByteCount);
 			}
+
+			return ByteBuffer.wrap(compressedBytes, 0, compressedByteCount);
 		} finally {
 			compressor.end();
 		}
-
-		return new byte[][] { bos.toByteArray() };
 	}
 
+	/**
+	 * Inflates into an output array that is presized from the decompressed size in
+	 * front of the compressed bytes, but at most to a small multiple of the
+	 * compressed size, and grows while inflating. Decompressing is aborted as soon
+	 * as the output exceeds the decompressed size.
+	 *
+	 * @see com.github.jmeta.defaultextensions.id3v23.impl.AbstractID3v2TransformationHandler#untransformRawBytes(java.nio.ByteBuffer)
+	 */
 	@Override
-	protected byte[][] untransformRawBytes(ByteBuffer payloadBytes) {
+	protected ByteBuffer untransformRawBytes(ByteBuffer payloadBytes) {
+
+		if (payloadBytes.remaining() < CompressionHandler.DECOMPRESSED_SIZE_BYTE_LENGTH) {
+			throw new RuntimeException("Bad zip data, size:" + payloadBytes.remaining());
+		}
+
+		ByteBuffer compressedBytes = payloadBytes.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+		int decompressedSize = compressedBytes.getInt();
+
+		if (decompressedSize < 0 || decompressedSize > CompressionHandler.MAX_DECOMPRESSED_BYTE_COUNT) {
+			throw new RuntimeException("Bad zip data, decompressed size:" + Integer.toUnsignedString(decompressedSize));
+		}
 
-		// The case where the output gets longer than Integer.MAX is not handled
-		// anywhere
-		// An OutOfMemoryError is expected whenever this happens during writing to the
-		// ByteArrayOutputStream. However, this should not happen as ID3v2 also has a
-		// decompressed size field of int size
-		final Inflater decompressor = new Inflater();
-		decompressor.setInput(payloadBytes.array());
+		int presizedByteCount = (int) Math.min(decompressedSize,
+			(long) compressedBytes.remaining() * CompressionHandler.MAX_PRESIZED_COMPRESSION_RATIO);
 
-		// This output stream will grow, if necessary
-		final ByteArrayOutputStream bos = new ByteArrayOutputStream(payloadBytes.remaining());
-		byte[] buf = new byte[CompressionHandler.BLOCK_SIZE];
+		Inflater decompressor = new Inflater();
 
 		try {
-			int count = 0;
+			setInput(compressedBytes, decompressor::setInput);
 
-			while ((count = decompressor.inflate(buf)) > 0) {
-				bos.write(buf, 0, count);
-			}
+			byte[] decompressedBytes = new byte[Math.max(presizedByteCount, 1)];
+			int decompressedByteCount = 0;
+
+			while (!decompressor.finished()) {
+				if (decompressedByteCount == decompressedBytes.length) {
+					// One byte more than the decompressed size detects exceeding it
+					decompressedBytes = Arrays.copyOf(decompressedBytes,
+						grow(decompressedBytes.length, decompressedSize + 1));
+				}
+
+				int count = decompressor.inflate(decompressedBytes, decompressedByteCount,
+					decompressedBytes.length - decompressedByteCount);
 
-			if (!decompressor.finished()) {
-				throw new RuntimeException("Bad zip data, size:" + payloadBytes.remaining());
+				if (count == 0 && !decompressor.finished()
+					&& (decompressor.needsInput() || decompressor.needsDictionary())) {
+					throw new RuntimeException("Bad zip data, size:" + payloadBytes.remaining());
+				}
+
+				decompressedByteCount += count;
+
+				if (decompressedByteCount > decompressedSize) {
+					throw new RuntimeException("Bad zip data, exceeds decompressed size:" + decompressedSize);
+				}
 			}
-		} catch (DataFormatException t) {
-			throw new RuntimeException(t);
+
+			return ByteBuffer.wrap(decompressedBytes, 0, decompressedByteCount);
+		} catch (DataFormatException e) {
+			throw new RuntimeException(e);
 		} finally {
 			decompressor.end();
 		}
+	}
+
+	/**
+	 * Passes the bytes from position to limit of the given {@link ByteBuffer} to
+	 * the given input consumer of an {@link Inflater} or {@link Deflater}. The
+	 * backing array is passed directly if there is one.
+	 *
+	 * @param bytes         The bytes
+	 * @param inputConsumer The input consumer
+	 */
+	private static void setInput(ByteBuffer bytes, ArrayRangeConsumer inputConsumer) {
+		if (bytes.hasArray()) {
+			inputConsumer.accept(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+		} else {
+			byte[] inputBytes = new byte[bytes.remaining()];
+
+			bytes.duplicate().get(inputBytes);
+
+			inputConsumer.accept(inputBytes, 0, inputBytes.length);
+		}
+	}
+
+	/**
+	 * Returns the new size of a full output array.
+	 *
+	 * @param currentSize The current size of the output array
+	 * @param maximumSize The maximum size of the output array
+	 * @return The new size
+	 */
+	private static int grow(int currentSize, int maximumSize) {
+		if (currentSize >= Integer.MAX_VALUE / 2) {
+			throw new IllegalStateException("The size of an ID3v2 container must not exceed 2^28-1 bytes");
+		}
 
-		return new byte[][] { bos.toByteArray() };
+		return Math.min(2 * currentSize, maximumSize);
 	}
 }
@@ -9,22 +9,17 @@
  */
 package com.github.jmeta.defaultextensions.id3v23.impl;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
 import com.github.jmeta.library.datablocks.api.types.Container;
-import com.github.jmeta.library.datablocks.api.types.ContainerContext;
 import com.github.jmeta.library.datablocks.api.types.Payload;
 import com.github.jmeta.library.datablocks.impl.ForwardDataBlockReader;
-import com.github.jmeta.library.datablocks.impl.MediumDataProvider;
 import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBus;
 import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification;
-import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.media.api.services.MediumStore;
-import com.github.jmeta.library.media.api.types.MediumOffset;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -52,42 +47,40 @@ public class ID3v23DataBlockReader extends ForwardDataBlockReader {
 			new CompressionHandler(getDataBlockFactory()));
 	}
 
-	private Container applyTransformationsAfterRead(Container container, DataBlockReader reader) {
-		Container transformedContainer = container;
-
-		Iterator<AbstractID3v2TransformationHandler> handlerIterator = transformationsReadOrder.values().iterator();
-		MediumDataProvider mediumDataProvider = getMediumDataProvider();
-
-		while (handlerIterator.hasNext()) {
-			AbstractID3v2TransformationHandler transformationHandler = handlerIterator.next();
-
-			if (transformationHandler.requiresUntransform(transformedContainer)) {
-				mediumDataProvider.bufferBeforeRead(transformedContainer.getOffset(), transformedContainer.getSize());
-				transformedContainer = transformationHandler.untransform(transformedContainer, reader);
-			}
-		}
-
-		return transformedContainer;
-	}
-
 	public Map<ID3v2TransformationType, AbstractID3v2TransformationHandler> getTransformationHandlers() {
 
 		return Collections.unmodifiableMap(transformationsReadOrder);
 	}
 
 	/**
-	 * @see com.github.jmeta.library.datablocks.impl.ForwardDataBlockReader#readContainerWithId(com.github.jmeta.library.media.api.types.MediumOffset,
-	 *      com.github.jmeta.library.dataformats.api.types.DataBlockId,
-	 *      com.github.jmeta.library.datablocks.api.types.Payload, long, int,
-	 *      com.github.jmeta.library.datablocks.api.types.ContainerContext)
+	 * Reads the payload bytes of the given {@link Container} and untransforms them
+	 * with all transformation handlers requiring it, in read order. Containers are
+	 * not untransformed when they are read, but only when their payload bytes are
+	 * requested using this method. Each handler works on the output of the
+	 * previous one, so the payload is read from the medium only once.
+	 *
+	 * @param container The {@link Container} read by this reader, must not be null
+	 * @return The untransformed payload bytes; the raw payload bytes if no
+	 *         transformation applies
 	 */
-	@Override
-	public Container readContainerWithId(MediumOffset reference, DataBlockId id, Payload parent,
-		long remainingDirectParentByteCount, int sequenceNumber, ContainerContext containerContext) {
-		Container container = super.readContainerWithId(reference, id, parent, remainingDirectParentByteCount,
-			sequenceNumber, containerContext);
+	public ByteBuffer readUntransformedPayloadBytes(Container container) {
+		Reject.ifNull(container, "container");
+
+		Payload payload = container.getPayload();
+
+		if (payload.getSize() > Integer.MAX_VALUE) {
+			throw new IllegalStateException("The size of an ID3v2 container must not exceed 2^28-1 bytes");
+		}
+
+		ByteBuffer payloadBytes = payload.getBytes(payload.getOffset(), (int) payload.getSize());
+
+		for (AbstractID3v2TransformationHandler transformationHandler : transformationsReadOrder.values()) {
+			if (transformationHandler.requiresUntransform(container)) {
+				payloadBytes = transformationHandler.untransformPayloadBytes(container, payloadBytes);
+			}
+		}
 
-		return applyTransformationsAfterRead(container, this);
+		return payloadBytes;
 	}
 
 	public void removeEncryptionHandler() {
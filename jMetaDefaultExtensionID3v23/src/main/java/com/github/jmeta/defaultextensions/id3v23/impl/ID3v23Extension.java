@@ -15,7 +15,11 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 
+import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
 import com.github.jmeta.library.datablocks.api.services.DataBlockService;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.ContainerBasedPayload;
+import com.github.jmeta.library.datablocks.api.types.Payload;
 import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification;
 import com.github.jmeta.library.dataformats.api.services.DataFormatSpecificationBuilder;
 import com.github.jmeta.library.dataformats.api.services.DataFormatSpecificationBuilderFactory;
@@ -24,12 +28,14 @@ import com.github.jmeta.library.dataformats.api.types.CharacterEncodingOf;
 import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
 import com.github.jmeta.library.dataformats.api.types.DataBlockCrossReference;
 import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.dataformats.api.types.FlagDescription;
 import com.github.jmeta.library.dataformats.api.types.PresenceOf;
 import com.github.jmeta.library.dataformats.api.types.SizeOf;
 import com.github.jmeta.library.dataformats.api.types.SummedSizeOf;
 import com.github.jmeta.utility.charset.api.services.Charsets;
 import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
+import com.github.jmeta.utility.dbc.api.services.Reject;
 import com.github.jmeta.utility.extmanager.api.services.Extension;
 import com.github.jmeta.utility.extmanager.api.types.ExtensionDescription;
 
@@ -44,6 +50,11 @@ public class ID3v23Extension implements Extension {
    public static final ContainerDataFormat ID3v23 = new ContainerDataFormat("ID3v2.3", new HashSet<String>(),
       new HashSet<String>(), new ArrayList<String>(), "M. Nilsson", new Date());
 
+   /**
+    * The id of the padding of an id3v23 tag, see {@link #findPadding(Container)}
+    */
+   public static final DataBlockId PADDING_ID = new DataBlockId(ID3v23Extension.ID3v23, "id3v23.payload.padding");
+
    static final String FRAME_FLAGS_COMPRESSION = "Compression";
    static final String FRAME_FLAGS_ENCRYPTION = "Encryption";
    static final String FRAME_FLAGS_FILE_ALTER_PRESERVATION = "File Alter Preservation";
@@ -58,15 +69,44 @@ public class ID3v23Extension implements Extension {
    static final String TAG_FLAGS_UNSYNCHRONIZATION = "Unsynchronization";
 
    static final DataBlockCrossReference REF_EXT_HEADER = new DataBlockCrossReference("Extended header");
-   static final DataBlockCrossReference REF_TAG_HEADER_FLAGS = new DataBlockCrossReference("Header flags");
-   static final DataBlockCrossReference REF_GENERIC_FRAME_HEADER_FLAGS = new DataBlockCrossReference(
-      "Generic frame header flags");
+   static final DataBlockCrossReference REF_GENERIC_FRAME_HEADER_DECOMPRESSED_SIZE = new DataBlockCrossReference(
+      "Decompressed size");
 
    private static final SyncSafeIntegerConverter SYNC_SAFE_INTEGER_CONVERTER = new SyncSafeIntegerConverter();
 
    private final DataFormatSpecificationBuilderFactory specFactory = ComponentRegistry
       .lookupService(DataFormatSpecificationBuilderFactory.class);
 
+   /**
+    * Returns the padding of the given id3v23 tag. Its offset and size can be passed to
+    * {@link com.github.jmeta.library.media.api.services.MediumStore#declarePadding(com.github.jmeta.library.media.api.types.MediumOffset, int)}
+    * such that frames inserted into the tag are absorbed by the padding with the next flush, as long as the padding is
+    * big enough. In this case, the tag size stays unchanged and the bytes behind the tag are not shifted.
+    *
+    * @param tag
+    *           The id3v23 tag, must not be null
+    * @return The padding {@link Container} of the tag or null if the tag has no padding
+    */
+   public static Container findPadding(Container tag) {
+      Reject.ifNull(tag, "tag");
+
+      Payload payload = tag.getPayload();
+
+      if (payload instanceof ContainerBasedPayload) {
+         ContainerIterator frameIterator = ((ContainerBasedPayload) payload).getContainerIterator();
+
+         while (frameIterator.hasNext()) {
+            Container frame = frameIterator.next();
+
+            if (frame.getId().equals(ID3v23Extension.PADDING_ID)) {
+               return frame;
+            }
+         }
+      }
+
+      return null;
+   }
+
    /**
     * @see com.github.jmeta.utility.extmanager.api.services.Extension#getAllServiceProviders(java.lang.Class)
     */
@@ -118,7 +158,6 @@ public class ID3v23Extension implements Extension {
       DataBlockCrossReference frameReference = new DataBlockCrossReference("Frame");
       DataBlockCrossReference textFrameReference = new DataBlockCrossReference("Text Frame");
       DataBlockCrossReference crcReference = new DataBlockCrossReference("CRC");
-      DataBlockCrossReference decompressedSizeReference = new DataBlockCrossReference("Decompressed size");
       DataBlockCrossReference groupIdReference = new DataBlockCrossReference("Group id");
       DataBlockCrossReference encryptionMethodReference = new DataBlockCrossReference("Encryption method");
       DataBlockCrossReference informationReference = new DataBlockCrossReference("Information");
@@ -134,7 +173,6 @@ public class ID3v23Extension implements Extension {
 		return builder
 			.addContainerWithContainerBasedPayload("id3v23", "id3v23 tag", "The id3v23 tag")
 				.addHeader("header", "id3v23 tag header", "The id3v23 tag header")
-					.referencedAs(ID3v23Extension.REF_TAG_HEADER_FLAGS)
 					.addStringField("id", "id3v23 tag header id", "The id3v23 tag header id")
 						.withStaticLengthOf(3).withDefaultValue("ID3").withFixedCharset(Charsets.CHARSET_ISO)
 						.asMagicKey()
@@ -193,7 +231,6 @@ public class ID3v23Extension implements Extension {
 						.asDefaultNestedContainer()
 							.withIdField(frameIdReference)
 							.addHeader("header", "Generic frame header", "The generic frame header")
-								.referencedAs(ID3v23Extension.REF_GENERIC_FRAME_HEADER_FLAGS)
 								.addStringField("id", "Generic frame id field", "The generic frame id field").withStaticLengthOf(4)
 									.withFixedCharset(Charsets.CHARSET_ISO).referencedAs(frameIdReference)
 								.finishField()
@@ -205,19 +242,19 @@ public class ID3v23Extension implements Extension {
 									.withStaticLengthOf(2)
 									.withFlagSpecification(2, ByteOrder.BIG_ENDIAN).withDefaultFlagBytes(new byte[] { 0, 0 })
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_TAG_ALTER_PRESERVATION,
-											new BitAddress(0, 0), "", 1, null))
+											new BitAddress(0, 7), "", 1, null))
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_FILE_ALTER_PRESERVATION,
-											new BitAddress(0, 1), "", 1, null))
+											new BitAddress(0, 6), "", 1, null))
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_READ_ONLY,
-											new BitAddress(0, 2), "", 1, null))
+											new BitAddress(0, 5), "", 1, null))
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_COMPRESSION,
-											new BitAddress(1, 0), "", 1, null))
+											new BitAddress(1, 7), "", 1, null))
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_ENCRYPTION,
-											new BitAddress(1, 1), "", 1, null))
+											new BitAddress(1, 6), "", 1, null))
 										.addFlagDescription(new FlagDescription(ID3v23Extension.FRAME_FLAGS_GROUP_IDENTITY,
-											new BitAddress(1, 2), "", 1, null))
+											new BitAddress(1, 5), "", 1, null))
 									.finishFlagSpecification()
-									.withFieldFunction(new PresenceOf(decompressedSizeReference, ID3v23Extension.FRAME_FLAGS_COMPRESSION, 1))
+									.withFieldFunction(new PresenceOf(ID3v23Extension.REF_GENERIC_FRAME_HEADER_DECOMPRESSED_SIZE, ID3v23Extension.FRAME_FLAGS_COMPRESSION, 1))
 									.withFieldFunction(new PresenceOf(groupIdReference, ID3v23Extension.FRAME_FLAGS_GROUP_IDENTITY, 1))
 									.withFieldFunction(new PresenceOf(encryptionMethodReference, ID3v23Extension.FRAME_FLAGS_ENCRYPTION, 1))
 								.finishField()
@@ -226,7 +263,7 @@ public class ID3v23Extension implements Extension {
 								.referencedAs(framePayloadReference)
 								.withDescription("Generic frame payload", "The generic frame payload")
 								.addNumericField("decompressedSize", "Decompressed size field", "The decompressed size field")
-									.referencedAs(decompressedSizeReference).withStaticLengthOf(4).asOptional()
+									.referencedAs(ID3v23Extension.REF_GENERIC_FRAME_HEADER_DECOMPRESSED_SIZE).withStaticLengthOf(4).asOptional()
 								.finishField()
 								.addNumericField("encryptionMethod", "Encryption method field", "The encryption method field")
 									.referencedAs(encryptionMethodReference).withStaticLengthOf(1).asOptional()
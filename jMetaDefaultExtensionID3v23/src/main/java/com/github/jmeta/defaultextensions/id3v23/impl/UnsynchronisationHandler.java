@@ -9,27 +9,18 @@
 package com.github.jmeta.defaultextensions.id3v23.impl;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.github.jmeta.library.datablocks.api.exceptions.BinaryValueConversionException;
 import com.github.jmeta.library.datablocks.api.services.ExtendedDataBlockFactory;
 import com.github.jmeta.library.datablocks.api.types.Container;
-import com.github.jmeta.library.datablocks.api.types.Field;
-import com.github.jmeta.library.datablocks.api.types.Header;
-import com.github.jmeta.library.dataformats.api.types.Flags;
-import com.github.jmeta.utility.byteutils.api.services.ByteArrayUtils;
 
 /**
  * {@link UnsynchronisationHandler} performs the ID3v2 unsynchronization scheme.
  */
 public class UnsynchronisationHandler extends AbstractID3v2TransformationHandler {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(UnsynchronisationHandler.class);
+	private static final byte FF_BYTE = (byte) 0xFF;
+
+	private static final int SYNC_BITS_MASK = 0xE0;
 
 	/**
 	 * Creates a new {@link UnsynchronisationHandler}.
@@ -43,31 +34,8 @@ public class UnsynchronisationHandler extends AbstractID3v2TransformationHandler
 	@Override
 	public boolean requiresTransform(Container container) {
 
-		if (container.getHeaders().size() == 0) {
-			return false;
-		}
-
-		Header id3v2Header = container.getHeaders().get(0);
-
-		for (int i = 0; i < id3v2Header.getFields().size(); ++i) {
-			Field<?> field = id3v2Header.getFields().get(i);
-
-			if (field.getId().equals(ID3v23Extension.REF_TAG_HEADER_FLAGS.getId())) {
-				try {
-					Flags flags = (Flags) field.getInterpretedValue();
-
-					return flags.getFlag(ID3v23Extension.TAG_FLAGS_UNSYNCHRONIZATION);
-				} catch (BinaryValueConversionException e) {
-					UnsynchronisationHandler.LOGGER.warn(
-						"Field conversion from binary to interpreted value failed for field id <%1$s>. Exception see below.",
-						field.getId());
-					UnsynchronisationHandler.LOGGER.error("requiresTransform", e);
-					return false;
-				}
-			}
-		}
-
-		return false;
+		return AbstractID3v2TransformationHandler.isFirstHeaderFlagSet(container,
+			ID3v23Extension.TAG_FLAGS_UNSYNCHRONIZATION);
 	}
 
 	@Override
@@ -76,55 +44,92 @@ public class UnsynchronisationHandler extends AbstractID3v2TransformationHandler
 		return requiresTransform(container);
 	}
 
+	/**
+	 * Inserts a zero byte behind each 0xFF byte that is followed by a zero byte
+	 * or by a byte with its upper three bits set. A trailing 0xFF byte is followed
+	 * by a zero byte, too, as it might otherwise form a false synchronisation with
+	 * the bytes behind the payload. The insertions are counted first, so that the
+	 * unsynchronised bytes are written in a single array of the exact size.
+	 *
+	 * @see com.github.jmeta.defaultextensions.id3v23.impl.AbstractID3v2TransformationHandler#transformRawBytes(java.nio.ByteBuffer)
+	 */
 	@Override
-	protected byte[][] transformRawBytes(ByteBuffer payloadBytes) {
+	protected ByteBuffer transformRawBytes(ByteBuffer payloadBytes) {
 
-		if (payloadBytes.remaining() < 1) {
-			return new byte[][] { payloadBytes.array() };
-		}
+		int start = payloadBytes.position();
+		int end = payloadBytes.limit();
 
-		List<Byte> unsynchronisedByteList = new ArrayList<>(payloadBytes.remaining());
+		int insertedByteCount = 0;
 
-		for (int i = 0; i < payloadBytes.remaining() - 1; i++) {
-			byte firstByte = payloadBytes.get(i);
-			byte secondByte = payloadBytes.get(i + 1);
+		for (int i = start; i < end; i++) {
+			if (requiresInsertedZeroByte(payloadBytes, i)) {
+				insertedByteCount++;
+			}
+		}
 
-			unsynchronisedByteList.add(firstByte);
+		byte[] unsynchronisedBytes = new byte[end - start + insertedByteCount];
+		int unsynchronisedIndex = 0;
 
-			if (firstByte == 0xFF && (secondByte >= 0xE0 || secondByte == 0)) {
-				unsynchronisedByteList.add((byte) 0);
+		for (int i = start; i < end; i++) {
+			unsynchronisedBytes[unsynchronisedIndex++] = payloadBytes.get(i);
+
+			if (requiresInsertedZeroByte(payloadBytes, i)) {
+				unsynchronisedBytes[unsynchronisedIndex++] = 0;
 			}
 		}
 
-		unsynchronisedByteList.add(payloadBytes.get(payloadBytes.remaining() - 1));
-
-		return new byte[][] { ByteArrayUtils.toArray(unsynchronisedByteList) };
+		return ByteBuffer.wrap(unsynchronisedBytes);
 	}
 
+	/**
+	 * Removes each zero byte directly following a 0xFF byte in a single pass.
+	 * The untransformed bytes are never more than the transformed ones, so they
+	 * are written into an array of the transformed size.
+	 *
+	 * @see com.github.jmeta.defaultextensions.id3v23.impl.AbstractID3v2TransformationHandler#untransformRawBytes(java.nio.ByteBuffer)
+	 */
 	@Override
-	protected byte[][] untransformRawBytes(ByteBuffer payloadBytes) {
+	protected ByteBuffer untransformRawBytes(ByteBuffer payloadBytes) {
 
-		if (payloadBytes.remaining() < 1) {
-			return new byte[][] { payloadBytes.array() };
-		}
+		int start = payloadBytes.position();
+		int end = payloadBytes.limit();
 
-		List<Byte> synchronisedByteList = new ArrayList<>(payloadBytes.remaining());
+		byte[] synchronisedBytes = new byte[end - start];
+		int synchronisedIndex = 0;
 
-		for (int i = payloadBytes.remaining() - 1; i > 0; i--) {
-			byte previousByte = payloadBytes.get(i - 1);
-			byte nextByte = payloadBytes.get(i);
+		for (int i = start; i < end; i++) {
+			byte currentByte = payloadBytes.get(i);
 
-			if (previousByte == 0xFF && nextByte == 0x00) {
-				synchronisedByteList.add(previousByte);
-			} else {
-				synchronisedByteList.add(nextByte);
+			synchronisedBytes[synchronisedIndex++] = currentByte;
+
+			if (currentByte == UnsynchronisationHandler.FF_BYTE && i < end - 1 && payloadBytes.get(i + 1) == 0) {
+				i++;
 			}
 		}
 
-		synchronisedByteList.add(payloadBytes.get(payloadBytes.remaining() - 1));
+		return ByteBuffer.wrap(synchronisedBytes, 0, synchronisedIndex);
+	}
+
+	/**
+	 * Tells whether a zero byte must be inserted behind the byte at the given
+	 * index.
+	 *
+	 * @param payloadBytes The bytes to unsynchronise up to their limit
+	 * @param index        The index of the current byte, smaller than the limit
+	 * @return true if a zero byte must be inserted, false otherwise
+	 */
+	private static boolean requiresInsertedZeroByte(ByteBuffer payloadBytes, int index) {
+		if (payloadBytes.get(index) != UnsynchronisationHandler.FF_BYTE) {
+			return false;
+		}
+
+		if (index == payloadBytes.limit() - 1) {
+			return true;
+		}
 
-		Collections.reverse(synchronisedByteList);
+		byte nextByte = payloadBytes.get(index + 1);
 
-		return new byte[][] { ByteArrayUtils.toArray(synchronisedByteList) };
+		return nextByte == 0
+			|| (nextByte & UnsynchronisationHandler.SYNC_BITS_MASK) == UnsynchronisationHandler.SYNC_BITS_MASK;
 	}
 }
@@ -19,7 +19,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ ID3v23SingleFile_01_PaddingUTF16TextFrameTest.class, ID3v23SingleFile_02_SinglePaddingByteTest.class,
 	ID3v23SingleFile_03_NoPaddingTest.class, ID3v23SingleFile_05_UnknownFrameTest.class,
-	ID3v23SingleFile_06_ExtendedHeaderTest.class })
+	ID3v23SingleFile_06_ExtendedHeaderTest.class, UnsynchronisationHandlerTest.class, CompressionHandlerTest.class,
+	ID3v23DataBlockReaderTest.class })
 public class AllID3v23ExtensionTests {
 	// Nothing necessary here
 }
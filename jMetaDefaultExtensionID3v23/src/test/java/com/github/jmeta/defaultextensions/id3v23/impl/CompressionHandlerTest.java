@@ -0,0 +1,241 @@
+/**
+ *
+ * {@link CompressionHandlerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ */
+package com.github.jmeta.defaultextensions.id3v23.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBus;
+import com.github.jmeta.library.dataformats.api.services.DataFormatRepository;
+import com.github.jmeta.library.media.api.services.MediaAPI;
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
+
+/**
+ * {@link CompressionHandlerTest} tests the {@link CompressionHandler} class by compressing and decompressing bytes.
+ */
+public class CompressionHandlerTest {
+
+	private static final byte[] TEXT_BYTES = ("Compressed ID3v2.3 frames start with their decompressed size, "
+		+ "followed by the zlib compressed frame bytes. Compressed ID3v2.3 frames start with their decompressed size.")
+			.getBytes(StandardCharsets.ISO_8859_1);
+
+	private final CompressionHandler testling = createHandler();
+
+	/**
+	 * Tests {@link CompressionHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_heapBuffer_writesDecompressedSizeAndRoundTrips() {
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES));
+
+		Assert.assertEquals(CompressionHandlerTest.TEXT_BYTES.length, compressedBytes.getInt(0));
+		Assert.assertTrue(compressedBytes.remaining() < CompressionHandlerTest.TEXT_BYTES.length);
+		Assert.assertEquals(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES),
+			testling.untransformRawBytes(compressedBytes));
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_directBuffers_roundTripsAndKeepsPositions() {
+		ByteBuffer bytes = toDirectBuffer(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES));
+
+		ByteBuffer compressedBytes = toDirectBuffer(testling.transformRawBytes(bytes));
+
+		Assert.assertEquals(0, bytes.position());
+		Assert.assertEquals(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES),
+			testling.untransformRawBytes(compressedBytes));
+		Assert.assertEquals(0, compressedBytes.position());
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_severalCallsOnSameThread_roundTripsEachCall() {
+		byte[][] inputs = new byte[][] { CompressionHandlerTest.TEXT_BYTES, new byte[0], createRandomBytes(70000, 1),
+			new byte[] { 42 }, CompressionHandlerTest.TEXT_BYTES };
+
+		ByteBuffer[] compressedInputs = new ByteBuffer[inputs.length];
+
+		for (int i = 0; i < inputs.length; i++) {
+			compressedInputs[i] = testling.transformRawBytes(ByteBuffer.wrap(inputs[i]));
+		}
+
+		Assert.assertEquals(compressedInputs[0], compressedInputs[inputs.length - 1]);
+
+		// Decompress in reverse order, interleaved with compressing again
+		for (int i = inputs.length - 1; i >= 0; i--) {
+			Assert.assertEquals(ByteBuffer.wrap(inputs[i]), testling.untransformRawBytes(compressedInputs[i]));
+			Assert.assertEquals(compressedInputs[i], testling.transformRawBytes(ByteBuffer.wrap(inputs[i])));
+		}
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void transformRawBytes_severalThreads_roundTripsOnEachThread() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+
+			for (int i = 0; i < 8; i++) {
+				byte[] bytes = createRandomBytes(20000 + i, i);
+
+				results.add(executor.submit(() -> {
+					for (int j = 0; j < 20; j++) {
+						ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+						if (!ByteBuffer.wrap(bytes).equals(testling.untransformRawBytes(compressedBytes))) {
+							return false;
+						}
+					}
+
+					return true;
+				}));
+			}
+
+			for (Future<Boolean> result : results) {
+				Assert.assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void untransformRawBytes_decompressedSizeBiggerThanPresizedOutput_growsOutputAndDecompressesAllBytes() {
+		byte[] bytes = createRandomBytes(100000, 3);
+
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+		// A small multiple of the compressed size is smaller than the decompressed size
+		compressedBytes.putInt(0, Integer.MAX_VALUE >> 3);
+
+		Assert.assertEquals(ByteBuffer.wrap(bytes), testling.untransformRawBytes(compressedBytes));
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void untransformRawBytes_highlyCompressedBytes_growsOutputAndDecompressesAllBytes() {
+		byte[] bytes = new byte[1000000];
+
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+		Assert.assertTrue(compressedBytes.remaining() * 8 < bytes.length);
+		Assert.assertEquals(ByteBuffer.wrap(bytes), testling.untransformRawBytes(compressedBytes));
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test(expected = RuntimeException.class)
+	public void untransformRawBytes_tooSmallDecompressedSize_throwsException() {
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES));
+
+		compressedBytes.putInt(0, CompressionHandlerTest.TEXT_BYTES.length - 1);
+
+		testling.untransformRawBytes(compressedBytes);
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test(expected = RuntimeException.class)
+	public void untransformRawBytes_decompressedSizeExceedingMaximumContainerSize_throwsException() {
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(CompressionHandlerTest.TEXT_BYTES));
+
+		compressedBytes.putInt(0, 1 << 28);
+
+		testling.untransformRawBytes(compressedBytes);
+	}
+
+	/**
+	 * Tests {@link CompressionHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link CompressionHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_incompressibleBytes_growsOutputAndRoundTrips() {
+		byte[] bytes = createRandomBytes(100000, 2);
+
+		ByteBuffer compressedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+		Assert.assertTrue(compressedBytes.remaining() > bytes.length);
+		Assert.assertEquals(ByteBuffer.wrap(bytes), testling.untransformRawBytes(compressedBytes));
+	}
+
+	/**
+	 * Creates reproducible random bytes.
+	 *
+	 * @param size The number of bytes
+	 * @param seed The seed
+	 * @return The random bytes
+	 */
+	private static byte[] createRandomBytes(int size, long seed) {
+		byte[] bytes = new byte[size];
+
+		new Random(seed).nextBytes(bytes);
+
+		return bytes;
+	}
+
+	/**
+	 * Copies the remaining bytes of the given {@link ByteBuffer} into a new direct {@link ByteBuffer}.
+	 *
+	 * @param bytes The bytes to copy
+	 * @return The direct {@link ByteBuffer}, from position 0 to the limit
+	 */
+	private static ByteBuffer toDirectBuffer(ByteBuffer bytes) {
+		ByteBuffer directBytes = ByteBuffer.allocateDirect(bytes.remaining());
+
+		directBytes.put(bytes.duplicate());
+		directBytes.flip();
+
+		return directBytes;
+	}
+
+	/**
+	 * @return The {@link CompressionHandler} of a new {@link ID3v23DataBlockReader}
+	 */
+	private static CompressionHandler createHandler() {
+		ID3v23DataBlockReader reader = new ID3v23DataBlockReader(
+			ComponentRegistry.lookupService(DataFormatRepository.class)
+				.getDataFormatSpecification(ID3v23Extension.ID3v23),
+			ComponentRegistry.lookupService(MediaAPI.class)
+				.createMediumStore(new InMemoryMedium(new byte[1], "compression", MediumAccessType.READ_ONLY)),
+			new DataBlockEventBus());
+
+		return (CompressionHandler) reader.getTransformationHandlers().get(ID3v2TransformationType.COMPRESSION);
+	}
+}
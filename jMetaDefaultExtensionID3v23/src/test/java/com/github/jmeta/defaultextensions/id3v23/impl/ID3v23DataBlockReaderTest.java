@@ -0,0 +1,199 @@
+/**
+ *
+ * {@link ID3v23DataBlockReaderTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ */
+package com.github.jmeta.defaultextensions.id3v23.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.ContainerBasedPayload;
+import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBus;
+import com.github.jmeta.library.dataformats.api.services.DataFormatRepository;
+import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification;
+import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.media.api.services.MediaAPI;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
+
+/**
+ * {@link ID3v23DataBlockReaderTest} tests the {@link ID3v23DataBlockReader} class, especially that transformed
+ * payloads are only untransformed on request by
+ * {@link ID3v23DataBlockReader#readUntransformedPayloadBytes(Container)}.
+ */
+public class ID3v23DataBlockReaderTest {
+
+	private static final byte FF = (byte) 0xFF;
+
+	private static final byte TAG_FLAG_UNSYNCHRONISATION = (byte) 0x80;
+
+	private static final byte FRAME_FLAG_COMPRESSION = (byte) 0x80;
+
+	private static final int HEADER_BYTE_LENGTH = 10;
+
+	private static final DataBlockId TAG_ID = new DataBlockId(ID3v23Extension.ID3v23, "id3v23");
+
+	private final DataFormatSpecification spec = ComponentRegistry.lookupService(DataFormatRepository.class)
+		.getDataFormatSpecification(ID3v23Extension.ID3v23);
+
+	private MediumStore mediumStore;
+
+	private ID3v23DataBlockReader testling;
+
+	/**
+	 * Closes the {@link MediumStore} of the tag read.
+	 */
+	@After
+	public void tearDown() {
+		if (mediumStore != null && mediumStore.isOpened()) {
+			mediumStore.close();
+		}
+	}
+
+	/**
+	 * Tests {@link ID3v23DataBlockReader#readUntransformedPayloadBytes(Container)}.
+	 */
+	@Test
+	public void readUntransformedPayloadBytes_unsynchronisedTag_untransformsPayloadOnlyWhenRead() {
+		byte[] synchronisedPayload = new byte[] { 'X', 'Y', 'Z', 'W', 0, 0, 0, 6, 0, 0, 1, FF, (byte) 0xE0, FF, 0, FF };
+
+		byte[] unsynchronisedPayload = toArray(createHandler(ID3v2TransformationType.UNSYNCHRONIZATION)
+			.transformRawBytes(ByteBuffer.wrap(synchronisedPayload)));
+
+		Assert.assertEquals(synchronisedPayload.length + 3, unsynchronisedPayload.length);
+
+		Container tag = readTag(createTag(ID3v23DataBlockReaderTest.TAG_FLAG_UNSYNCHRONISATION, unsynchronisedPayload));
+
+		Assert.assertEquals(ByteBuffer.wrap(unsynchronisedPayload), readPayloadBytes(tag));
+		Assert.assertEquals(ByteBuffer.wrap(synchronisedPayload), testling.readUntransformedPayloadBytes(tag));
+		Assert.assertEquals(ByteBuffer.wrap(unsynchronisedPayload), readPayloadBytes(tag));
+	}
+
+	/**
+	 * Tests {@link ID3v23DataBlockReader#readUntransformedPayloadBytes(Container)}.
+	 */
+	@Test
+	public void readUntransformedPayloadBytes_tagWithoutUnsynchronisation_returnsRawPayloadBytes() {
+		byte[] payload = new byte[] { 'X', 'Y', 'Z', 'W', 0, 0, 0, 3, 0, 0, FF, 0, (byte) 0xE0 };
+
+		Container tag = readTag(createTag((byte) 0, payload));
+
+		Assert.assertEquals(ByteBuffer.wrap(payload), testling.readUntransformedPayloadBytes(tag));
+	}
+
+	/**
+	 * Tests {@link ID3v23DataBlockReader#readUntransformedPayloadBytes(Container)}.
+	 */
+	@Test
+	public void readUntransformedPayloadBytes_compressedFrame_decompressesPayloadOnlyWhenRead() {
+		byte[] decompressedFramePayload = "Compressed frame data, compressed frame data"
+			.getBytes(StandardCharsets.ISO_8859_1);
+
+		byte[] compressedFramePayload = toArray(createHandler(ID3v2TransformationType.COMPRESSION)
+			.transformRawBytes(ByteBuffer.wrap(decompressedFramePayload)));
+
+		byte[] tagPayload = new byte[ID3v23DataBlockReaderTest.HEADER_BYTE_LENGTH + compressedFramePayload.length];
+
+		ByteBuffer.wrap(tagPayload).put(new byte[] { 'X', 'Y', 'Z', 'W' }).putInt(compressedFramePayload.length)
+			.put(new byte[] { 0, ID3v23DataBlockReaderTest.FRAME_FLAG_COMPRESSION }).put(compressedFramePayload);
+
+		Container tag = readTag(createTag((byte) 0, tagPayload));
+
+		ContainerIterator frameIterator = ((ContainerBasedPayload) tag.getPayload()).getContainerIterator();
+
+		Assert.assertTrue(frameIterator.hasNext());
+
+		Container frame = frameIterator.next();
+
+		Assert.assertEquals(ByteBuffer.wrap(compressedFramePayload), readPayloadBytes(frame));
+		Assert.assertEquals(ByteBuffer.wrap(decompressedFramePayload), testling.readUntransformedPayloadBytes(frame));
+		Assert.assertEquals(ByteBuffer.wrap(tagPayload), testling.readUntransformedPayloadBytes(tag));
+	}
+
+	/**
+	 * Creates the bytes of an ID3v2.3 tag without extended header.
+	 *
+	 * @param flags   The tag header flags
+	 * @param payload The tag payload, must be smaller than 128 bytes
+	 * @return The tag bytes
+	 */
+	private static byte[] createTag(byte flags, byte[] payload) {
+		byte[] tag = new byte[ID3v23DataBlockReaderTest.HEADER_BYTE_LENGTH + payload.length];
+
+		// The tag size is a sync safe integer, i.e. plain for sizes smaller than 128
+		ByteBuffer.wrap(tag).put(new byte[] { 'I', 'D', '3', 3, 0, flags }).putInt(payload.length).put(payload);
+
+		return tag;
+	}
+
+	/**
+	 * Returns a transformation handler of an {@link ID3v23DataBlockReader} not reading any medium, used to create
+	 * transformed bytes.
+	 *
+	 * @param transformationType The {@link ID3v2TransformationType} of the handler
+	 * @return The transformation handler
+	 */
+	private AbstractID3v2TransformationHandler createHandler(ID3v2TransformationType transformationType) {
+		ID3v23DataBlockReader reader = new ID3v23DataBlockReader(spec,
+			ComponentRegistry.lookupService(MediaAPI.class)
+				.createMediumStore(new InMemoryMedium(new byte[1], "unused", MediumAccessType.READ_ONLY)),
+			new DataBlockEventBus());
+
+		return reader.getTransformationHandlers().get(transformationType);
+	}
+
+	/**
+	 * Reads the given tag bytes with a new {@link ID3v23DataBlockReader}, which becomes the testling.
+	 *
+	 * @param tagBytes The tag bytes
+	 * @return The tag {@link Container}
+	 */
+	private Container readTag(byte[] tagBytes) {
+		mediumStore = ComponentRegistry.lookupService(MediaAPI.class)
+			.createMediumStore(new InMemoryMedium(tagBytes, "tag", MediumAccessType.READ_ONLY));
+		mediumStore.open();
+
+		testling = new ID3v23DataBlockReader(spec, mediumStore, new DataBlockEventBus());
+
+		return testling.readContainerWithId(mediumStore.createMediumOffset(0), ID3v23DataBlockReaderTest.TAG_ID, null,
+			DataBlockDescription.UNDEFINED, 0, null);
+	}
+
+	/**
+	 * Reads the raw bytes of the payload of the given {@link Container}.
+	 *
+	 * @param container The {@link Container}
+	 * @return The raw payload bytes
+	 */
+	private static ByteBuffer readPayloadBytes(Container container) {
+		Payload payload = container.getPayload();
+
+		return payload.getBytes(payload.getOffset(), (int) payload.getSize());
+	}
+
+	/**
+	 * @param bytes The bytes from position to limit
+	 * @return The bytes as new array
+	 */
+	private static byte[] toArray(ByteBuffer bytes) {
+		byte[] byteArray = new byte[bytes.remaining()];
+
+		bytes.duplicate().get(byteArray);
+
+		return byteArray;
+	}
+}
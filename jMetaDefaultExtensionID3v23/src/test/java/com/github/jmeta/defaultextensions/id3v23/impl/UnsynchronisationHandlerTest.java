@@ -0,0 +1,148 @@
+/**
+ *
+ * {@link UnsynchronisationHandlerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ */
+package com.github.jmeta.defaultextensions.id3v23.impl;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBus;
+import com.github.jmeta.library.dataformats.api.services.DataFormatRepository;
+import com.github.jmeta.library.media.api.services.MediaAPI;
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
+
+/**
+ * {@link UnsynchronisationHandlerTest} tests the {@link UnsynchronisationHandler} class by unsynchronising and
+ * resynchronising bytes.
+ */
+public class UnsynchronisationHandlerTest {
+
+	private static final byte FF = (byte) 0xFF;
+
+	private final UnsynchronisationHandler testling = createHandler();
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_ffFollowedByZero_insertsZeroByteRemovedAgainByUntransform() {
+		assertRoundTrip(new byte[] { 1, FF, 0, 2 }, new byte[] { 1, FF, 0, 0, 2 });
+	}
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_ffFollowedBySyncBits_insertsZeroByteRemovedAgainByUntransform() {
+		for (int nextByte = 0xE0; nextByte <= 0xFF; nextByte++) {
+			assertRoundTrip(new byte[] { FF, (byte) nextByte, 3 }, new byte[] { FF, 0, (byte) nextByte, 3 });
+		}
+	}
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_ffFollowedByOtherByte_leavesBytesUnchanged() {
+		assertRoundTrip(new byte[] { FF, 1, FF, (byte) 0xDF, FF, 0x7F }, new byte[] { FF, 1, FF, (byte) 0xDF, FF, 0x7F });
+	}
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_trailingFf_appendsZeroByteRemovedAgainByUntransform() {
+		assertRoundTrip(new byte[] { 4, FF }, new byte[] { 4, FF, 0 });
+		assertRoundTrip(new byte[] { FF, FF }, new byte[] { FF, 0, FF, 0 });
+	}
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_allBytePairsAroundFf_yieldsNoFalseSyncAndRoundTrips() {
+		for (int firstByte = 0; firstByte <= 0xFF; firstByte++) {
+			for (int secondByte = 0; secondByte <= 0xFF; secondByte++) {
+				byte[] bytes = new byte[] { (byte) firstByte, (byte) secondByte, FF, (byte) firstByte, (byte) secondByte };
+
+				ByteBuffer unsynchronisedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+				for (int i = unsynchronisedBytes.position(); i < unsynchronisedBytes.limit() - 1; i++) {
+					if (unsynchronisedBytes.get(i) == FF) {
+						Assert.assertTrue((unsynchronisedBytes.get(i + 1) & 0xE0) != 0xE0);
+					}
+				}
+
+				Assert.assertNotEquals(FF, unsynchronisedBytes.get(unsynchronisedBytes.limit() - 1));
+				Assert.assertEquals(ByteBuffer.wrap(bytes), testling.untransformRawBytes(unsynchronisedBytes));
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link UnsynchronisationHandler#transformRawBytes(ByteBuffer)} and
+	 * {@link UnsynchronisationHandler#untransformRawBytes(ByteBuffer)}.
+	 */
+	@Test
+	public void transformRawBytes_bufferWithPositionAndLimit_onlyTransformsRemainingBytesAndKeepsPosition() {
+		ByteBuffer bytes = ByteBuffer.wrap(new byte[] { FF, FF, (byte) 0xE0, 5, FF });
+		bytes.position(1);
+		bytes.limit(4);
+
+		ByteBuffer unsynchronisedBytes = testling.transformRawBytes(bytes);
+
+		Assert.assertEquals(1, bytes.position());
+		Assert.assertEquals(ByteBuffer.wrap(new byte[] { FF, 0, (byte) 0xE0, 5 }), unsynchronisedBytes);
+
+		ByteBuffer directUnsynchronisedBytes = ByteBuffer.allocateDirect(unsynchronisedBytes.remaining());
+		directUnsynchronisedBytes.put(unsynchronisedBytes.duplicate());
+		directUnsynchronisedBytes.flip();
+
+		Assert.assertEquals(ByteBuffer.wrap(new byte[] { FF, (byte) 0xE0, 5 }),
+			testling.untransformRawBytes(directUnsynchronisedBytes));
+		Assert.assertEquals(0, directUnsynchronisedBytes.position());
+	}
+
+	/**
+	 * Checks that the given bytes are unsynchronised to the given expected bytes, and resynchronised to the given bytes
+	 * again.
+	 *
+	 * @param bytes                       The bytes to unsynchronise
+	 * @param expectedUnsynchronisedBytes The expected unsynchronised bytes
+	 */
+	private void assertRoundTrip(byte[] bytes, byte[] expectedUnsynchronisedBytes) {
+		ByteBuffer unsynchronisedBytes = testling.transformRawBytes(ByteBuffer.wrap(bytes));
+
+		Assert.assertEquals(ByteBuffer.wrap(expectedUnsynchronisedBytes), unsynchronisedBytes);
+		Assert.assertEquals(ByteBuffer.wrap(bytes), testling.untransformRawBytes(unsynchronisedBytes));
+	}
+
+	/**
+	 * @return The {@link UnsynchronisationHandler} of a new {@link ID3v23DataBlockReader}
+	 */
+	private static UnsynchronisationHandler createHandler() {
+		ID3v23DataBlockReader reader = new ID3v23DataBlockReader(
+			ComponentRegistry.lookupService(DataFormatRepository.class)
+				.getDataFormatSpecification(ID3v23Extension.ID3v23),
+			ComponentRegistry.lookupService(MediaAPI.class)
+				.createMediumStore(new InMemoryMedium(new byte[1], "unsync", MediumAccessType.READ_ONLY)),
+			new DataBlockEventBus());
+
+		return (UnsynchronisationHandler) reader.getTransformationHandlers()
+			.get(ID3v2TransformationType.UNSYNCHRONIZATION);
+	}
+}
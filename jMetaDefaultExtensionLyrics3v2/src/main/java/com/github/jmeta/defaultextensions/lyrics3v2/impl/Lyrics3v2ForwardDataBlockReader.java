@@ -57,4 +57,14 @@ public class Lyrics3v2ForwardDataBlockReader extends ForwardDataBlockReader {
 		return true;
 	}
 
+	/**
+	 * Containers are identified by a custom {@link #hasContainerWithId(MediumOffset, DataBlockId, Payload, long)}.
+	 *
+	 * @see com.github.jmeta.library.datablocks.impl.ForwardDataBlockReader#identifiesByMagicKeysOnly()
+	 */
+	@Override
+	public boolean identifiesByMagicKeysOnly() {
+		return false;
+	}
+
 }
@@ -0,0 +1,369 @@
+/**
+ *
+ * {@link MP3AudioAnalyzer}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.github.jmeta.defaultextensions.mp3.impl.MP3FrameScanner.FrameHandler;
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
+
+/**
+ * {@link MP3AudioAnalyzer} determines frame count, byte count and duration of
+ * the audio region of an MP3 medium.
+ *
+ * Most encoders write a Xing or Info frame, or a VBRI frame, as the first frame
+ * of the audio region. It does not contain audio data, but the number of audio
+ * frames and bytes. If there is such a frame and its values are consistent with
+ * the audio region, they are used directly, i.e. only the first frame is read.
+ * A LAME tag following a Xing or Info header additionally provides the encoder
+ * delay and padding, which are excluded from the sample count.
+ *
+ * Otherwise, all frames are walked sequentially using an {@link MP3FrameScanner}
+ * without creating any frame objects. The frame headers are decoded from chunks
+ * of the audio region, i.e. the medium is read once per chunk of several frames.
+ */
+public class MP3AudioAnalyzer {
+
+	private static final byte[] XING_ID = "Xing".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] INFO_ID = "Info".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] VBRI_ID = "VBRI".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] LAME_ID = "LAME".getBytes(StandardCharsets.US_ASCII);
+
+	private static final int XING_FRAMES_FLAG = 0x1;
+
+	private static final int XING_BYTES_FLAG = 0x2;
+
+	private static final int XING_TOC_FLAG = 0x4;
+
+	private static final int XING_QUALITY_FLAG = 0x8;
+
+	private static final int XING_TOC_SIZE = 100;
+
+	// The VBRI header always follows 32 bytes behind the frame header
+	private static final int VBRI_OFFSET = 36;
+
+	private static final int VBRI_BYTES_OFFSET = 10;
+
+	private static final int VBRI_FRAMES_OFFSET = 14;
+
+	private static final int LAME_DELAY_AND_PADDING_OFFSET = 21;
+
+	private static final int HEADER_SIZE = 4;
+
+	private static final int CRC_SIZE = 2;
+
+	private static final int MONO_CHANNEL_MODE = 3;
+
+	/**
+	 * {@link InfoFrame} holds the values read from a Xing, Info or VBRI frame.
+	 */
+	private static class InfoFrame {
+
+		private final long frameCount;
+
+		private final long byteCount;
+
+		private final int encoderDelay;
+
+		private final int encoderPadding;
+
+		/**
+		 * Creates a new {@link InfoFrame}.
+		 *
+		 * @param frameCount     The number of audio frames or -1 if unknown
+		 * @param byteCount      The total size of all audio frames in bytes
+		 * @param encoderDelay   The number of samples of encoder delay at the start
+		 * @param encoderPadding The number of samples of encoder padding at the end
+		 */
+		public InfoFrame(long frameCount, long byteCount, int encoderDelay, int encoderPadding) {
+			this.frameCount = frameCount;
+			this.byteCount = byteCount;
+			this.encoderDelay = encoderDelay;
+			this.encoderPadding = encoderPadding;
+		}
+	}
+
+	/**
+	 * {@link FrameCounter} accumulates the values of all audio frames during a
+	 * walk over all frames.
+	 */
+	private static class FrameCounter implements FrameHandler {
+
+		private final long skippedFrameOffset;
+
+		private long frameCount;
+
+		private long byteCount;
+
+		private long sampleCount;
+
+		/**
+		 * Creates a new {@link FrameCounter}.
+		 *
+		 * @param skippedFrameOffset The offset of an info frame not to count or -1
+		 */
+		public FrameCounter(long skippedFrameOffset) {
+			this.skippedFrameOffset = skippedFrameOffset;
+		}
+
+		/**
+		 * @see com.github.jmeta.defaultextensions.mp3.impl.MP3FrameScanner.FrameHandler#handleFrame(long,
+		 *      int, int)
+		 */
+		@Override
+		public boolean handleFrame(long offset, int header, int frameSize) {
+			if (offset != skippedFrameOffset) {
+				frameCount++;
+				byteCount += frameSize;
+				sampleCount += MP3SizeProvider.getSamplesPerFrame(MP3FrameScanner.getMpegAudioVersionIdBits(header),
+					MP3FrameScanner.getLayerBits(header));
+			}
+
+			return true;
+		}
+	}
+
+	private final MediumStore mediumStore;
+
+	private final long audioEndOffset;
+
+	private final MP3FrameScanner frameScanner;
+
+	/**
+	 * Creates a new {@link MP3AudioAnalyzer}.
+	 *
+	 * @param mediumStore      The {@link MediumStore} to analyse, must not be null
+	 *                         and must already be opened
+	 * @param audioStartOffset The start offset of the audio region, i.e. the
+	 *                         offset behind any leading tags, must not be
+	 *                         negative
+	 * @param audioEndOffset   The end offset of the audio region, exclusive, i.e.
+	 *                         the offset of any trailing tags, must not be
+	 *                         smaller than the start offset
+	 */
+	public MP3AudioAnalyzer(MediumStore mediumStore, long audioStartOffset, long audioEndOffset) {
+		Reject.ifNull(mediumStore, "mediumStore");
+
+		this.frameScanner = new MP3FrameScanner(mediumStore, audioStartOffset, audioEndOffset,
+			MP3FrameScanner.DEFAULT_RANGE_SIZE_IN_BYTES);
+
+		this.mediumStore = mediumStore;
+		this.audioEndOffset = audioEndOffset;
+	}
+
+	/**
+	 * Analyses the audio region, using a Xing, Info or VBRI frame if possible, and
+	 * walking all frames otherwise.
+	 *
+	 * @return The {@link MP3AudioInfo} of the audio region
+	 */
+	public MP3AudioInfo analyze() {
+		MP3Frame firstFrame = frameScanner.findFirstFrame();
+
+		if (firstFrame == null) {
+			return new MP3AudioInfo(0, 0, 0, 0, false);
+		}
+
+		ByteBuffer firstFrameBytes = getData(firstFrame.getOffset(), firstFrame.getSize());
+
+		InfoFrame infoFrame = readXingHeader(firstFrame, firstFrameBytes);
+
+		if (infoFrame == null) {
+			infoFrame = readVbriHeader(firstFrame, firstFrameBytes);
+		}
+
+		if (infoFrame != null && isConsistent(firstFrame, firstFrameBytes.getInt(0), infoFrame)) {
+			long sampleCount = infoFrame.frameCount
+				* MP3SizeProvider.getSamplesPerFrame(firstFrame.getMpegAudioVersionIdBits(), firstFrame.getLayerBits())
+				- infoFrame.encoderDelay - infoFrame.encoderPadding;
+
+			return new MP3AudioInfo(infoFrame.frameCount, infoFrame.byteCount, Math.max(0, sampleCount),
+				firstFrame.getSamplingRateFrequency(), true);
+		}
+
+		FrameCounter frameCounter = new FrameCounter(infoFrame != null ? firstFrame.getOffset() : -1);
+
+		frameScanner.scanSequentially(frameCounter);
+
+		return new MP3AudioInfo(frameCounter.frameCount, frameCounter.byteCount, frameCounter.sampleCount,
+			firstFrame.getSamplingRateFrequency(), false);
+	}
+
+	/**
+	 * Reads the given number of bytes from the medium.
+	 *
+	 * @param offset        The absolute offset of the bytes
+	 * @param numberOfBytes The number of bytes, must not exceed the medium length
+	 * @return The bytes read with position 0
+	 */
+	private ByteBuffer getData(long offset, int numberOfBytes) {
+		try {
+			return mediumStore.getData(mediumStore.createMediumOffset(offset), numberOfBytes).slice();
+		} catch (EndOfMediumException e) {
+			throw new JMetaIllegalStateException("Unexpected end of medium while analysing mp3 audio", e);
+		}
+	}
+
+	/**
+	 * Checks whether the values of the given info frame are consistent with the
+	 * audio region, i.e. whether the audio frames fit into the audio region, and
+	 * whether their average size is possible for the MPEG version, layer and
+	 * sampling rate frequency of the info frame. A truncated or otherwise modified
+	 * medium usually fails this check.
+	 *
+	 * @param firstFrame The first frame, i.e. the info frame
+	 * @param header     The four bytes of the frame header of the first frame in
+	 *                   big endian byte order
+	 * @param infoFrame  The values of the info frame
+	 * @return true if the info frame is consistent, false otherwise
+	 */
+	private boolean isConsistent(MP3Frame firstFrame, int header, InfoFrame infoFrame) {
+		if (infoFrame.frameCount <= 0 || infoFrame.byteCount <= 0
+			|| infoFrame.byteCount > audioEndOffset - firstFrame.getEndOffset()) {
+			return false;
+		}
+
+		int mpegAudioVersionIdBits = firstFrame.getMpegAudioVersionIdBits();
+		int layerBits = firstFrame.getLayerBits();
+		int sampleRateBits = MP3FrameScanner.getSampleRateBits(header);
+
+		// Frame sizes of the lowest and highest bit rate index
+		long minimumFrameSize = MP3SizeProvider.calculateFrameSize(mpegAudioVersionIdBits, layerBits, 1,
+			sampleRateBits, 0);
+		long maximumFrameSize = MP3SizeProvider.calculateFrameSize(mpegAudioVersionIdBits, layerBits, 14,
+			sampleRateBits, 1);
+
+		return infoFrame.frameCount * minimumFrameSize <= infoFrame.byteCount
+			&& infoFrame.byteCount <= infoFrame.frameCount * maximumFrameSize;
+	}
+
+	/**
+	 * Checks whether the given id is at the given position of the given bytes.
+	 *
+	 * @param bytes    The bytes with position 0
+	 * @param position The position to check
+	 * @param id       The id
+	 * @return true if the id is at the position, false otherwise
+	 */
+	private boolean isIdAt(ByteBuffer bytes, int position, byte[] id) {
+		if (bytes.limit() < position + id.length) {
+			return false;
+		}
+
+		for (int i = 0; i < id.length; i++) {
+			if (bytes.get(position + i) != id[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads a VBRI header from the given first frame, if there is one.
+	 *
+	 * @param firstFrame      The first frame
+	 * @param firstFrameBytes The bytes of the first frame with position 0
+	 * @return The values of the VBRI header or null if there is none
+	 */
+	private InfoFrame readVbriHeader(MP3Frame firstFrame, ByteBuffer firstFrameBytes) {
+		int vbriOffset = MP3AudioAnalyzer.VBRI_OFFSET;
+
+		if (firstFrameBytes.limit() < vbriOffset + MP3AudioAnalyzer.VBRI_FRAMES_OFFSET + 4
+			|| !isIdAt(firstFrameBytes, vbriOffset, MP3AudioAnalyzer.VBRI_ID)) {
+			return null;
+		}
+
+		long byteCount = (firstFrameBytes.getInt(vbriOffset + MP3AudioAnalyzer.VBRI_BYTES_OFFSET) & 0xFFFFFFFFL)
+			- firstFrame.getSize();
+		long frameCount = firstFrameBytes.getInt(vbriOffset + MP3AudioAnalyzer.VBRI_FRAMES_OFFSET) & 0xFFFFFFFFL;
+
+		return new InfoFrame(frameCount, byteCount, 0, 0);
+	}
+
+	/**
+	 * Reads a Xing or Info header from the given first frame, if there is one,
+	 * together with the encoder delay and padding of a LAME tag following it.
+	 *
+	 * @param firstFrame      The first frame
+	 * @param firstFrameBytes The bytes of the first frame with position 0
+	 * @return The values of the Xing or Info header or null if there is none
+	 */
+	private InfoFrame readXingHeader(MP3Frame firstFrame, ByteBuffer firstFrameBytes) {
+		// Xing and Info headers only exist in Layer III frames
+		if (firstFrame.getLayerBits() != 1) {
+			return null;
+		}
+
+		boolean isMono = ((firstFrameBytes.get(3) >>> 6) & 0x3) == MP3AudioAnalyzer.MONO_CHANNEL_MODE;
+
+		// The header follows the side information, whose size depends on MPEG version and channel mode
+		int sideInformationSize = firstFrame.getMpegAudioVersionIdBits() == 3 ? (isMono ? 17 : 32) : (isMono ? 9 : 17);
+
+		int xingOffset = MP3AudioAnalyzer.HEADER_SIZE + (firstFrame.isProtected() ? MP3AudioAnalyzer.CRC_SIZE : 0)
+			+ sideInformationSize;
+
+		if (firstFrameBytes.limit() < xingOffset + 16 || (!isIdAt(firstFrameBytes, xingOffset, MP3AudioAnalyzer.XING_ID)
+			&& !isIdAt(firstFrameBytes, xingOffset, MP3AudioAnalyzer.INFO_ID))) {
+			return null;
+		}
+
+		int flags = firstFrameBytes.getInt(xingOffset + 4);
+
+		int fieldOffset = xingOffset + 8;
+
+		long frameCount = -1;
+
+		if ((flags & MP3AudioAnalyzer.XING_FRAMES_FLAG) != 0) {
+			frameCount = firstFrameBytes.getInt(fieldOffset) & 0xFFFFFFFFL;
+			fieldOffset += 4;
+		}
+
+		long byteCount = audioEndOffset - firstFrame.getEndOffset();
+
+		if ((flags & MP3AudioAnalyzer.XING_BYTES_FLAG) != 0) {
+			byteCount = (firstFrameBytes.getInt(fieldOffset) & 0xFFFFFFFFL) - firstFrame.getSize();
+			fieldOffset += 4;
+		}
+
+		if ((flags & MP3AudioAnalyzer.XING_TOC_FLAG) != 0) {
+			fieldOffset += MP3AudioAnalyzer.XING_TOC_SIZE;
+		}
+
+		if ((flags & MP3AudioAnalyzer.XING_QUALITY_FLAG) != 0) {
+			fieldOffset += 4;
+		}
+
+		int encoderDelay = 0;
+		int encoderPadding = 0;
+
+		int delayAndPaddingOffset = fieldOffset + MP3AudioAnalyzer.LAME_DELAY_AND_PADDING_OFFSET;
+
+		if (firstFrameBytes.limit() >= delayAndPaddingOffset + 3
+			&& isIdAt(firstFrameBytes, fieldOffset, MP3AudioAnalyzer.LAME_ID)) {
+			// Two 12 bit values
+			int delayAndPadding = ((firstFrameBytes.get(delayAndPaddingOffset) & 0xFF) << 16)
+				| ((firstFrameBytes.get(delayAndPaddingOffset + 1) & 0xFF) << 8)
+				| (firstFrameBytes.get(delayAndPaddingOffset + 2) & 0xFF);
+
+			encoderDelay = delayAndPadding >>> 12;
+			encoderPadding = delayAndPadding & 0xFFF;
+		}
+
+		return new InfoFrame(frameCount, byteCount, encoderDelay, encoderPadding);
+	}
+}
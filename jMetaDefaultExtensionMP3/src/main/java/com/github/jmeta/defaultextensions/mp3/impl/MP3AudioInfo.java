@@ -0,0 +1,118 @@
+/**
+ *
+ * {@link MP3AudioInfo}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+/**
+ * {@link MP3AudioInfo} is the result of analysing the audio region of an MP3
+ * medium with an {@link MP3AudioAnalyzer}. Frame count and byte count only
+ * refer to the frames containing audio data, i.e. they do not include a
+ * leading Xing, Info or VBRI frame.
+ */
+public class MP3AudioInfo {
+
+	private final long frameCount;
+
+	private final long byteCount;
+
+	private final long sampleCount;
+
+	private final int samplingRateFrequency;
+
+	private final boolean isFromInfoFrame;
+
+	/**
+	 * Creates a new {@link MP3AudioInfo}.
+	 *
+	 * @param frameCount            The number of audio frames
+	 * @param byteCount             The total size of all audio frames in bytes
+	 * @param sampleCount           The number of samples per channel, excluding
+	 *                              any encoder delay and padding if known
+	 * @param samplingRateFrequency The sampling rate frequency in Hz
+	 * @param isFromInfoFrame       true if the values have been taken from a
+	 *                              Xing, Info or VBRI frame, false if they have
+	 *                              been determined by walking all frames
+	 */
+	public MP3AudioInfo(long frameCount, long byteCount, long sampleCount, int samplingRateFrequency,
+		boolean isFromInfoFrame) {
+		this.frameCount = frameCount;
+		this.byteCount = byteCount;
+		this.sampleCount = sampleCount;
+		this.samplingRateFrequency = samplingRateFrequency;
+		this.isFromInfoFrame = isFromInfoFrame;
+	}
+
+	/**
+	 * @return the average bit rate of the audio frames in kbit/s
+	 */
+	public int getAverageBitRate() {
+		if (sampleCount == 0) {
+			return 0;
+		}
+
+		return (int) (byteCount * 8 * samplingRateFrequency / (sampleCount * 1000));
+	}
+
+	/**
+	 * @return the total size of all audio frames in bytes
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * @return the playing duration in milliseconds
+	 */
+	public long getDurationInMilliseconds() {
+		if (samplingRateFrequency == 0) {
+			return 0;
+		}
+
+		return sampleCount * 1000 / samplingRateFrequency;
+	}
+
+	/**
+	 * @return the number of audio frames
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * @return the number of samples per channel, excluding any encoder delay and
+	 *         padding if known
+	 */
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * @return the sampling rate frequency in Hz
+	 */
+	public int getSamplingRateFrequency() {
+		return samplingRateFrequency;
+	}
+
+	/**
+	 * @return true if the values have been taken from a Xing, Info or VBRI frame,
+	 *         false if they have been determined by walking all frames
+	 */
+	public boolean isFromInfoFrame() {
+		return isFromInfoFrame;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MP3AudioInfo [frameCount=" + frameCount + ", byteCount=" + byteCount + ", sampleCount=" + sampleCount
+			+ ", samplingRateFrequency=" + samplingRateFrequency + ", isFromInfoFrame=" + isFromInfoFrame + "]";
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ *
+ * {@link MP3Frame}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+/**
+ * {@link MP3Frame} is the result of scanning a single MP3 frame with an
+ * {@link MP3FrameScanner}, holding its location and the values of its frame
+ * header.
+ */
+public class MP3Frame {
+
+	private final long offset;
+
+	private final int size;
+
+	private final int mpegAudioVersionIdBits;
+
+	private final int layerBits;
+
+	private final int bitRate;
+
+	private final int samplingRateFrequency;
+
+	private final boolean isProtected;
+
+	private final boolean isPadded;
+
+	/**
+	 * Creates a new {@link MP3Frame}.
+	 *
+	 * @param offset                 The absolute offset of the frame in the
+	 *                               medium
+	 * @param size                   The total size of the frame including its
+	 *                               header in bytes
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param layerBits              The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 * @param bitRate                The bit rate of the frame in kbit/s
+	 * @param samplingRateFrequency  The sampling rate frequency of the frame in
+	 *                               Hz
+	 * @param isProtected            true if the frame header is followed by a
+	 *                               CRC, false otherwise
+	 * @param isPadded               true if the frame contains a padding slot,
+	 *                               false otherwise
+	 */
+	public MP3Frame(long offset, int size, int mpegAudioVersionIdBits, int layerBits, int bitRate,
+		int samplingRateFrequency, boolean isProtected, boolean isPadded) {
+		this.offset = offset;
+		this.size = size;
+		this.mpegAudioVersionIdBits = mpegAudioVersionIdBits;
+		this.layerBits = layerBits;
+		this.bitRate = bitRate;
+		this.samplingRateFrequency = samplingRateFrequency;
+		this.isProtected = isProtected;
+		this.isPadded = isPadded;
+	}
+
+	/**
+	 * @return the bit rate of the frame in kbit/s
+	 */
+	public int getBitRate() {
+		return bitRate;
+	}
+
+	/**
+	 * @return the absolute offset of the first byte behind the frame
+	 */
+	public long getEndOffset() {
+		return offset + size;
+	}
+
+	/**
+	 * @return the value of the {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 */
+	public int getLayerBits() {
+		return layerBits;
+	}
+
+	/**
+	 * @return the value of the {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 */
+	public int getMpegAudioVersionIdBits() {
+		return mpegAudioVersionIdBits;
+	}
+
+	/**
+	 * @return the absolute offset of the frame in the medium
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the sampling rate frequency of the frame in Hz
+	 */
+	public int getSamplingRateFrequency() {
+		return samplingRateFrequency;
+	}
+
+	/**
+	 * @return the total size of the frame including its header in bytes
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return true if the frame contains a padding slot, false otherwise
+	 */
+	public boolean isPadded() {
+		return isPadded;
+	}
+
+	/**
+	 * @return true if the frame header is followed by a CRC, false otherwise
+	 */
+	public boolean isProtected() {
+		return isProtected;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MP3Frame [offset=" + offset + ", size=" + size + ", mpegAudioVersionIdBits=" + mpegAudioVersionIdBits
+			+ ", layerBits=" + layerBits + ", bitRate=" + bitRate + ", samplingRateFrequency=" + samplingRateFrequency
+			+ ", isProtected=" + isProtected + ", isPadded=" + isPadded + "]";
+	}
+}
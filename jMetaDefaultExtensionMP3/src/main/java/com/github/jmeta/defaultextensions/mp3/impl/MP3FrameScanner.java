@@ -0,0 +1,635 @@
+/**
+ *
+ * {@link MP3FrameScanner}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.services.MediaAPI;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
+
+/**
+ * {@link MP3FrameScanner} scans all MP3 frames of the audio region of a medium
+ * without decoding them, i.e. it only reads their frame headers and uses the
+ * frame sizes to walk from frame to frame. It can either scan the audio region
+ * sequentially, or in parallel using a {@link ForkJoinPool}.
+ *
+ * The scanner is either synchronised, i.e. it expects the next frame right
+ * behind the previous one, or it resynchronises by searching for the frame
+ * sync. A frame header directly behind the previous frame is accepted if it is
+ * valid on its own. When resynchronising, a frame header is only accepted if
+ * it is followed by a chain of further valid frame headers with the same MPEG
+ * version, layer and sampling rate frequency, or if the chain ends exactly at
+ * the end of the audio region. This avoids synchronising on random frame sync
+ * patterns within audio data or garbage.
+ *
+ * For a parallel scan, the audio region is split into ranges of a fixed size.
+ * Each range is scanned independently, resynchronising at its start offset. A
+ * frame belongs to the range its first byte is in, even if it extends into the
+ * next range. When merging the results of neighbouring ranges, the scan of the
+ * left range is continued into the right range until it reaches a frame also
+ * found by the right range. From there on, both scans are identical, so that
+ * the result is exactly the same as for a sequential scan.
+ *
+ * The {@link MediumStore} must be thread-safe for parallel scans, i.e. it must
+ * be created with {@link MediaAPI#createConcurrentMediumStore}, and it must
+ * already be opened.
+ */
+public class MP3FrameScanner {
+
+	/**
+	 * The default size of the ranges scanned in parallel in bytes
+	 */
+	public static final int DEFAULT_RANGE_SIZE_IN_BYTES = 1024 * 1024;
+
+	private static final int HEADER_SIZE = 4;
+
+	private static final int FRAME_SYNC = 0x7FF;
+
+	private static final int SYNC_CHAIN_LENGTH = 3;
+
+	private static final int RESYNC_CHUNK_SIZE = 4096;
+
+	private static final int HEADER_CHUNK_SIZE = 16 * 1024;
+
+	// MPEG audio version ID, layer and sampling frequency bits
+	private static final int CONSISTENT_HEADER_BITS_MASK = 0x001E0C00;
+
+	private static final long NOT_SYNCHRONISED = -1;
+
+	/**
+	 * {@link FrameHandler} is notified about each frame found by a streaming scan,
+	 * without creating any objects per frame.
+	 */
+	public interface FrameHandler {
+
+		/**
+		 * Handles a frame found.
+		 *
+		 * @param offset    The absolute offset of the frame
+		 * @param header    The four bytes of the frame header in big endian byte
+		 *                  order
+		 * @param frameSize The total size of the frame including its header in
+		 *                  bytes
+		 * @return true to continue scanning, false to stop scanning before this
+		 *         frame
+		 */
+		public boolean handleFrame(long offset, int header, int frameSize);
+	}
+
+	/**
+	 * {@link ScanResult} is the result of scanning a range of the audio region.
+	 */
+	private static class ScanResult {
+
+		private final List<MP3Frame> frames;
+
+		private final long endOffset;
+
+		private final boolean isEndSynchronised;
+
+		private final long rangeEndOffset;
+
+		/**
+		 * Creates a new {@link ScanResult}.
+		 *
+		 * @param frames            The frames found in the range, in ascending order
+		 *                          of their offsets
+		 * @param endOffset         The offset the scan of the next range continues
+		 *                          at, i.e. either the end offset of the last frame
+		 *                          or the end offset of the range
+		 * @param isEndSynchronised true if the scan of the next range continues
+		 *                          synchronised, i.e. the end offset is the end
+		 *                          offset of the last frame, false if it needs to
+		 *                          resynchronise
+		 * @param rangeEndOffset    The end offset of the range, exclusive
+		 */
+		public ScanResult(List<MP3Frame> frames, long endOffset, boolean isEndSynchronised, long rangeEndOffset) {
+			this.frames = frames;
+			this.endOffset = endOffset;
+			this.isEndSynchronised = isEndSynchronised;
+			this.rangeEndOffset = rangeEndOffset;
+		}
+	}
+
+	/**
+	 * {@link RangeScanTask} scans a range of the audio region, splitting it into
+	 * two halves scanned in parallel as long as it is bigger than the range size.
+	 */
+	private class RangeScanTask extends RecursiveTask<ScanResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long startOffset;
+
+		private final long endOffset;
+
+		/**
+		 * Creates a new {@link RangeScanTask}.
+		 *
+		 * @param startOffset The start offset of the range
+		 * @param endOffset   The end offset of the range, exclusive
+		 */
+		public RangeScanTask(long startOffset, long endOffset) {
+			this.startOffset = startOffset;
+			this.endOffset = endOffset;
+		}
+
+		/**
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected ScanResult compute() {
+			if (endOffset - startOffset <= rangeSizeInBytes) {
+				return scanRange(startOffset, endOffset, false);
+			}
+
+			long rangeCount = (endOffset - startOffset + rangeSizeInBytes - 1) / rangeSizeInBytes;
+
+			long middleOffset = startOffset + (rangeCount / 2) * rangeSizeInBytes;
+
+			RangeScanTask leftTask = new RangeScanTask(startOffset, middleOffset);
+			RangeScanTask rightTask = new RangeScanTask(middleOffset, endOffset);
+
+			leftTask.fork();
+
+			ScanResult rightResult = rightTask.compute();
+
+			return merge(leftTask.join(), rightResult);
+		}
+	}
+
+	/**
+	 * {@link HeaderReader} reads frame headers from a chunk of the audio region
+	 * that is only read again if a header is not contained in it, such that
+	 * walking from frame to frame reads the medium once per chunk instead of once
+	 * per frame. It must only be used by a single thread.
+	 */
+	private class HeaderReader {
+
+		private ByteBuffer chunk = ByteBuffer.allocate(0);
+
+		private long chunkOffset;
+
+		/**
+		 * Reads the frame header at the given offset.
+		 *
+		 * @param offset The absolute offset of the frame header
+		 * @return The four bytes of the frame header in big endian byte order or 0 if
+		 *         there are less than four bytes left in the audio region
+		 */
+		public int readHeader(long offset) {
+			if (audioEndOffset - offset < MP3FrameScanner.HEADER_SIZE) {
+				return 0;
+			}
+
+			if (offset < chunkOffset || offset + MP3FrameScanner.HEADER_SIZE > chunkOffset + chunk.limit()) {
+				chunkOffset = offset;
+				chunk = getData(offset, (int) Math.min(MP3FrameScanner.HEADER_CHUNK_SIZE, audioEndOffset - offset));
+			}
+
+			return chunk.getInt((int) (offset - chunkOffset));
+		}
+	}
+
+	private final MediumStore mediumStore;
+
+	private final long audioStartOffset;
+
+	private final long audioEndOffset;
+
+	private final int rangeSizeInBytes;
+
+	/**
+	 * Creates a new {@link MP3FrameScanner}.
+	 *
+	 * @param mediumStore      The {@link MediumStore} to scan, must not be null
+	 * @param audioStartOffset The start offset of the audio region, i.e. the
+	 *                         offset behind any leading tags, must not be
+	 *                         negative
+	 * @param audioEndOffset   The end offset of the audio region, exclusive, i.e.
+	 *                         the offset of any trailing tags, must not be
+	 *                         smaller than the start offset
+	 * @param rangeSizeInBytes The size of the ranges scanned in parallel in
+	 *                         bytes, must be bigger than zero
+	 */
+	public MP3FrameScanner(MediumStore mediumStore, long audioStartOffset, long audioEndOffset,
+		int rangeSizeInBytes) {
+		Reject.ifNull(mediumStore, "mediumStore");
+		Reject.ifNegative(audioStartOffset, "audioStartOffset");
+		Reject.ifFalse(audioEndOffset >= audioStartOffset, "audioEndOffset >= audioStartOffset");
+		Reject.ifNegativeOrZero(rangeSizeInBytes, "rangeSizeInBytes");
+
+		this.mediumStore = mediumStore;
+		this.audioStartOffset = audioStartOffset;
+		this.audioEndOffset = audioEndOffset;
+		this.rangeSizeInBytes = rangeSizeInBytes;
+	}
+
+	/**
+	 * Scans all frames of the audio region in parallel using the given
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param pool The {@link ForkJoinPool} to use, must not be null
+	 * @return All frames of the audio region in ascending order of their offsets
+	 */
+	public List<MP3Frame> scan(ForkJoinPool pool) {
+		Reject.ifNull(pool, "pool");
+
+		return pool.invoke(new RangeScanTask(audioStartOffset, audioEndOffset)).frames;
+	}
+
+	/**
+	 * Returns the value of the {@link MP3Extension#HEADER_FLAGS_LAYER} flag of the
+	 * given frame header.
+	 *
+	 * @param header The four bytes of the frame header in big endian byte order
+	 * @return The value of the flag
+	 */
+	public static int getLayerBits(int header) {
+		return (header >>> 17) & 0x3;
+	}
+
+	/**
+	 * Returns the value of the {@link MP3Extension#HEADER_FLAGS_ID} flag of the
+	 * given frame header.
+	 *
+	 * @param header The four bytes of the frame header in big endian byte order
+	 * @return The value of the flag
+	 */
+	public static int getMpegAudioVersionIdBits(int header) {
+		return (header >>> 19) & 0x3;
+	}
+
+	/**
+	 * Returns the value of the
+	 * {@link MP3Extension#HEADER_FLAGS_SAMPLING_FREQUENCY} flag of the given frame
+	 * header.
+	 *
+	 * @param header The four bytes of the frame header in big endian byte order
+	 * @return The value of the flag
+	 */
+	public static int getSampleRateBits(int header) {
+		return (header >>> 10) & 0x3;
+	}
+
+	/**
+	 * Finds the first frame of the audio region, i.e. the frame a scan starts
+	 * with.
+	 *
+	 * @return The first frame or null if there is none
+	 */
+	public MP3Frame findFirstFrame() {
+		HeaderReader headerReader = new HeaderReader();
+
+		long frameOffset = findSynchronisedFrameOffset(audioStartOffset, audioEndOffset, headerReader);
+
+		if (frameOffset == MP3FrameScanner.NOT_SYNCHRONISED) {
+			return null;
+		}
+
+		int header = headerReader.readHeader(frameOffset);
+
+		return createFrame(frameOffset, header, getFrameSize(frameOffset, header));
+	}
+
+	/**
+	 * Scans all frames of the audio region sequentially in the calling thread.
+	 *
+	 * @return All frames of the audio region in ascending order of their offsets
+	 */
+	public List<MP3Frame> scanSequentially() {
+		return scanRange(audioStartOffset, audioEndOffset, false).frames;
+	}
+
+	/**
+	 * Scans all frames of the audio region sequentially in the calling thread,
+	 * passing each frame to the given {@link FrameHandler} instead of collecting
+	 * the frames.
+	 *
+	 * @param handler The {@link FrameHandler} to notify, must not be null
+	 */
+	public void scanSequentially(FrameHandler handler) {
+		Reject.ifNull(handler, "handler");
+
+		walk(audioStartOffset, audioEndOffset, false, handler);
+	}
+
+	/**
+	 * Creates an {@link MP3Frame} for the given valid frame header.
+	 *
+	 * @param offset    The absolute offset of the frame
+	 * @param header    The four bytes of the frame header in big endian byte order
+	 * @param frameSize The total size of the frame including its header in bytes
+	 * @return The frame
+	 */
+	private MP3Frame createFrame(long offset, int header, int frameSize) {
+		int mpegAudioVersionIdBits = MP3FrameScanner.getMpegAudioVersionIdBits(header);
+		int layerBits = MP3FrameScanner.getLayerBits(header);
+
+		return new MP3Frame(offset, frameSize, mpegAudioVersionIdBits, layerBits,
+			MP3SizeProvider.getBitRate(mpegAudioVersionIdBits, layerBits, (header >>> 12) & 0xF),
+			MP3SizeProvider.getSamplingRateFrequency(mpegAudioVersionIdBits, MP3FrameScanner.getSampleRateBits(header)),
+			((header >>> 16) & 0x1) == 0, ((header >>> 9) & 0x1) == 1);
+	}
+
+	/**
+	 * Finds the offset of the first frame starting in the given range that is
+	 * followed by a chain of valid frames, searching for the frame sync.
+	 *
+	 * @param startOffset  The start offset of the range
+	 * @param endOffset    The end offset of the range, exclusive
+	 * @param headerReader The {@link HeaderReader} for reading the headers of the
+	 *                     following frames
+	 * @return The offset of the first frame starting in the range that is followed
+	 *         by a chain of valid frames or {@link #NOT_SYNCHRONISED} if there is
+	 *         none
+	 */
+	private long findSynchronisedFrameOffset(long startOffset, long endOffset, HeaderReader headerReader) {
+		for (long chunkOffset = startOffset; chunkOffset < endOffset;
+			chunkOffset += MP3FrameScanner.RESYNC_CHUNK_SIZE) {
+			if (audioEndOffset - chunkOffset < MP3FrameScanner.HEADER_SIZE) {
+				return MP3FrameScanner.NOT_SYNCHRONISED;
+			}
+
+			int chunkSize = (int) Math.min(MP3FrameScanner.RESYNC_CHUNK_SIZE + MP3FrameScanner.HEADER_SIZE - 1,
+				audioEndOffset - chunkOffset);
+
+			ByteBuffer chunk = getData(chunkOffset, chunkSize);
+
+			int searchEnd = (int) Math.min(Math.min(MP3FrameScanner.RESYNC_CHUNK_SIZE, endOffset - chunkOffset),
+				chunk.limit() - MP3FrameScanner.HEADER_SIZE + 1);
+
+			for (int i = 0; i < searchEnd; i++) {
+				if (chunk.get(i) == (byte) 0xFF && (chunk.get(i + 1) & 0xE0) == 0xE0) {
+					int header = chunk.getInt(i);
+
+					int frameSize = getFrameSize(chunkOffset + i, header);
+
+					if (frameSize != 0 && isFollowedByFrameChain(chunkOffset + i, header, frameSize, headerReader)) {
+						return chunkOffset + i;
+					}
+				}
+			}
+		}
+
+		return MP3FrameScanner.NOT_SYNCHRONISED;
+	}
+
+	/**
+	 * Reads the given number of bytes from the medium.
+	 *
+	 * @param offset        The absolute offset of the bytes
+	 * @param numberOfBytes The number of bytes, must not exceed the medium length
+	 * @return The bytes read with position 0
+	 */
+	private ByteBuffer getData(long offset, int numberOfBytes) {
+		try {
+			return mediumStore.getData(mediumStore.createMediumOffset(offset), numberOfBytes).slice();
+		} catch (EndOfMediumException e) {
+			throw new JMetaIllegalStateException("Unexpected end of medium while scanning mp3 frames", e);
+		}
+	}
+
+	/**
+	 * Validates the given frame header and returns the size of the frame.
+	 *
+	 * @param offset The absolute offset of the frame
+	 * @param header The four bytes of the frame header in big endian byte order
+	 * @return The total size of the frame including its header in bytes or 0 if
+	 *         the header is not valid or the frame does not fit into the audio
+	 *         region
+	 */
+	private int getFrameSize(long offset, int header) {
+		if (header >>> 21 != MP3FrameScanner.FRAME_SYNC) {
+			return 0;
+		}
+
+		int mpegAudioVersionIdBits = MP3FrameScanner.getMpegAudioVersionIdBits(header);
+		int layerBits = MP3FrameScanner.getLayerBits(header);
+		int bitRateBits = (header >>> 12) & 0xF;
+		int sampleRateBits = MP3FrameScanner.getSampleRateBits(header);
+		int paddingBits = (header >>> 9) & 0x1;
+
+		// Reserved version, reserved layer, free or bad bit rate, reserved sampling rate
+		if (mpegAudioVersionIdBits == 1 || layerBits == 0 || bitRateBits == 0 || bitRateBits == 0xF
+			|| sampleRateBits == 3) {
+			return 0;
+		}
+
+		long frameSize = MP3SizeProvider.calculateFrameSize(mpegAudioVersionIdBits, layerBits, bitRateBits,
+			sampleRateBits, paddingBits);
+
+		if (frameSize <= MP3FrameScanner.HEADER_SIZE || audioEndOffset - offset < frameSize) {
+			return 0;
+		}
+
+		return (int) frameSize;
+	}
+
+	/**
+	 * Returns the index of the frame with the given offset in the given frames.
+	 *
+	 * @param frames The frames in ascending order of their offsets
+	 * @param offset The offset of the frame
+	 * @return The index of the frame or -1 if there is no frame with the offset
+	 */
+	private int indexOfFrameAt(List<MP3Frame> frames, long offset) {
+		int low = 0;
+		int high = frames.size() - 1;
+
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+
+			long middleOffset = frames.get(middle).getOffset();
+
+			if (middleOffset < offset) {
+				low = middle + 1;
+			} else if (middleOffset > offset) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Checks whether the given frame is followed by a chain of valid frames with
+	 * the same MPEG version, layer and sampling rate frequency, or by the end of
+	 * the audio region.
+	 *
+	 * @param offset       The absolute offset of the frame
+	 * @param header       The four bytes of the frame header in big endian byte
+	 *                     order
+	 * @param frameSize    The total size of the frame including its header in
+	 *                     bytes
+	 * @param headerReader The {@link HeaderReader} for reading the headers of the
+	 *                     following frames
+	 * @return true if the frame is followed by a chain of valid frames, false
+	 *         otherwise
+	 */
+	private boolean isFollowedByFrameChain(long offset, int header, int frameSize, HeaderReader headerReader) {
+		long nextOffset = offset + frameSize;
+
+		for (int i = 1; i < MP3FrameScanner.SYNC_CHAIN_LENGTH; i++) {
+			if (nextOffset == audioEndOffset) {
+				return true;
+			}
+
+			int nextHeader = headerReader.readHeader(nextOffset);
+
+			int nextFrameSize = getFrameSize(nextOffset, nextHeader);
+
+			if (nextFrameSize == 0 || (nextHeader & MP3FrameScanner.CONSISTENT_HEADER_BITS_MASK) != (header
+				& MP3FrameScanner.CONSISTENT_HEADER_BITS_MASK)) {
+				return false;
+			}
+
+			nextOffset += nextFrameSize;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Merges the results of two neighbouring ranges. If the left range ends
+	 * unsynchronised, the right range has resynchronised exactly like a sequential
+	 * scan would, and the frames are simply concatenated. Otherwise, the scan of
+	 * the left range is continued until it reaches a frame found by the right
+	 * range, or the end of the right range.
+	 *
+	 * @param left  The result of the left range
+	 * @param right The result of the right range
+	 * @return The merged result
+	 */
+	private ScanResult merge(ScanResult left, ScanResult right) {
+		List<MP3Frame> mergedFrames = new ArrayList<>(left.frames.size() + right.frames.size());
+
+		mergedFrames.addAll(left.frames);
+
+		if (!left.isEndSynchronised) {
+			mergedFrames.addAll(right.frames);
+
+			return new ScanResult(mergedFrames, right.endOffset, right.isEndSynchronised, right.rangeEndOffset);
+		}
+
+		long walkEndOffset = walk(left.endOffset, right.rangeEndOffset, true, (offset, header, frameSize) -> {
+			if (indexOfFrameAt(right.frames, offset) >= 0) {
+				return false;
+			}
+
+			mergedFrames.add(createFrame(offset, header, frameSize));
+
+			return true;
+		});
+
+		if (walkEndOffset == MP3FrameScanner.NOT_SYNCHRONISED) {
+			return new ScanResult(mergedFrames, right.rangeEndOffset, false, right.rangeEndOffset);
+		}
+
+		int rightIndex = indexOfFrameAt(right.frames, walkEndOffset);
+
+		if (rightIndex >= 0) {
+			mergedFrames.addAll(right.frames.subList(rightIndex, right.frames.size()));
+
+			return new ScanResult(mergedFrames, right.endOffset, right.isEndSynchronised, right.rangeEndOffset);
+		}
+
+		return new ScanResult(mergedFrames, walkEndOffset, true, right.rangeEndOffset);
+	}
+
+	/**
+	 * Scans all frames starting in the given range sequentially.
+	 *
+	 * @param startOffset    The start offset of the range
+	 * @param endOffset      The end offset of the range, exclusive
+	 * @param isSynchronised true if the scan starts synchronised, false if it
+	 *                       needs to resynchronise first
+	 * @return The {@link ScanResult} of the range
+	 */
+	private ScanResult scanRange(long startOffset, long endOffset, boolean isSynchronised) {
+		List<MP3Frame> frames = new ArrayList<>();
+
+		long walkEndOffset = walk(startOffset, endOffset, isSynchronised, (offset, header, frameSize) -> {
+			frames.add(createFrame(offset, header, frameSize));
+
+			return true;
+		});
+
+		if (walkEndOffset == MP3FrameScanner.NOT_SYNCHRONISED) {
+			return new ScanResult(frames, endOffset, false, endOffset);
+		}
+
+		return new ScanResult(frames, walkEndOffset, true, endOffset);
+	}
+
+	/**
+	 * Walks from frame to frame through the given range, resynchronising whenever
+	 * there is no valid frame where the previous frame ends.
+	 *
+	 * @param startOffset    The start offset of the range
+	 * @param endOffset      The end offset of the range, exclusive
+	 * @param isSynchronised true if the walk starts synchronised, false if it
+	 *                       needs to resynchronise first
+	 * @param handler        The {@link FrameHandler} to notify about each frame
+	 *                       starting in the range
+	 * @return The offset the next range continues synchronised at, i.e. the end
+	 *         offset of the last frame, or the offset of the frame the
+	 *         {@link FrameHandler} stopped the walk at, or
+	 *         {@link #NOT_SYNCHRONISED} if the next range needs to resynchronise
+	 */
+	private long walk(long startOffset, long endOffset, boolean isSynchronised, FrameHandler handler) {
+		HeaderReader headerReader = new HeaderReader();
+
+		long nextOffset = startOffset;
+
+		boolean isNextOffsetSynchronised = isSynchronised;
+
+		while (nextOffset < endOffset) {
+			long frameOffset = nextOffset;
+			int header = 0;
+			int frameSize = 0;
+
+			if (isNextOffsetSynchronised) {
+				header = headerReader.readHeader(frameOffset);
+				frameSize = getFrameSize(frameOffset, header);
+			}
+
+			if (frameSize == 0) {
+				frameOffset = findSynchronisedFrameOffset(nextOffset, endOffset, headerReader);
+
+				if (frameOffset == MP3FrameScanner.NOT_SYNCHRONISED) {
+					return MP3FrameScanner.NOT_SYNCHRONISED;
+				}
+
+				header = headerReader.readHeader(frameOffset);
+				frameSize = getFrameSize(frameOffset, header);
+			}
+
+			if (!handler.handleFrame(frameOffset, header, frameSize)) {
+				return frameOffset;
+			}
+
+			nextOffset = frameOffset + frameSize;
+
+			isNextOffsetSynchronised = true;
+		}
+
+		return isNextOffsetSynchronised ? nextOffset : MP3FrameScanner.NOT_SYNCHRONISED;
+	}
+}
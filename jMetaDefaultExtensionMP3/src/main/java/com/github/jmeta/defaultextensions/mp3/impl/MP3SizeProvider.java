@@ -23,7 +23,7 @@ import com.github.jmeta.library.dataformats.api.types.Flags;
  */
 public class MP3SizeProvider implements SizeProvider {
 
-	private int samplingRateFrequencies[][] = {
+	private static final int[][] SAMPLING_RATE_FREQUENCIES = {
 		// MPEG Version 1 sampling frequencies (-1 = reserved)
 		{ 44100, 48000, 32000, -1 },
 		// MPEG Version 2 sampling frequencies (-1 = reserved)
@@ -31,7 +31,7 @@ public class MP3SizeProvider implements SizeProvider {
 		// MPEG Version 2.5 sampling frequencies (-1 = reserved)
 		{ 11025, 12000, 8000, -1 }, };
 
-	private int bitRates[][][] = {
+	private static final int[][][] BIT_RATES = {
 		// MPEG Version 1 bitrates (0 = free, -1 = bad)
 		{
 			// Layer 1
@@ -49,6 +49,150 @@ public class MP3SizeProvider implements SizeProvider {
 			// Layer 3
 			{ 0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, -1 }, }, };
 
+	/**
+	 * Calculates the total size of an MP3 frame including its header from the
+	 * values of its header flags.
+	 *
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param layerBits              The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 * @param bitRateBits            The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_BITRATE_INDEX}
+	 *                               flag
+	 * @param sampleRateBits         The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_SAMPLING_FREQUENCY}
+	 *                               flag
+	 * @param paddingBits            The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_PADDING_BIT}
+	 *                               flag
+	 * @return The size of the frame in bytes
+	 */
+	static long calculateFrameSize(int mpegAudioVersionIdBits, int layerBits, int bitRateBits, int sampleRateBits,
+		int paddingBits) {
+		int bitRate = MP3SizeProvider.getBitRate(mpegAudioVersionIdBits, layerBits, bitRateBits);
+		int samplingRateFrequency = MP3SizeProvider.getSamplingRateFrequency(mpegAudioVersionIdBits, sampleRateBits);
+
+		if (layerBits == 3) {
+			return (((12 * bitRate * 1000) / samplingRateFrequency) + paddingBits) * 4;
+		} else if ((layerBits == 1) || (layerBits == 2)) {
+			// Bytes per frame per bit/s: 144 for layer II and MPEG 1 layer III, 72 for MPEG 2 and 2.5 layer III
+			int bytesPerBitRate = MP3SizeProvider.getSamplesPerFrame(mpegAudioVersionIdBits, layerBits) / 8;
+
+			return ((bytesPerBitRate * bitRate * 1000) / samplingRateFrequency) + paddingBits;
+		}
+
+		return DataBlockDescription.UNDEFINED;
+	}
+
+	/**
+	 * Calculates the size of the payload of an MP3 frame, i.e. the frame size
+	 * without the header, from the values of its header flags.
+	 *
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param layerBits              The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 * @param bitRateBits            The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_BITRATE_INDEX}
+	 *                               flag
+	 * @param sampleRateBits         The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_SAMPLING_FREQUENCY}
+	 *                               flag
+	 * @param paddingBits            The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_PADDING_BIT}
+	 *                               flag
+	 * @param protectionBit          The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_NO_PROTECTION_BIT}
+	 *                               flag
+	 * @return The size of the payload in bytes
+	 */
+	static long calculatePayloadSize(int mpegAudioVersionIdBits, int layerBits, int bitRateBits, int sampleRateBits,
+		int paddingBits, int protectionBit) {
+		long totalPayloadSize = MP3SizeProvider.calculateFrameSize(mpegAudioVersionIdBits, layerBits, bitRateBits,
+			sampleRateBits, paddingBits);
+
+		totalPayloadSize -= 4; // Minus header size
+		if (protectionBit == 0) {
+			totalPayloadSize += 2;
+		}
+
+		return totalPayloadSize;
+	}
+
+	/**
+	 * Returns the bit rate of an MP3 frame from the values of its header flags.
+	 *
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param layerBits              The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 * @param bitRateBits            The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_BITRATE_INDEX}
+	 *                               flag
+	 * @return The bit rate in kbit/s, 0 for free bit rate and -1 for a bad bit
+	 *         rate index
+	 */
+	static int getBitRate(int mpegAudioVersionIdBits, int layerBits, int bitRateBits) {
+		int bitRateVersionIndex = mpegAudioVersionIdBits == 3 ? 0 : 1;
+		int bitRateLayerIndex = 0;
+
+		if (layerBits == 1) {
+			bitRateLayerIndex = 2;
+		} else if (layerBits == 2) {
+			bitRateLayerIndex = 1;
+		} else if (layerBits == 3) {
+			bitRateLayerIndex = 0;
+		}
+
+		return MP3SizeProvider.BIT_RATES[bitRateVersionIndex][bitRateLayerIndex][bitRateBits];
+	}
+
+	/**
+	 * Returns the number of samples per channel an MP3 frame decodes to.
+	 *
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param layerBits              The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_LAYER} flag
+	 * @return The number of samples per frame
+	 */
+	static int getSamplesPerFrame(int mpegAudioVersionIdBits, int layerBits) {
+		if (layerBits == 3) {
+			return 384;
+		} else if (layerBits == 1 && mpegAudioVersionIdBits != 3) {
+			return 576;
+		}
+
+		return 1152;
+	}
+
+	/**
+	 * Returns the sampling rate frequency of an MP3 frame from the values of its
+	 * header flags.
+	 *
+	 * @param mpegAudioVersionIdBits The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_ID} flag
+	 * @param sampleRateBits         The value of the
+	 *                               {@link MP3Extension#HEADER_FLAGS_SAMPLING_FREQUENCY}
+	 *                               flag
+	 * @return The sampling rate frequency in Hz or -1 for a reserved sampling rate
+	 *         index
+	 */
+	static int getSamplingRateFrequency(int mpegAudioVersionIdBits, int sampleRateBits) {
+		int samplingFreqVersionIndex = 0;
+
+		if (mpegAudioVersionIdBits == 0) {
+			samplingFreqVersionIndex = 2;
+		} else if (mpegAudioVersionIdBits == 2) {
+			samplingFreqVersionIndex = 1;
+		} else if (mpegAudioVersionIdBits == 3) {
+			samplingFreqVersionIndex = 0;
+		}
+
+		return MP3SizeProvider.SAMPLING_RATE_FREQUENCIES[samplingFreqVersionIndex][sampleRateBits];
+	}
+
 	/**
 	 * @see com.github.jmeta.library.datablocks.api.services.SizeProvider#getSizeOf(com.github.jmeta.library.dataformats.api.types.DataBlockId,
 	 *      int, com.github.jmeta.library.datablocks.api.types.ContainerContext)
@@ -69,7 +213,6 @@ public class MP3SizeProvider implements SizeProvider {
 			@SuppressWarnings("unchecked")
 			Field<Flags> flagsHeaderField = (Field<Flags>) header.getFields().get(0);
 
-			long totalPayloadSize = DataBlockDescription.UNDEFINED;
 			try {
 				Flags flags = flagsHeaderField.getInterpretedValue();
 
@@ -83,56 +226,8 @@ public class MP3SizeProvider implements SizeProvider {
 				// System.out.println(flags.getFlagValueString("Id"));
 				// System.out.println(flags.getFlagValueString("Layer"));
 
-				int bitRateVersionIndex = mpegAudioVersionIdBits == 3 ? 0 : 1;
-				int bitRateLayerIndex = 0;
-
-				if (layerBits == 1) {
-					bitRateLayerIndex = 2;
-				} else if (layerBits == 2) {
-					bitRateLayerIndex = 1;
-				} else if (layerBits == 3) {
-					bitRateLayerIndex = 0;
-				}
-
-				int bitRate = bitRates[bitRateVersionIndex][bitRateLayerIndex][bitRateBits];
-
-				// System.out.println("Bit rate index: " + bitRateBits);
-				// System.out.println("Bit rate bits: " + Integer.toBinaryString(bitRateBits));
-				// System.out.println("Bit rate: " + bitRate);
-
-				int samplingFreqVersionIndex = 0;
-
-				if (mpegAudioVersionIdBits == 0) {
-					samplingFreqVersionIndex = 2;
-				} else if (mpegAudioVersionIdBits == 2) {
-					samplingFreqVersionIndex = 1;
-				} else if (mpegAudioVersionIdBits == 3) {
-					samplingFreqVersionIndex = 0;
-				}
-
-				int samplingRateFrequency = samplingRateFrequencies[samplingFreqVersionIndex][sampleRateBits];
-
-				// System.out.println("Sampling freq index: " + sampleRateBits);
-				// System.out.println("Sampling freq bits: " +
-				// Integer.toBinaryString(sampleRateBits));
-				// System.out.println("Sampling freq: " + samplingRateFrequency);
-
-				if (layerBits == 3) {
-					totalPayloadSize = (((12 * bitRate * 1000) / samplingRateFrequency) + paddingBits) * 4;
-				} else if ((layerBits == 1) || (layerBits == 2)) {
-					totalPayloadSize = ((144 * bitRate * 1000) / samplingRateFrequency) + paddingBits;
-				}
-
-				totalPayloadSize -= 4; // Minus header size
-				if (protectionBit == 0) {
-					totalPayloadSize += 2;
-				}
-
-				// System.out.println("Padding bit: " + paddingBits);
-				// System.out.println("CRC NOT present: " + protectionBit);
-				// System.out.println("Total size = " + totalPayloadSize);
-
-				return totalPayloadSize;
+				return MP3SizeProvider.calculatePayloadSize(mpegAudioVersionIdBits, layerBits, bitRateBits,
+					sampleRateBits, paddingBits, protectionBit);
 			} catch (BinaryValueConversionException e) {
 				throw new RuntimeException("No conversion possible", e);
 			}
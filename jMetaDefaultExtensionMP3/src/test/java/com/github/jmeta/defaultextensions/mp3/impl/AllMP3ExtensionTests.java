@@ -17,7 +17,8 @@ import org.junit.runners.Suite.SuiteClasses;
  * extension management component.
  */
 @RunWith(Suite.class)
-@SuiteClasses({ MP3SingleFile_01Test.class, })
+@SuiteClasses({ MP3SingleFile_01Test.class, MP3FrameScannerTest.class,
+	MP3AudioAnalyzerTest.class, })
 public class AllMP3ExtensionTests {
 	// Nothing necessary here
 }
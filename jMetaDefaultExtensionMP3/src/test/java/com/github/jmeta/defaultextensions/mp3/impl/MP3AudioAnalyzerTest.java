@@ -0,0 +1,226 @@
+/**
+ *
+ * {@link MP3AudioAnalyzerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.utility.testsetup.api.services.TestResourceHelper;
+
+/**
+ * {@link MP3AudioAnalyzerTest} tests the {@link MP3AudioAnalyzer} class. The
+ * test file is a truncated LAME encoded file, i.e. its Xing header claims more
+ * frames and bytes than present.
+ */
+public class MP3AudioAnalyzerTest {
+
+	private final static Path MP3_FILE = TestResourceHelper.resourceToFile(MP3AudioAnalyzerTest.class,
+		"MP3_FILE_01.txt");
+
+	private static final int INFO_FRAME_SIZE = 417;
+
+	private static final int INFO_HEADER_OFFSET = 36;
+
+	private static final int AUDIO_FRAME_COUNT = 35;
+
+	private static final int SAMPLES_PER_FRAME = 1152;
+
+	private static final int LAME_ENCODER_DELAY = 576;
+
+	private static final int LAME_ENCODER_PADDING = 1856;
+
+	private Path mp3File;
+
+	private MediumStore mediumStore;
+
+	/**
+	 * Closes the {@link MediumStore} and deletes the temporary mp3 file, if any.
+	 *
+	 * @throws IOException in case deleting the file failed
+	 */
+	@After
+	public void cleanUp() throws IOException {
+		if (mediumStore != null) {
+			mediumStore.close();
+		}
+
+		if (mp3File != null) {
+			Files.deleteIfExists(mp3File);
+		}
+	}
+
+	/**
+	 * Tests {@link MP3AudioAnalyzer#analyze()}.
+	 */
+	@Test
+	public void analyze_inconsistentXingHeader_walksAllAudioFrames() {
+		long mediumLength = openMediumStore(MP3AudioAnalyzerTest.MP3_FILE).getMedium().getCurrentLength();
+
+		MP3AudioInfo audioInfo = new MP3AudioAnalyzer(mediumStore, 0, mediumLength).analyze();
+
+		Assert.assertFalse(audioInfo.isFromInfoFrame());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT, audioInfo.getFrameCount());
+		Assert.assertEquals(mediumLength - MP3AudioAnalyzerTest.INFO_FRAME_SIZE, audioInfo.getByteCount());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT * MP3AudioAnalyzerTest.SAMPLES_PER_FRAME,
+			audioInfo.getSampleCount());
+		Assert.assertEquals(44100, audioInfo.getSamplingRateFrequency());
+		Assert.assertEquals(914, audioInfo.getDurationInMilliseconds());
+	}
+
+	/**
+	 * Tests {@link MP3AudioAnalyzer#analyze()}.
+	 */
+	@Test
+	public void analyze_audioRegionWithoutInfoFrame_walksAllFrames() {
+		long mediumLength = openMediumStore(MP3AudioAnalyzerTest.MP3_FILE).getMedium().getCurrentLength();
+
+		MP3AudioInfo audioInfo = new MP3AudioAnalyzer(mediumStore, MP3AudioAnalyzerTest.INFO_FRAME_SIZE, mediumLength)
+			.analyze();
+
+		Assert.assertFalse(audioInfo.isFromInfoFrame());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT, audioInfo.getFrameCount());
+		Assert.assertEquals(mediumLength - MP3AudioAnalyzerTest.INFO_FRAME_SIZE, audioInfo.getByteCount());
+	}
+
+	/**
+	 * Tests {@link MP3AudioAnalyzer#analyze()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void analyze_consistentXingHeaderWithLameTag_usesXingHeader() throws IOException {
+		byte[] mp3Bytes = Files.readAllBytes(MP3AudioAnalyzerTest.MP3_FILE);
+
+		ByteBuffer xingHeader = ByteBuffer.wrap(mp3Bytes, MP3AudioAnalyzerTest.INFO_HEADER_OFFSET, 16).slice();
+		xingHeader.putInt(8, MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT);
+		xingHeader.putInt(12, mp3Bytes.length);
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes)).getMedium().getCurrentLength();
+
+		MP3AudioInfo audioInfo = new MP3AudioAnalyzer(mediumStore, 0, mediumLength).analyze();
+
+		long expectedSampleCount = MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT * MP3AudioAnalyzerTest.SAMPLES_PER_FRAME
+			- MP3AudioAnalyzerTest.LAME_ENCODER_DELAY - MP3AudioAnalyzerTest.LAME_ENCODER_PADDING;
+
+		Assert.assertTrue(audioInfo.isFromInfoFrame());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT, audioInfo.getFrameCount());
+		Assert.assertEquals(mediumLength - MP3AudioAnalyzerTest.INFO_FRAME_SIZE, audioInfo.getByteCount());
+		Assert.assertEquals(expectedSampleCount, audioInfo.getSampleCount());
+		Assert.assertEquals(859, audioInfo.getDurationInMilliseconds());
+	}
+
+	/**
+	 * Tests {@link MP3AudioAnalyzer#analyze()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void analyze_consistentVbriHeader_usesVbriHeader() throws IOException {
+		byte[] mp3Bytes = Files.readAllBytes(MP3AudioAnalyzerTest.MP3_FILE);
+
+		ByteBuffer vbriHeader = ByteBuffer.wrap(mp3Bytes, MP3AudioAnalyzerTest.INFO_HEADER_OFFSET, 18).slice();
+		vbriHeader.put("VBRI".getBytes(StandardCharsets.US_ASCII));
+		vbriHeader.putShort((short) 1);
+		vbriHeader.putShort((short) 0);
+		vbriHeader.putShort((short) 0);
+		vbriHeader.putInt(mp3Bytes.length);
+		vbriHeader.putInt(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT);
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes)).getMedium().getCurrentLength();
+
+		MP3AudioInfo audioInfo = new MP3AudioAnalyzer(mediumStore, 0, mediumLength).analyze();
+
+		Assert.assertTrue(audioInfo.isFromInfoFrame());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT, audioInfo.getFrameCount());
+		Assert.assertEquals(mediumLength - MP3AudioAnalyzerTest.INFO_FRAME_SIZE, audioInfo.getByteCount());
+		Assert.assertEquals(MP3AudioAnalyzerTest.AUDIO_FRAME_COUNT * MP3AudioAnalyzerTest.SAMPLES_PER_FRAME,
+			audioInfo.getSampleCount());
+	}
+
+	/**
+	 * Tests {@link MP3AudioAnalyzer#analyze()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void analyze_consistentXingHeaderOfMpeg2Layer3_usesXingHeader() throws IOException {
+		// MPEG 2 Layer III, 22050 Hz: 72 * 64000 / 22050 = 208 bytes for the Xing frame, 72 * 8000 / 22050 = 26
+		// bytes for each audio frame, which is less than the minimum size of MPEG 1 Layer III frames
+		int xingFrameSize = 208;
+		int audioFrameSize = 26;
+		int audioFrameCount = 100;
+
+		ByteBuffer mp3Bytes = ByteBuffer.allocate(xingFrameSize + audioFrameCount * audioFrameSize);
+
+		mp3Bytes.put(new byte[] { (byte) 0xFF, (byte) 0xF3, (byte) 0x80, (byte) 0x44 });
+
+		// Behind the 17 bytes of side information of a stereo MPEG 2 frame
+		mp3Bytes.position(21);
+		mp3Bytes.put("Xing".getBytes(StandardCharsets.US_ASCII));
+		mp3Bytes.putInt(0x3);
+		mp3Bytes.putInt(audioFrameCount);
+		mp3Bytes.putInt(mp3Bytes.capacity());
+
+		for (int i = 0; i < audioFrameCount; i++) {
+			mp3Bytes.position(xingFrameSize + i * audioFrameSize);
+			mp3Bytes.put(new byte[] { (byte) 0xFF, (byte) 0xF3, (byte) 0x10, (byte) 0x44 });
+		}
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes.array())).getMedium().getCurrentLength();
+
+		MP3AudioInfo audioInfo = new MP3AudioAnalyzer(mediumStore, 0, mediumLength).analyze();
+
+		Assert.assertTrue(audioInfo.isFromInfoFrame());
+		Assert.assertEquals(audioFrameCount, audioInfo.getFrameCount());
+		Assert.assertEquals(audioFrameCount * audioFrameSize, audioInfo.getByteCount());
+		Assert.assertEquals(audioFrameCount * 576, audioInfo.getSampleCount());
+		Assert.assertEquals(22050, audioInfo.getSamplingRateFrequency());
+	}
+
+	/**
+	 * Writes the given bytes to a new temporary file.
+	 *
+	 * @param bytes The bytes to write
+	 * @return The path of the temporary file
+	 * @throws IOException in case writing failed
+	 */
+	private Path createMp3File(byte[] bytes) throws IOException {
+		mp3File = Files.createTempFile(getClass().getSimpleName(), ".mp3");
+
+		Files.write(mp3File, bytes);
+
+		return mp3File;
+	}
+
+	/**
+	 * Creates and opens a {@link MediumStore} for the given file.
+	 *
+	 * @param file The file
+	 * @return The opened {@link MediumStore}
+	 */
+	private MediumStore openMediumStore(Path file) {
+		mediumStore = new StandardMediaAPI().createMediumStore(new FileMedium(file, MediumAccessType.READ_ONLY));
+
+		mediumStore.open();
+
+		return mediumStore;
+	}
+}
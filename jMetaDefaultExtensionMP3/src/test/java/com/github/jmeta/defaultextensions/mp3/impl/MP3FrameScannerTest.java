@@ -0,0 +1,268 @@
+/**
+ *
+ * {@link MP3FrameScannerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.mp3.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.utility.testsetup.api.services.TestResourceHelper;
+
+/**
+ * {@link MP3FrameScannerTest} tests the {@link MP3FrameScanner} class.
+ */
+public class MP3FrameScannerTest {
+
+	private final static Path MP3_FILE = TestResourceHelper.resourceToFile(MP3FrameScannerTest.class,
+		"MP3_FILE_01.txt");
+
+	private static final int MP3_FILE_FRAME_COUNT = 36;
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	private Path mp3File;
+
+	private MediumStore mediumStore;
+
+	/**
+	 * Closes the {@link MediumStore} and deletes the temporary mp3 file, if any.
+	 *
+	 * @throws IOException in case deleting the file failed
+	 */
+	@After
+	public void cleanUp() throws IOException {
+		pool.shutdown();
+
+		if (mediumStore != null) {
+			mediumStore.close();
+		}
+
+		if (mp3File != null) {
+			Files.deleteIfExists(mp3File);
+		}
+	}
+
+	/**
+	 * Tests {@link MP3FrameScanner#scan(ForkJoinPool)}.
+	 */
+	@Test
+	public void scan_realMp3File_returnsAllFramesWithHeaderValues() {
+		long mediumLength = openMediumStore(MP3FrameScannerTest.MP3_FILE).getMedium().getCurrentLength();
+
+		List<MP3Frame> frames = new MP3FrameScanner(mediumStore, 0, mediumLength, 1000).scan(pool);
+
+		Assert.assertEquals(MP3FrameScannerTest.MP3_FILE_FRAME_COUNT, frames.size());
+		Assert.assertEquals(0, frames.get(0).getOffset());
+		Assert.assertEquals(417, frames.get(0).getSize());
+		Assert.assertEquals(128, frames.get(0).getBitRate());
+		Assert.assertEquals(44100, frames.get(0).getSamplingRateFrequency());
+		Assert.assertFalse(frames.get(0).isProtected());
+
+		for (int i = 1; i < frames.size(); i++) {
+			Assert.assertEquals(frames.get(i - 1).getEndOffset(), frames.get(i).getOffset());
+		}
+
+		Assert.assertEquals(mediumLength, frames.get(frames.size() - 1).getEndOffset());
+	}
+
+	/**
+	 * Tests {@link MP3FrameScanner#scan(ForkJoinPool)} and
+	 * {@link MP3FrameScanner#scanSequentially()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void scan_manyFramesSpanningSmallRanges_returnsSameFramesAsSequentialScan() throws IOException {
+		int fileCount = 40;
+
+		byte[] mp3FileBytes = Files.readAllBytes(MP3FrameScannerTest.MP3_FILE);
+
+		ByteArrayOutputStream mp3Bytes = new ByteArrayOutputStream();
+
+		for (int i = 0; i < fileCount; i++) {
+			mp3Bytes.write(mp3FileBytes);
+		}
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes.toByteArray())).getMedium().getCurrentLength();
+
+		MP3FrameScanner testling = new MP3FrameScanner(mediumStore, 0, mediumLength, 1000);
+
+		List<MP3Frame> frames = testling.scan(pool);
+
+		Assert.assertEquals(fileCount * MP3FrameScannerTest.MP3_FILE_FRAME_COUNT, frames.size());
+		Assert.assertEquals(offsetsOf(testling.scanSequentially()), offsetsOf(frames));
+		Assert.assertEquals(mediumLength, frames.get(frames.size() - 1).getEndOffset());
+	}
+
+	/**
+	 * Tests {@link MP3FrameScanner#scan(ForkJoinPool)}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void scan_garbageWithFrameSyncsBetweenFrames_skipsGarbage() throws IOException {
+		byte[] garbage = new byte[5000];
+
+		// Valid MPEG 1 Layer III frame headers, but not followed by further frames
+		for (int i = 10; i < garbage.length - 4; i += 100) {
+			System.arraycopy(new byte[] { (byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0 }, 0, garbage, i, 4);
+		}
+
+		byte[] mp3FileBytes = Files.readAllBytes(MP3FrameScannerTest.MP3_FILE);
+
+		ByteArrayOutputStream mp3Bytes = new ByteArrayOutputStream();
+		mp3Bytes.write(mp3FileBytes);
+		mp3Bytes.write(garbage);
+		mp3Bytes.write(mp3FileBytes);
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes.toByteArray())).getMedium().getCurrentLength();
+
+		MP3FrameScanner testling = new MP3FrameScanner(mediumStore, 0, mediumLength, 1000);
+
+		List<Long> singleFileOffsets = offsetsOf(
+			new MP3FrameScanner(mediumStore, 0, mp3FileBytes.length, 1000).scanSequentially());
+
+		List<Long> expectedOffsets = new ArrayList<>(singleFileOffsets);
+
+		for (Long offset : singleFileOffsets) {
+			expectedOffsets.add(offset + mp3FileBytes.length + garbage.length);
+		}
+
+		Assert.assertEquals(expectedOffsets, offsetsOf(testling.scan(pool)));
+		Assert.assertEquals(expectedOffsets, offsetsOf(testling.scanSequentially()));
+	}
+
+	/**
+	 * Tests {@link MP3FrameScanner#scan(ForkJoinPool)} and
+	 * {@link MP3FrameScanner#scanSequentially()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void scan_mpeg2Layer3Frames_usesHalfFrameSizeOfMpeg1() throws IOException {
+		// MPEG 2 Layer III, 64 kbit/s, 22050 Hz: 72 * 64000 / 22050 = 208 bytes plus padding
+		assertScansSynthesizedFrames((byte) 0xF3, 22050, 208);
+	}
+
+	/**
+	 * Tests {@link MP3FrameScanner#scan(ForkJoinPool)} and
+	 * {@link MP3FrameScanner#scanSequentially()}.
+	 *
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	@Test
+	public void scan_mpeg25Layer3Frames_usesHalfFrameSizeOfMpeg1() throws IOException {
+		// MPEG 2.5 Layer III, 64 kbit/s, 11025 Hz: 72 * 64000 / 11025 = 417 bytes plus padding
+		assertScansSynthesizedFrames((byte) 0xE3, 11025, 417);
+	}
+
+	/**
+	 * Creates an mp3 file of synthesized 64 kbit/s Layer III frames with the
+	 * lowest sampling rate frequency of their MPEG version, every second frame
+	 * padded, and checks that both parallel and sequential scanning find all of
+	 * them.
+	 *
+	 * @param secondHeaderByte              The second header byte, defining the
+	 *                                      MPEG version and layer
+	 * @param expectedSamplingRateFrequency The expected sampling rate frequency
+	 * @param expectedUnpaddedFrameSize     The expected size of a frame without
+	 *                                      padding
+	 * @throws IOException in case creating the mp3 file failed
+	 */
+	private void assertScansSynthesizedFrames(byte secondHeaderByte, int expectedSamplingRateFrequency,
+		int expectedUnpaddedFrameSize) throws IOException {
+		int frameCount = 50;
+
+		ByteArrayOutputStream mp3Bytes = new ByteArrayOutputStream();
+
+		for (int i = 0; i < frameCount; i++) {
+			int paddingBit = i % 2;
+
+			byte[] frame = new byte[expectedUnpaddedFrameSize + paddingBit];
+
+			frame[0] = (byte) 0xFF;
+			frame[1] = secondHeaderByte;
+			frame[2] = (byte) (0x80 | paddingBit << 1);
+			frame[3] = (byte) 0xC4;
+
+			mp3Bytes.write(frame);
+		}
+
+		long mediumLength = openMediumStore(createMp3File(mp3Bytes.toByteArray())).getMedium().getCurrentLength();
+
+		MP3FrameScanner testling = new MP3FrameScanner(mediumStore, 0, mediumLength, 1000);
+
+		List<MP3Frame> frames = testling.scan(pool);
+
+		Assert.assertEquals(frameCount, frames.size());
+		Assert.assertEquals(offsetsOf(testling.scanSequentially()), offsetsOf(frames));
+
+		for (int i = 0; i < frames.size(); i++) {
+			Assert.assertEquals(expectedUnpaddedFrameSize + i % 2, frames.get(i).getSize());
+			Assert.assertEquals(64, frames.get(i).getBitRate());
+			Assert.assertEquals(expectedSamplingRateFrequency, frames.get(i).getSamplingRateFrequency());
+		}
+
+		Assert.assertEquals(mediumLength, frames.get(frames.size() - 1).getEndOffset());
+	}
+
+	/**
+	 * Writes the given bytes to a new temporary file.
+	 *
+	 * @param bytes The bytes to write
+	 * @return The path of the temporary file
+	 * @throws IOException in case writing failed
+	 */
+	private Path createMp3File(byte[] bytes) throws IOException {
+		mp3File = Files.createTempFile(getClass().getSimpleName(), ".mp3");
+
+		Files.write(mp3File, bytes);
+
+		return mp3File;
+	}
+
+	/**
+	 * Returns the offsets of the given frames.
+	 *
+	 * @param frames The frames
+	 * @return The offsets of the frames
+	 */
+	private List<Long> offsetsOf(List<MP3Frame> frames) {
+		return frames.stream().map(MP3Frame::getOffset).collect(Collectors.toList());
+	}
+
+	/**
+	 * Creates and opens a thread-safe {@link MediumStore} for the given file.
+	 *
+	 * @param file The file
+	 * @return The opened {@link MediumStore}
+	 */
+	private MediumStore openMediumStore(Path file) {
+		mediumStore = new StandardMediaAPI()
+			.createConcurrentMediumStore(new FileMedium(file, MediumAccessType.READ_ONLY));
+
+		mediumStore.open();
+
+		return mediumStore;
+	}
+}
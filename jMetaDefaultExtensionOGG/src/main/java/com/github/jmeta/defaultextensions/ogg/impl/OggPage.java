@@ -0,0 +1,158 @@
+/**
+ *
+ * {@link OggPage}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.ogg.impl;
+
+/**
+ * {@link OggPage} is the result of scanning a single ogg page with an
+ * {@link OggPageScanner}, holding its location and the values of its page
+ * header.
+ */
+public class OggPage {
+
+	private static final int CONTINUED_PACKET_FLAG = 0x01;
+	private static final int BEGIN_OF_STREAM_FLAG = 0x02;
+	private static final int END_OF_STREAM_FLAG = 0x04;
+
+	private final long offset;
+
+	private final int headerSize;
+
+	private final int payloadSize;
+
+	private final int headerTypeFlag;
+
+	private final long absoluteGranulePosition;
+
+	private final long streamSerialNumber;
+
+	private final long pageSequenceNumber;
+
+	/**
+	 * Creates a new {@link OggPage}.
+	 *
+	 * @param offset                  The absolute offset of the page in the medium
+	 * @param headerSize              The size of the page header including the
+	 *                                segment table in bytes
+	 * @param payloadSize             The size of the page payload in bytes
+	 * @param headerTypeFlag          The header type flag of the page
+	 * @param absoluteGranulePosition The absolute granule position of the page
+	 * @param streamSerialNumber      The serial number of the logical stream the
+	 *                                page belongs to
+	 * @param pageSequenceNumber      The sequence number of the page within its
+	 *                                logical stream
+	 */
+	public OggPage(long offset, int headerSize, int payloadSize, int headerTypeFlag, long absoluteGranulePosition,
+		long streamSerialNumber, long pageSequenceNumber) {
+		this.offset = offset;
+		this.headerSize = headerSize;
+		this.payloadSize = payloadSize;
+		this.headerTypeFlag = headerTypeFlag;
+		this.absoluteGranulePosition = absoluteGranulePosition;
+		this.streamSerialNumber = streamSerialNumber;
+		this.pageSequenceNumber = pageSequenceNumber;
+	}
+
+	/**
+	 * @return the absolute granule position of the page
+	 */
+	public long getAbsoluteGranulePosition() {
+		return absoluteGranulePosition;
+	}
+
+	/**
+	 * @return the absolute offset of the first byte behind the page
+	 */
+	public long getEndOffset() {
+		return offset + getSize();
+	}
+
+	/**
+	 * @return the size of the page header including the segment table in bytes
+	 */
+	public int getHeaderSize() {
+		return headerSize;
+	}
+
+	/**
+	 * @return the header type flag of the page
+	 */
+	public int getHeaderTypeFlag() {
+		return headerTypeFlag;
+	}
+
+	/**
+	 * @return the absolute offset of the page in the medium
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the sequence number of the page within its logical stream
+	 */
+	public long getPageSequenceNumber() {
+		return pageSequenceNumber;
+	}
+
+	/**
+	 * @return the size of the page payload in bytes
+	 */
+	public int getPayloadSize() {
+		return payloadSize;
+	}
+
+	/**
+	 * @return the total size of the page in bytes
+	 */
+	public int getSize() {
+		return headerSize + payloadSize;
+	}
+
+	/**
+	 * @return the serial number of the logical stream the page belongs to
+	 */
+	public long getStreamSerialNumber() {
+		return streamSerialNumber;
+	}
+
+	/**
+	 * @return true if this is the first page of its logical stream, false
+	 *         otherwise
+	 */
+	public boolean isBeginOfStream() {
+		return (headerTypeFlag & OggPage.BEGIN_OF_STREAM_FLAG) != 0;
+	}
+
+	/**
+	 * @return true if the first packet of this page continues a packet of the
+	 *         previous page, false otherwise
+	 */
+	public boolean isContinuedPacket() {
+		return (headerTypeFlag & OggPage.CONTINUED_PACKET_FLAG) != 0;
+	}
+
+	/**
+	 * @return true if this is the last page of its logical stream, false
+	 *         otherwise
+	 */
+	public boolean isEndOfStream() {
+		return (headerTypeFlag & OggPage.END_OF_STREAM_FLAG) != 0;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "OggPage [offset=" + offset + ", headerSize=" + headerSize + ", payloadSize=" + payloadSize
+			+ ", headerTypeFlag=" + headerTypeFlag + ", absoluteGranulePosition=" + absoluteGranulePosition
+			+ ", streamSerialNumber=" + streamSerialNumber + ", pageSequenceNumber=" + pageSequenceNumber + "]";
+	}
+}
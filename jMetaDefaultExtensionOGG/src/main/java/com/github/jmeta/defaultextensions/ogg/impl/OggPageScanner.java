@@ -0,0 +1,419 @@
+/**
+ *
+ * {@link OggPageScanner}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.ogg.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.services.MediaAPI;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
+
+/**
+ * {@link OggPageScanner} scans all ogg pages of a medium without parsing their
+ * packets, i.e. it only reads their page headers. It can either scan the
+ * medium sequentially, or in parallel using a {@link ForkJoinPool}.
+ *
+ * For a parallel scan, the medium is split into ranges of a fixed size. Each
+ * range is scanned independently, starting at the first valid page header
+ * found at or behind its start offset, and walking from page to page until the
+ * end of the range. A page belongs to the range its first byte is in, even if
+ * it extends into the next range. The results of neighbouring ranges are merged
+ * in the order of their offsets, which is the order of the page sequence
+ * numbers within each logical stream. The result is exactly the same as for a
+ * sequential scan.
+ *
+ * A page header is only accepted as valid if it starts with the capture pattern
+ * "OggS", has stream structure version 0, the page fits into the medium and its
+ * checksum matches. Therefore resynchronising on the capture pattern does not
+ * detect pages within the payload of other pages by accident. If the medium
+ * contains garbage between pages, scanning resumes with the next valid page.
+ *
+ * The {@link MediumStore} must be thread-safe for parallel scans, i.e. it must
+ * be created with {@link MediaAPI#createConcurrentMediumStore}, and it must
+ * already be opened.
+ */
+public class OggPageScanner {
+
+	/**
+	 * The default size of the ranges scanned in parallel in bytes
+	 */
+	public static final int DEFAULT_RANGE_SIZE_IN_BYTES = 1024 * 1024;
+
+	private static final byte[] CAPTURE_PATTERN = new byte[] { 'O', 'g', 'g', 'S' };
+
+	private static final int MINIMUM_HEADER_SIZE = 27;
+
+	private static final int SEGMENT_COUNT_INDEX = 26;
+
+	private static final int CHECKSUM_INDEX = 22;
+
+	private static final int MAXIMUM_SEGMENT_COUNT = 255;
+
+	private static final int RESYNC_CHUNK_SIZE = 4096;
+
+	private static final int[] CRC_TABLE = new int[256];
+
+	static {
+		for (int i = 0; i < OggPageScanner.CRC_TABLE.length; i++) {
+			int remainder = i << 24;
+
+			for (int bit = 0; bit < 8; bit++) {
+				remainder = (remainder & 0x80000000) != 0 ? (remainder << 1) ^ 0x04C11DB7 : remainder << 1;
+			}
+
+			OggPageScanner.CRC_TABLE[i] = remainder;
+		}
+	}
+
+	/**
+	 * {@link ScanResult} is the result of scanning a range of the medium.
+	 */
+	private static class ScanResult {
+
+		private final List<OggPage> pages;
+
+		private final long endOffset;
+
+		/**
+		 * Creates a new {@link ScanResult}.
+		 *
+		 * @param pages     The pages found in the range, in ascending order of their
+		 *                  offsets
+		 * @param endOffset The offset up to which the medium has been scanned, i.e.
+		 *                  the maximum of the end offset of the range and the end
+		 *                  offset of its last page
+		 */
+		public ScanResult(List<OggPage> pages, long endOffset) {
+			this.pages = pages;
+			this.endOffset = endOffset;
+		}
+	}
+
+	/**
+	 * {@link RangeScanTask} scans a range of the medium, splitting it into two
+	 * halves scanned in parallel as long as it is bigger than the range size.
+	 */
+	private class RangeScanTask extends RecursiveTask<ScanResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long startOffset;
+
+		private final long endOffset;
+
+		private final long mediumLength;
+
+		/**
+		 * Creates a new {@link RangeScanTask}.
+		 *
+		 * @param startOffset  The start offset of the range
+		 * @param endOffset    The end offset of the range, exclusive
+		 * @param mediumLength The length of the medium
+		 */
+		public RangeScanTask(long startOffset, long endOffset, long mediumLength) {
+			this.startOffset = startOffset;
+			this.endOffset = endOffset;
+			this.mediumLength = mediumLength;
+		}
+
+		/**
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected ScanResult compute() {
+			if (endOffset - startOffset <= rangeSizeInBytes) {
+				return scanRange(startOffset, endOffset, mediumLength);
+			}
+
+			long rangeCount = (endOffset - startOffset + rangeSizeInBytes - 1) / rangeSizeInBytes;
+
+			long middleOffset = startOffset + (rangeCount / 2) * rangeSizeInBytes;
+
+			RangeScanTask leftTask = new RangeScanTask(startOffset, middleOffset, mediumLength);
+			RangeScanTask rightTask = new RangeScanTask(middleOffset, endOffset, mediumLength);
+
+			leftTask.fork();
+
+			ScanResult rightResult = rightTask.compute();
+
+			return merge(leftTask.join(), rightResult, mediumLength);
+		}
+	}
+
+	private final MediumStore mediumStore;
+
+	private final int rangeSizeInBytes;
+
+	/**
+	 * Creates a new {@link OggPageScanner}.
+	 *
+	 * @param mediumStore      The {@link MediumStore} to scan, must not be null
+	 * @param rangeSizeInBytes The size of the ranges scanned in parallel in
+	 *                         bytes, must be bigger than zero
+	 */
+	public OggPageScanner(MediumStore mediumStore, int rangeSizeInBytes) {
+		Reject.ifNull(mediumStore, "mediumStore");
+		Reject.ifNegativeOrZero(rangeSizeInBytes, "rangeSizeInBytes");
+
+		this.mediumStore = mediumStore;
+		this.rangeSizeInBytes = rangeSizeInBytes;
+	}
+
+	/**
+	 * Scans all pages of the medium in parallel using the given
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param pool The {@link ForkJoinPool} to use, must not be null
+	 * @return All pages of the medium in ascending order of their offsets
+	 */
+	public List<OggPage> scan(ForkJoinPool pool) {
+		Reject.ifNull(pool, "pool");
+
+		long mediumLength = mediumStore.getMedium().getCurrentLength();
+
+		return pool.invoke(new RangeScanTask(0, mediumLength, mediumLength)).pages;
+	}
+
+	/**
+	 * Scans all pages of the medium sequentially in the calling thread.
+	 *
+	 * @return All pages of the medium in ascending order of their offsets
+	 */
+	public List<OggPage> scanSequentially() {
+		long mediumLength = mediumStore.getMedium().getCurrentLength();
+
+		return scanRange(0, mediumLength, mediumLength).pages;
+	}
+
+	/**
+	 * Calculates the ogg checksum of the given page bytes, treating the bytes of
+	 * the checksum field itself as zero.
+	 *
+	 * @param pageBytes The bytes of the page with position 0
+	 * @return The checksum
+	 */
+	private int calculateChecksum(ByteBuffer pageBytes) {
+		int checksum = 0;
+
+		for (int i = 0; i < pageBytes.limit(); i++) {
+			int nextByte = i >= OggPageScanner.CHECKSUM_INDEX && i < OggPageScanner.CHECKSUM_INDEX + 4 ? 0
+				: pageBytes.get(i) & 0xFF;
+
+			checksum = (checksum << 8) ^ OggPageScanner.CRC_TABLE[((checksum >>> 24) ^ nextByte) & 0xFF];
+		}
+
+		return checksum;
+	}
+
+	/**
+	 * Finds the first valid page starting in the given range by searching for the
+	 * capture pattern.
+	 *
+	 * @param startOffset  The start offset of the range
+	 * @param endOffset    The end offset of the range, exclusive
+	 * @param mediumLength The length of the medium
+	 * @return The first valid page starting in the range or null if there is none
+	 */
+	private OggPage findNextPage(long startOffset, long endOffset, long mediumLength) {
+		for (long chunkOffset = startOffset; chunkOffset < endOffset; chunkOffset += OggPageScanner.RESYNC_CHUNK_SIZE) {
+			if (mediumLength - chunkOffset < OggPageScanner.MINIMUM_HEADER_SIZE) {
+				return null;
+			}
+
+			int chunkSize = (int) Math.min(
+				OggPageScanner.RESYNC_CHUNK_SIZE + OggPageScanner.CAPTURE_PATTERN.length - 1,
+				mediumLength - chunkOffset);
+
+			ByteBuffer chunk = getData(chunkOffset, chunkSize);
+
+			int searchEnd = (int) Math.min(
+				Math.min(OggPageScanner.RESYNC_CHUNK_SIZE, endOffset - chunkOffset),
+				chunk.limit() - OggPageScanner.CAPTURE_PATTERN.length + 1);
+
+			for (int i = 0; i < searchEnd; i++) {
+				if (isCapturePatternAt(chunk, i)) {
+					OggPage page = readPage(chunkOffset + i, mediumLength);
+
+					if (page != null) {
+						return page;
+					}
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reads the given number of bytes from the medium.
+	 *
+	 * @param offset        The absolute offset of the bytes
+	 * @param numberOfBytes The number of bytes, must not exceed the medium length
+	 * @return The bytes read with position 0
+	 */
+	private ByteBuffer getData(long offset, int numberOfBytes) {
+		try {
+			return mediumStore.getData(mediumStore.createMediumOffset(offset), numberOfBytes).slice();
+		} catch (EndOfMediumException e) {
+			throw new JMetaIllegalStateException("Unexpected end of medium while scanning ogg pages", e);
+		}
+	}
+
+	/**
+	 * Checks whether the ogg capture pattern is at the given position of the given
+	 * bytes.
+	 *
+	 * @param bytes    The bytes with position 0
+	 * @param position The position to check
+	 * @return true if the capture pattern is at the position, false otherwise
+	 */
+	private boolean isCapturePatternAt(ByteBuffer bytes, int position) {
+		for (int i = 0; i < OggPageScanner.CAPTURE_PATTERN.length; i++) {
+			if (bytes.get(position + i) != OggPageScanner.CAPTURE_PATTERN[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Merges the results of two neighbouring ranges. Usually, the first page of the
+	 * right range starts exactly where the last page of the left range ends.
+	 * However, if the right range resynchronised on a page that is within the last
+	 * page of the left range, the pages of the right range overlapping the left
+	 * range are dropped, and the gap between the left range and the next page of
+	 * the right range is scanned again.
+	 *
+	 * @param left         The result of the left range
+	 * @param right        The result of the right range
+	 * @param mediumLength The length of the medium
+	 * @return The merged result
+	 */
+	private ScanResult merge(ScanResult left, ScanResult right, long mediumLength) {
+		List<OggPage> mergedPages = new ArrayList<>(left.pages.size() + right.pages.size());
+
+		mergedPages.addAll(left.pages);
+
+		long nextOffset = left.endOffset;
+
+		boolean isPageDropped = false;
+
+		for (OggPage page : right.pages) {
+			// Only after dropping pages there might be pages not yet found by the right range
+			if (isPageDropped && page.getOffset() > nextOffset) {
+				ScanResult gap = scanRange(nextOffset, page.getOffset(), mediumLength);
+
+				mergedPages.addAll(gap.pages);
+
+				nextOffset = gap.endOffset;
+			}
+
+			if (page.getOffset() < nextOffset) {
+				isPageDropped = true;
+			} else {
+				mergedPages.add(page);
+
+				nextOffset = page.getEndOffset();
+
+				isPageDropped = false;
+			}
+		}
+
+		return new ScanResult(mergedPages, Math.max(nextOffset, right.endOffset));
+	}
+
+	/**
+	 * Reads the page at the given offset, if there is a valid page.
+	 *
+	 * @param offset       The absolute offset of the page
+	 * @param mediumLength The length of the medium
+	 * @return The page or null if there is no valid page at the offset
+	 */
+	private OggPage readPage(long offset, long mediumLength) {
+		if (mediumLength - offset < OggPageScanner.MINIMUM_HEADER_SIZE) {
+			return null;
+		}
+
+		int maximumHeaderSize = OggPageScanner.MINIMUM_HEADER_SIZE + OggPageScanner.MAXIMUM_SEGMENT_COUNT;
+
+		ByteBuffer header = getData(offset, (int) Math.min(maximumHeaderSize, mediumLength - offset))
+			.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (!isCapturePatternAt(header, 0) || header.get(4) != 0) {
+			return null;
+		}
+
+		int segmentCount = header.get(OggPageScanner.SEGMENT_COUNT_INDEX) & 0xFF;
+
+		int headerSize = OggPageScanner.MINIMUM_HEADER_SIZE + segmentCount;
+
+		if (header.limit() < headerSize) {
+			return null;
+		}
+
+		int payloadSize = 0;
+
+		for (int i = OggPageScanner.MINIMUM_HEADER_SIZE; i < headerSize; i++) {
+			payloadSize += header.get(i) & 0xFF;
+		}
+
+		if (mediumLength - offset < headerSize + payloadSize) {
+			return null;
+		}
+
+		if (calculateChecksum(getData(offset, headerSize + payloadSize)) != header
+			.getInt(OggPageScanner.CHECKSUM_INDEX)) {
+			return null;
+		}
+
+		return new OggPage(offset, headerSize, payloadSize, header.get(5) & 0xFF, header.getLong(6),
+			header.getInt(14) & 0xFFFFFFFFL, header.getInt(18) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Scans all pages starting in the given range sequentially.
+	 *
+	 * @param startOffset  The start offset of the range
+	 * @param endOffset    The end offset of the range, exclusive
+	 * @param mediumLength The length of the medium
+	 * @return The {@link ScanResult} of the range
+	 */
+	private ScanResult scanRange(long startOffset, long endOffset, long mediumLength) {
+		List<OggPage> pages = new ArrayList<>();
+
+		long scannedEndOffset = endOffset;
+
+		OggPage page = findNextPage(startOffset, endOffset, mediumLength);
+
+		while (page != null) {
+			pages.add(page);
+
+			scannedEndOffset = Math.max(endOffset, page.getEndOffset());
+
+			if (page.getEndOffset() >= endOffset) {
+				break;
+			}
+
+			OggPage nextPage = readPage(page.getEndOffset(), mediumLength);
+
+			page = nextPage != null ? nextPage : findNextPage(page.getEndOffset(), endOffset, mediumLength);
+		}
+
+		return new ScanResult(pages, scannedEndOffset);
+	}
+}
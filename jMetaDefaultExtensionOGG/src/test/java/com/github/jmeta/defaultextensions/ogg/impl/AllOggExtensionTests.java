@@ -17,7 +17,7 @@ import org.junit.runners.Suite.SuiteClasses;
  * extension management component.
  */
 @RunWith(Suite.class)
-@SuiteClasses({ OggSingleFile_01_Test.class, OggSingleFile_02_Test.class, })
+@SuiteClasses({ OggSingleFile_01_Test.class, OggSingleFile_02_Test.class, OggPageScannerTest.class, })
 public class AllOggExtensionTests {
 	// Nothing necessary here
 }
@@ -0,0 +1,209 @@
+/**
+ *
+ * {@link OggPageScannerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.defaultextensions.ogg.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.utility.testsetup.api.services.TestResourceHelper;
+
+/**
+ * {@link OggPageScannerTest} tests the {@link OggPageScanner} class.
+ */
+public class OggPageScannerTest {
+
+	private final static Path FIRST_FILE = TestResourceHelper.resourceToFile(OggPageScannerTest.class,
+		"OGG_FILE_01.txt");
+
+	private final static Path SECOND_FILE = TestResourceHelper.resourceToFile(OggPageScannerTest.class,
+		"OGG_FILE_02.txt");
+
+	private static final List<Integer> FIRST_FILE_PAGE_SIZES = Arrays.asList(58, 3889, 4199, 4358);
+
+	private static final List<Integer> SECOND_FILE_PAGE_SIZES = Arrays.asList(4172, 4319);
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	private Path oggFile;
+
+	private MediumStore mediumStore;
+
+	/**
+	 * Closes the {@link MediumStore} and deletes the temporary ogg file, if any.
+	 *
+	 * @throws IOException in case deleting the file failed
+	 */
+	@After
+	public void cleanUp() throws IOException {
+		pool.shutdown();
+
+		if (mediumStore != null) {
+			mediumStore.close();
+		}
+
+		if (oggFile != null) {
+			Files.deleteIfExists(oggFile);
+		}
+	}
+
+	/**
+	 * Tests {@link OggPageScanner#scan(ForkJoinPool)}.
+	 */
+	@Test
+	public void scan_realOggFile_returnsAllPagesWithHeaderValues() {
+		List<OggPage> pages = new OggPageScanner(openMediumStore(OggPageScannerTest.SECOND_FILE), 1000).scan(pool);
+
+		Assert.assertEquals(2, pages.size());
+		Assert.assertEquals(0, pages.get(0).getOffset());
+		Assert.assertEquals(4172, pages.get(0).getSize());
+		Assert.assertEquals(22, pages.get(0).getPageSequenceNumber());
+		Assert.assertEquals(23608, pages.get(0).getStreamSerialNumber());
+		Assert.assertEquals(4172, pages.get(1).getOffset());
+		Assert.assertEquals(51, pages.get(1).getPageSequenceNumber());
+		Assert.assertEquals(pages.get(1).getEndOffset(), mediumStore.getMedium().getCurrentLength());
+	}
+
+	/**
+	 * Tests {@link OggPageScanner#scan(ForkJoinPool)} and
+	 * {@link OggPageScanner#scanSequentially()}.
+	 *
+	 * @throws IOException in case creating the ogg file failed
+	 */
+	@Test
+	public void scan_manyPagesSpanningSmallRanges_returnsSamePagesAsSequentialScan() throws IOException {
+		int fileCount = 30;
+
+		byte[] firstFileBytes = Files.readAllBytes(OggPageScannerTest.FIRST_FILE);
+
+		ByteArrayOutputStream oggBytes = new ByteArrayOutputStream();
+
+		List<Integer> expectedPageSizes = new ArrayList<>();
+
+		for (int i = 0; i < fileCount; i++) {
+			oggBytes.write(firstFileBytes);
+			expectedPageSizes.addAll(OggPageScannerTest.FIRST_FILE_PAGE_SIZES);
+		}
+
+		OggPageScanner testling = new OggPageScanner(openMediumStore(createOggFile(oggBytes.toByteArray())), 1000);
+
+		List<OggPage> pages = testling.scan(pool);
+
+		Assert.assertEquals(expectedOffsets(0, expectedPageSizes), offsetsOf(pages));
+		Assert.assertEquals(offsetsOf(testling.scanSequentially()), offsetsOf(pages));
+
+		for (int i = 0; i < pages.size(); i++) {
+			Assert.assertEquals(i % OggPageScannerTest.FIRST_FILE_PAGE_SIZES.size(),
+				pages.get(i).getPageSequenceNumber());
+		}
+	}
+
+	/**
+	 * Tests {@link OggPageScanner#scan(ForkJoinPool)}.
+	 *
+	 * @throws IOException in case creating the ogg file failed
+	 */
+	@Test
+	public void scan_garbageWithCapturePatternsBetweenPages_skipsGarbage() throws IOException {
+		byte[] garbage = new byte[5000];
+
+		for (int i = 0; i < garbage.length; i += 100) {
+			System.arraycopy(new byte[] { 'O', 'g', 'g', 'S', 0 }, 0, garbage, i, 5);
+		}
+
+		ByteArrayOutputStream oggBytes = new ByteArrayOutputStream();
+		oggBytes.write(Files.readAllBytes(OggPageScannerTest.FIRST_FILE));
+		oggBytes.write(garbage);
+		oggBytes.write(Files.readAllBytes(OggPageScannerTest.SECOND_FILE));
+
+		List<OggPage> pages = new OggPageScanner(openMediumStore(createOggFile(oggBytes.toByteArray())), 1000)
+			.scan(pool);
+
+		List<Long> expectedOffsets = expectedOffsets(0, OggPageScannerTest.FIRST_FILE_PAGE_SIZES);
+		expectedOffsets.addAll(expectedOffsets(Files.size(OggPageScannerTest.FIRST_FILE) + garbage.length,
+			OggPageScannerTest.SECOND_FILE_PAGE_SIZES));
+
+		Assert.assertEquals(expectedOffsets, offsetsOf(pages));
+	}
+
+	/**
+	 * Writes the given bytes to a new temporary file.
+	 *
+	 * @param bytes The bytes to write
+	 * @return The path of the temporary file
+	 * @throws IOException in case writing failed
+	 */
+	private Path createOggFile(byte[] bytes) throws IOException {
+		oggFile = Files.createTempFile(getClass().getSimpleName(), ".ogg");
+
+		Files.write(oggFile, bytes);
+
+		return oggFile;
+	}
+
+	/**
+	 * Calculates the offsets of consecutive pages with the given sizes.
+	 *
+	 * @param startOffset The offset of the first page
+	 * @param pageSizes   The sizes of the pages
+	 * @return The offsets of the pages
+	 */
+	private List<Long> expectedOffsets(long startOffset, List<Integer> pageSizes) {
+		List<Long> offsets = new ArrayList<>();
+
+		long nextOffset = startOffset;
+
+		for (Integer pageSize : pageSizes) {
+			offsets.add(nextOffset);
+			nextOffset += pageSize;
+		}
+
+		return offsets;
+	}
+
+	/**
+	 * Returns the offsets of the given pages.
+	 *
+	 * @param pages The pages
+	 * @return The offsets of the pages
+	 */
+	private List<Long> offsetsOf(List<OggPage> pages) {
+		return pages.stream().map(OggPage::getOffset).collect(Collectors.toList());
+	}
+
+	/**
+	 * Creates and opens a thread-safe {@link MediumStore} for the given file.
+	 *
+	 * @param file The file
+	 * @return The opened {@link MediumStore}
+	 */
+	private MediumStore openMediumStore(Path file) {
+		mediumStore = new StandardMediaAPI()
+			.createConcurrentMediumStore(new FileMedium(file, MediumAccessType.READ_ONLY));
+
+		mediumStore.open();
+
+		return mediumStore;
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ *
+ * {@link DataBlockHandler}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.api.services;
+
+import java.nio.ByteBuffer;
+
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.Field;
+import com.github.jmeta.library.datablocks.api.types.Footer;
+import com.github.jmeta.library.datablocks.api.types.Header;
+import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+
+/**
+ * {@link DataBlockHandler} is called by
+ * {@link LowLevelAPI#parse(Medium, DataBlockHandler)} for each data block of a
+ * {@link Medium} in the order of the data blocks in the {@link Medium}, similar
+ * to a SAX content handler. For each {@link Container}, the calls are:
+ * <ul>
+ * <li>{@link #startContainer(DataBlockId, int, MediumOffset)}</li>
+ * <li>For each {@link Header}: {@link #startHeader(DataBlockId, MediumOffset, long)},
+ * {@link #field(DataBlockId, MediumOffset, long, ByteBuffer)} for each of its
+ * {@link Field}s and {@link #endHeader(DataBlockId)}</li>
+ * <li>{@link #startPayload(DataBlockId, MediumOffset, long)}, then either
+ * {@link #field(DataBlockId, MediumOffset, long, ByteBuffer)} for each
+ * {@link Field} of a field-based {@link Payload} or the calls for each child
+ * {@link Container} of a container-based {@link Payload}, and
+ * {@link #endPayload(DataBlockId)}</li>
+ * <li>For each {@link Footer}: {@link #startFooter(DataBlockId, MediumOffset, long)},
+ * {@link #field(DataBlockId, MediumOffset, long, ByteBuffer)} for each of its
+ * {@link Field}s and {@link #endFooter(DataBlockId)}</li>
+ * <li>{@link #endContainer(DataBlockId, MediumOffset, long)}</li>
+ * </ul>
+ *
+ * All methods do nothing by default, so implementations only need to override
+ * the calls they are interested in.
+ *
+ * The calls are made while walking through the {@link Container}s read, i.e.
+ * the data blocks, including their {@link Field}s, are still created, but not
+ * retained after the calls.
+ */
+public interface DataBlockHandler {
+
+	/**
+	 * Called after all data blocks of a {@link Container} have been handled.
+	 *
+	 * @param id     The {@link DataBlockId} of the {@link Container}
+	 * @param offset The start {@link MediumOffset} of the {@link Container}
+	 * @param size   The total size of the {@link Container} in bytes
+	 */
+	default void endContainer(DataBlockId id, MediumOffset offset, long size) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called after all {@link Field}s of a {@link Footer} have been handled.
+	 *
+	 * @param id The {@link DataBlockId} of the {@link Footer}
+	 */
+	default void endFooter(DataBlockId id) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called after all {@link Field}s of a {@link Header} have been handled.
+	 *
+	 * @param id The {@link DataBlockId} of the {@link Header}
+	 */
+	default void endHeader(DataBlockId id) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called after all children of a {@link Payload} have been handled.
+	 *
+	 * @param id The {@link DataBlockId} of the {@link Payload}
+	 */
+	default void endPayload(DataBlockId id) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called for each {@link Field} of a {@link Header}, {@link Footer} or
+	 * field-based {@link Payload}.
+	 *
+	 * @param id          The {@link DataBlockId} of the {@link Field}
+	 * @param offset      The start {@link MediumOffset} of the {@link Field}
+	 * @param size        The size of the {@link Field} in bytes
+	 * @param binaryValue A read-only view of the bytes of the {@link Field},
+	 *                    only valid during this call
+	 */
+	default void field(DataBlockId id, MediumOffset offset, long size, ByteBuffer binaryValue) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called before any data block of a {@link Container} is handled.
+	 *
+	 * @param id             The {@link DataBlockId} of the {@link Container}
+	 * @param sequenceNumber The sequence number of the {@link Container}
+	 * @param offset         The start {@link MediumOffset} of the
+	 *                       {@link Container}
+	 */
+	default void startContainer(DataBlockId id, int sequenceNumber, MediumOffset offset) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called before the {@link Field}s of a {@link Footer} are handled.
+	 *
+	 * @param id     The {@link DataBlockId} of the {@link Footer}
+	 * @param offset The start {@link MediumOffset} of the {@link Footer}
+	 * @param size   The size of the {@link Footer} in bytes
+	 */
+	default void startFooter(DataBlockId id, MediumOffset offset, long size) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called before the {@link Field}s of a {@link Header} are handled.
+	 *
+	 * @param id     The {@link DataBlockId} of the {@link Header}
+	 * @param offset The start {@link MediumOffset} of the {@link Header}
+	 * @param size   The size of the {@link Header} in bytes
+	 */
+	default void startHeader(DataBlockId id, MediumOffset offset, long size) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Called before the children of a {@link Payload} are handled.
+	 *
+	 * @param id     The {@link DataBlockId} of the {@link Payload}
+	 * @param offset The start {@link MediumOffset} of the {@link Payload}
+	 * @param size   The size of the {@link Payload} in bytes
+	 */
+	default void startPayload(DataBlockId id, MediumOffset offset, long size) {
+		// Nothing to do by default
+	}
+}
@@ -3,6 +3,7 @@ package com.github.jmeta.library.datablocks.api.services;
 
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Set;
 
 import com.github.jmeta.library.datablocks.api.types.Container;
 import com.github.jmeta.library.datablocks.api.types.ContainerContext;
@@ -44,6 +45,22 @@ public interface DataBlockReader {
 	 */
 	boolean identifiesDataFormat(MediumOffset reference);
 
+	/**
+	 * Tells whether {@link #identifiesDataFormat(MediumOffset)} only checks the
+	 * header {@link com.github.jmeta.library.dataformats.api.types.MagicKey}s of
+	 * the top-level containers, as specified by {@link #getSpecification()}, without
+	 * reading any other bytes. If so, the data format can be identified together
+	 * with other data formats from a single window of bytes, instead of asking
+	 * this {@link DataBlockReader}. Readers with a custom way of identifying their
+	 * containers must return false.
+	 *
+	 * @return true if the data format is identified by header magic keys only,
+	 *         false otherwise
+	 */
+	default boolean identifiesByMagicKeysOnly() {
+		return false;
+	}
+
 	/**
 	 * @param reference
 	 * @param size
@@ -97,4 +114,18 @@ public interface DataBlockReader {
 	void setCustomCountProvider(CountProvider countProvider);
 
 	void setCustomSizeProvider(SizeProvider sizeProvider);
+
+	/**
+	 * Restricts the {@link Field}s read for field-based {@link Payload}s to the
+	 * given {@link DataBlockId}s. Other {@link Field}s of such a {@link Payload}
+	 * are skipped without reading their bytes, unless their values are needed for
+	 * reading further data blocks. Thus, the {@link Field}s returned for a
+	 * field-based {@link Payload} might be incomplete, and such {@link Payload}s
+	 * must not be used for writing. {@link Header}s and footers are always read
+	 * completely.
+	 *
+	 * @param projectedFieldIds The {@link DataBlockId}s of the {@link Field}s to
+	 *                          read or null to read all {@link Field}s
+	 */
+	void setFieldProjection(Set<DataBlockId> projectedFieldIds);
 }
\ No newline at end of file
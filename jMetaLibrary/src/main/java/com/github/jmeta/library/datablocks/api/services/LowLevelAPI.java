@@ -7,11 +7,16 @@
 
 package com.github.jmeta.library.datablocks.api.services;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import com.github.jmeta.library.datablocks.api.types.DataBlock;
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
 import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.media.api.types.AbstractMedium;
 import com.github.jmeta.library.media.api.types.Medium;
 
@@ -36,9 +41,118 @@ public interface LowLevelAPI {
 	 */
 	MediumContainerIterator getContainerIterator(Medium<?> medium);
 
+	/**
+	 * Returns the {@link Iterator} for retrieving all the top-level
+	 * {@link DataBlock}s in the given {@link AbstractMedium}, reading only the
+	 * given fields of field-based payloads. All other fields of such payloads are
+	 * skipped without reading or creating them, unless they are needed to read
+	 * further data blocks. This is intended for extracting a few values only, the
+	 * {@link DataBlock}s returned must not be used for writing.
+	 *
+	 * @param medium            the {@link AbstractMedium} for which to get the
+	 *                          top-level {@link DataBlock}s.
+	 * @param projectedFieldIds The {@link DataBlockId}s of the payload fields to
+	 *                          read, must not be null
+	 * @return the {@link Iterator} for iterating all the top-level
+	 *         {@link DataBlock}s of the {@link AbstractMedium}.
+	 */
+	MediumContainerIterator getContainerIterator(Medium<?> medium, Set<DataBlockId> projectedFieldIds);
+
 	/**
 	 * @param medium
 	 * @return a reverse {@link ContainerIterator}
 	 */
 	MediumContainerIterator getReverseContainerIterator(Medium<?> medium);
+
+	/**
+	 * Returns a reverse {@link ContainerIterator} reading only the given fields of
+	 * field-based payloads, see {@link #getContainerIterator(Medium, Set)}.
+	 *
+	 * @param medium            the {@link AbstractMedium}, must not be null
+	 * @param projectedFieldIds The {@link DataBlockId}s of the payload fields to
+	 *                          read, must not be null
+	 * @return a reverse {@link ContainerIterator}
+	 */
+	MediumContainerIterator getReverseContainerIterator(Medium<?> medium, Set<DataBlockId> projectedFieldIds);
+
+	/**
+	 * Parses the given {@link Medium} from front to back and notifies the given
+	 * {@link DataBlockHandler} about each data block, instead of returning
+	 * {@link DataBlock}s. The {@link DataBlock}s read are not retained, so the
+	 * memory needed does not grow with the number of top-level containers of the
+	 * {@link Medium}. However, each {@link DataBlock} is still created while
+	 * reading, before the {@link DataBlockHandler} is notified about it.
+	 * The {@link Medium} is closed when this method returns.
+	 *
+	 * @param medium  The {@link Medium} to parse, must not be null
+	 * @param handler The {@link DataBlockHandler} to notify, must not be null
+	 */
+	void parse(Medium<?> medium, DataBlockHandler handler);
+
+	/**
+	 * Parses all given {@link Medium}s concurrently, each one using its own
+	 * {@link MediumContainerIterator}, and returns the results in the order of
+	 * their completion. The {@link Medium}s are parsed by a worker pool created
+	 * for this call: It uses a virtual thread per {@link Medium} if the Java
+	 * runtime supports virtual threads, otherwise a daemon thread per available
+	 * processor.
+	 *
+	 * See {@link #parseConcurrently(Collection, MediumParser, ExecutorService, int)}
+	 * for details on how results are streamed back. The worker pool is shut down
+	 * after the last {@link Medium} has been submitted, or when the returned
+	 * {@link MediumParseResultIterator} is closed before.
+	 *
+	 * @param media  The {@link Medium}s to parse, must not be null; the
+	 *               {@link Medium}s must be distinct
+	 * @param parser The {@link MediumParser} called once per {@link Medium},
+	 *               must not be null and must be safe to call concurrently
+	 * @param <R>    The type of result produced per {@link Medium}
+	 * @return A {@link MediumParseResultIterator} returning exactly one
+	 *         {@link MediumParseResult} per given {@link Medium}, must be closed
+	 *         if not iterated until its end
+	 */
+	<R> MediumParseResultIterator<R> parseConcurrently(Collection<? extends Medium<?>> media,
+		MediumParser<R> parser);
+
+	/**
+	 * Parses all given {@link Medium}s concurrently using the given
+	 * {@link ExecutorService}, each one using its own
+	 * {@link MediumContainerIterator}, and returns the results in the order of
+	 * their completion.
+	 *
+	 * The {@link Medium}s are submitted lazily: At most the given number of
+	 * {@link Medium}s is parsed or waiting to be fetched at any time, and a further
+	 * {@link Medium} is only submitted whenever a result is fetched from the
+	 * returned {@link MediumParseResultIterator}. This bounds the number of open
+	 * {@link Medium}s and results kept in memory even for huge batches. The data
+	 * format specifications are shared by all {@link Medium}s.
+	 *
+	 * Errors are isolated per {@link Medium}: If opening or parsing a
+	 * {@link Medium} fails, its {@link MediumParseResult} holds the error and all
+	 * other {@link Medium}s are parsed as usual.
+	 *
+	 * The given {@link ExecutorService} is not shut down by this method. Closing
+	 * the returned {@link MediumParseResultIterator} before its end cancels the
+	 * parsing of all {@link Medium}s in flight, but does not shut down the given
+	 * {@link ExecutorService} either.
+	 *
+	 * @param media                        The {@link Medium}s to parse, must not be
+	 *                                     null; the {@link Medium}s must be
+	 *                                     distinct
+	 * @param parser                       The {@link MediumParser} called once per
+	 *                                     {@link Medium}, must not be null and must
+	 *                                     be safe to call concurrently
+	 * @param executor                     The {@link ExecutorService} parsing the
+	 *                                     {@link Medium}s, must not be null
+	 * @param maximumConcurrentMediumCount The maximum number of {@link Medium}s
+	 *                                     parsed or waiting to be fetched at the
+	 *                                     same time, must be strictly positive
+	 * @param <R>                          The type of result produced per
+	 *                                     {@link Medium}
+	 * @return A {@link MediumParseResultIterator} returning exactly one
+	 *         {@link MediumParseResult} per given {@link Medium}, must be closed
+	 *         if not iterated until its end
+	 */
+	<R> MediumParseResultIterator<R> parseConcurrently(Collection<? extends Medium<?>> media,
+		MediumParser<R> parser, ExecutorService executor, int maximumConcurrentMediumCount);
 }
@@ -0,0 +1,38 @@
+/**
+ *
+ * {@link MediumParseResultIterator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.api.services;
+
+import java.util.Iterator;
+
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
+import com.github.jmeta.library.media.api.types.Medium;
+
+/**
+ * {@link MediumParseResultIterator} returns the {@link MediumParseResult}s of
+ * {@link Medium}s parsed concurrently, see
+ * {@link LowLevelAPI#parseConcurrently(java.util.Collection, MediumParser)}. It
+ * must be closed if it is not iterated until its end, to stop parsing the
+ * remaining {@link Medium}s.
+ *
+ * @param <R> The type of result produced per {@link Medium}
+ */
+public interface MediumParseResultIterator<R> extends Iterator<MediumParseResult<R>>, AutoCloseable {
+
+	/**
+	 * Stops parsing: No further {@link Medium}s are submitted, and the parsing of
+	 * all {@link Medium}s in flight is cancelled. A worker pool created for this
+	 * {@link MediumParseResultIterator} is shut down immediately. Afterwards,
+	 * {@link #hasNext()} returns false. Closing it again has no effect.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	void close();
+}
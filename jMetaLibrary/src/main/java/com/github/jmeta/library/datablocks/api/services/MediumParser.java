@@ -0,0 +1,42 @@
+/**
+ *
+ * {@link MediumParser}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.api.services;
+
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.media.api.types.Medium;
+
+/**
+ * {@link MediumParser} is called by
+ * {@link LowLevelAPI#parseConcurrently(java.util.Collection, MediumParser)} once
+ * per {@link Medium}, on a worker thread, to extract whatever the caller needs
+ * from the top-level {@link Container}s of the {@link Medium}. The
+ * {@link MediumContainerIterator} passed is only valid during the call, i.e.
+ * the returned result must not refer to any lazily read {@link Container}s.
+ *
+ * @param <R> The type of result produced per {@link Medium}
+ */
+@FunctionalInterface
+public interface MediumParser<R> {
+
+	/**
+	 * Parses the given {@link Medium} using the given
+	 * {@link MediumContainerIterator}.
+	 *
+	 * @param medium            The {@link Medium} parsed, must not be null
+	 * @param containerIterator The {@link MediumContainerIterator} for the
+	 *                          top-level {@link Container}s of the {@link Medium},
+	 *                          must not be null; it is closed by the caller after
+	 *                          this method returns
+	 * @return The result of parsing the {@link Medium}, may be null
+	 * @throws Exception in case parsing the {@link Medium} failed; this only
+	 *                   fails the result for this {@link Medium}
+	 */
+	R parse(Medium<?> medium, MediumContainerIterator containerIterator) throws Exception;
+}
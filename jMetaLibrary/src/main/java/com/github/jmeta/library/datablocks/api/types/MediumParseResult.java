@@ -0,0 +1,87 @@
+/**
+ *
+ * {@link MediumParseResult}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.api.types;
+
+import com.github.jmeta.library.datablocks.api.services.MediumParser;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link MediumParseResult} is the outcome of parsing a single {@link Medium}
+ * with a {@link MediumParser} as part of a batch. It either holds the result
+ * returned by the {@link MediumParser} or the error that occurred while opening
+ * or parsing the {@link Medium}.
+ *
+ * @param <R> The type of result produced per {@link Medium}
+ */
+public class MediumParseResult<R> {
+
+	private final Medium<?> medium;
+
+	private final R result;
+
+	private final Throwable error;
+
+	/**
+	 * Creates a new {@link MediumParseResult}.
+	 *
+	 * @param medium The {@link Medium} parsed, must not be null
+	 * @param result The result returned by the {@link MediumParser}, may be null;
+	 *               must be null if an error is given
+	 * @param error  The error that occurred while opening or parsing the
+	 *               {@link Medium} or null if parsing was successful
+	 */
+	public MediumParseResult(Medium<?> medium, R result, Throwable error) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifFalse(error == null || result == null, "error == null || result == null");
+
+		this.medium = medium;
+		this.result = result;
+		this.error = error;
+	}
+
+	/**
+	 * @return The error that occurred while opening or parsing the {@link Medium}
+	 *         or null if parsing was successful
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * @return The {@link Medium} parsed
+	 */
+	public Medium<?> getMedium() {
+		return medium;
+	}
+
+	/**
+	 * @return The result returned by the {@link MediumParser} or null if parsing
+	 *         failed
+	 */
+	public R getResult() {
+		return result;
+	}
+
+	/**
+	 * @return true if the {@link Medium} could be parsed, false otherwise
+	 */
+	public boolean isSuccessful() {
+		return error == null;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MediumParseResult [medium=" + medium + ", result=" + result + ", error=" + error + "]";
+	}
+}
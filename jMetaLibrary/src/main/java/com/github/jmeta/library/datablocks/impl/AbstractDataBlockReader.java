@@ -12,7 +12,9 @@ package com.github.jmeta.library.datablocks.impl;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,7 @@ import com.github.jmeta.library.datablocks.api.services.SizeProvider;
 import com.github.jmeta.library.datablocks.api.types.ContainerContext;
 import com.github.jmeta.library.datablocks.api.types.DataBlock;
 import com.github.jmeta.library.datablocks.api.types.Field;
+import com.github.jmeta.library.datablocks.api.types.FieldBasedPayload;
 import com.github.jmeta.library.datablocks.api.types.FieldSequence;
 import com.github.jmeta.library.datablocks.api.types.Footer;
 import com.github.jmeta.library.datablocks.api.types.Payload;
@@ -70,6 +73,8 @@ public abstract class AbstractDataBlockReader implements DataBlockReader {
 
 	private final DataBlockEventBus eventBus;
 
+	private Set<DataBlockId> fieldProjection;
+
 	/**
 	 * Creates a new {@link AbstractDataBlockReader}.
 	 *
@@ -259,8 +264,8 @@ public abstract class AbstractDataBlockReader implements DataBlockReader {
 	 *         container's {@link DataBlockDescription}
 	 */
 	protected DataBlockDescription getPayloadDescription(DataBlockDescription containerDesc) {
-		List<DataBlockDescription> payloadDescs = containerDesc
-			.getChildDescriptionsOfType(PhysicalDataBlockType.FIELD_BASED_PAYLOAD);
+		List<DataBlockDescription> payloadDescs = new ArrayList<>(
+			containerDesc.getChildDescriptionsOfType(PhysicalDataBlockType.FIELD_BASED_PAYLOAD));
 
 		payloadDescs.addAll(containerDesc.getChildDescriptionsOfType(PhysicalDataBlockType.CONTAINER_BASED_PAYLOAD));
 
@@ -410,28 +415,45 @@ public abstract class AbstractDataBlockReader implements DataBlockReader {
 
 		List<DataBlockDescription> fieldChildren = parentDesc.getChildDescriptionsOfType(PhysicalDataBlockType.FIELD);
 
+		// Headers and footers are always read completely, as custom size and count
+		// providers as well as extensions access their fields by position
+		Set<DataBlockId> projection = parent instanceof FieldBasedPayload ? fieldProjection : null;
+
+		int fieldChildCountToRead = fieldChildren.size();
+
+		if (projection != null) {
+			while (fieldChildCountToRead > 0
+				&& !isReadDespiteProjection(fieldChildren.get(fieldChildCountToRead - 1), projection)) {
+				fieldChildCountToRead--;
+			}
+		}
+
 		List<Field<?>> fields = new ArrayList<>();
 
 		MediumOffset currentFieldReference = reference;
 
 		long currentlyRemainingParentByteCount = remainingDirectParentByteCount;
 
-		for (int i = 0; i < fieldChildren.size(); ++i) {
+		for (int i = 0; i < fieldChildCountToRead; ++i) {
 			mediumDataProvider.bufferBeforeRead(currentFieldReference, currentlyRemainingParentByteCount);
 
 			DataBlockDescription fieldDesc = fieldChildren.get(i);
 
+			boolean isFieldRead = projection == null || isReadDespiteProjection(fieldDesc, projection);
+
 			long actualOccurrences = containerContext.getOccurrencesOf(fieldDesc.getId());
 
 			for (int j = 0; j < actualOccurrences; j++) {
 				long fieldSize = determineActualFieldSize(fieldDesc, currentlyRemainingParentByteCount,
 					currentFieldReference, j, containerContext);
 
-				Field<?> newField = readField(currentFieldReference, fieldDesc, fieldSize, j, containerContext);
+				if (isFieldRead) {
+					Field<?> newField = readField(currentFieldReference, fieldDesc, fieldSize, j, containerContext);
 
-				containerContext.addFieldFunctions(newField);
+					containerContext.addFieldFunctions(newField);
 
-				fields.add(newField);
+					fields.add(newField);
+				}
 
 				if (currentlyRemainingParentByteCount != DataBlockDescription.UNDEFINED) {
 					currentlyRemainingParentByteCount -= fieldSize;
@@ -441,13 +463,15 @@ public abstract class AbstractDataBlockReader implements DataBlockReader {
 			}
 		}
 
-		if (currentlyRemainingParentByteCount > 0) {
+		if (currentlyRemainingParentByteCount > 0 && fieldChildCountToRead == fieldChildren.size()) {
 			DataBlockDescription unknownFieldDescription = createUnknownFieldDescription(parentId);
 
-			Field<?> unknownField = readField(currentFieldReference, unknownFieldDescription,
-				currentlyRemainingParentByteCount, 0, containerContext);
+			if (projection == null || projection.contains(unknownFieldDescription.getId())) {
+				Field<?> unknownField = readField(currentFieldReference, unknownFieldDescription,
+					currentlyRemainingParentByteCount, 0, containerContext);
 
-			fields.add(unknownField);
+				fields.add(unknownField);
+			}
 		}
 
 		return fields;
@@ -516,4 +540,26 @@ public abstract class AbstractDataBlockReader implements DataBlockReader {
 		customSizeProvider = sizeProvider;
 	}
 
+	/**
+	 * @see com.github.jmeta.library.datablocks.api.services.DataBlockReader#setFieldProjection(java.util.Set)
+	 */
+	@Override
+	public void setFieldProjection(Set<DataBlockId> projectedFieldIds) {
+		fieldProjection = projectedFieldIds == null ? null : new HashSet<>(projectedFieldIds);
+	}
+
+	/**
+	 * Tells whether a field must be read even though it is not part of the given
+	 * projection. This is the case for fields with field functions, as their values
+	 * are needed to determine the sizes, counts and other properties of further
+	 * data blocks.
+	 *
+	 * @param fieldDesc  The field's {@link DataBlockDescription}
+	 * @param projection The {@link DataBlockId}s of the fields requested
+	 * @return true if the field must be read, false if it can be skipped
+	 */
+	private static boolean isReadDespiteProjection(DataBlockDescription fieldDesc, Set<DataBlockId> projection) {
+		return projection.contains(fieldDesc.getId()) || !fieldDesc.getFieldProperties().getFieldFunctions().isEmpty();
+	}
+
 }
@@ -11,6 +11,7 @@ package com.github.jmeta.library.datablocks.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
 import com.github.jmeta.library.datablocks.api.types.Container;
@@ -62,6 +63,19 @@ public class BackwardDataBlockReader extends AbstractDataBlockReader {
 		return forwardReader;
 	}
 
+	/**
+	 * Sets the field projection for this {@link BackwardDataBlockReader} as well as
+	 * for its forward {@link DataBlockReader} which reads the payloads.
+	 *
+	 * @see com.github.jmeta.library.datablocks.impl.AbstractDataBlockReader#setFieldProjection(java.util.Set)
+	 */
+	@Override
+	public void setFieldProjection(Set<DataBlockId> projectedFieldIds) {
+		super.setFieldProjection(projectedFieldIds);
+
+		forwardReader.setFieldProjection(projectedFieldIds);
+	}
+
 	/**
 	 * @see com.github.jmeta.library.datablocks.impl.AbstractDataBlockReader#getMagicKeys(com.github.jmeta.library.dataformats.api.types.DataBlockDescription)
 	 */
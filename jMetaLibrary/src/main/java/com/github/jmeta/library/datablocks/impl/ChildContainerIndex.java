@@ -0,0 +1,171 @@
+/**
+ *
+ * {@link ChildContainerIndex}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.ContainerBasedPayload;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link ChildContainerIndex} records the child {@link Container}s of a
+ * {@link ContainerBasedPayload} in the order they were read from the medium:
+ * Their {@link DataBlockId}, sequence number and size, as well as a
+ * {@link SoftReference} to the {@link Container} itself. The offset of a child
+ * is not stored, as it is the offset of the payload plus the sizes of all
+ * children before it.
+ *
+ * With a complete index, the children can be returned again without detecting
+ * and parsing them a second time, and a child that was garbage collected can be
+ * re-read directly at its known offset.
+ */
+class ChildContainerIndex {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private DataBlockId[] ids = new DataBlockId[ChildContainerIndex.INITIAL_CAPACITY];
+
+	private int[] sequenceNumbers = new int[ChildContainerIndex.INITIAL_CAPACITY];
+
+	private long[] sizes = new long[ChildContainerIndex.INITIAL_CAPACITY];
+
+	private final List<Reference<Container>> containers = new ArrayList<>(ChildContainerIndex.INITIAL_CAPACITY);
+
+	private final Function<Container, Reference<Container>> referenceFactory;
+
+	private int childCount;
+
+	/**
+	 * Creates a new, empty {@link ChildContainerIndex} referencing its children
+	 * via {@link SoftReference}s.
+	 */
+	public ChildContainerIndex() {
+		this(SoftReference::new);
+	}
+
+	/**
+	 * Creates a new, empty {@link ChildContainerIndex} referencing its children
+	 * via the {@link Reference}s created by the given factory.
+	 *
+	 * @param referenceFactory Creates the {@link Reference} to each child
+	 *                         {@link Container} added or set, must not be null
+	 */
+	ChildContainerIndex(Function<Container, Reference<Container>> referenceFactory) {
+		Reject.ifNull(referenceFactory, "referenceFactory");
+
+		this.referenceFactory = referenceFactory;
+	}
+
+	/**
+	 * Adds the next child {@link Container} read to this index.
+	 *
+	 * @param id             The {@link DataBlockId} the child was read with, must
+	 *                       not be null
+	 * @param sequenceNumber The sequence number the child was read with
+	 * @param container      The child {@link Container}, must not be null
+	 */
+	public void addChild(DataBlockId id, int sequenceNumber, Container container) {
+		Reject.ifNull(id, "id");
+		Reject.ifNull(container, "container");
+
+		if (childCount == ids.length) {
+			int newCapacity = 2 * ids.length;
+
+			ids = Arrays.copyOf(ids, newCapacity);
+			sequenceNumbers = Arrays.copyOf(sequenceNumbers, newCapacity);
+			sizes = Arrays.copyOf(sizes, newCapacity);
+		}
+
+		ids[childCount] = id;
+		sequenceNumbers[childCount] = sequenceNumber;
+		sizes[childCount] = container.getSize();
+		containers.add(referenceFactory.apply(container));
+
+		childCount++;
+	}
+
+	/**
+	 * @return The number of child {@link Container}s in this index
+	 */
+	public int getChildCount() {
+		return childCount;
+	}
+
+	/**
+	 * Returns the child {@link Container} with the given index, if it has not been
+	 * garbage collected yet.
+	 *
+	 * @param childIndex The index of the child, must be smaller than
+	 *                   {@link #getChildCount()}
+	 * @return The child {@link Container} or null if it has been garbage
+	 *         collected
+	 */
+	public Container getContainer(int childIndex) {
+		Reject.ifNotInInterval(childIndex, 0, childCount - 1, "childIndex");
+
+		return containers.get(childIndex).get();
+	}
+
+	/**
+	 * @param childIndex The index of the child, must be smaller than
+	 *                   {@link #getChildCount()}
+	 * @return The {@link DataBlockId} the child was read with
+	 */
+	public DataBlockId getId(int childIndex) {
+		Reject.ifNotInInterval(childIndex, 0, childCount - 1, "childIndex");
+
+		return ids[childIndex];
+	}
+
+	/**
+	 * @param childIndex The index of the child, must be smaller than
+	 *                   {@link #getChildCount()}
+	 * @return The sequence number the child was read with
+	 */
+	public int getSequenceNumber(int childIndex) {
+		Reject.ifNotInInterval(childIndex, 0, childCount - 1, "childIndex");
+
+		return sequenceNumbers[childIndex];
+	}
+
+	/**
+	 * @param childIndex The index of the child, must be smaller than
+	 *                   {@link #getChildCount()}
+	 * @return The size of the child in bytes
+	 */
+	public long getSize(int childIndex) {
+		Reject.ifNotInInterval(childIndex, 0, childCount - 1, "childIndex");
+
+		return sizes[childIndex];
+	}
+
+	/**
+	 * Replaces the child {@link Container} with the given index after it has been
+	 * re-read from the medium.
+	 *
+	 * @param childIndex The index of the child, must be smaller than
+	 *                   {@link #getChildCount()}
+	 * @param container  The re-read child {@link Container}, must not be null
+	 */
+	public void setContainer(int childIndex, Container container) {
+		Reject.ifNotInInterval(childIndex, 0, childCount - 1, "childIndex");
+		Reject.ifNull(container, "container");
+
+		containers.set(childIndex, referenceFactory.apply(container));
+	}
+
+}
@@ -0,0 +1,182 @@
+/**
+ *
+ * {@link ConcurrentMediumParseIterator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.github.jmeta.library.datablocks.api.services.MediumParseResultIterator;
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
+
+/**
+ * {@link ConcurrentMediumParseIterator} submits the parsing of {@link Medium}s
+ * to an {@link ExecutorService} and returns their {@link MediumParseResult}s in
+ * the order of completion. It keeps at most a given number of {@link Medium}s
+ * in flight and submits the next {@link Medium} whenever a result is fetched.
+ * If parsing a {@link Medium} fails unexpectedly nevertheless, e.g. with an
+ * {@link Error}, a failed {@link MediumParseResult} is returned for it.
+ *
+ * This class is not thread-safe, i.e. it must only be iterated by a single
+ * thread. The parsing function is called concurrently by the threads of the
+ * {@link ExecutorService}.
+ *
+ * @param <R> The type of result produced per {@link Medium}
+ */
+public class ConcurrentMediumParseIterator<R> implements MediumParseResultIterator<R> {
+
+	private final Iterator<? extends Medium<?>> mediaToSubmit;
+
+	private final Function<Medium<?>, MediumParseResult<R>> parseFunction;
+
+	private final ExecutorService executor;
+
+	private final CompletionService<MediumParseResult<R>> completionService;
+
+	private final boolean ownsExecutor;
+
+	private final Map<Future<MediumParseResult<R>>, Medium<?>> inFlightMedia = new IdentityHashMap<>();
+
+	private boolean closed;
+
+	/**
+	 * Creates a new {@link ConcurrentMediumParseIterator} and immediately submits
+	 * up to the given maximum number of {@link Medium}s.
+	 *
+	 * @param mediaToSubmit                The {@link Medium}s to parse, must not
+	 *                                     be null
+	 * @param parseFunction                The function parsing a single
+	 *                                     {@link Medium}, must not be null; it
+	 *                                     must not throw but return a failed
+	 *                                     {@link MediumParseResult} instead
+	 * @param executor                     The {@link ExecutorService} to use,
+	 *                                     must not be null
+	 * @param maximumConcurrentMediumCount The maximum number of {@link Medium}s
+	 *                                     parsed or waiting to be fetched at the
+	 *                                     same time, must be strictly positive
+	 * @param ownsExecutor                 true to shut down the
+	 *                                     {@link ExecutorService} as soon as the
+	 *                                     last {@link Medium} has been submitted
+	 *                                     or this
+	 *                                     {@link ConcurrentMediumParseIterator} is
+	 *                                     closed, false to leave it running
+	 */
+	public ConcurrentMediumParseIterator(Iterator<? extends Medium<?>> mediaToSubmit,
+		Function<Medium<?>, MediumParseResult<R>> parseFunction, ExecutorService executor,
+		int maximumConcurrentMediumCount, boolean ownsExecutor) {
+		Reject.ifNull(mediaToSubmit, "mediaToSubmit");
+		Reject.ifNull(parseFunction, "parseFunction");
+		Reject.ifNull(executor, "executor");
+		Reject.ifNegativeOrZero(maximumConcurrentMediumCount, "maximumConcurrentMediumCount");
+
+		this.mediaToSubmit = mediaToSubmit;
+		this.parseFunction = parseFunction;
+		this.executor = executor;
+		this.completionService = new ExecutorCompletionService<>(executor);
+		this.ownsExecutor = ownsExecutor;
+
+		for (int i = 0; i < maximumConcurrentMediumCount && submitNextMedium(); i++) {
+			// Submission is done in the loop condition
+		}
+	}
+
+	/**
+	 * @see com.github.jmeta.library.datablocks.api.services.MediumParseResultIterator#close()
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		inFlightMedia.keySet().forEach(result -> result.cancel(true));
+		inFlightMedia.clear();
+
+		if (ownsExecutor) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return !inFlightMedia.isEmpty();
+	}
+
+	/**
+	 * Waits for the next {@link Medium} to be parsed and returns its
+	 * {@link MediumParseResult}. Submits the next {@link Medium} to parse, if any.
+	 *
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public MediumParseResult<R> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		Future<MediumParseResult<R>> result = null;
+
+		try {
+			result = completionService.take();
+
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JMetaIllegalStateException("Interrupted while waiting for the next parsed medium", e);
+		} catch (ExecutionException e) {
+			return new MediumParseResult<>(inFlightMedia.get(result), null, e.getCause());
+		} finally {
+			if (result != null) {
+				inFlightMedia.remove(result);
+
+				submitNextMedium();
+			}
+		}
+	}
+
+	/**
+	 * Submits the next {@link Medium} to parse, if there is any.
+	 *
+	 * @return true if a {@link Medium} was submitted, false if there are no more
+	 *         {@link Medium}s to parse
+	 */
+	private boolean submitNextMedium() {
+		boolean mediumSubmitted = false;
+
+		if (mediaToSubmit.hasNext()) {
+			Medium<?> medium = mediaToSubmit.next();
+
+			inFlightMedia.put(completionService.submit(() -> parseFunction.apply(medium)), medium);
+
+			mediumSubmitted = true;
+		}
+
+		if (ownsExecutor && !mediaToSubmit.hasNext()) {
+			executor.shutdown();
+		}
+
+		return mediumSubmitted;
+	}
+}
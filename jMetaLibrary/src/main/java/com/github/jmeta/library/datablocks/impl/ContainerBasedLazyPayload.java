@@ -22,11 +22,17 @@ import com.github.jmeta.library.dataformats.api.types.DataBlockId;
  * {@link ContainerBasedLazyPayload} is the default implementation of
  * {@link ContainerBasedPayload}. It lazily reads child containers by providing
  * a corresponding iterator when first requested.
+ *
+ * The first complete iteration of the children, e.g. when summing up their
+ * sizes for an undefined payload size, records them in a
+ * {@link ChildContainerIndex}. Any later iterator replays the children from
+ * this index instead of detecting and parsing them again.
  */
 public class ContainerBasedLazyPayload extends AbstractDataBlock implements ContainerBasedPayload {
 
 	private long totalSize;
 	private DataBlockReader reader;
+	private ChildContainerIndex childIndex;
 
 	/**
 	 * Creates a new {@link ContainerBasedLazyPayload}.
@@ -48,7 +54,11 @@ public class ContainerBasedLazyPayload extends AbstractDataBlock implements Cont
 	 */
 	@Override
 	public ContainerIterator getContainerIterator() {
-		return new PayloadContainerIterator(this, reader, getOffset());
+		if (childIndex != null) {
+			return new IndexedPayloadContainerIterator(this, reader, childIndex);
+		}
+
+		return new PayloadContainerIterator(this, reader, getOffset(), this::setChildIndex);
 	}
 
 	/**
@@ -82,4 +92,16 @@ public class ContainerBasedLazyPayload extends AbstractDataBlock implements Cont
 			this.totalSize = summedUpTotalSize;
 		}
 	}
+
+	/**
+	 * Sets the {@link ChildContainerIndex} recorded during the first complete
+	 * iteration of the children, unless another iteration completed before.
+	 *
+	 * @param childIndex The complete {@link ChildContainerIndex}
+	 */
+	private void setChildIndex(ChildContainerIndex childIndex) {
+		if (this.childIndex == null) {
+			this.childIndex = childIndex;
+		}
+	}
 }
@@ -0,0 +1,117 @@
+/**
+ *
+ * {@link DataBlockHandlerNotifier}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.util.List;
+
+import com.github.jmeta.library.datablocks.api.exceptions.InterpretedValueConversionException;
+import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
+import com.github.jmeta.library.datablocks.api.services.DataBlockHandler;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.ContainerBasedPayload;
+import com.github.jmeta.library.datablocks.api.types.Field;
+import com.github.jmeta.library.datablocks.api.types.FieldBasedPayload;
+import com.github.jmeta.library.datablocks.api.types.Footer;
+import com.github.jmeta.library.datablocks.api.types.Header;
+import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
+
+/**
+ * {@link DataBlockHandlerNotifier} walks through a {@link Container} with all
+ * its descendants in medium order and notifies a {@link DataBlockHandler} about
+ * each of them. It does not keep any reference to the data blocks walked
+ * through, so they can be garbage collected as soon as the walk has passed
+ * them. Child {@link Container}s of container-based {@link Payload}s are read
+ * lazily one after the other during the walk.
+ *
+ * Note that this does not avoid creating the data blocks: Each {@link Container}
+ * is still read by its {@link com.github.jmeta.library.datablocks.api.services.DataBlockReader}
+ * with all its {@link Header}s, {@link Footer}s and the {@link Field}s of a
+ * field-based {@link Payload}, and only then walked through. So the
+ * {@link DataBlockHandler} saves retaining the data blocks, but not reading and
+ * allocating them, and the memory needed while handling a single
+ * {@link Container} still grows with the number of its {@link Field}s.
+ */
+class DataBlockHandlerNotifier {
+
+	private final DataBlockHandler handler;
+
+	/**
+	 * Creates a new {@link DataBlockHandlerNotifier}.
+	 *
+	 * @param handler The {@link DataBlockHandler} to notify, must not be null
+	 */
+	public DataBlockHandlerNotifier(DataBlockHandler handler) {
+		Reject.ifNull(handler, "handler");
+
+		this.handler = handler;
+	}
+
+	/**
+	 * Notifies the {@link DataBlockHandler} about the given {@link Container} and
+	 * all its descendants.
+	 *
+	 * @param container The {@link Container}, must not be null
+	 */
+	public void notifyContainer(Container container) {
+		Reject.ifNull(container, "container");
+
+		handler.startContainer(container.getId(), container.getSequenceNumber(), container.getOffset());
+
+		for (Header header : container.getHeaders()) {
+			handler.startHeader(header.getId(), header.getOffset(), header.getSize());
+			notifyFields(header.getFields());
+			handler.endHeader(header.getId());
+		}
+
+		Payload payload = container.getPayload();
+
+		handler.startPayload(payload.getId(), payload.getOffset(), payload.getSize());
+
+		if (payload instanceof FieldBasedPayload) {
+			notifyFields(((FieldBasedPayload) payload).getFields());
+		} else {
+			ContainerIterator childIterator = ((ContainerBasedPayload) payload).getContainerIterator();
+
+			while (childIterator.hasNext()) {
+				notifyContainer(childIterator.next());
+			}
+		}
+
+		handler.endPayload(payload.getId());
+
+		for (Footer footer : container.getFooters()) {
+			handler.startFooter(footer.getId(), footer.getOffset(), footer.getSize());
+			notifyFields(footer.getFields());
+			handler.endFooter(footer.getId());
+		}
+
+		handler.endContainer(container.getId(), container.getOffset(), container.getSize());
+	}
+
+	/**
+	 * Notifies the {@link DataBlockHandler} about each of the given {@link Field}s.
+	 *
+	 * @param fields The {@link Field}s
+	 */
+	private void notifyFields(List<Field<?>> fields) {
+		for (int i = 0; i < fields.size(); ++i) {
+			Field<?> field = fields.get(i);
+
+			try {
+				handler.field(field.getId(), field.getOffset(), field.getSize(),
+					field.getBinaryValue().asReadOnlyBuffer());
+			} catch (InterpretedValueConversionException e) {
+				throw new JMetaIllegalStateException("Could not get bytes of field " + field.getId(), e);
+			}
+		}
+	}
+}
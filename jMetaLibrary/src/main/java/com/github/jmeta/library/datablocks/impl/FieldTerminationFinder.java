@@ -10,6 +10,7 @@
 package com.github.jmeta.library.datablocks.impl;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
@@ -35,9 +36,19 @@ import com.github.jmeta.utility.charset.api.services.Charsets;
  * even stateless such that a single instance can be reused arbitrarily. Keep in
  * mind that this is usually not the case for the {@link FieldDataProvider}
  * instance which e.g. needs to keep track of a current position in its state.
+ *
+ * For the fixed-width character encodings US-ASCII, ISO-8859-1, UTF-16BE,
+ * UTF-16LE and UTF-16 with BOM, the bytes are not decoded at all. Instead, the
+ * encoded bytes of the termination character are searched directly, eight bytes
+ * at a time for single-byte encodings and in aligned two-byte steps for UTF-16.
+ * Only variable-width encodings like UTF-8 are decoded block-wise.
  */
 public class FieldTerminationFinder {
 
+	private static final long LOWEST_BITS = 0x0101010101010101L;
+
+	private static final long HIGHEST_BITS = 0x8080808080808080L;
+
 	/**
 	 * {@link FieldDataProvider} provides data bytes to search a termination
 	 * character within.
@@ -147,6 +158,55 @@ public class FieldTerminationFinder {
 	public long getSizeUntilTermination(Charset charset, Character terminationCharacter, FieldDataProvider dataProvider,
 		long limit, int readBlockSize) {
 
+		byte[] terminationBytes = getFixedWidthTerminationBytes(charset, terminationCharacter);
+
+		if (terminationBytes == null) {
+			return getSizeUntilTerminationByDecoding(charset, terminationCharacter, dataProvider, limit, readBlockSize,
+				ByteBuffer.allocate(0));
+		}
+
+		ByteBuffer firstBytes = dataProvider.nextData(readBlockSize);
+
+		if (!firstBytes.hasRemaining()) {
+			return 0;
+		}
+
+		int bomSize = 0;
+
+		if (charset.equals(Charsets.CHARSET_UTF16)) {
+			ByteOrder byteOrder = getByteOrderFromBOM(firstBytes);
+
+			// Without BOM, the decoding is left to the JVM which might have its own
+			// conventions for counting the bytes
+			if (byteOrder == null) {
+				return getSizeUntilTerminationByDecoding(charset, terminationCharacter, dataProvider, limit,
+					readBlockSize, firstBytes);
+			}
+
+			if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
+				terminationBytes = new byte[] { terminationBytes[1], terminationBytes[0] };
+			}
+
+			bomSize = Charsets.getBOM(charset).length;
+
+			firstBytes.position(firstBytes.position() + bomSize);
+		}
+
+		return getSizeUntilTerminationBytes(terminationBytes, firstBytes, bomSize, dataProvider, limit, readBlockSize);
+	}
+
+	/**
+	 * Determines the number of bytes until and including the bytes of a given
+	 * termination character by decoding the bytes block-wise, see
+	 * {@link #getSizeUntilTermination(Charset, Character, FieldDataProvider, long, int)}.
+	 *
+	 * @param initialBytes The bytes already taken from the
+	 *                     {@link FieldDataProvider} that need to be searched
+	 *                     first, might have 0 bytes remaining
+	 */
+	private long getSizeUntilTerminationByDecoding(Charset charset, Character terminationCharacter,
+		FieldDataProvider dataProvider, long limit, int readBlockSize, ByteBuffer initialBytes) {
+
 		long sizeUpToEndOfTerminationBytes = 0;
 
 		// If -1, this variable indicates no termination bytes have been found yet, if >
@@ -154,7 +214,7 @@ public class FieldTerminationFinder {
 		// index
 		int lenUpToTermination = -1;
 
-		ByteBuffer encodedBytes = ByteBuffer.allocate(0);
+		ByteBuffer encodedBytes = initialBytes;
 
 		CharsetDecoder decoder = charset.newDecoder();
 		decoder.onMalformedInput(CodingErrorAction.REPLACE);
@@ -194,4 +254,213 @@ public class FieldTerminationFinder {
 
 		return sizeUpToEndOfTerminationBytes;
 	}
+
+	/**
+	 * Returns the encoded bytes of the termination character if the given
+	 * {@link Charset} has a fixed width per character that allows searching for
+	 * these bytes directly. For UTF-16, the big endian bytes are returned, the
+	 * actual byte order depends on the BOM.
+	 *
+	 * @param charset              The {@link Charset}
+	 * @param terminationCharacter The termination character
+	 * @return The encoded bytes of the termination character or null if the bytes
+	 *         must be decoded to search for the termination character
+	 */
+	private static byte[] getFixedWidthTerminationBytes(Charset charset, Character terminationCharacter) {
+		char terminationChar = terminationCharacter;
+
+		// The replacement character is also the result of decoding malformed input,
+		// so it can only be found by decoding
+		if (Character.isSurrogate(terminationChar) || terminationChar == '\uFFFD') {
+			return null;
+		}
+
+		if ((charset.equals(Charsets.CHARSET_ASCII) && terminationChar < 0x80)
+			|| (charset.equals(Charsets.CHARSET_ISO) && terminationChar < 0x100)) {
+			return new byte[] { (byte) terminationChar };
+		}
+
+		if (charset.equals(Charsets.CHARSET_UTF16BE) || charset.equals(Charsets.CHARSET_UTF16)) {
+			return new byte[] { (byte) (terminationChar >> Byte.SIZE), (byte) terminationChar };
+		}
+
+		if (charset.equals(Charsets.CHARSET_UTF16LE)) {
+			return new byte[] { (byte) terminationChar, (byte) (terminationChar >> Byte.SIZE) };
+		}
+
+		return null;
+	}
+
+	/**
+	 * Determines the byte order of UTF-16 encoded bytes from their BOM.
+	 *
+	 * @param bytes The first bytes of the field, their position is not changed
+	 * @return {@link ByteOrder#BIG_ENDIAN} or {@link ByteOrder#LITTLE_ENDIAN} or
+	 *         null if the bytes do not start with a BOM
+	 */
+	private static ByteOrder getByteOrderFromBOM(ByteBuffer bytes) {
+		if (bytes.remaining() < 2) {
+			return null;
+		}
+
+		int firstByte = bytes.get(bytes.position()) & 0xFF;
+		int secondByte = bytes.get(bytes.position() + 1) & 0xFF;
+
+		if (firstByte == 0xFE && secondByte == 0xFF) {
+			return ByteOrder.BIG_ENDIAN;
+		} else if (firstByte == 0xFF && secondByte == 0xFE) {
+			return ByteOrder.LITTLE_ENDIAN;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Determines the number of bytes until and including the given termination
+	 * bytes of a fixed-width character encoding without decoding. Termination bytes
+	 * are only found at offsets that are a multiple of their length. If the bytes
+	 * of a block cannot be divided by the character width, the trailing bytes are
+	 * combined with the next block.
+	 *
+	 * @param terminationBytes The encoded termination character, either one or two
+	 *                         bytes
+	 * @param firstBytes       The first bytes to search, already taken from the
+	 *                         {@link FieldDataProvider}
+	 * @param sizeBefore       The number of bytes before the first bytes, e.g. of a
+	 *                         BOM
+	 * @param dataProvider     The {@link FieldDataProvider} for all further bytes
+	 * @param limit            The limit of the search or
+	 *                         {@link DataBlockDescription#UNDEFINED}
+	 * @param readBlockSize    The block size of the data bulks requested
+	 * @return see
+	 *         {@link #getSizeUntilTermination(Charset, Character, FieldDataProvider, long, int)}
+	 */
+	private static long getSizeUntilTerminationBytes(byte[] terminationBytes, ByteBuffer firstBytes, long sizeBefore,
+		FieldDataProvider dataProvider, long limit, int readBlockSize) {
+		int characterWidth = terminationBytes.length;
+
+		long sizeUpToEndOfTerminationBytes = sizeBefore;
+
+		ByteBuffer bytes = firstBytes;
+
+		int incompleteCharacterByte = -1;
+
+		while (true) {
+			if (incompleteCharacterByte != -1 && bytes.hasRemaining()) {
+				byte nextByte = bytes.get();
+
+				sizeUpToEndOfTerminationBytes += characterWidth;
+
+				if ((byte) incompleteCharacterByte == terminationBytes[0] && nextByte == terminationBytes[1]) {
+					return applyLimit(sizeUpToEndOfTerminationBytes, limit);
+				}
+
+				incompleteCharacterByte = -1;
+			}
+
+			int terminationIndex = characterWidth == 1 ? indexOfByte(bytes, terminationBytes[0])
+				: indexOfAlignedBytePair(bytes, terminationBytes[0], terminationBytes[1]);
+
+			if (terminationIndex != -1) {
+				return applyLimit(sizeUpToEndOfTerminationBytes + terminationIndex + characterWidth, limit);
+			}
+
+			int remainingByteCount = bytes.remaining();
+			int incompleteByteCount = remainingByteCount % characterWidth;
+
+			sizeUpToEndOfTerminationBytes += remainingByteCount - incompleteByteCount;
+
+			if (incompleteByteCount > 0) {
+				incompleteCharacterByte = bytes.get(bytes.limit() - 1) & 0xFF;
+			}
+
+			if ((limit != DataBlockDescription.UNDEFINED) && (sizeUpToEndOfTerminationBytes >= limit)) {
+				return limit;
+			}
+
+			bytes = dataProvider.nextData(readBlockSize);
+
+			if (!bytes.hasRemaining()) {
+				return sizeUpToEndOfTerminationBytes;
+			}
+		}
+	}
+
+	/**
+	 * Returns the given size or the limit, if the size reaches the limit.
+	 *
+	 * @param size  The size
+	 * @param limit The limit or {@link DataBlockDescription#UNDEFINED}
+	 * @return The given size or the limit, if the size reaches the limit
+	 */
+	private static long applyLimit(long size, long limit) {
+		if ((limit != DataBlockDescription.UNDEFINED) && (size >= limit)) {
+			return limit;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Searches a single byte value, comparing eight bytes at a time as long as
+	 * possible.
+	 *
+	 * @param bytes The bytes to search between position and limit, their position
+	 *              is not changed
+	 * @param value The byte value to search
+	 * @return The index of the first occurrence relative to the position of the
+	 *         given bytes or -1 if there is none
+	 */
+	private static int indexOfByte(ByteBuffer bytes, byte value) {
+		int start = bytes.position();
+		int remaining = bytes.remaining();
+
+		// Little endian ensures that the lowest set bit belongs to the first
+		// occurrence, as false positives can only occur behind an actual occurrence
+		ByteBuffer littleEndianBytes = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+		long pattern = FieldTerminationFinder.LOWEST_BITS * (value & 0xFF);
+
+		int index = 0;
+
+		for (; index + Long.BYTES <= remaining; index += Long.BYTES) {
+			long word = littleEndianBytes.getLong(start + index) ^ pattern;
+			long zeroBytes = (word - FieldTerminationFinder.LOWEST_BITS) & ~word & FieldTerminationFinder.HIGHEST_BITS;
+
+			if (zeroBytes != 0) {
+				return index + Long.numberOfTrailingZeros(zeroBytes) / Byte.SIZE;
+			}
+		}
+
+		for (; index < remaining; index++) {
+			if (bytes.get(start + index) == value) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Searches a pair of bytes at even offsets.
+	 *
+	 * @param bytes      The bytes to search between position and limit, their
+	 *                   position is not changed
+	 * @param firstByte  The first byte of the pair
+	 * @param secondByte The second byte of the pair
+	 * @return The index of the first byte of the first occurrence relative to the
+	 *         position of the given bytes or -1 if there is none
+	 */
+	private static int indexOfAlignedBytePair(ByteBuffer bytes, byte firstByte, byte secondByte) {
+		int start = bytes.position();
+		int remaining = bytes.remaining();
+
+		for (int index = 0; index + 1 < remaining; index += 2) {
+			if (bytes.get(start + index) == firstByte && bytes.get(start + index + 1) == secondByte) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
 }
@@ -43,6 +43,14 @@ public class ForwardDataBlockReader extends AbstractDataBlockReader {
 		super(spec, mediumStore, eventBus);
 	}
 
+	/**
+	 * @see com.github.jmeta.library.datablocks.api.services.DataBlockReader#identifiesByMagicKeysOnly()
+	 */
+	@Override
+	public boolean identifiesByMagicKeysOnly() {
+		return true;
+	}
+
 	/**
 	 * @see com.github.jmeta.library.datablocks.impl.AbstractDataBlockReader#getMagicKeys(com.github.jmeta.library.dataformats.api.types.DataBlockDescription)
 	 */
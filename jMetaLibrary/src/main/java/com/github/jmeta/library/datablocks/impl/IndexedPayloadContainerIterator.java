@@ -0,0 +1,119 @@
+/**
+ *
+ * {@link IndexedPayloadContainerIterator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
+import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link IndexedPayloadContainerIterator} replays the child {@link Container}s
+ * of a payload from a complete {@link ChildContainerIndex} instead of detecting
+ * and parsing them again like {@link PayloadContainerIterator}. Children still
+ * referenced by the index are returned as they are, any other child is re-read
+ * directly at its known offset with its known id and sequence number.
+ */
+class IndexedPayloadContainerIterator implements ContainerIterator {
+
+	private final Payload parent;
+
+	private final DataBlockReader reader;
+
+	private final ChildContainerIndex childIndex;
+
+	private MediumOffset nextContainerReference;
+
+	private int nextChildIndex;
+
+	/**
+	 * Creates a new {@link IndexedPayloadContainerIterator}.
+	 *
+	 * @param parent     The parent {@link Payload}, must not be null
+	 * @param reader     The {@link DataBlockReader} to re-read children with, must
+	 *                   not be null
+	 * @param childIndex The complete {@link ChildContainerIndex} of the parent,
+	 *                   must not be null
+	 */
+	public IndexedPayloadContainerIterator(Payload parent, DataBlockReader reader, ChildContainerIndex childIndex) {
+		Reject.ifNull(parent, "parent");
+		Reject.ifNull(reader, "reader");
+		Reject.ifNull(childIndex, "childIndex");
+
+		this.parent = parent;
+		this.reader = reader;
+		this.childIndex = childIndex;
+		this.nextContainerReference = parent.getOffset();
+	}
+
+	/**
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return nextChildIndex < childIndex.getChildCount();
+	}
+
+	/**
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public Container next() {
+		Reject.ifFalse(hasNext(), "hasNext()");
+
+		Container nextContainer = childIndex.getContainer(nextChildIndex);
+
+		if (nextContainer == null) {
+			nextContainer = rereadChild();
+
+			childIndex.setContainer(nextChildIndex, nextContainer);
+		}
+
+		nextContainerReference = nextContainerReference.advance(childIndex.getSize(nextChildIndex));
+		nextChildIndex++;
+
+		return nextContainer;
+	}
+
+	/**
+	 * @see com.github.jmeta.library.datablocks.api.services.ContainerIterator#remove()
+	 */
+	@Override
+	public void remove() {
+		// Intentionally empty
+	}
+
+	/**
+	 * Reads the next child {@link Container} again at its indexed offset.
+	 *
+	 * @return The re-read child {@link Container}
+	 */
+	private Container rereadChild() {
+		long remainingParentSize = DataBlockDescription.UNDEFINED;
+
+		if (parent.getSize() != DataBlockDescription.UNDEFINED) {
+			remainingParentSize = parent.getSize()
+				- (nextContainerReference.getAbsoluteMediumOffset() - parent.getOffset().getAbsoluteMediumOffset());
+		}
+
+		Container container = reader.readContainerWithId(nextContainerReference, childIndex.getId(nextChildIndex),
+			parent, remainingParentSize, childIndex.getSequenceNumber(nextChildIndex), parent.getContainerContext());
+
+		if (container == null) {
+			throw new IllegalStateException("Indexed child container with id " + childIndex.getId(nextChildIndex)
+				+ " of payload " + parent + " could not be read again at " + nextContainerReference);
+		}
+
+		return container;
+	}
+}
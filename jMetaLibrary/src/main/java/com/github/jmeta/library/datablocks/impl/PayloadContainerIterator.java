@@ -10,6 +10,7 @@ package com.github.jmeta.library.datablocks.impl;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
@@ -39,6 +40,10 @@ public class PayloadContainerIterator implements ContainerIterator {
 
 	private List<DataBlockDescription> m_containerDescs;
 
+	private ChildContainerIndex childIndex;
+
+	private final Consumer<ChildContainerIndex> indexCompletionHandler;
+
 	/**
 	 * Creates a new instance of {@link PayloadContainerIterator}.
 	 *
@@ -47,6 +52,26 @@ public class PayloadContainerIterator implements ContainerIterator {
 	 * @param reference
 	 */
 	public PayloadContainerIterator(Payload parent, DataBlockReader reader, MediumOffset reference) {
+		this(parent, reader, reference, null);
+	}
+
+	/**
+	 * Creates a new instance of {@link PayloadContainerIterator} that records all
+	 * children read in a {@link ChildContainerIndex}. As soon as
+	 * {@link #hasNext()} returns false for the first time, i.e. all children have
+	 * been read, the index is passed to the given handler.
+	 *
+	 * @param parent                 The parent {@link Payload}, must not be null
+	 * @param reader                 The {@link DataBlockReader} to use, must not
+	 *                               be null
+	 * @param reference              The offset of the first child, must not be
+	 *                               null
+	 * @param indexCompletionHandler The handler for the complete
+	 *                               {@link ChildContainerIndex} or null to not
+	 *                               record any index
+	 */
+	PayloadContainerIterator(Payload parent, DataBlockReader reader, MediumOffset reference,
+		Consumer<ChildContainerIndex> indexCompletionHandler) {
 		Reject.ifNull(parent, "parent");
 		Reject.ifNull(reader, "reader");
 		Reject.ifNull(reference, "reference");
@@ -56,6 +81,12 @@ public class PayloadContainerIterator implements ContainerIterator {
 		m_reader = reader;
 		m_remainingParentSize = m_parent.getSize();
 
+		this.indexCompletionHandler = indexCompletionHandler;
+
+		if (indexCompletionHandler != null) {
+			childIndex = new ChildContainerIndex();
+		}
+
 		DataBlockDescription parentDescription = m_reader.getSpecification().getDataBlockDescription(m_parent.getId());
 
 		m_containerDescs = parentDescription.getChildDescriptionsOfType(PhysicalDataBlockType.CONTAINER);
@@ -71,6 +102,21 @@ public class PayloadContainerIterator implements ContainerIterator {
 	 */
 	@Override
 	public boolean hasNext() {
+		boolean hasNext = hasNextContainer();
+
+		if (!hasNext && childIndex != null) {
+			indexCompletionHandler.accept(childIndex);
+
+			childIndex = null;
+		}
+
+		return hasNext;
+	}
+
+	/**
+	 * @return true if there is a further child container, false otherwise
+	 */
+	private boolean hasNextContainer() {
 
 		// If the parent size is known: The already read containers reach to the end of
 		// the
@@ -169,6 +215,10 @@ public class PayloadContainerIterator implements ContainerIterator {
 
 		if (container != null) {
 			updateProgress(container);
+
+			if (childIndex != null) {
+				childIndex.addChild(containerId, sequenceNumber, container);
+			}
 		}
 
 		return container;
@@ -7,25 +7,38 @@
 
 package com.github.jmeta.library.datablocks.impl;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.jmeta.library.datablocks.api.services.LowLevelAPI;
+import com.github.jmeta.library.datablocks.api.services.DataBlockHandler;
 import com.github.jmeta.library.datablocks.api.services.DataBlockService;
 import com.github.jmeta.library.datablocks.api.services.MediumContainerIterator;
+import com.github.jmeta.library.datablocks.api.services.MediumParseResultIterator;
+import com.github.jmeta.library.datablocks.api.services.MediumParser;
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
 import com.github.jmeta.library.dataformats.api.services.DataFormatRepository;
 import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification;
 import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.media.api.services.MediaAPI;
 import com.github.jmeta.library.media.api.services.MediumStore;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
 import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
 import com.github.jmeta.utility.extmanager.api.exceptions.InvalidExtensionException;
 import com.github.jmeta.utility.extmanager.api.services.Extension;
 import com.github.jmeta.utility.extmanager.api.services.ExtensionManager;
@@ -38,6 +51,32 @@ public class StandardLowLevelAPI implements LowLevelAPI {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(StandardLowLevelAPI.class);
 
+	private static final int AVAILABLE_PROCESSOR_COUNT = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Creates the worker pool used by
+	 * {@link #parseConcurrently(Collection, MediumParser)}: A virtual thread per
+	 * task if the Java runtime supports virtual threads, otherwise a fixed number
+	 * of daemon threads, one per available processor. It is shut down by the
+	 * {@link ConcurrentMediumParseIterator}, and daemon threads ensure that an
+	 * abandoned batch never closed does not keep the JVM alive.
+	 *
+	 * @return The worker pool
+	 */
+	private static ExecutorService createDefaultParseExecutor() {
+		try {
+			Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+			return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(StandardLowLevelAPI.AVAILABLE_PROCESSOR_COUNT, runnable -> {
+				Thread thread = new Thread(runnable, StandardLowLevelAPI.class.getSimpleName() + "-parser");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
 	private final DataFormatRepository m_repository;
 
 	private final MediaAPI m_mediumFactory;
@@ -110,23 +149,129 @@ public class StandardLowLevelAPI implements LowLevelAPI {
 	public MediumContainerIterator getContainerIterator(Medium<?> medium) {
 		Reject.ifNull(medium, "medium");
 
-		MediumStore mediumStore = m_mediumFactory.createMediumStore(medium);
-		mediumStore.open();
+		return createContainerIterator(medium, true, null);
+	}
+
+	/**
+	 * @see LowLevelAPI#getContainerIterator(Medium, Set)
+	 */
+	@Override
+	public MediumContainerIterator getContainerIterator(Medium<?> medium, Set<DataBlockId> projectedFieldIds) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifNull(projectedFieldIds, "projectedFieldIds");
 
-		return new StandardMediumContainerIterator(mediumStore, true, new HashSet<>(dataBlockServices.values()));
+		return createContainerIterator(medium, true, projectedFieldIds);
 	}
 
 	@Override
 	public MediumContainerIterator getReverseContainerIterator(Medium<?> medium) {
 		Reject.ifNull(medium, "medium");
 
-		if (!medium.isRandomAccess()) {
+		return createContainerIterator(medium, false, null);
+	}
+
+	/**
+	 * @see LowLevelAPI#getReverseContainerIterator(Medium, Set)
+	 */
+	@Override
+	public MediumContainerIterator getReverseContainerIterator(Medium<?> medium, Set<DataBlockId> projectedFieldIds) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifNull(projectedFieldIds, "projectedFieldIds");
+
+		return createContainerIterator(medium, false, projectedFieldIds);
+	}
+
+	/**
+	 * @see LowLevelAPI#parse(Medium, DataBlockHandler)
+	 */
+	@Override
+	public void parse(Medium<?> medium, DataBlockHandler handler) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifNull(handler, "handler");
+
+		DataBlockHandlerNotifier notifier = new DataBlockHandlerNotifier(handler);
+
+		try (MediumContainerIterator containerIterator = getContainerIterator(medium)) {
+			while (containerIterator.hasNext()) {
+				notifier.notifyContainer(containerIterator.next());
+			}
+		} catch (IOException e) {
+			throw new JMetaIllegalStateException("Could not close medium " + medium, e);
+		}
+	}
+
+	/**
+	 * @see LowLevelAPI#parseConcurrently(Collection, MediumParser)
+	 */
+	@Override
+	public <R> MediumParseResultIterator<R> parseConcurrently(Collection<? extends Medium<?>> media,
+		MediumParser<R> parser) {
+		Reject.ifNull(media, "media");
+		Reject.ifNull(parser, "parser");
+
+		// Twice the processor count keeps all processors busy while results are being fetched
+		return new ConcurrentMediumParseIterator<>(new ArrayList<>(media).iterator(),
+			medium -> parseMedium(medium, parser), StandardLowLevelAPI.createDefaultParseExecutor(),
+			2 * StandardLowLevelAPI.AVAILABLE_PROCESSOR_COUNT, true);
+	}
+
+	/**
+	 * @see LowLevelAPI#parseConcurrently(Collection, MediumParser, ExecutorService, int)
+	 */
+	@Override
+	public <R> MediumParseResultIterator<R> parseConcurrently(Collection<? extends Medium<?>> media,
+		MediumParser<R> parser, ExecutorService executor, int maximumConcurrentMediumCount) {
+		Reject.ifNull(media, "media");
+		Reject.ifNull(parser, "parser");
+		Reject.ifNull(executor, "executor");
+		Reject.ifNegativeOrZero(maximumConcurrentMediumCount, "maximumConcurrentMediumCount");
+
+		return new ConcurrentMediumParseIterator<>(new ArrayList<>(media).iterator(),
+			medium -> parseMedium(medium, parser), executor, maximumConcurrentMediumCount, false);
+	}
+
+	/**
+	 * Parses a single {@link Medium} with the given {@link MediumParser} using its
+	 * own {@link MediumStore} and {@link MediumContainerIterator}. Any exception
+	 * is caught and returned as failed {@link MediumParseResult}.
+	 *
+	 * @param medium The {@link Medium} to parse
+	 * @param parser The {@link MediumParser} to use
+	 * @param <R>    The type of result produced per {@link Medium}
+	 * @return The {@link MediumParseResult} of the {@link Medium}
+	 */
+	private <R> MediumParseResult<R> parseMedium(Medium<?> medium, MediumParser<R> parser) {
+		R result;
+
+		try (MediumContainerIterator containerIterator = getContainerIterator(medium)) {
+			result = parser.parse(medium, containerIterator);
+		} catch (Exception e) {
+			return new MediumParseResult<>(medium, null, e);
+		}
+
+		return new MediumParseResult<>(medium, result, null);
+	}
+
+	/**
+	 * Opens a {@link MediumStore} for the given {@link Medium} and creates a
+	 * {@link MediumContainerIterator} for it.
+	 *
+	 * @param medium            The {@link Medium}
+	 * @param forwardRead       true for forward reading, false for backward reading
+	 * @param projectedFieldIds The {@link DataBlockId}s of the fields to read or
+	 *                          null to read all fields
+	 * @return The {@link MediumContainerIterator}
+	 */
+	private MediumContainerIterator createContainerIterator(Medium<?> medium, boolean forwardRead,
+		Set<DataBlockId> projectedFieldIds) {
+		if (!forwardRead && !medium.isRandomAccess()) {
 			throw new UnsupportedMediumException("Medium " + medium + " must be a random access medium.");
 		}
 
 		MediumStore mediumStore = m_mediumFactory.createMediumStore(medium);
 		mediumStore.open();
 
-		return new StandardMediumContainerIterator(mediumStore, false, new HashSet<>(dataBlockServices.values()));
+		return new StandardMediumContainerIterator(mediumStore, forwardRead, new HashSet<>(dataBlockServices.values()),
+			projectedFieldIds);
 	}
 }
@@ -8,6 +8,7 @@
 package com.github.jmeta.library.datablocks.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -30,6 +31,8 @@ import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification
 import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
 import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
 import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.dataformats.api.types.MagicKey;
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.services.MediumStore;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
@@ -42,6 +45,11 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  * modes: Forward reading (the default mode) where the medium is iterated with
  * increasing offsets and backward reading for reading a medium (mainly: files
  * or byte arrays) from back to front.
+ *
+ * For forward reading, the data formats whose {@link DataBlockReader}s only
+ * check the header {@link MagicKey}s of their top-level containers are
+ * identified together by a {@link TopLevelMagicKeyDetector} from a single read
+ * of the medium bytes.
  */
 public class StandardMediumContainerIterator implements MediumContainerIterator, DataBlockEventListener {
 
@@ -60,6 +68,8 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 
 	private final DataFormatRepository m_repository;
 
+	private final TopLevelMagicKeyDetector magicKeyDetector;
+
 	/**
 	 * Creates a new {@link StandardMediumContainerIterator}.
 	 *
@@ -71,6 +81,24 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 	 */
 	public StandardMediumContainerIterator(MediumStore mediumStore, boolean forwardRead,
 		Set<DataBlockService> dataBlockServices) {
+		this(mediumStore, forwardRead, dataBlockServices, null);
+	}
+
+	/**
+	 * Creates a new {@link StandardMediumContainerIterator} reading only the given
+	 * fields of field-based payloads, see
+	 * {@link DataBlockReader#setFieldProjection(Set)}.
+	 *
+	 * @param mediumStore       The {@link MediumStore} used to read from the
+	 *                          {@link Medium}, must not be null
+	 * @param forwardRead       true for forward reading, false for backward reading
+	 * @param dataBlockServices All {@link DataBlockReader}s per supported
+	 *                          {@link ContainerDataFormat}, must not be null
+	 * @param projectedFieldIds The {@link DataBlockId}s of the fields to read or
+	 *                          null to read all fields
+	 */
+	public StandardMediumContainerIterator(MediumStore mediumStore, boolean forwardRead,
+		Set<DataBlockService> dataBlockServices, Set<DataBlockId> projectedFieldIds) {
 		Reject.ifNull(mediumStore, "mediumStore");
 		Reject.ifNull(dataBlockServices, "dataBlockServices");
 
@@ -87,9 +115,15 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 
 		dataBlockServices.forEach(service -> addDataBlockService(service, forwardRead, mediumStore));
 
+		if (projectedFieldIds != null) {
+			readers.values().forEach(reader -> reader.setFieldProjection(projectedFieldIds));
+		}
+
 		dataFormatPrecedence.addAll(new ArrayList<>(
 			dataBlockServices.stream().map(DataBlockService::getDataFormat).collect(Collectors.toSet())));
 
+		magicKeyDetector = forwardRead ? createMagicKeyDetector() : null;
+
 		eventBus.registerListener(this);
 	}
 
@@ -219,8 +253,25 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 			return null;
 		}
 
+		ByteBuffer magicKeyWindow = readMagicKeyWindow(reference);
+
+		ContainerDataFormat detectedDataFormat = null;
+
+		if (magicKeyWindow != null) {
+			detectedDataFormat = magicKeyDetector.identifyDataFormat(magicKeyWindow);
+		}
+
 		for (Iterator<ContainerDataFormat> iterator = dataFormatPrecedence.iterator(); iterator.hasNext();) {
 			ContainerDataFormat dataFormat = iterator.next();
+
+			if (magicKeyWindow != null && magicKeyDetector.getDataFormats().contains(dataFormat)) {
+				if (dataFormat.equals(detectedDataFormat)) {
+					return dataFormat;
+				}
+
+				continue;
+			}
+
 			DataBlockReader reader = readers.get(dataFormat);
 
 			if (reader.identifiesDataFormat(reference)) {
@@ -231,6 +282,88 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 		return null;
 	}
 
+	/**
+	 * Creates the {@link TopLevelMagicKeyDetector} for all data formats whose
+	 * forward {@link DataBlockReader} only checks the header {@link MagicKey}s of
+	 * their top-level containers, in order of {@link #dataFormatPrecedence}.
+	 *
+	 * @return The {@link TopLevelMagicKeyDetector} or null if there is no such
+	 *         data format
+	 */
+	private TopLevelMagicKeyDetector createMagicKeyDetector() {
+		TopLevelMagicKeyDetector detector = new TopLevelMagicKeyDetector();
+
+		for (ContainerDataFormat dataFormat : dataFormatPrecedence) {
+			DataBlockReader reader = readers.get(dataFormat);
+
+			if (!reader.identifiesByMagicKeysOnly()) {
+				continue;
+			}
+
+			DataFormatSpecification spec = reader.getSpecification();
+			DataBlockDescription defaultNestedContainerDesc = spec.getDefaultNestedContainerDescription();
+
+			List<MagicKey> magicKeys = new ArrayList<>();
+			boolean isSupported = true;
+
+			for (DataBlockDescription topLevelDesc : spec.getTopLevelDataBlockDescriptions()) {
+				// A default nested container is always identified, and the reader is fast
+				// enough for this on its own
+				if (topLevelDesc.equals(defaultNestedContainerDesc)) {
+					isSupported = false;
+				}
+
+				for (MagicKey magicKey : topLevelDesc.getHeaderMagicKeys()) {
+					if (magicKey.getDeltaOffset() < 0 || magicKey.getByteLength() == 0) {
+						isSupported = false;
+					}
+
+					magicKeys.add(magicKey);
+				}
+			}
+
+			if (isSupported) {
+				detector.addDataFormat(dataFormat, magicKeys);
+			}
+		}
+
+		if (detector.getDataFormats().isEmpty()) {
+			return null;
+		}
+
+		return detector;
+	}
+
+	/**
+	 * Reads the bytes needed by the {@link #magicKeyDetector} at the given
+	 * {@link MediumOffset}.
+	 *
+	 * @param reference The {@link MediumOffset} of an assumed top-level container
+	 * @return The bytes read or null if there is no {@link #magicKeyDetector} or
+	 *         there are less bytes left in the medium than it needs
+	 */
+	private ByteBuffer readMagicKeyWindow(MediumOffset reference) {
+		if (magicKeyDetector == null) {
+			return null;
+		}
+
+		int windowSize = magicKeyDetector.getWindowSize();
+
+		long cachedByteCount = mediumStore.getCachedByteCountAt(reference);
+
+		try {
+			if (cachedByteCount < windowSize) {
+				mediumStore.cache(reference.advance(cachedByteCount),
+					Math.max(windowSize, reference.getMedium().getMaxReadWriteBlockSizeInBytes()));
+			}
+
+			return mediumStore.getData(reference, windowSize);
+		} catch (EndOfMediumException e) {
+			// Near the end of medium, the readers are asked one by one instead
+			return null;
+		}
+	}
+
 	/**
 	 * @see java.util.Iterator#next()
 	 */
@@ -239,6 +372,12 @@ public class StandardMediumContainerIterator implements MediumContainerIterator,
 
 		Reject.ifFalse(hasNext(), "hasNext()");
 
+		// The container returned before is not open anymore, so its bytes are not
+		// needed any longer when streaming
+		if (forwardRead) {
+			mediumStore.releaseCachedDataBefore(currentOffset);
+		}
+
 		ContainerDataFormat dataFormat = identifyDataFormat(currentOffset);
 
 		if (dataFormat == null) {
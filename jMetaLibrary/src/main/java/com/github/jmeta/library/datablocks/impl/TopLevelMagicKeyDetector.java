@@ -0,0 +1,226 @@
+/**
+ *
+ * {@link TopLevelMagicKeyDetector}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
+import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.MagicKey;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link TopLevelMagicKeyDetector} identifies the {@link ContainerDataFormat}
+ * of a top-level container from the header {@link MagicKey}s of several data
+ * formats at once. Instead of asking each {@link DataBlockReader} one after the
+ * other, each of them reading the bytes of each of its {@link MagicKey}s
+ * separately, the bytes at the container start are read once as a window big
+ * enough for all {@link MagicKey}s. For each distinct delta offset of the
+ * {@link MagicKey}s, a dispatch table indexed by the window byte at this delta
+ * offset then yields the only {@link MagicKey}s that might be present, and only
+ * those are compared completely.
+ *
+ * The data formats are added in order of precedence. If {@link MagicKey}s of
+ * several data formats are present, the data format added first is identified,
+ * i.e. the result is the same as when asking the {@link DataBlockReader}s in
+ * this order. Only data formats whose {@link DataBlockReader} returns true for
+ * {@link DataBlockReader#identifiesByMagicKeysOnly()} may be added.
+ */
+class TopLevelMagicKeyDetector {
+
+	/**
+	 * {@link Candidate} is a single {@link MagicKey} of a data format together
+	 * with the precedence of this data format.
+	 */
+	private static class Candidate {
+
+		private final int precedence;
+
+		private final MagicKey magicKey;
+
+		/**
+		 * Creates a new {@link Candidate}.
+		 *
+		 * @param precedence The precedence of the data format, lower values are
+		 *                   identified first
+		 * @param magicKey   The {@link MagicKey}
+		 */
+		public Candidate(int precedence, MagicKey magicKey) {
+			this.precedence = precedence;
+			this.magicKey = magicKey;
+		}
+	}
+
+	private static final int BYTE_VALUE_COUNT = 256;
+
+	private final List<ContainerDataFormat> dataFormats = new ArrayList<>();
+
+	private final List<Integer> deltaOffsets = new ArrayList<>();
+
+	private final List<List<List<Candidate>>> dispatchTables = new ArrayList<>();
+
+	private int windowSize;
+
+	/**
+	 * Adds a data format with lower precedence than all data formats added
+	 * before.
+	 *
+	 * @param dataFormat The {@link ContainerDataFormat}, must not be null and
+	 *                   must not have been added before
+	 * @param magicKeys  The header {@link MagicKey}s of all top-level containers
+	 *                   of the data format, each with a non-negative delta
+	 *                   offset, must not be null
+	 */
+	public void addDataFormat(ContainerDataFormat dataFormat, List<MagicKey> magicKeys) {
+		Reject.ifNull(dataFormat, "dataFormat");
+		Reject.ifNull(magicKeys, "magicKeys");
+		Reject.ifFalse(!dataFormats.contains(dataFormat), "!dataFormats.contains(dataFormat)");
+
+		int precedence = dataFormats.size();
+
+		dataFormats.add(dataFormat);
+
+		for (MagicKey magicKey : magicKeys) {
+			Reject.ifNotInInterval(magicKey.getDeltaOffset(), 0, Integer.MAX_VALUE - magicKey.getByteLength(),
+				"magicKey.getDeltaOffset()");
+
+			int deltaOffset = (int) magicKey.getDeltaOffset();
+
+			int deltaOffsetIndex = deltaOffsets.indexOf(deltaOffset);
+
+			if (deltaOffsetIndex == -1) {
+				deltaOffsetIndex = deltaOffsets.size();
+
+				deltaOffsets.add(deltaOffset);
+				dispatchTables.add(new ArrayList<>(Collections.nCopies(TopLevelMagicKeyDetector.BYTE_VALUE_COUNT, null)));
+			}
+
+			List<List<Candidate>> dispatchTable = dispatchTables.get(deltaOffsetIndex);
+
+			Candidate candidate = new Candidate(precedence, magicKey);
+
+			for (int byteValue : getPossibleFirstByteValues(magicKey)) {
+				if (dispatchTable.get(byteValue) == null) {
+					dispatchTable.set(byteValue, new ArrayList<>());
+				}
+
+				dispatchTable.get(byteValue).add(candidate);
+			}
+
+			windowSize = Math.max(windowSize, deltaOffset + magicKey.getByteLength());
+		}
+	}
+
+	/**
+	 * Returns all data formats added so far, in order of precedence.
+	 *
+	 * @return all data formats added so far, in order of precedence
+	 */
+	public List<ContainerDataFormat> getDataFormats() {
+		return dataFormats;
+	}
+
+	/**
+	 * Returns the number of bytes that must at least be passed to
+	 * {@link #identifyDataFormat(ByteBuffer)}.
+	 *
+	 * @return the number of bytes that must at least be passed to
+	 *         {@link #identifyDataFormat(ByteBuffer)}
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Identifies the data format with the highest precedence whose
+	 * {@link MagicKey} is present in the given bytes.
+	 *
+	 * @param window The bytes starting at the offset of the assumed top-level
+	 *               container, must not be null and must have at least
+	 *               {@link #getWindowSize()} bytes remaining. Its position is
+	 *               not changed.
+	 * @return The identified {@link ContainerDataFormat} or null if no
+	 *         {@link MagicKey} is present
+	 */
+	public ContainerDataFormat identifyDataFormat(ByteBuffer window) {
+		Reject.ifNull(window, "window");
+		Reject.ifFalse(window.remaining() >= windowSize, "window.remaining() >= getWindowSize()");
+
+		int identifiedPrecedence = dataFormats.size();
+
+		for (int i = 0; i < deltaOffsets.size(); i++) {
+			int magicKeyPosition = window.position() + deltaOffsets.get(i);
+
+			List<Candidate> candidates = dispatchTables.get(i).get(window.get(magicKeyPosition) & 0xFF);
+
+			if (candidates == null) {
+				continue;
+			}
+
+			// Candidates are sorted by precedence, as data formats are added in order of
+			// precedence
+			for (int j = 0; j < candidates.size() && candidates.get(j).precedence < identifiedPrecedence; j++) {
+				Candidate candidate = candidates.get(j);
+
+				ByteBuffer magicKeyBytes = window.duplicate();
+				magicKeyBytes.position(magicKeyPosition);
+
+				if (candidate.magicKey.isPresentIn(magicKeyBytes)) {
+					identifiedPrecedence = candidate.precedence;
+					break;
+				}
+			}
+		}
+
+		if (identifiedPrecedence == dataFormats.size()) {
+			return null;
+		}
+
+		return dataFormats.get(identifiedPrecedence);
+	}
+
+	/**
+	 * Returns the values of the first medium byte for which the given
+	 * {@link MagicKey} might be present. If the {@link MagicKey} has less than
+	 * eight bits, only its bits of the first byte are compared, like in
+	 * {@link MagicKey#isPresentIn(ByteBuffer)}.
+	 *
+	 * @param magicKey The {@link MagicKey}
+	 * @return The possible first byte values in the range [0, 255]
+	 */
+	private static int[] getPossibleFirstByteValues(MagicKey magicKey) {
+		byte firstMagicKeyByte = magicKey.getMagicKeyBytes()[0];
+
+		if (magicKey.getBitLength() >= Byte.SIZE) {
+			return new int[] { firstMagicKeyByte & 0xFF };
+		}
+
+		byte bitMask = 0;
+
+		for (int j = 1; j <= magicKey.getBitLength(); ++j) {
+			bitMask |= (1 << (Byte.SIZE - j));
+		}
+
+		int[] possibleValues = new int[TopLevelMagicKeyDetector.BYTE_VALUE_COUNT];
+		int possibleValueCount = 0;
+
+		for (int byteValue = 0; byteValue < TopLevelMagicKeyDetector.BYTE_VALUE_COUNT; byteValue++) {
+			if ((bitMask & (byte) byteValue) == firstMagicKeyByte) {
+				possibleValues[possibleValueCount++] = byteValue;
+			}
+		}
+
+		return Arrays.copyOf(possibleValues, possibleValueCount);
+	}
+}
@@ -9,9 +9,15 @@
  */
 package com.github.jmeta.library.datablocks.impl.events;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.github.jmeta.library.datablocks.api.types.DataBlock;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -19,10 +25,71 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  * parties can be registered to either publish {@link DataBlockEvent}s or listen
  * to {@link DataBlockEvent}s. It is a bus which means broadcasting: every
  * listener always receives all {@link DataBlockEvent}s that are published.
+ *
+ * Listeners are only referenced weakly: Each {@link DataBlock} read registers
+ * itself as listener, and the bus must not keep the {@link DataBlock}s of a
+ * whole medium in memory once nobody else refers to them anymore. Thus the
+ * owner of a listener must keep it reachable as long as it should receive
+ * {@link DataBlockEvent}s. This holds for all listeners registering themselves
+ * or an object they refer to, like {@link DataBlock}s and their container
+ * context: A listener that has become unreachable can never be asked for
+ * anything again anyway. There is no need to unregister any listener.
  */
 public class DataBlockEventBus {
 
-	private final Set<DataBlockEventListener> listeners = new HashSet<>();
+	/**
+	 * {@link ListenerReference} weakly refers to a registered
+	 * {@link DataBlockEventListener}. As long as the listener is reachable, two
+	 * {@link ListenerReference}s are equal if they refer to the identical listener.
+	 */
+	private static class ListenerReference extends WeakReference<DataBlockEventListener> {
+
+		private final int identityHashCode;
+
+		/**
+		 * Creates a new {@link ListenerReference}.
+		 *
+		 * @param listener The {@link DataBlockEventListener} to refer to
+		 * @param queue    The {@link ReferenceQueue} this reference is enqueued in
+		 *                 once the listener is garbage collected or null for
+		 *                 references only used for lookup
+		 */
+		public ListenerReference(DataBlockEventListener listener, ReferenceQueue<DataBlockEventListener> queue) {
+			super(listener, queue);
+
+			identityHashCode = System.identityHashCode(listener);
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return identityHashCode;
+		}
+
+		/**
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof ListenerReference)) {
+				return false;
+			}
+
+			DataBlockEventListener listener = get();
+
+			return listener != null && listener == ((ListenerReference) obj).get();
+		}
+	}
+
+	private final Map<ListenerReference, ListenerReference> listeners = new HashMap<>();
+
+	private final ReferenceQueue<DataBlockEventListener> collectedListeners = new ReferenceQueue<>();
 
 	/**
 	 * Notifies all currently registered {@link DataBlockEventListener}s that a new
@@ -36,12 +103,25 @@ public class DataBlockEventBus {
 	public void publishEvent(DataBlockEvent event) {
 		Reject.ifNull(event, "event");
 
-		listeners.forEach(listener -> listener.dataBlockEventOccurred(event));
+		removeCollectedListeners();
+
+		List<DataBlockEventListener> currentListeners = new ArrayList<>(listeners.size());
+
+		for (ListenerReference listenerReference : listeners.keySet()) {
+			DataBlockEventListener listener = listenerReference.get();
+
+			if (listener != null) {
+				currentListeners.add(listener);
+			}
+		}
+
+		currentListeners.forEach(listener -> listener.dataBlockEventOccurred(event));
 	}
 
 	/**
 	 * Registers a new {@link DataBlockEventListener} that will from now on receive
-	 * all {@link DataBlockEvent}s ever published on this {@link DataBlockEventBus}.
+	 * all {@link DataBlockEvent}s ever published on this {@link DataBlockEventBus},
+	 * as long as the caller keeps it reachable, see {@link DataBlockEventBus}.
 	 * Note that registering the same instance twice will not have the effect that
 	 * it receives the events twice.
 	 *
@@ -51,6 +131,37 @@ public class DataBlockEventBus {
 	public void registerListener(DataBlockEventListener listener) {
 		Reject.ifNull(listener, "listener");
 
-		listeners.add(listener);
+		removeCollectedListeners();
+
+		if (!listeners.containsKey(new ListenerReference(listener, null))) {
+			ListenerReference listenerReference = new ListenerReference(listener, collectedListeners);
+
+			listeners.put(listenerReference, listenerReference);
+		}
+	}
+
+	/**
+	 * Returns the number of registered {@link DataBlockEventListener}s not known to
+	 * be garbage collected yet.
+	 *
+	 * @return the number of registered {@link DataBlockEventListener}s not known to
+	 *         be garbage collected yet
+	 */
+	int getListenerCount() {
+		removeCollectedListeners();
+
+		return listeners.size();
+	}
+
+	/**
+	 * Removes all {@link ListenerReference}s whose listeners have been garbage
+	 * collected.
+	 */
+	private void removeCollectedListeners() {
+		Reference<? extends DataBlockEventListener> collectedListener;
+
+		while ((collectedListener = collectedListeners.poll()) != null) {
+			listeners.remove(collectedListener);
+		}
 	}
 }
@@ -9,7 +9,9 @@ package com.github.jmeta.library.dataformats.api.types;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -44,6 +46,8 @@ public class DataBlockDescription {
 	private final String description;
 	private final PhysicalDataBlockType physicalType;
 	private final List<DataBlockDescription> orderedChildren = new ArrayList<>();
+	private final Map<PhysicalDataBlockType, List<DataBlockDescription>> childDescriptionsByType = new EnumMap<>(
+		PhysicalDataBlockType.class);
 	private final FieldProperties<?> fieldProperties;
 	private long maximumByteLength;
 	private long minimumByteLength;
@@ -109,6 +113,11 @@ public class DataBlockDescription {
 		this.description = description;
 		this.physicalType = physicalType;
 		this.orderedChildren.addAll(orderedChildren);
+
+		for (PhysicalDataBlockType type : PhysicalDataBlockType.values()) {
+			childDescriptionsByType.put(type, Collections.unmodifiableList(this.orderedChildren.stream()
+				.filter(desc -> desc.getPhysicalType() == type).collect(Collectors.toList())));
+		}
 		this.fieldProperties = fieldProperties;
 		this.minimumOccurrences = minimumOccurrences;
 		this.maximumOccurrences = maximumOccurrences;
@@ -349,11 +358,19 @@ public class DataBlockDescription {
 		return byteOffsetFromStartOfContainer;
 	}
 
+	/**
+	 * Returns all direct children of the given {@link PhysicalDataBlockType} in
+	 * their specified order. The lists per type are computed once during
+	 * construction, as this method is called very often during parsing.
+	 *
+	 * @param type The {@link PhysicalDataBlockType}, must not be null
+	 * @return An unmodifiable list of all direct children of the given
+	 *         {@link PhysicalDataBlockType}
+	 */
 	public List<DataBlockDescription> getChildDescriptionsOfType(PhysicalDataBlockType type) {
 		Reject.ifNull(type, "type");
 
-		return getOrderedChildren().stream().filter(desc -> desc.getPhysicalType() == type)
-			.collect(Collectors.toList());
+		return childDescriptionsByType.get(type);
 	}
 
 	public String getDescription() {
@@ -421,8 +438,7 @@ public class DataBlockDescription {
 	public List<DataBlockDescription> getTransitiveChildDescriptionsOfType(PhysicalDataBlockType type) {
 		Reject.ifNull(type, "type");
 
-		final List<DataBlockDescription> childDescriptionsOfType = getOrderedChildren().stream()
-			.filter(desc -> desc.getPhysicalType() == type).collect(Collectors.toList());
+		final List<DataBlockDescription> childDescriptionsOfType = new ArrayList<>(getChildDescriptionsOfType(type));
 
 		getOrderedChildren()
 			.forEach(desc -> childDescriptionsOfType.addAll(desc.getTransitiveChildDescriptionsOfType(type)));
@@ -567,8 +583,8 @@ public class DataBlockDescription {
 			break;
 
 		case CONTAINER:
-			List<DataBlockDescription> payloadChildren = getChildDescriptionsOfType(
-				PhysicalDataBlockType.CONTAINER_BASED_PAYLOAD);
+			List<DataBlockDescription> payloadChildren = new ArrayList<>(
+				getChildDescriptionsOfType(PhysicalDataBlockType.CONTAINER_BASED_PAYLOAD));
 			payloadChildren.addAll(getChildDescriptionsOfType(PhysicalDataBlockType.FIELD_BASED_PAYLOAD));
 
 			if (payloadChildren.size() != 1) {
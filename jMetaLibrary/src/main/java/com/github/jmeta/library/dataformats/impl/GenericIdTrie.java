@@ -0,0 +1,273 @@
+/**
+ *
+ * {@link GenericIdTrie}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.dataformats.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link GenericIdTrie} finds the generic {@link DataBlockId} matching a
+ * concrete {@link DataBlockId}, e.g. "id3v23.payload.${FRAME_ID}" for
+ * "id3v23.payload.TALB". It is a trie over the id segments: Literal segments
+ * are looked up in a hash map per node, and only segments with placeholders
+ * need to be matched, most of them consisting of a single placeholder that
+ * matches any segment. This avoids matching the full global id against the
+ * regular expressions of all generic ids.
+ *
+ * A {@link GenericIdTrie} is immutable after adding all generic ids and can
+ * then be used concurrently.
+ */
+class GenericIdTrie {
+
+	/**
+	 * {@link GenericIdMatch} is the result of matching a concrete
+	 * {@link DataBlockId}.
+	 */
+	static class GenericIdMatch {
+
+		private final DataBlockId genericId;
+
+		private final List<String> placeholderValues;
+
+		/**
+		 * Creates a new {@link GenericIdMatch}.
+		 *
+		 * @param genericId         The matching generic {@link DataBlockId}
+		 * @param placeholderValues The values of all placeholders in the order of
+		 *                          their occurrence in the generic id
+		 */
+		private GenericIdMatch(DataBlockId genericId, List<String> placeholderValues) {
+			this.genericId = genericId;
+			this.placeholderValues = placeholderValues;
+		}
+
+		/**
+		 * @return The matching generic {@link DataBlockId}
+		 */
+		public DataBlockId getGenericId() {
+			return genericId;
+		}
+
+		/**
+		 * @return The values of all placeholders in the order of their occurrence in
+		 *         the generic id
+		 */
+		public List<String> getPlaceholderValues() {
+			return Collections.unmodifiableList(placeholderValues);
+		}
+	}
+
+	/**
+	 * A node of the trie, i.e. a prefix of one or several generic ids.
+	 */
+	private static class Node {
+
+		private final Map<String, Node> literalChildren = new HashMap<>();
+
+		private final Map<String, PlaceholderEdge> placeholderChildren = new HashMap<>();
+
+		private DataBlockId genericId;
+	}
+
+	/**
+	 * An edge to a child {@link Node} for a segment containing placeholders.
+	 */
+	private static class PlaceholderEdge {
+
+		private final Pattern segmentPattern;
+
+		private final Node child = new Node();
+
+		/**
+		 * Creates a new {@link PlaceholderEdge}.
+		 *
+		 * @param segmentPattern The {@link Pattern} to match segments with or null
+		 *                       if the segment consists of a single placeholder
+		 */
+		private PlaceholderEdge(Pattern segmentPattern) {
+			this.segmentPattern = segmentPattern;
+		}
+
+		/**
+		 * Checks whether the given segment matches and adds the placeholder values
+		 * if so.
+		 *
+		 * @param segment           The segment to match
+		 * @param placeholderValues The placeholder values to add to
+		 * @return true if the segment matches, false otherwise
+		 */
+		private boolean matches(String segment, List<String> placeholderValues) {
+			if (segmentPattern == null) {
+				placeholderValues.add(segment);
+				return !segment.isEmpty();
+			}
+
+			Matcher matcher = segmentPattern.matcher(segment);
+
+			if (!matcher.matches()) {
+				return false;
+			}
+
+			for (int i = 1; i <= matcher.groupCount(); i++) {
+				placeholderValues.add(matcher.group(i));
+			}
+
+			return true;
+		}
+	}
+
+	private static final String PLACEHOLDER_REPLACE_PATTERN = "([^\\.]+)";
+
+	private final Pattern placeholderPattern;
+
+	private final Node root = new Node();
+
+	/**
+	 * Creates a new, empty {@link GenericIdTrie}.
+	 *
+	 * @param placeholderPattern The {@link Pattern} matching a single placeholder
+	 *                           within a segment of a generic id, must not be null
+	 */
+	public GenericIdTrie(Pattern placeholderPattern) {
+		Reject.ifNull(placeholderPattern, "placeholderPattern");
+
+		this.placeholderPattern = placeholderPattern;
+	}
+
+	/**
+	 * Adds a generic {@link DataBlockId} to this trie.
+	 *
+	 * @param genericId The generic {@link DataBlockId}, must not be null
+	 */
+	public void addGenericId(DataBlockId genericId) {
+		Reject.ifNull(genericId, "genericId");
+
+		Node currentNode = root;
+
+		for (String segment : genericId.getIdSegments()) {
+			Matcher matcher = placeholderPattern.matcher(segment);
+
+			if (!matcher.find()) {
+				currentNode = currentNode.literalChildren.computeIfAbsent(segment, key -> new Node());
+			} else {
+				currentNode = currentNode.placeholderChildren
+					.computeIfAbsent(segment, key -> new PlaceholderEdge(compileSegmentPattern(key))).child;
+			}
+		}
+
+		currentNode.genericId = genericId;
+	}
+
+	/**
+	 * Finds the generic {@link DataBlockId} matching the given concrete
+	 * {@link DataBlockId}, where each placeholder matches a non-empty string
+	 * without segment separators. Literal segments take precedence over segments
+	 * with placeholders.
+	 *
+	 * @param id The concrete {@link DataBlockId}, must not be null
+	 * @return The {@link GenericIdMatch} or null if no generic id matches
+	 */
+	public GenericIdMatch match(DataBlockId id) {
+		Reject.ifNull(id, "id");
+
+		List<String> placeholderValues = new ArrayList<>();
+
+		DataBlockId genericId = match(root, id.getIdSegments(), 0, placeholderValues);
+
+		if (genericId == null) {
+			return null;
+		}
+
+		return new GenericIdMatch(genericId, placeholderValues);
+	}
+
+	/**
+	 * Compiles the {@link Pattern} for a segment containing placeholders.
+	 *
+	 * @param segment The segment
+	 * @return The {@link Pattern} or null if the segment consists of a single
+	 *         placeholder
+	 */
+	private Pattern compileSegmentPattern(String segment) {
+		Matcher matcher = placeholderPattern.matcher(segment);
+
+		StringBuilder segmentPattern = new StringBuilder();
+
+		int previousMatchEndIndex = 0;
+
+		while (matcher.find()) {
+			if (matcher.start() == 0 && matcher.end() == segment.length()) {
+				return null;
+			}
+
+			segmentPattern.append(Pattern.quote(segment.substring(previousMatchEndIndex, matcher.start())));
+			segmentPattern.append(GenericIdTrie.PLACEHOLDER_REPLACE_PATTERN);
+
+			previousMatchEndIndex = matcher.end();
+		}
+
+		segmentPattern.append(Pattern.quote(segment.substring(previousMatchEndIndex)));
+
+		return Pattern.compile(segmentPattern.toString());
+	}
+
+	/**
+	 * Recursively matches the given segments starting at the given index against
+	 * the sub-trie of the given {@link Node}, backtracking if a path does not lead
+	 * to a generic id.
+	 *
+	 * @param node              The current {@link Node}
+	 * @param segments          All segments of the concrete id
+	 * @param segmentIndex      The index of the next segment to match
+	 * @param placeholderValues The placeholder values matched so far
+	 * @return The matching generic {@link DataBlockId} or null if there is none
+	 */
+	private DataBlockId match(Node node, List<String> segments, int segmentIndex, List<String> placeholderValues) {
+		if (segmentIndex == segments.size()) {
+			return node.genericId;
+		}
+
+		String segment = segments.get(segmentIndex);
+
+		Node literalChild = node.literalChildren.get(segment);
+
+		if (literalChild != null) {
+			DataBlockId genericId = match(literalChild, segments, segmentIndex + 1, placeholderValues);
+
+			if (genericId != null) {
+				return genericId;
+			}
+		}
+
+		for (PlaceholderEdge placeholderEdge : node.placeholderChildren.values()) {
+			int placeholderValueCount = placeholderValues.size();
+
+			if (placeholderEdge.matches(segment, placeholderValues)) {
+				DataBlockId genericId = match(placeholderEdge.child, segments, segmentIndex + 1, placeholderValues);
+
+				if (genericId != null) {
+					return genericId;
+				}
+			}
+
+			placeholderValues.subList(placeholderValueCount, placeholderValues.size()).clear();
+		}
+
+		return null;
+	}
+}
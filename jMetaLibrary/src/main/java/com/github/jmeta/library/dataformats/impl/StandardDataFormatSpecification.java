@@ -14,10 +14,12 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -32,19 +34,36 @@ import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
 import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.dataformats.api.types.PhysicalDataBlockType;
 import com.github.jmeta.library.dataformats.api.types.PresenceOf;
+import com.github.jmeta.library.dataformats.impl.GenericIdTrie.GenericIdMatch;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
- * {@link StandardDataFormatSpecification}
+ * {@link StandardDataFormatSpecification} is the default implementation of
+ * {@link DataFormatSpecification}. It is immutable and can be shared by any
+ * number of threads.
  *
+ * As lookups of descriptions happen for every data block parsed, the
+ * specification is compiled during construction: Generic ids are resolved
+ * using a {@link GenericIdTrie}, and concrete descriptions created for generic
+ * ids are cached, up to {@link #MAXIMUM_CONCRETE_DESCRIPTION_CACHE_SIZE}
+ * entries.
  */
 public class StandardDataFormatSpecification implements DataFormatSpecification {
 
-	private static final String GENERIC_ID_REPLACE_PATTERN = "([^\\.]+)";
+	/**
+	 * The maximum number of concrete {@link DataBlockDescription}s for generic
+	 * ids cached. When exceeded, the cache is cleared.
+	 */
+	public static final int MAXIMUM_CONCRETE_DESCRIPTION_CACHE_SIZE = 4096;
 
 	private static final Pattern GENERIC_PLACEHOLDER_PATTERN = Pattern.compile("(\\$\\{.+?\\})");
 
-	private final Map<DataBlockId, String> m_genericDataBlocks = new HashMap<>();
+	private final Set<DataBlockId> m_genericDataBlocks = new HashSet<>();
+
+	private final GenericIdTrie genericIdTrie = new GenericIdTrie(
+		StandardDataFormatSpecification.GENERIC_PLACEHOLDER_PATTERN);
+
+	private final Map<DataBlockId, DataBlockDescription> concreteDescriptions = new ConcurrentHashMap<>();
 
 	private final List<ByteOrder> m_supportedByteOrders = new ArrayList<>();
 
@@ -81,7 +100,8 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 		Reject.ifNull(supportedByteOrders, "supportedByteOrders");
 		Reject.ifNull(genericDataBlocks, "genericDataBlocks");
 
-		initGenericIdPatterns(genericDataBlocks);
+		m_genericDataBlocks.addAll(genericDataBlocks);
+		m_genericDataBlocks.forEach(genericIdTrie::addGenericId);
 
 		m_supportedByteOrders.addAll(supportedByteOrders);
 		m_supportedCharacterEncodings.addAll(supportedCharacterEncodings);
@@ -126,14 +146,17 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 	public DataBlockDescription getDataBlockDescription(DataBlockId id) {
 
 		Reject.ifNull(id, "id");
-		Reject.ifFalse(specifiesBlockWithId(id), "specifiesBlockWithId(id)");
 
-		// The requested id is an unspecified id that must match a generic id
-		if (!m_dataBlockDescriptions.containsKey(id)) {
-			return createConcreteDescription(id);
+		DataBlockDescription specifiedDescription = m_dataBlockDescriptions.get(id);
+
+		if (specifiedDescription != null) {
+			return specifiedDescription;
 		}
 
-		return m_dataBlockDescriptions.get(id);
+		Reject.ifFalse(specifiesBlockWithId(id), "specifiesBlockWithId(id)");
+
+		// The requested id is an unspecified id that must match a generic id
+		return getConcreteDescription(id);
 	}
 
 	/**
@@ -176,20 +199,17 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 	@Override
 	public DataBlockId getMatchingGenericId(DataBlockId id) {
 
-		if (m_genericDataBlocks.containsKey(id)) {
+		if (m_genericDataBlocks.contains(id)) {
 			return id;
 		}
 
-		for (Iterator<DataBlockId> iterator = m_genericDataBlocks.keySet().iterator(); iterator.hasNext();) {
-			DataBlockId nextId = iterator.next();
-			String nextPattern = m_genericDataBlocks.get(nextId);
+		GenericIdMatch match = genericIdTrie.match(id);
 
-			if (id.getGlobalId().matches(nextPattern)) {
-				return nextId;
-			}
+		if (match == null) {
+			return null;
 		}
 
-		return null;
+		return match.getGenericId();
 	}
 
 	/**
@@ -239,25 +259,20 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 	}
 
 	/**
-	 * @param id
-	 * @return
+	 * Creates the concrete {@link DataBlockDescription} for an id matching a
+	 * generic id, including concrete descriptions for all of its children.
+	 *
+	 * @param id The concrete id
+	 * @return The concrete {@link DataBlockDescription}
 	 */
 	private DataBlockDescription createConcreteDescription(DataBlockId id) {
-		DataBlockId matchingGenericId = getMatchingGenericId(id);
+		GenericIdMatch match = genericIdTrie.match(id);
 
-		DataBlockDescription genericDescription = getDataBlockDescription(matchingGenericId);
+		DataBlockId matchingGenericId = m_genericDataBlocks.contains(id) ? id : match.getGenericId();
 
-		Matcher matcher = Pattern.compile(m_genericDataBlocks.get(matchingGenericId)).matcher(id.getGlobalId());
+		DataBlockDescription genericDescription = getDataBlockDescription(matchingGenericId);
 
-		List<String> matchingStrings = new ArrayList<>();
-
-		if (matcher.find()) {
-			// Ignore group zero (= the whole match) which is also NOT included in
-			// Matcher.groupCount()
-			for (int i = 1; i < matcher.groupCount() + 1; i++) {
-				matchingStrings.add(matcher.group(i));
-			}
-		}
+		List<String> matchingStrings = match == null ? Collections.emptyList() : match.getPlaceholderValues();
 
 		// Replace child ids
 		List<DataBlockDescription> realChildren = new ArrayList<>();
@@ -270,13 +285,13 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 			for (int j = 0; j < matchingStrings.size(); ++j) {
 				String matchingString = matchingStrings.get(j);
 
-				replacedChildId = replacedChildId.replaceFirst(
-					StandardDataFormatSpecification.GENERIC_PLACEHOLDER_PATTERN.pattern(), matchingString);
+				replacedChildId = StandardDataFormatSpecification.GENERIC_PLACEHOLDER_PATTERN.matcher(replacedChildId)
+					.replaceFirst(Matcher.quoteReplacement(matchingString));
 			}
 
 			DataBlockId replacedChildDataBlockId = new DataBlockId(m_dataFormat, replacedChildId);
 
-			realChildren.add(createConcreteDescription(replacedChildDataBlockId));
+			realChildren.add(getConcreteDescription(replacedChildDataBlockId));
 		}
 		return new DataBlockDescription(id, genericDescription.getName(), "Unspecified data block",
 			genericDescription.getPhysicalType(), realChildren, genericDescription.getFieldProperties(),
@@ -285,6 +300,33 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 			genericDescription.getIdField());
 	}
 
+	/**
+	 * Returns the cached concrete {@link DataBlockDescription} for an id matching a
+	 * generic id or creates and caches it, if not cached yet.
+	 *
+	 * @param id The concrete id
+	 * @return The concrete {@link DataBlockDescription}
+	 */
+	private DataBlockDescription getConcreteDescription(DataBlockId id) {
+		DataBlockDescription concreteDescription = concreteDescriptions.get(id);
+
+		if (concreteDescription == null) {
+			concreteDescription = createConcreteDescription(id);
+
+			if (concreteDescriptions.size() >= StandardDataFormatSpecification.MAXIMUM_CONCRETE_DESCRIPTION_CACHE_SIZE) {
+				concreteDescriptions.clear();
+			}
+
+			DataBlockDescription previousDescription = concreteDescriptions.putIfAbsent(id, concreteDescription);
+
+			if (previousDescription != null) {
+				concreteDescription = previousDescription;
+			}
+		}
+
+		return concreteDescription;
+	}
+
 	private Map<DataBlockId, Object> getFieldFunctionMap() {
 		Map<DataBlockId, Object> fieldFunctions = m_dataBlockDescriptions.values().stream()
 			.filter(desc -> desc.getPhysicalType() == PhysicalDataBlockType.FIELD).collect(
@@ -297,32 +339,6 @@ public class StandardDataFormatSpecification implements DataFormatSpecification
 		return functions.stream().anyMatch(function -> function.getClass().equals(type));
 	}
 
-	private void initGenericIdPatterns(Set<DataBlockId> genericDataBlocks) {
-
-		for (Iterator<DataBlockId> iterator = genericDataBlocks.iterator(); iterator.hasNext();) {
-			DataBlockId genericBlockId = iterator.next();
-
-			final String idString = genericBlockId.getGlobalId();
-			Matcher matcher = StandardDataFormatSpecification.GENERIC_PLACEHOLDER_PATTERN.matcher(idString);
-
-			StringBuilder idPattern = new StringBuilder();
-
-			int matchEndIndex = 0;
-
-			while (matcher.find()) {
-				int matchStartIndex = matcher.start(0);
-				matchEndIndex = matcher.end(0);
-
-				idPattern.append(idString.substring(0, matchStartIndex));
-				idPattern.append(StandardDataFormatSpecification.GENERIC_ID_REPLACE_PATTERN);
-			}
-
-			idPattern.append(idString.substring(matchEndIndex, idString.length()));
-
-			m_genericDataBlocks.put(genericBlockId, idPattern.toString());
-		}
-	}
-
 	/**
 	*
 	*/
@@ -9,13 +9,29 @@
  */
 package com.github.jmeta.library.media.api.services;
 
+import com.github.jmeta.library.media.api.types.FileMedium;
 import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
 
 /**
  * {@link MediaAPI} provides access to all functionality of the component Media.
  */
 public interface MediaAPI {
 
+	/**
+	 * Creates a new thread-safe {@link MediumStore} instance for a read-only
+	 * {@link FileMedium}. In contrast to the {@link MediumStore}s created by
+	 * {@link #createMediumStore(Medium)}, its reading methods may be called by
+	 * several threads concurrently, e.g. for parsing independent parts of the
+	 * same file in parallel. All its writing methods throw a
+	 * {@link com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException}.
+	 *
+	 * @param medium The {@link FileMedium} to use, must not be null and must have
+	 *               {@link MediumAccessType#READ_ONLY}
+	 * @return The {@link MediumStore} newly created
+	 */
+	MediumStore createConcurrentMediumStore(FileMedium medium);
+
 	/**
 	 * Creates a new {@link MediumStore} instance.
 	 *
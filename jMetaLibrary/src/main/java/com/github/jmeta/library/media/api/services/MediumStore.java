@@ -10,6 +10,7 @@
 package com.github.jmeta.library.media.api.services;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.InvalidMediumOffsetException;
@@ -17,6 +18,7 @@ import com.github.jmeta.library.media.api.exceptions.InvalidOverlappingWriteExce
 import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
 import com.github.jmeta.library.media.api.exceptions.MediumStoreClosedException;
 import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
+import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumAction;
 import com.github.jmeta.library.media.api.types.MediumActionType;
@@ -36,6 +38,9 @@ import com.github.jmeta.library.media.api.types.MediumOffset;
  * {@link #isAtEndOfMedium(MediumOffset)}. Note that the reading methods
  * slightly differ in behavior regarding the type (random-access versus
  * stream-based) of {@link Medium} used, see the individual methods for details.
+ * Using {@link #getDataAsync(MediumOffset, int)} and
+ * {@link #cacheAsync(MediumOffset, int)}, you can read data without blocking
+ * the calling thread while waiting for the {@link Medium}.
  *
  * For writing, all write-related methods throw a
  * {@link ReadOnlyMediumException} if the underlying {@link Medium} is
@@ -165,6 +170,29 @@ public interface MediumStore {
 	 */
 	void cache(MediumOffset offset, int numberOfBytes) throws EndOfMediumException;
 
+	/**
+	 * Caches the given number of bytes starting at the given offset like
+	 * {@link #cache(MediumOffset, int)}, but without blocking the calling thread
+	 * while waiting for the {@link Medium}, see
+	 * {@link #getDataAsync(MediumOffset, int)} for details. The bytes read are
+	 * added to the cache by the next call to one of the reading methods of this
+	 * {@link MediumStore} after the returned {@link CompletableFuture} completed,
+	 * i.e. {@link #getCachedByteCountAt(MediumOffset)} might not yet return them
+	 * directly after completion.
+	 *
+	 * @param offset        The offset to use, see
+	 *                      {@link #cache(MediumOffset, int)}
+	 * @param numberOfBytes The number of bytes to cache, see
+	 *                      {@link #cache(MediumOffset, int)}
+	 * @return A {@link CompletableFuture} completing as soon as all bytes have
+	 *         been read, see {@link #getDataAsync(MediumOffset, int)} for
+	 *         exceptional completion
+	 *
+	 * @throws MediumStoreClosedException in case this {@link MediumStore} has
+	 *                                    already been closed
+	 */
+	CompletableFuture<Void> cacheAsync(MediumOffset offset, int numberOfBytes);
+
 	/**
 	 * Closes this {@link MediumStore} and frees any internally held resources such
 	 * as cached data. Once an {@link MediumStore} is closed, most of its methods
@@ -201,6 +229,38 @@ public interface MediumStore {
 	 */
 	MediumOffset createMediumOffset(long offset);
 
+	/**
+	 * Declares a range of the {@link Medium} as padding, i.e. as bytes that do not
+	 * carry any information, such that their number may change without changing
+	 * the meaning of the data around them. A typical example is the padding of an
+	 * ID3v2.3 tag.
+	 *
+	 * With the next {@link #flush()}, the padding absorbs bytes added by changes
+	 * scheduled in front of it: If the changes scheduled behind the preceding
+	 * padding (or the start of the {@link Medium}, if there is none) and in front
+	 * of this padding add N bytes in total, N bytes are removed at the start of the
+	 * padding, but at most as many bytes as the padding has. This way, the bytes
+	 * behind the padding do not need to be shifted, i.e. the flush only rewrites
+	 * the bytes between the changes and the padding instead of the whole rest of
+	 * the {@link Medium}. It is the responsibility of the caller to keep any size
+	 * information stored on the {@link Medium} consistent with the absorbed bytes.
+	 *
+	 * A padding containing the offset of any scheduled change does not absorb any
+	 * bytes. Padding declarations are valid until the next {@link #flush()}.
+	 *
+	 * @param offset The {@link MediumOffset} at which the padding starts. Must
+	 *               point to the {@link Medium} this {@link MediumStore} works on.
+	 * @param size   The number of padding bytes, must be bigger than 0 and the
+	 *               padding must not exceed the {@link Medium}'s length as
+	 *               returned by {@link Medium#getCurrentLength()}.
+	 *
+	 * @throws MediumStoreClosedException in case this {@link MediumStore} has
+	 *                                    already been closed
+	 * @throws ReadOnlyMediumException    If the underlying {@link Medium} is
+	 *                                    read-only
+	 */
+	void declarePadding(MediumOffset offset, int size);
+
 	/**
 	 * Actually writes all changes since the last flush or since opening this
 	 * {@link MediumStore} to the external {@link Medium}, if any changes are
@@ -400,6 +460,46 @@ public interface MediumStore {
 	 */
 	ByteBuffer getData(MediumOffset offset, int numberOfBytes) throws EndOfMediumException;
 
+	/**
+	 * Returns the given number of bytes starting at the given offset like
+	 * {@link #getData(MediumOffset, int)}, but without blocking the calling thread
+	 * while waiting for the {@link Medium}. Cached bytes are taken from the cache
+	 * immediately, while all other bytes are read in background. Ranges
+	 * overlapping ranges requested before whose reading is not yet completed are
+	 * not read twice.
+	 *
+	 * Only random-access media opened in
+	 * {@link com.github.jmeta.library.media.api.types.FileMediumAccessMode#ASYNCHRONOUS_FILE_CHANNEL}
+	 * mode support reading in background. For all other media, this method reads
+	 * the bytes by calling {@link #getData(MediumOffset, int)} and returns an
+	 * already completed {@link CompletableFuture}.
+	 *
+	 * This method must be called by the same thread as all other methods of this
+	 * {@link MediumStore}. The returned {@link CompletableFuture} is completed by
+	 * another thread, so dependent actions must not call this {@link MediumStore}
+	 * directly. The bytes read in background are added to the cache by the next
+	 * call to one of the reading methods of this {@link MediumStore}. Flushing or
+	 * closing this {@link MediumStore} cancels all reads not yet completed.
+	 *
+	 * @param offset        The offset to use, see
+	 *                      {@link #getData(MediumOffset, int)}
+	 * @param numberOfBytes The number of bytes to read, see
+	 *                      {@link #getData(MediumOffset, int)}
+	 * @return A {@link CompletableFuture} delivering a read-only
+	 *         {@link ByteBuffer} containing the read bytes between its limit and
+	 *         position. It completes exceptionally with an
+	 *         {@link EndOfMediumException} as described for
+	 *         {@link #getData(MediumOffset, int)} if the end of the medium was
+	 *         reached, and with a {@link MediumAccessException} if reading failed
+	 *         or was cancelled.
+	 *
+	 * @throws InvalidMediumOffsetException Only for stream media, see
+	 *                                      {@link #getData(MediumOffset, int)}
+	 * @throws MediumStoreClosedException   in case this {@link MediumStore} has
+	 *                                      already been closed
+	 */
+	CompletableFuture<ByteBuffer> getDataAsync(MediumOffset offset, int numberOfBytes);
+
 	/**
 	 * @return the {@link Medium} this {@link MediumStore} is working on.
 	 */
@@ -501,6 +601,28 @@ public interface MediumStore {
 	 */
 	void open();
 
+	/**
+	 * Tells this {@link MediumStore} that the caller does not need the bytes
+	 * before the given {@link MediumOffset} anymore, e.g. because all top-level
+	 * containers covering them have been processed. Bytes at or behind the given
+	 * {@link MediumOffset} stay cached as before.
+	 *
+	 * This only has an effect for an {@link InputStreamMedium} with a sliding
+	 * window, see {@link InputStreamMedium#getSlidingWindowSizeInBytes()}: All
+	 * released bytes that are further behind the current read position than the
+	 * sliding window size are removed from the cache. Afterwards, any attempt to
+	 * read them throws an {@link InvalidMediumOffsetException}. For all other
+	 * {@link Medium}s, this method does nothing.
+	 *
+	 * @param offset The {@link MediumOffset} before which bytes are released. Must
+	 *               not be null and must point to the same {@link Medium} as this
+	 *               {@link MediumStore}
+	 *
+	 * @throws MediumStoreClosedException in case this {@link MediumStore} has
+	 *                                    already been closed
+	 */
+	void releaseCachedDataBefore(MediumOffset offset);
+
 	/**
 	 * Removes the given number of bytes at the given {@link MediumOffset} offset.
 	 * This method does not actually write data to the underlying external medium.
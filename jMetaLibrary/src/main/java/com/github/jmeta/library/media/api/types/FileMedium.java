@@ -20,6 +20,22 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  */
 public class FileMedium extends AbstractMedium<Path> {
 
+   /**
+    * Indicates that no blocks are read ahead in background, see {@link #getReadAheadBlockCount()}
+    */
+   public static final int NO_READ_AHEAD = 0;
+
+   /**
+    * The suffix appended to the file name to get the name of the journal file, see {@link #isFlushJournaled()}
+    */
+   public static final String FLUSH_JOURNAL_FILE_SUFFIX = ".jmeta-journal";
+
+   private final FileMediumAccessMode fileMediumAccessMode;
+
+   private final int readAheadBlockCount;
+
+   private final boolean isFlushJournaled;
+
    /**
     * Creates a new {@link FileMedium} with default values for all properties that influence reading and writing.
     *
@@ -48,10 +64,86 @@ public class FileMedium extends AbstractMedium<Path> {
     */
    public FileMedium(Path medium, MediumAccessType mediumAccessType, long maxCacheSizeInBytes,
       int maxReadWriteBlockSizeInBytes) {
+      this(medium, mediumAccessType, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes,
+         FileMediumAccessMode.FILE_CHANNEL);
+   }
+
+   /**
+    * Creates a new {@link FileMedium} and allows to explicitly set all configuration properties that influence reading
+    * and writing, including the way the file is accessed.
+    *
+    * @param medium
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param mediumAccessType
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxCacheSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxReadWriteBlockSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param fileMediumAccessMode
+    *           The {@link FileMediumAccessMode} to use for reading the file, must not be null
+    */
+   public FileMedium(Path medium, MediumAccessType mediumAccessType, long maxCacheSizeInBytes,
+      int maxReadWriteBlockSizeInBytes, FileMediumAccessMode fileMediumAccessMode) {
+      this(medium, mediumAccessType, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes, fileMediumAccessMode,
+         FileMedium.NO_READ_AHEAD);
+   }
+
+   /**
+    * Creates a new {@link FileMedium} and allows to explicitly set all configuration properties that influence reading
+    * and writing, including the way the file is accessed and read-ahead.
+    *
+    * @param medium
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param mediumAccessType
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxCacheSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxReadWriteBlockSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param fileMediumAccessMode
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int, FileMediumAccessMode)}
+    * @param readAheadBlockCount
+    *           see {@link #getReadAheadBlockCount()}, must not be negative
+    */
+   public FileMedium(Path medium, MediumAccessType mediumAccessType, long maxCacheSizeInBytes,
+      int maxReadWriteBlockSizeInBytes, FileMediumAccessMode fileMediumAccessMode, int readAheadBlockCount) {
+      this(medium, mediumAccessType, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes, fileMediumAccessMode,
+         readAheadBlockCount, false);
+   }
+
+   /**
+    * Creates a new {@link FileMedium} and allows to explicitly set all configuration properties that influence reading
+    * and writing, including the way the file is accessed, read-ahead and journaling of flushes.
+    *
+    * @param medium
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param mediumAccessType
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxCacheSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param maxReadWriteBlockSizeInBytes
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int)}
+    * @param fileMediumAccessMode
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int, FileMediumAccessMode)}
+    * @param readAheadBlockCount
+    *           see {@link #FileMedium(Path, MediumAccessType, long, int, FileMediumAccessMode, int)}
+    * @param isFlushJournaled
+    *           see {@link #isFlushJournaled()}
+    */
+   public FileMedium(Path medium, MediumAccessType mediumAccessType, long maxCacheSizeInBytes,
+      int maxReadWriteBlockSizeInBytes, FileMediumAccessMode fileMediumAccessMode, int readAheadBlockCount,
+      boolean isFlushJournaled) {
       super(medium, medium.toAbsolutePath().toString(), true, mediumAccessType, maxCacheSizeInBytes,
          maxReadWriteBlockSizeInBytes);
 
       Reject.ifFalse(Files.isRegularFile(medium), "Files.isRegularFile(medium)");
+      Reject.ifNull(fileMediumAccessMode, "fileMediumAccessMode");
+      Reject.ifNegative(readAheadBlockCount, "readAheadBlockCount");
+
+      this.fileMediumAccessMode = fileMediumAccessMode;
+      this.readAheadBlockCount = readAheadBlockCount;
+      this.isFlushJournaled = isFlushJournaled;
    }
 
    /**
@@ -66,4 +158,45 @@ public class FileMedium extends AbstractMedium<Path> {
          return Medium.UNKNOWN_LENGTH;
       }
    }
+
+   /**
+    * @return the {@link FileMediumAccessMode} used for reading this {@link FileMedium}
+    */
+   public FileMediumAccessMode getFileMediumAccessMode() {
+      return fileMediumAccessMode;
+   }
+
+   /**
+    * @return the {@link Path} of the journal file used if {@link #isFlushJournaled()} is true. It is located in the same
+    *         directory as the file of this {@link FileMedium}.
+    */
+   public Path getFlushJournalPath() {
+      return getWrappedMedium().resolveSibling(getWrappedMedium().getFileName() + FileMedium.FLUSH_JOURNAL_FILE_SUFFIX);
+   }
+
+   /**
+    * Returns the maximum number of blocks of size {@link #getMaxReadWriteBlockSizeInBytes()} that are read ahead in
+    * background as soon as a sequential access to this {@link FileMedium}, either forward or backward, is detected.
+    * Read-ahead overlaps reading the file with processing the bytes read before, which mainly pays off for slow
+    * storage like spinning disks or network mounts. If {@link #NO_READ_AHEAD}, which is the default, nothing is read
+    * ahead.
+    *
+    * @return the maximum number of blocks read ahead in background
+    */
+   public int getReadAheadBlockCount() {
+      return readAheadBlockCount;
+   }
+
+   /**
+    * Returns whether flushes of a {@link MediumAccessType#READ_WRITE} {@link FileMedium} are journaled. If so, each
+    * flush first persists all changes it is going to make in a journal file next to the file, which is named like the
+    * file with the suffix {@value #FLUSH_JOURNAL_FILE_SUFFIX}. If the process dies during the flush, the interrupted
+    * flush is completed when opening the {@link FileMedium} for writing the next time. This costs additional writes and
+    * synchronizations with the storage device, and thus is disabled by default.
+    *
+    * @return true if flushes are journaled, false otherwise
+    */
+   public boolean isFlushJournaled() {
+      return isFlushJournaled;
+   }
 }
@@ -0,0 +1,33 @@
+/**
+ *
+ * {@link FileMediumAccessMode}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.api.types;
+
+/**
+ * {@link FileMediumAccessMode} defines how the bytes of a {@link FileMedium} are read from the underlying file.
+ */
+public enum FileMediumAccessMode {
+   /**
+    * Every read is done using a positional read on a file channel into a newly allocated buffer. This is the default.
+    */
+   FILE_CHANNEL,
+   /**
+    * Windows of the file are memory-mapped, and reads return views onto the mapped windows instead of copying the
+    * bytes. Only read-only media are mapped, while writable media are read like for {@link #FILE_CHANNEL}: A mapping
+    * cannot be released explicitly but only by garbage collection, and on some platforms, e.g. Windows, a file cannot
+    * be truncated or rewritten while it is mapped.
+    */
+   MEMORY_MAPPED,
+   /**
+    * Reads are done like for {@link #FILE_CHANNEL}. In addition, the bytes can be read without blocking the calling
+    * thread using an asynchronous file channel, see
+    * {@link com.github.jmeta.library.media.api.services.MediumStore#getDataAsync(MediumOffset, int)}.
+    */
+   ASYNCHRONOUS_FILE_CHANNEL,
+}
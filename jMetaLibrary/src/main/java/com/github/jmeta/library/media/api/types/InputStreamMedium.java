@@ -12,6 +12,8 @@ package com.github.jmeta.library.media.api.types;
 import java.io.FileInputStream;
 import java.io.InputStream;
 
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
 /**
  * {@link InputStreamMedium} represents an {@link Medium} working on an {@link InputStream}. By definition, an
  * {@link InputStreamMedium} is read-only and non-random-access.
@@ -28,6 +30,16 @@ import java.io.InputStream;
  */
 public class InputStreamMedium extends AbstractMedium<InputStream> {
 
+   /**
+    * Value for {@link #getSlidingWindowSizeInBytes()} meaning that no sliding window is used, i.e. bytes read stay
+    * cached until the maximum cache size is reached.
+    */
+   public static final int NO_SLIDING_WINDOW = -1;
+
+   private final int slidingWindowSizeInBytes;
+
+   private final boolean isSpillingToDisk;
+
    /**
     * Creates a new {@link InputStreamMedium} with default values for all properties that influence reading and writing.
     * 
@@ -55,7 +67,56 @@ public class InputStreamMedium extends AbstractMedium<InputStream> {
     */
    public InputStreamMedium(InputStream medium, String name, long maxCacheSizeInBytes,
       int maxReadWriteBlockSizeInBytes) {
+      this(medium, name, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes, InputStreamMedium.NO_SLIDING_WINDOW);
+   }
+
+   /**
+    * Creates a new {@link InputStreamMedium} and allows to explicitly set all configuration properties that influence
+    * reading and writing, including a sliding window for parsing streams of arbitrary length with a fixed memory
+    * footprint.
+    * 
+    * @param medium
+    *           The {@link InputStream} to use, must not be null
+    * @param name
+    *           A name of the {@link InputStream} to be able to identify it. Optional, null may be passed
+    * @param maxCacheSizeInBytes
+    *           see #getMaxCacheSizeInBytes(), must be bigger than 0
+    * @param maxReadWriteBlockSizeInBytes
+    *           see #getMaxReadWriteBlockSizeInBytes()
+    * @param slidingWindowSizeInBytes
+    *           see #getSlidingWindowSizeInBytes(), must be {@link #NO_SLIDING_WINDOW} or not negative
+    */
+   public InputStreamMedium(InputStream medium, String name, long maxCacheSizeInBytes,
+      int maxReadWriteBlockSizeInBytes, int slidingWindowSizeInBytes) {
+      this(medium, name, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes, slidingWindowSizeInBytes, false);
+   }
+
+   /**
+    * Creates a new {@link InputStreamMedium} and allows to explicitly set all configuration properties that influence
+    * reading and writing, including a sliding window and spilling evicted bytes to disk.
+    * 
+    * @param medium
+    *           The {@link InputStream} to use, must not be null
+    * @param name
+    *           A name of the {@link InputStream} to be able to identify it. Optional, null may be passed
+    * @param maxCacheSizeInBytes
+    *           see #getMaxCacheSizeInBytes(), must be bigger than 0
+    * @param maxReadWriteBlockSizeInBytes
+    *           see #getMaxReadWriteBlockSizeInBytes()
+    * @param slidingWindowSizeInBytes
+    *           see #getSlidingWindowSizeInBytes(), must be {@link #NO_SLIDING_WINDOW} or not negative
+    * @param isSpillingToDisk
+    *           see #isSpillingToDisk()
+    */
+   public InputStreamMedium(InputStream medium, String name, long maxCacheSizeInBytes,
+      int maxReadWriteBlockSizeInBytes, int slidingWindowSizeInBytes, boolean isSpillingToDisk) {
       super(medium, name, false, MediumAccessType.READ_ONLY, maxCacheSizeInBytes, maxReadWriteBlockSizeInBytes);
+
+      Reject.ifTrue(slidingWindowSizeInBytes < InputStreamMedium.NO_SLIDING_WINDOW,
+         "slidingWindowSizeInBytes < InputStreamMedium.NO_SLIDING_WINDOW");
+
+      this.slidingWindowSizeInBytes = slidingWindowSizeInBytes;
+      this.isSpillingToDisk = isSpillingToDisk;
    }
 
    /**
@@ -65,4 +126,30 @@ public class InputStreamMedium extends AbstractMedium<InputStream> {
    public long getCurrentLength() {
       return Medium.UNKNOWN_LENGTH;
    }
+
+   /**
+    * Returns the number of bytes behind the current read position that stay cached once they have been released, see
+    * {@link com.github.jmeta.library.media.api.services.MediumStore#releaseCachedDataBefore(MediumOffset)}. Released
+    * bytes further behind the current read position are removed from the cache, so that parsing a stream only needs
+    * memory for the currently open top-level container plus this window. If {@link #NO_SLIDING_WINDOW}, which is the
+    * default, releasing has no effect.
+    *
+    * @return the sliding window size in bytes or {@link #NO_SLIDING_WINDOW}
+    */
+   public int getSlidingWindowSizeInBytes() {
+      return slidingWindowSizeInBytes;
+   }
+
+   /**
+    * Returns whether bytes evicted from the cache because it reached its maximum size are written to a temporary
+    * file. Reading them again then takes them from this file instead of failing, as the stream cannot be read again.
+    * Bytes released using
+    * {@link com.github.jmeta.library.media.api.services.MediumStore#releaseCachedDataBefore(MediumOffset)} are not
+    * kept in the file. The default is false.
+    *
+    * @return true if evicted bytes are written to a temporary file, false otherwise
+    */
+   public boolean isSpillingToDisk() {
+      return isSpillingToDisk;
+   }
 }
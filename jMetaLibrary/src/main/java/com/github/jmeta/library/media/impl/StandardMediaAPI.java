@@ -15,16 +15,28 @@ import java.util.Set;
 import com.github.jmeta.library.media.api.services.MediaAPI;
 import com.github.jmeta.library.media.api.services.MediumStore;
 import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
 import com.github.jmeta.library.media.api.types.InMemoryMedium;
 import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
+import com.github.jmeta.library.media.impl.cache.GlobalCacheBudget;
 import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.library.media.impl.cache.SpillFile;
+import com.github.jmeta.library.media.impl.cache.StripedMediumCache;
 import com.github.jmeta.library.media.impl.changeManager.MediumChangeManager;
+import com.github.jmeta.library.media.impl.mediumAccessor.AsynchronousFileMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.InMemoryMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.InputStreamMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor;
+import com.github.jmeta.library.media.impl.mediumAccessor.MemoryMappedFileMediumAccessor;
 import com.github.jmeta.library.media.impl.offset.MediumOffsetFactory;
+import com.github.jmeta.library.media.impl.store.ConcurrentReadOnlyMediumStore;
+import com.github.jmeta.library.media.impl.store.FlushJournal;
+import com.github.jmeta.library.media.impl.store.ReadAheadPrefetcher;
 import com.github.jmeta.library.media.impl.store.StandardMediumStore;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
@@ -44,6 +56,38 @@ public class StandardMediaAPI implements MediaAPI {
 
 	private long minimumCacheSize = MediumStore.MINIMUM_CACHE_SIZE_IN_BYTES;
 	private long minimumReadWriteBlockSize = MediumStore.MINIMUM_READ_WRITE_BLOCK_SIZE_IN_BYTES;
+	private ByteBufferAllocator byteBufferAllocator = new HeapByteBufferAllocator();
+	private GlobalCacheBudget globalCacheBudget;
+
+	/**
+	 * The {@link FileMediumAccessMode} of the medium is ignored, the file is
+	 * always read with positional reads of a {@link FileMediumAccessor}. The
+	 * {@link StripedMediumCache} used has {@link StripedMediumCache#DEFAULT_STRIPE_COUNT}
+	 * stripes, if the maximum cache size of the medium allows for it, and does not
+	 * share the {@link GlobalCacheBudget}.
+	 *
+	 * @see com.github.jmeta.library.media.api.services.MediaAPI#createConcurrentMediumStore(com.github.jmeta.library.media.api.types.FileMedium)
+	 */
+	@Override
+	public MediumStore createConcurrentMediumStore(FileMedium medium) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifFalse(medium.getMediumAccessType() == MediumAccessType.READ_ONLY,
+			"medium.getMediumAccessType() == MediumAccessType.READ_ONLY");
+
+		Reject.ifTrue(medium.getMaxReadWriteBlockSizeInBytes() < minimumReadWriteBlockSize,
+			"The maximum read-write block size must be at least " + minimumReadWriteBlockSize);
+		Reject.ifTrue(medium.getMaxCacheSizeInBytes() < minimumCacheSize,
+			"The maximum cache size must be at least " + minimumCacheSize);
+		Reject.ifTrue(medium.getMaxCacheSizeInBytes() < (2 * medium.getMaxReadWriteBlockSizeInBytes()),
+			"The maximum cache size must at least be twice the maximum read-write block size");
+
+		int stripeCount = (int) Math.min(StripedMediumCache.DEFAULT_STRIPE_COUNT,
+			medium.getMaxCacheSizeInBytes() / medium.getMaxReadWriteBlockSizeInBytes());
+
+		return new ConcurrentReadOnlyMediumStore(new FileMediumAccessor(medium, byteBufferAllocator),
+			new StripedMediumCache(medium, medium.getMaxCacheSizeInBytes(), medium.getMaxReadWriteBlockSizeInBytes(),
+				stripeCount));
+	}
 
 	/**
 	 * @see com.github.jmeta.library.media.api.services.MediaAPI#createMediumStore(com.github.jmeta.library.media.api.types.Medium)
@@ -65,12 +109,46 @@ public class StandardMediaAPI implements MediaAPI {
 
 		MediumAccessor<?> mediumAccessor = null;
 
+		ReadAheadPrefetcher readAheadPrefetcher = null;
+
+		FlushJournal flushJournal = null;
+
+		SpillFile spillFile = null;
+
 		if (medium.getClass() == FileMedium.class) {
-			mediumAccessor = new FileMediumAccessor((FileMedium) medium);
+			FileMedium fileMedium = (FileMedium) medium;
+
+			FileMediumAccessor fileMediumAccessor = null;
+
+			if (fileMedium.getFileMediumAccessMode() == FileMediumAccessMode.MEMORY_MAPPED) {
+				fileMediumAccessor = new MemoryMappedFileMediumAccessor(fileMedium);
+			} else if (fileMedium.getFileMediumAccessMode() == FileMediumAccessMode.ASYNCHRONOUS_FILE_CHANNEL) {
+				fileMediumAccessor = new AsynchronousFileMediumAccessor(fileMedium, byteBufferAllocator);
+			} else {
+				fileMediumAccessor = new FileMediumAccessor(fileMedium, byteBufferAllocator);
+			}
+
+			if (fileMedium.getReadAheadBlockCount() != FileMedium.NO_READ_AHEAD) {
+				readAheadPrefetcher = new ReadAheadPrefetcher(fileMediumAccessor::readAt,
+					medium.getMaxReadWriteBlockSizeInBytes(), fileMedium.getReadAheadBlockCount());
+			}
+
+			if (fileMedium.isFlushJournaled() && fileMedium.getMediumAccessType() == MediumAccessType.READ_WRITE) {
+				flushJournal = new FlushJournal(fileMedium.getFlushJournalPath(), fileMediumAccessor::force,
+					FlushJournal.DEFAULT_CHECKPOINT_INTERVAL_IN_BYTES);
+			}
+
+			mediumAccessor = fileMediumAccessor;
 		} else if (medium.getClass() == InMemoryMedium.class) {
 			mediumAccessor = new InMemoryMediumAccessor((InMemoryMedium) medium);
 		} else if (medium.getClass() == InputStreamMedium.class) {
-			mediumAccessor = new InputStreamMediumAccessor((InputStreamMedium) medium);
+			InputStreamMedium inputStreamMedium = (InputStreamMedium) medium;
+
+			mediumAccessor = new InputStreamMediumAccessor(inputStreamMedium);
+
+			if (inputStreamMedium.isSpillingToDisk()) {
+				spillFile = new SpillFile();
+			}
 		}
 
 		MediumOffsetFactory offsetFactory = new MediumOffsetFactory(medium);
@@ -82,8 +160,44 @@ public class StandardMediaAPI implements MediaAPI {
 		}
 
 		return new StandardMediumStore<>(mediumAccessor,
-			new MediumCache(medium, maxCacheSizeToUse, medium.getMaxReadWriteBlockSizeInBytes()), offsetFactory,
-			new MediumChangeManager(offsetFactory));
+			new MediumCache(medium, maxCacheSizeToUse, medium.getMaxReadWriteBlockSizeInBytes(), byteBufferAllocator,
+				globalCacheBudget),
+			offsetFactory,
+			new MediumChangeManager(offsetFactory), readAheadPrefetcher, flushJournal, spillFile);
+	}
+
+	/**
+	 * Sets the {@link ByteBufferAllocator} used for the bytes read from media by
+	 * all {@link MediumStore}s created afterwards. By default, a
+	 * {@link HeapByteBufferAllocator} is used. Sharing a
+	 * {@link com.github.jmeta.library.media.impl.buffer.PooledDirectByteBufferAllocator}
+	 * between all {@link MediumStore}s allows to recycle the bytes of regions
+	 * evicted from their caches instead of allocating new ones for each read. Note
+	 * that the caches then count the whole capacity of each allocated buffer
+	 * against their maximum size, i.e. the cache sizes should be a multiple of the
+	 * read-write block size rounded up to the next size class.
+	 *
+	 * @param byteBufferAllocator The {@link ByteBufferAllocator} to use, must not
+	 *                            be null
+	 */
+	public void setByteBufferAllocator(ByteBufferAllocator byteBufferAllocator) {
+		Reject.ifNull(byteBufferAllocator, "byteBufferAllocator");
+
+		this.byteBufferAllocator = byteBufferAllocator;
+	}
+
+	/**
+	 * Sets the {@link GlobalCacheBudget} shared by the caches of all
+	 * {@link MediumStore}s created afterwards, which limits their total size in
+	 * addition to the maximum cache size of each {@link Medium}. By default, there
+	 * is no {@link GlobalCacheBudget}.
+	 *
+	 * @param globalCacheBudget The {@link GlobalCacheBudget} to use or null to
+	 *                          only limit each cache by the maximum cache size of
+	 *                          its {@link Medium}
+	 */
+	public void setGlobalCacheBudget(GlobalCacheBudget globalCacheBudget) {
+		this.globalCacheBudget = globalCacheBudget;
 	}
 
 	/**
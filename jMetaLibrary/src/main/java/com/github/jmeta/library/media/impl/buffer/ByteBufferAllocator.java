@@ -0,0 +1,76 @@
+/**
+ *
+ * {@link ByteBufferAllocator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteBufferAllocator} allocates the {@link ByteBuffer}s bytes read from a medium are stored in. Implementations
+ * might recycle allocated {@link ByteBuffer}s as soon as they are no longer used.
+ *
+ * To track whether a {@link ByteBuffer} is still used, each allocated {@link ByteBuffer} has a reference count, which is
+ * 1 after {@link #allocate(int)} and changed by {@link #retain(ByteBuffer)} and {@link #release(ByteBuffer)}. A
+ * {@link ByteBuffer} is only recycled when its reference count drops to zero. Whoever hands out a {@link ByteBuffer} or
+ * views on it to code not taking part in reference counting must call {@link #detach(ByteBuffer)} before, to ensure it
+ * is never recycled.
+ *
+ * The methods {@link #retain(ByteBuffer)}, {@link #release(ByteBuffer)} and {@link #detach(ByteBuffer)} do nothing for
+ * {@link ByteBuffer}s not allocated by the same {@link ByteBufferAllocator} or already detached. Implementations must
+ * be thread-safe.
+ */
+public interface ByteBufferAllocator {
+
+   /**
+    * Allocates a {@link ByteBuffer} with a reference count of 1.
+    *
+    * @param numberOfBytes
+    *           The number of bytes to allocate, must not be negative
+    * @return A {@link ByteBuffer} with position 0 and a limit of the given number of bytes. Its capacity might be
+    *         bigger than the number of bytes and its content is undefined.
+    */
+   public ByteBuffer allocate(int numberOfBytes);
+
+   /**
+    * Increments the reference count of the given {@link ByteBuffer}.
+    *
+    * @param buffer
+    *           A {@link ByteBuffer} returned by {@link #allocate(int)}, must not be null
+    */
+   public void retain(ByteBuffer buffer);
+
+   /**
+    * Returns whether the reference count of the given {@link ByteBuffer} is tracked, i.e. whether it might be recycled
+    * as soon as its reference count drops to zero.
+    *
+    * @param buffer
+    *           Any {@link ByteBuffer}, must not be null
+    * @return true if the given {@link ByteBuffer} was allocated by this {@link ByteBufferAllocator} and is neither
+    *         recycled nor detached, false otherwise
+    */
+   public boolean isTracked(ByteBuffer buffer);
+
+   /**
+    * Decrements the reference count of the given {@link ByteBuffer}. If it drops to zero, the {@link ByteBuffer} might
+    * be recycled, i.e. it must not be used anymore afterwards, neither directly nor by any views on it.
+    *
+    * @param buffer
+    *           A {@link ByteBuffer} returned by {@link #allocate(int)}, must not be null
+    */
+   public void release(ByteBuffer buffer);
+
+   /**
+    * Stops tracking the reference count of the given {@link ByteBuffer}, i.e. it is never recycled, but left to the
+    * garbage collector.
+    *
+    * @param buffer
+    *           A {@link ByteBuffer} returned by {@link #allocate(int)}, must not be null
+    */
+   public void detach(ByteBuffer buffer);
+}
@@ -0,0 +1,66 @@
+/**
+ *
+ * {@link HeapByteBufferAllocator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link HeapByteBufferAllocator} is the default {@link ByteBufferAllocator}. It allocates a new heap
+ * {@link ByteBuffer} of exactly the requested size each time and never recycles any {@link ByteBuffer}, i.e. reference
+ * counting has no effect.
+ */
+public class HeapByteBufferAllocator implements ByteBufferAllocator {
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#allocate(int)
+    */
+   @Override
+   public ByteBuffer allocate(int numberOfBytes) {
+      Reject.ifNegative(numberOfBytes, "numberOfBytes");
+
+      return ByteBuffer.allocate(numberOfBytes);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#retain(java.nio.ByteBuffer)
+    */
+   @Override
+   public void retain(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#isTracked(java.nio.ByteBuffer)
+    */
+   @Override
+   public boolean isTracked(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+
+      return false;
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#release(java.nio.ByteBuffer)
+    */
+   @Override
+   public void release(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#detach(java.nio.ByteBuffer)
+    */
+   @Override
+   public void detach(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+   }
+}
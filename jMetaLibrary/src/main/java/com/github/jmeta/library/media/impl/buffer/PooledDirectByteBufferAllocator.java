@@ -0,0 +1,230 @@
+/**
+ *
+ * {@link PooledDirectByteBufferAllocator}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link PooledDirectByteBufferAllocator} allocates direct {@link ByteBuffer}s and recycles them as soon as their
+ * reference count drops to zero, to avoid garbage collection for high numbers of reads.
+ *
+ * The capacities of the allocated {@link ByteBuffer}s are grouped into size classes, each being a power of two between
+ * {@link #MINIMUM_SIZE_CLASS_IN_BYTES} and the maximum size class given to the constructor. An allocation takes a free
+ * {@link ByteBuffer} of the smallest size class big enough, if there is any, and only allocates a new direct
+ * {@link ByteBuffer} otherwise. The number of free {@link ByteBuffer}s kept per size class is limited, further released
+ * {@link ByteBuffer}s are left to the garbage collector. Allocations bigger than the maximum size class are not pooled
+ * at all, but get a plain heap {@link ByteBuffer}.
+ *
+ * All methods are synchronized, i.e. the same instance can be shared by several threads and medium stores.
+ */
+public class PooledDirectByteBufferAllocator implements ByteBufferAllocator {
+
+   /**
+    * The capacity of the smallest size class
+    */
+   public static final int MINIMUM_SIZE_CLASS_IN_BYTES = 1024;
+
+   /**
+    * The default capacity of the biggest size class
+    */
+   public static final int DEFAULT_MAXIMUM_SIZE_CLASS_IN_BYTES = 1024 * 1024;
+
+   /**
+    * The default maximum number of free {@link ByteBuffer}s kept per size class
+    */
+   public static final int DEFAULT_MAXIMUM_FREE_BUFFER_COUNT_PER_SIZE_CLASS = 16;
+
+   private final int maximumSizeClassInBytes;
+
+   private final int maximumFreeBufferCountPerSizeClass;
+
+   private final List<Deque<ByteBuffer>> freeBuffersPerSizeClass = new ArrayList<>();
+
+   private final Map<ByteBuffer, Integer> referenceCounts = new IdentityHashMap<>();
+
+   /**
+    * Creates a new {@link PooledDirectByteBufferAllocator} using {@link #DEFAULT_MAXIMUM_SIZE_CLASS_IN_BYTES} and
+    * {@link #DEFAULT_MAXIMUM_FREE_BUFFER_COUNT_PER_SIZE_CLASS}.
+    */
+   public PooledDirectByteBufferAllocator() {
+      this(PooledDirectByteBufferAllocator.DEFAULT_MAXIMUM_SIZE_CLASS_IN_BYTES,
+         PooledDirectByteBufferAllocator.DEFAULT_MAXIMUM_FREE_BUFFER_COUNT_PER_SIZE_CLASS);
+   }
+
+   /**
+    * Creates a new {@link PooledDirectByteBufferAllocator}.
+    *
+    * @param maximumSizeClassInBytes
+    *           The capacity of the biggest size class, must be at least {@link #MINIMUM_SIZE_CLASS_IN_BYTES}. It is
+    *           rounded up to the next power of two.
+    * @param maximumFreeBufferCountPerSizeClass
+    *           The maximum number of free {@link ByteBuffer}s kept per size class, must not be negative
+    */
+   public PooledDirectByteBufferAllocator(int maximumSizeClassInBytes, int maximumFreeBufferCountPerSizeClass) {
+      Reject.ifFalse(maximumSizeClassInBytes >= PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES,
+         "maximumSizeClassInBytes >= PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES");
+      Reject.ifFalse(maximumSizeClassInBytes <= 1 << 30, "maximumSizeClassInBytes <= 1 << 30");
+      Reject.ifNegative(maximumFreeBufferCountPerSizeClass, "maximumFreeBufferCountPerSizeClass");
+
+      int maximumSizeClassIndex = getSizeClassIndex(maximumSizeClassInBytes);
+
+      this.maximumSizeClassInBytes = getSizeClassCapacity(maximumSizeClassIndex);
+      this.maximumFreeBufferCountPerSizeClass = maximumFreeBufferCountPerSizeClass;
+
+      for (int i = 0; i <= maximumSizeClassIndex; i++) {
+         freeBuffersPerSizeClass.add(new ArrayDeque<>());
+      }
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#allocate(int)
+    */
+   @Override
+   public synchronized ByteBuffer allocate(int numberOfBytes) {
+      Reject.ifNegative(numberOfBytes, "numberOfBytes");
+
+      if (numberOfBytes > maximumSizeClassInBytes) {
+         return ByteBuffer.allocate(numberOfBytes);
+      }
+
+      int sizeClassIndex = getSizeClassIndex(numberOfBytes);
+
+      ByteBuffer buffer = freeBuffersPerSizeClass.get(sizeClassIndex).pollFirst();
+
+      if (buffer == null) {
+         buffer = ByteBuffer.allocateDirect(getSizeClassCapacity(sizeClassIndex));
+      }
+
+      buffer.clear();
+      buffer.limit(numberOfBytes);
+      buffer.order(ByteOrder.BIG_ENDIAN);
+
+      referenceCounts.put(buffer, 1);
+
+      return buffer;
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#detach(java.nio.ByteBuffer)
+    */
+   @Override
+   public synchronized void detach(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+
+      referenceCounts.remove(buffer);
+   }
+
+   /**
+    * @return The number of free {@link ByteBuffer}s currently kept in all size classes
+    */
+   public synchronized int getFreeBufferCount() {
+      return freeBuffersPerSizeClass.stream().mapToInt(Deque::size).sum();
+   }
+
+   /**
+    * @return The capacity of the biggest size class in bytes
+    */
+   public int getMaximumSizeClassInBytes() {
+      return maximumSizeClassInBytes;
+   }
+
+   /**
+    * @return The number of {@link ByteBuffer}s currently allocated, neither released nor detached
+    */
+   public synchronized int getReferencedBufferCount() {
+      return referenceCounts.size();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#isTracked(java.nio.ByteBuffer)
+    */
+   @Override
+   public synchronized boolean isTracked(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+
+      return referenceCounts.containsKey(buffer);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#release(java.nio.ByteBuffer)
+    */
+   @Override
+   public synchronized void release(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+
+      Integer referenceCount = referenceCounts.get(buffer);
+
+      if (referenceCount == null) {
+         return;
+      }
+
+      if (referenceCount > 1) {
+         referenceCounts.put(buffer, referenceCount - 1);
+      } else {
+         referenceCounts.remove(buffer);
+
+         Deque<ByteBuffer> freeBuffers = freeBuffersPerSizeClass.get(getSizeClassIndex(buffer.capacity()));
+
+         if (freeBuffers.size() < maximumFreeBufferCountPerSizeClass) {
+            freeBuffers.addFirst(buffer);
+         }
+      }
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator#retain(java.nio.ByteBuffer)
+    */
+   @Override
+   public synchronized void retain(ByteBuffer buffer) {
+      Reject.ifNull(buffer, "buffer");
+
+      Integer referenceCount = referenceCounts.get(buffer);
+
+      if (referenceCount != null) {
+         referenceCounts.put(buffer, referenceCount + 1);
+      }
+   }
+
+   /**
+    * Returns the capacity of the size class with the given index.
+    *
+    * @param sizeClassIndex
+    *           The index of the size class, 0 for the smallest one
+    * @return The capacity of the size class in bytes
+    */
+   private int getSizeClassCapacity(int sizeClassIndex) {
+      return PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES << sizeClassIndex;
+   }
+
+   /**
+    * Returns the index of the smallest size class with a capacity of at least the given number of bytes.
+    *
+    * @param numberOfBytes
+    *           The number of bytes
+    * @return The index of the size class, 0 for the smallest one
+    */
+   private int getSizeClassIndex(int numberOfBytes) {
+      if (numberOfBytes <= PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES) {
+         return 0;
+      }
+
+      return Integer.numberOfTrailingZeros(Integer.highestOneBit(numberOfBytes - 1) << 1)
+         - Integer.numberOfTrailingZeros(PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+   }
+}
@@ -0,0 +1,221 @@
+/**
+ *
+ * {@link GlobalCacheBudget}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.impl.cache.MediumCache.CacheEntry;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link GlobalCacheBudget} limits the total size of all {@link MediumCache}s sharing it, e.g. all caches of a process
+ * working on many media concurrently. Whenever the total size exceeds the maximum size of the
+ * {@link GlobalCacheBudget}, the least recently used regions of all {@link MediumCache}s are evicted first, regardless
+ * of their {@link Medium}, until the total size is again below the maximum size.
+ *
+ * The {@link GlobalCacheBudget} keeps the cached regions of all {@link MediumCache}s in a single order of last access,
+ * such that the globally least recently used region is found without visiting each {@link MediumCache}. A
+ * {@link MediumCache} is registered with its {@link GlobalCacheBudget} as long as it is not empty, while the number of
+ * evictions per {@link Medium} is kept until its {@link MediumCache} is cleared, e.g. when its medium is closed. So the
+ * {@link GlobalCacheBudget} does not refer to any {@link Medium} anymore that is not used by a {@link MediumCache}.
+ *
+ * All methods synchronize on the {@link GlobalCacheBudget} only for updating its own bookkeeping, and never call a
+ * {@link MediumCache} while holding this lock. Therefore, the {@link MediumCache}s sharing it are not serialized and it
+ * can be used by several threads concurrently.
+ */
+public class GlobalCacheBudget {
+
+	private final long maximumSizeInBytes;
+
+	private final Map<MediumCache, Long> cachedBytesPerCache = new IdentityHashMap<>();
+
+	private final TreeMap<CacheEntry, MediumCache> cachedEntriesInAccessOrder = new TreeMap<>(
+		CacheEntry.ACCESS_ORDER);
+
+	private final Map<Medium<?>, Long> evictionCountPerMedium = new LinkedHashMap<>();
+
+	private long currentSizeInBytes;
+
+	private long evictionCount;
+
+	/**
+	 * Creates a new {@link GlobalCacheBudget}.
+	 * 
+	 * @param maximumSizeInBytes The maximum total size of all {@link MediumCache}s
+	 *                           sharing this {@link GlobalCacheBudget}, must be
+	 *                           bigger than zero
+	 */
+	public GlobalCacheBudget(long maximumSizeInBytes) {
+		Reject.ifNegativeOrZero(maximumSizeInBytes, "maximumSizeInBytes");
+
+		this.maximumSizeInBytes = maximumSizeInBytes;
+	}
+
+	/**
+	 * Returns the number of bytes currently cached per {@link Medium}, for all
+	 * non-empty {@link MediumCache}s sharing this {@link GlobalCacheBudget}.
+	 * 
+	 * @return the number of bytes currently cached per {@link Medium}
+	 */
+	public synchronized Map<Medium<?>, Long> getCachedBytesPerMedium() {
+		Map<Medium<?>, Long> cachedBytesPerMedium = new LinkedHashMap<>();
+
+		cachedBytesPerCache
+			.forEach((cache, cachedBytes) -> cachedBytesPerMedium.merge(cache.getMedium(), cachedBytes, Long::sum));
+
+		return cachedBytesPerMedium;
+	}
+
+	/**
+	 * @return the total number of bytes currently cached by all
+	 *         {@link MediumCache}s sharing this {@link GlobalCacheBudget}
+	 */
+	public synchronized long getCurrentSizeInBytes() {
+		return currentSizeInBytes;
+	}
+
+	/**
+	 * @return the number of regions evicted so far by this
+	 *         {@link GlobalCacheBudget} to keep its maximum size, see
+	 *         {@link MediumCache#getEvictionCount()} for evictions per
+	 *         {@link MediumCache}
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Returns the number of regions evicted so far per {@link Medium}, for all
+	 * {@link MediumCache}s that cached regions while sharing this
+	 * {@link GlobalCacheBudget} and were not cleared since. It includes evictions
+	 * to keep the maximum size of the {@link MediumCache} itself, see
+	 * {@link MediumCache#getEvictionCount()}.
+	 * 
+	 * @return the number of regions evicted so far per {@link Medium}
+	 */
+	public synchronized Map<Medium<?>, Long> getEvictionCountPerMedium() {
+		return new LinkedHashMap<>(evictionCountPerMedium);
+	}
+
+	/**
+	 * @return the maximum total size of all {@link MediumCache}s sharing this
+	 *         {@link GlobalCacheBudget}
+	 */
+	public long getMaximumSizeInBytes() {
+		return maximumSizeInBytes;
+	}
+
+	/**
+	 * Adds the given {@link CacheEntry} to the order of last access. Its stamp of
+	 * last access must not change until it is removed again.
+	 * 
+	 * @param entry The {@link CacheEntry} added or accessed
+	 * @param cache The {@link MediumCache} containing the entry
+	 */
+	synchronized void addToAccessOrder(CacheEntry entry, MediumCache cache) {
+		cachedEntriesInAccessOrder.put(entry, cache);
+	}
+
+	/**
+	 * Evicts the globally least recently used regions until the total size is not
+	 * bigger than the maximum size anymore. Must not be called while holding the
+	 * lock of any {@link MediumCache}.
+	 */
+	void enforceMaximumSize() {
+		while (true) {
+			Map.Entry<CacheEntry, MediumCache> leastRecentlyUsed;
+
+			synchronized (this) {
+				if (currentSizeInBytes <= maximumSizeInBytes || cachedEntriesInAccessOrder.isEmpty()) {
+					return;
+				}
+
+				leastRecentlyUsed = cachedEntriesInAccessOrder.firstEntry();
+			}
+
+			// If the entry was accessed or removed in between, the next iteration selects
+			// the then least recently used one
+			if (leastRecentlyUsed.getValue().evictIfLeastRecentlyUsed(leastRecentlyUsed.getKey())) {
+				synchronized (this) {
+					evictionCount++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts an eviction of a region of the given {@link Medium}, regardless of
+	 * whether it was evicted to keep the maximum size of its {@link MediumCache} or
+	 * of this {@link GlobalCacheBudget}.
+	 * 
+	 * @param medium The {@link Medium} of the evicted region
+	 */
+	synchronized void recordEviction(Medium<?> medium) {
+		evictionCountPerMedium.merge(medium, 1L, Long::sum);
+	}
+
+	/**
+	 * Unregisters the given {@link MediumCache} after it was cleared, and forgets
+	 * the number of evictions of its {@link Medium} unless another registered
+	 * {@link MediumCache} still caches regions of the same {@link Medium}.
+	 * 
+	 * @param cache        The cleared {@link MediumCache}
+	 * @param clearedBytes The number of bytes the {@link MediumCache} contained
+	 *                     before clearing it
+	 */
+	synchronized void removeCache(MediumCache cache, long clearedBytes) {
+		updateCachedBytes(cache, -clearedBytes);
+
+		cachedBytesPerCache.remove(cache);
+
+		Medium<?> medium = cache.getMedium();
+
+		if (cachedBytesPerCache.keySet().stream().noneMatch(otherCache -> otherCache.getMedium().equals(medium))) {
+			evictionCountPerMedium.remove(medium);
+		}
+	}
+
+	/**
+	 * Removes the given {@link CacheEntry}s from the order of last access.
+	 * 
+	 * @param entries The {@link CacheEntry}s removed from their {@link MediumCache}
+	 *                or accessed
+	 */
+	synchronized void removeFromAccessOrder(Collection<CacheEntry> entries) {
+		entries.forEach(cachedEntriesInAccessOrder::remove);
+	}
+
+	/**
+	 * Updates the total size after the size of the given {@link MediumCache}
+	 * changed. The {@link MediumCache} is registered if it is not empty, and
+	 * unregistered otherwise.
+	 * 
+	 * @param cache        The {@link MediumCache} whose size changed
+	 * @param deltaInBytes The number of bytes added (positive) or removed
+	 *                     (negative)
+	 */
+	synchronized void updateCachedBytes(MediumCache cache, long deltaInBytes) {
+		currentSizeInBytes += deltaInBytes;
+
+		long cachedBytes = cachedBytesPerCache.getOrDefault(cache, 0L) + deltaInBytes;
+
+		if (cachedBytes > 0) {
+			cachedBytesPerCache.put(cache, cachedBytes);
+			evictionCountPerMedium.putIfAbsent(cache.getMedium(), 0L);
+		} else {
+			cachedBytesPerCache.remove(cache);
+		}
+	}
+}
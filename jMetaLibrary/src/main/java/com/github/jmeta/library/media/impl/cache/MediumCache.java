@@ -1,14 +1,17 @@
 package com.github.jmeta.library.media.impl.cache;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +21,8 @@ import com.github.jmeta.library.media.api.types.MediumOffset;
 import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.library.media.api.types.MediumRegion.MediumRegionClipResult;
 import com.github.jmeta.library.media.api.types.MediumRegion.MediumRegionOverlapType;
+import com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
 import com.github.jmeta.library.startup.impl.StandardLibraryJMeta;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
@@ -37,9 +42,90 @@ import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
  * <li>The maximum cache size is never exceeded</li>
  * <li>The maximum size of a cache region is never exceeded by any region</li>
  * </ul>
+ *
+ * Cached {@link MediumRegion}s are kept in a {@link TreeMap} ordered by their
+ * start offset, such that looking up the regions in a range is logarithmic in
+ * the number of cached regions. In addition, all cached regions are linked in
+ * the order of their last access, which is used for evicting the least recently
+ * used regions first. The current cache size is maintained as a running total,
+ * i.e. it is never recalculated.
+ *
+ * {@link MediumRegion}s whose bytes were allocated by the
+ * {@link ByteBufferAllocator} of this {@link MediumCache} can be added with
+ * {@link #addRegion(MediumRegion, ByteBuffer)}. Each cached region holds a
+ * reference to the allocated {@link ByteBuffer}, which is released as soon as
+ * the region is removed from the cache, e.g. when it is evicted. The
+ * {@link MediumRegion}s returned by {@link #getRegionsInRange(MediumOffset, int)}
+ * and {@link #getAllCachedRegions()} are read-only views on these bytes, no
+ * bytes are copied. Each region returned retains its allocated
+ * {@link ByteBuffer}, which therefore is not recycled before the caller passes
+ * the returned regions to {@link #releaseRegions(List)}, even if the region is
+ * evicted meanwhile. Callers must not use the bytes of released regions
+ * anymore, and must copy them before handing them out to code not taking part
+ * in reference counting, see {@link #isRetained(MediumRegion)}. An allocated
+ * {@link ByteBuffer} counts with its whole capacity against the maximum cache
+ * size, as long as at least one cached region stores its bytes in it.
+ *
+ * A {@link MediumCache} might share a {@link GlobalCacheBudget} with other
+ * {@link MediumCache}s, which limits the total size of all of them. In this
+ * case, adding a region to one {@link MediumCache} might evict the least
+ * recently used regions of any other {@link MediumCache} sharing the
+ * {@link GlobalCacheBudget}. Each {@link MediumCache} nevertheless synchronizes
+ * its public methods on its own lock only, and it evicts regions for the
+ * {@link GlobalCacheBudget} after releasing it. The lock of the
+ * {@link GlobalCacheBudget} is only acquired while holding the lock of a
+ * {@link MediumCache}, never vice versa.
  */
 public class MediumCache {
 
+	/**
+	 * Represents a single cached {@link MediumRegion}, being an element of a
+	 * doubly-linked list ordered by last access.
+	 */
+	static class CacheEntry {
+
+		/**
+		 * Orders {@link CacheEntry}s of any {@link MediumCache} by their last access,
+		 * least recently used first
+		 */
+		static final Comparator<CacheEntry> ACCESS_ORDER = Comparator
+			.<CacheEntry>comparingLong(entry -> entry.lastAccessStamp)
+			.thenComparingLong(entry -> entry.serialNumber);
+
+		private static final AtomicLong NEXT_SERIAL_NUMBER = new AtomicLong();
+
+		private final MediumRegion region;
+
+		private final ByteBuffer allocatedBuffer;
+
+		private final long serialNumber = NEXT_SERIAL_NUMBER.getAndIncrement();
+
+		private long lastAccessStamp;
+
+		private CacheEntry lessRecentlyUsed;
+
+		private CacheEntry moreRecentlyUsed;
+
+		/**
+		 * Creates a new {@link CacheEntry}.
+		 * 
+		 * @param region          The cached {@link MediumRegion}
+		 * @param allocatedBuffer The tracked {@link ByteBuffer} allocated by the
+		 *                        {@link ByteBufferAllocator} the bytes of the region
+		 *                        are stored in, or null if they are not tracked
+		 */
+		public CacheEntry(MediumRegion region, ByteBuffer allocatedBuffer) {
+			this.region = region;
+			this.allocatedBuffer = allocatedBuffer;
+		}
+	}
+
+	/**
+	 * Counts accesses to the regions of all {@link MediumCache}s, such that their
+	 * order of last access can be compared across {@link MediumCache}s
+	 */
+	private static final AtomicLong ACCESS_CLOCK = new AtomicLong();
+
 	/**
 	 * The default maximum cache size can be interpreted as virtually unlimited size
 	 */
@@ -58,9 +144,27 @@ public class MediumCache {
 
 	private final Medium<?> medium;
 
-	private final TreeMap<MediumOffset, MediumRegion> cachedRegionsInOffsetOrder = new TreeMap<>(
+	private final ByteBufferAllocator byteBufferAllocator;
+
+	private final TreeMap<MediumOffset, CacheEntry> cachedRegionsInOffsetOrder = new TreeMap<>(
 		MediumCache.OFFSET_ORDER_ASCENDING_COMPARATOR);
-	private final List<MediumRegion> cachedRegionsInInsertOrder = new LinkedList<>();
+
+	private CacheEntry leastRecentlyUsedEntry;
+	private CacheEntry mostRecentlyUsedEntry;
+
+	private long currentCacheSizeInBytes;
+
+	private final Map<ByteBuffer, Integer> entryCountsPerAllocatedBuffer = new IdentityHashMap<>();
+
+	private final Map<MediumRegion, ByteBuffer> allocatedBuffersOfRegionsHandedOut = new IdentityHashMap<>();
+
+	private long evictionCount;
+
+	private Consumer<MediumRegion> evictionListener;
+
+	private final GlobalCacheBudget globalCacheBudget;
+
+	private final Object lock = new Object();
 
 	/**
 	 * This constructor initializes the cache with {@link #UNLIMITED_CACHE_SIZE} as
@@ -89,8 +193,55 @@ public class MediumCache {
 	 *                                      other parameter.
 	 */
 	public MediumCache(Medium<?> medium, long maximumCacheSizeInBytes, int maximumCacheRegionSizeInBytes) {
+		this(medium, maximumCacheSizeInBytes, maximumCacheRegionSizeInBytes, new HeapByteBufferAllocator());
+	}
+
+	/**
+	 * Creates a new {@link MediumCache} instance with the given maximum cache size
+	 * and maximum cache region size, releasing the bytes of removed regions to the
+	 * given {@link ByteBufferAllocator}.
+	 * 
+	 * @param medium                        see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param maximumCacheSizeInBytes       see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param maximumCacheRegionSizeInBytes see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param byteBufferAllocator           The {@link ByteBufferAllocator} the
+	 *                                      bytes of regions added with
+	 *                                      {@link #addRegion(MediumRegion, ByteBuffer)}
+	 *                                      were allocated by
+	 */
+	public MediumCache(Medium<?> medium, long maximumCacheSizeInBytes, int maximumCacheRegionSizeInBytes,
+		ByteBufferAllocator byteBufferAllocator) {
+		this(medium, maximumCacheSizeInBytes, maximumCacheRegionSizeInBytes, byteBufferAllocator, null);
+	}
+
+	/**
+	 * Creates a new {@link MediumCache} instance with the given maximum cache size
+	 * and maximum cache region size, sharing the given {@link GlobalCacheBudget}
+	 * with other {@link MediumCache}s. The maximum cache size of this
+	 * {@link MediumCache} remains an upper bound of its size, even if the
+	 * {@link GlobalCacheBudget} is not exhausted.
+	 * 
+	 * @param medium                        see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param maximumCacheSizeInBytes       see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param maximumCacheRegionSizeInBytes see
+	 *                                      {@link #MediumCache(Medium, long, int)}
+	 * @param byteBufferAllocator           see
+	 *                                      {@link #MediumCache(Medium, long, int, ByteBufferAllocator)}
+	 * @param globalCacheBudget             The {@link GlobalCacheBudget} to share
+	 *                                      or null to only limit this
+	 *                                      {@link MediumCache} by its own maximum
+	 *                                      cache size
+	 */
+	public MediumCache(Medium<?> medium, long maximumCacheSizeInBytes, int maximumCacheRegionSizeInBytes,
+		ByteBufferAllocator byteBufferAllocator, GlobalCacheBudget globalCacheBudget) {
 
 		Reject.ifNull(medium, "medium");
+		Reject.ifNull(byteBufferAllocator, "byteBufferAllocator");
 
 		Reject.ifFalse(maximumCacheSizeInBytes >= maximumCacheRegionSizeInBytes,
 			"maximumCacheSizeInBytes >= maximumCacheRegionSizeInBytes");
@@ -98,6 +249,8 @@ public class MediumCache {
 		this.medium = medium;
 		this.maximumCacheSizeInBytes = maximumCacheSizeInBytes;
 		this.maximumCacheRegionSizeInBytes = maximumCacheRegionSizeInBytes;
+		this.byteBufferAllocator = byteBufferAllocator;
+		this.globalCacheBudget = globalCacheBudget;
 	}
 
 	/**
@@ -109,10 +262,13 @@ public class MediumCache {
 	 * regions and the new data replaces existing old data in the cache. If the
 	 * cache size would grow beyond the configured
 	 * {@link #getMaximumCacheSizeInBytes()}, previously added {@link MediumRegion}s
-	 * are automatically removed from the cache according to a FIFO approach: The
-	 * {@link MediumRegion}s added first to the {@link MediumCache} are removed
-	 * first, until the cache is again smaller than the maximum cache size,
-	 * including the new {@link MediumRegion}. If the new region by itself is
+	 * are automatically removed from the cache according to a LRU approach: The
+	 * {@link MediumRegion}s least recently added or returned by
+	 * {@link #getRegionsInRange(MediumOffset, int)} are removed first, until the
+	 * cache is again smaller than the maximum cache size, including the new
+	 * {@link MediumRegion}. Parts of existing {@link MediumRegion}s remaining after
+	 * clipping keep the recency of the original region. If the new region by itself
+	 * is
 	 * already bigger than the configured {@link #getMaximumCacheSizeInBytes()}, it
 	 * is split such that each resulting {@link MediumRegion} is smaller than
 	 * {@link #getMaximumCacheRegionSizeInBytes()}, and only those
@@ -126,67 +282,130 @@ public class MediumCache {
 	 *                    {@link #getMedium()}.
 	 */
 	public void addRegion(MediumRegion regionToAdd) {
-		Reject.ifNull(regionToAdd, "regionToAdd");
-		Reject.ifNull(regionToAdd.getBytes(), "regionToAdd.getBytes()");
-		Reject.ifFalse(regionToAdd.getStartOffset().getMedium().equals(getMedium()),
-			"region.getStartReference().getMedium().equals(getMedium())");
+		addRegion(regionToAdd, null);
+	}
 
-		logDebugMessage(() -> "Adding region to cache: " + regionToAdd);
+	/**
+	 * Adds a region of fresh data to this {@link MediumCache}, like
+	 * {@link #addRegion(MediumRegion)}, whose bytes were allocated by the
+	 * {@link ByteBufferAllocator} of this {@link MediumCache}. The caller's
+	 * reference to the allocated {@link ByteBuffer} is taken over by this
+	 * {@link MediumCache}, i.e. the caller must not use the {@link ByteBuffer} or
+	 * the given region anymore afterwards.
+	 * 
+	 * @param regionToAdd     see {@link #addRegion(MediumRegion)}
+	 * @param allocatedBuffer The {@link ByteBuffer} allocated by the
+	 *                        {@link ByteBufferAllocator} the bytes of the region
+	 *                        are stored in, or null if they are not tracked
+	 */
+	public void addRegion(MediumRegion regionToAdd, ByteBuffer allocatedBuffer) {
+		synchronized (lock) {
+			Reject.ifNull(regionToAdd, "regionToAdd");
+			Reject.ifNull(regionToAdd.getBytes(), "regionToAdd.getBytes()");
+			Reject.ifFalse(regionToAdd.getStartOffset().getMedium().equals(getMedium()),
+				"region.getStartReference().getMedium().equals(getMedium())");
+
+			logDebugMessage(() -> "Adding region to cache: " + regionToAdd);
+
+			// First we existing regions overlapped by the new region
+			List<MediumRegion> regionsInRange = determineRegionsInRange(regionToAdd.getStartOffset(),
+				regionToAdd.getSize());
+
+			regionsInRange.stream().filter(regionInRange -> regionInRange.isCached())
+				.forEach(existingRegion -> clipExistingRegionAgainstRegionToAdd(existingRegion, regionToAdd));
+
+			// Then we ensure the new region is divided into subregions with max region
+			// size, if necessary
+			// and we add all divided subregions into the cache
+			List<MediumRegion> regionsToAdd = MediumRangeChunkAction.performActionOnChunksInRange(MediumRegion.class,
+				regionToAdd.getStartOffset(), regionToAdd.getSize(), getMaximumCacheRegionSizeInBytes(),
+				(chunkStartReference, chunkSize) -> splitRegionExceedingMaxCacheRegionSize(regionToAdd,
+					chunkStartReference, chunkSize));
+
+			regionsToAdd.stream().forEach(
+				region -> addRegionToCache(region, null, allocatedBuffer, ACCESS_CLOCK.incrementAndGet()));
+
+			if (allocatedBuffer != null) {
+				byteBufferAllocator.release(allocatedBuffer);
+			}
 
-		// First we existing regions overlapped by the new region
-		List<MediumRegion> regionsInRange = getRegionsInRange(regionToAdd.getStartOffset(), regionToAdd.getSize());
+			// Finally, we check if the maximum cache size is exceeded and remove the least
+			// recently used regions first to ensure the size decreases below; even the
+			// first parts of the new region are removed, if necessary
+			while (leastRecentlyUsedEntry != null && currentCacheSizeInBytes > getMaximumCacheSizeInBytes()) {
+				evictEntry(leastRecentlyUsedEntry);
+			}
+		}
 
-		regionsInRange.stream().filter(regionInRange -> regionInRange.isCached())
-			.forEach(existingRegion -> clipExistingRegionAgainstRegionToAdd(existingRegion, regionToAdd));
+		// Evicting regions of other caches must happen without holding the lock of
+		// this cache, as they might evict regions of this cache concurrently
+		if (globalCacheBudget != null) {
+			globalCacheBudget.enforceMaximumSize();
+		}
+	}
 
-		// Then we ensure the new region is divided into subregions with max region
-		// size, if necessary
-		// and we add all divided subregions into the cache
-		List<MediumRegion> regionsToAdd = MediumRangeChunkAction.performActionOnChunksInRange(MediumRegion.class,
-			regionToAdd.getStartOffset(), regionToAdd.getSize(), getMaximumCacheRegionSizeInBytes(),
-			(chunkStartReference, chunkSize) -> splitRegionExceedingMaxCacheRegionSize(regionToAdd, chunkStartReference,
-				chunkSize));
+	/**
+	 * Adds the given region to the internal data structures representing the cache.
+	 * 
+	 * @param region                   The {@link MediumRegion} to add.
+	 * @param moreRecentlyUsedNeighbor The {@link CacheEntry} the new region is
+	 *                                 linked directly in front of in the order of
+	 *                                 last access, i.e. it gets the same recency, or
+	 *                                 null to make the new region the most recently
+	 *                                 used one
+	 * @param allocatedBuffer          The {@link ByteBuffer} allocated by the
+	 *                                 {@link ByteBufferAllocator} the bytes of the
+	 *                                 region are stored in, or null if they are not
+	 *                                 tracked. It is retained for the new region.
+	 * @param lastAccessStamp          The stamp of the last access of the new
+	 *                                 region, must be consistent with the given
+	 *                                 neighbor
+	 */
+	private void addRegionToCache(MediumRegion region, CacheEntry moreRecentlyUsedNeighbor,
+		ByteBuffer allocatedBuffer, long lastAccessStamp) {
+		ByteBuffer trackedBuffer = allocatedBuffer != null && byteBufferAllocator.isTracked(allocatedBuffer)
+			? allocatedBuffer
+			: null;
 
-		regionsToAdd.stream().forEach(this::addRegionToCache);
+		CacheEntry newEntry = new CacheEntry(region, trackedBuffer);
 
-		// Finally, we check if the maximum cache size is exceeded and remove any
-		// existing regions first to ensure the
-		// size decreases below; even the first parts of the new region are removed, if
-		// necessary
-		long newCacheSize = calculateCurrentCacheSizeInBytes();
+		newEntry.lastAccessStamp = lastAccessStamp;
 
-		List<MediumRegion> regionsToRemove = new ArrayList<>();
+		if (trackedBuffer != null) {
+			byteBufferAllocator.retain(trackedBuffer);
+		}
 
-		Iterator<MediumRegion> cachedRegionsInInsertOrderIterator = cachedRegionsInInsertOrder.iterator();
+		cachedRegionsInOffsetOrder.put(region.getStartOffset(), newEntry);
 
-		while (cachedRegionsInInsertOrderIterator.hasNext() && (newCacheSize > getMaximumCacheSizeInBytes())) {
-			MediumRegion nextRegion = cachedRegionsInInsertOrderIterator.next();
+		if (moreRecentlyUsedNeighbor == null) {
+			newEntry.lessRecentlyUsed = mostRecentlyUsedEntry;
+		} else {
+			newEntry.lessRecentlyUsed = moreRecentlyUsedNeighbor.lessRecentlyUsed;
+			newEntry.moreRecentlyUsed = moreRecentlyUsedNeighbor;
+		}
 
-			regionsToRemove.add(nextRegion);
+		linkEntry(newEntry);
 
-			newCacheSize -= nextRegion.getSize();
-		}
+		long addedBytes = countEntryBytes(newEntry, true);
 
-		regionsToRemove.stream().forEach(this::removeRegionFromCache);
-	}
+		currentCacheSizeInBytes += addedBytes;
 
-	/**
-	 * Adds the given region to the internal data structures representing the cache.
-	 * 
-	 * @param region The {@link MediumRegion} to add.
-	 */
-	private void addRegionToCache(MediumRegion region) {
-		cachedRegionsInInsertOrder.add(region);
-		cachedRegionsInOffsetOrder.put(region.getStartOffset(), region);
+		if (globalCacheBudget != null) {
+			globalCacheBudget.updateCachedBytes(this, addedBytes);
+			globalCacheBudget.addToAccessOrder(newEntry, this);
+		}
 	}
 
 	/**
-	 * Calculates the current cache size in bytes.
+	 * Returns the current cache size in bytes. It is maintained as a running total
+	 * and therefore not recalculated on each call.
 	 * 
 	 * @return the current cache size in bytes
 	 */
 	public long calculateCurrentCacheSizeInBytes() {
-		return cachedRegionsInInsertOrder.stream().collect(Collectors.summingLong(region -> region.getSize()));
+		synchronized (lock) {
+			return currentCacheSizeInBytes;
+		}
 	}
 
 	/**
@@ -194,8 +413,68 @@ public class MediumCache {
 	 * {@link MediumCache} instance, effectively emptying the cache.
 	 */
 	public void clear() {
-		cachedRegionsInInsertOrder.clear();
-		cachedRegionsInOffsetOrder.clear();
+		synchronized (lock) {
+			cachedRegionsInOffsetOrder.values().stream().filter(entry -> entry.allocatedBuffer != null)
+				.forEach(entry -> byteBufferAllocator.release(entry.allocatedBuffer));
+
+			if (globalCacheBudget != null) {
+				globalCacheBudget.removeFromAccessOrder(cachedRegionsInOffsetOrder.values());
+			}
+
+			long clearedBytes = currentCacheSizeInBytes;
+
+			cachedRegionsInOffsetOrder.clear();
+			entryCountsPerAllocatedBuffer.clear();
+			leastRecentlyUsedEntry = null;
+			mostRecentlyUsedEntry = null;
+			currentCacheSizeInBytes = 0;
+
+			if (globalCacheBudget != null) {
+				globalCacheBudget.removeCache(this, clearedBytes);
+			}
+		}
+	}
+
+	/**
+	 * Evicts the given {@link CacheEntry} to keep the maximum size of the
+	 * {@link GlobalCacheBudget}, if it is still the least recently used one of this
+	 * {@link MediumCache}. Otherwise, it was accessed or removed concurrently since
+	 * the {@link GlobalCacheBudget} selected it, and it is kept.
+	 * 
+	 * @param entry The {@link CacheEntry} to evict
+	 * @return true if the entry was evicted, false otherwise
+	 */
+	boolean evictIfLeastRecentlyUsed(CacheEntry entry) {
+		synchronized (lock) {
+			if (entry != leastRecentlyUsedEntry) {
+				return false;
+			}
+
+			evictEntry(entry);
+
+			return true;
+		}
+	}
+
+	/**
+	 * Evicts the given {@link CacheEntry} from this {@link MediumCache}.
+	 * 
+	 * @param entryToEvict The {@link CacheEntry} to evict
+	 */
+	private void evictEntry(CacheEntry entryToEvict) {
+		logDebugMessage(() -> "Evicting least recently used region from cache: " + entryToEvict.region);
+
+		if (evictionListener != null) {
+			evictionListener.accept(entryToEvict.region);
+		}
+
+		removeEntryFromCache(entryToEvict);
+
+		evictionCount++;
+
+		if (globalCacheBudget != null) {
+			globalCacheBudget.recordEviction(getMedium());
+		}
 	}
 
 	/**
@@ -216,7 +495,19 @@ public class MediumCache {
 		} else if ((overlapType == MediumRegionOverlapType.RIGHT_FULLY_INSIDE_LEFT)
 			|| (overlapType == MediumRegionOverlapType.LEFT_OVERLAPS_RIGHT_AT_FRONT)
 			|| (overlapType == MediumRegionOverlapType.LEFT_OVERLAPS_RIGHT_AT_BACK)) {
-			removeRegionFromCache(leftExistingRegion);
+			// The remaining parts are linked in front of the existing region before it is
+			// removed, to keep its recency
+			CacheEntry existingEntry = cachedRegionsInOffsetOrder.get(leftExistingRegion.getStartOffset());
+
+			// The remaining parts share the allocated bytes, which therefore must not be
+			// recycled in between
+			ByteBuffer allocatedBuffer = existingEntry.allocatedBuffer;
+
+			if (allocatedBuffer != null) {
+				byteBufferAllocator.retain(allocatedBuffer);
+			}
+
+			removeEntryFromCache(existingEntry);
 
 			MediumRegionClipResult clipResult = MediumRegion.clipOverlappingRegions(leftExistingRegion,
 				rightRegionToAdd);
@@ -225,14 +516,20 @@ public class MediumCache {
 				.getNonOverlappedPartOfLeftRegionAtFront();
 
 			if (nonOverlappingPartOfSmallerOffsetRegionAtFront != null) {
-				addRegionToCache(nonOverlappingPartOfSmallerOffsetRegionAtFront);
+				addRegionToCache(nonOverlappingPartOfSmallerOffsetRegionAtFront, existingEntry.moreRecentlyUsed,
+					allocatedBuffer, existingEntry.lastAccessStamp);
 			}
 
 			MediumRegion nonOverlappingPartOfHigherOffsetRegionAtBack = clipResult
 				.getNonOverlappedPartOfLeftRegionAtBack();
 
 			if (nonOverlappingPartOfHigherOffsetRegionAtBack != null) {
-				addRegionToCache(nonOverlappingPartOfHigherOffsetRegionAtBack);
+				addRegionToCache(nonOverlappingPartOfHigherOffsetRegionAtBack, existingEntry.moreRecentlyUsed,
+					allocatedBuffer, existingEntry.lastAccessStamp);
+			}
+
+			if (allocatedBuffer != null) {
+				byteBufferAllocator.release(allocatedBuffer);
 			}
 		} else if (overlapType == MediumRegionOverlapType.NO_OVERLAP) {
 			throw new JMetaIllegalStateException("Both regions to clip must overlap", null);
@@ -240,12 +537,22 @@ public class MediumCache {
 	}
 
 	/**
+	 * Returns all cached {@link MediumRegion}s. The returned regions retain the
+	 * {@link ByteBuffer}s their bytes are allocated in, they must be passed to
+	 * {@link #releaseRegions(List)} when their bytes are not used anymore.
+	 * 
 	 * @return all {@link MediumRegion}s currently maintained in this
 	 *         {@link MediumCache}, ordered by their {@link MediumOffset} ascending.
 	 *         If there are none currently, returns an empty {@link List}.
 	 */
 	public List<MediumRegion> getAllCachedRegions() {
-		return new ArrayList<>(cachedRegionsInOffsetOrder.values());
+		synchronized (lock) {
+			List<MediumRegion> allCachedRegions = new ArrayList<>(cachedRegionsInOffsetOrder.size());
+
+			cachedRegionsInOffsetOrder.values().forEach(entry -> allCachedRegions.add(retainIfAllocated(entry)));
+
+			return allCachedRegions;
+		}
 	}
 
 	/**
@@ -261,43 +568,42 @@ public class MediumCache {
 	 *         {@link MediumOffset}. For details see the method description above.
 	 */
 	public long getCachedByteCountAt(MediumOffset startReference) {
+		synchronized (lock) {
+			Reject.ifNull(startReference, "startReference");
+			Reject.ifFalse(startReference.getMedium().equals(getMedium()),
+				"startReference.getMedium().equals(getMedium())");
 
-		Reject.ifNull(startReference, "startReference");
-		Reject.ifFalse(startReference.getMedium().equals(getMedium()),
-			"startReference.getMedium().equals(getMedium())");
-
-		long totalCachedByteCount = 0L;
+			long totalCachedByteCount = 0L;
 
-		MediumOffset previousOrEqualReference = cachedRegionsInOffsetOrder.floorKey(startReference);
+			MediumOffset previousOrEqualReference = cachedRegionsInOffsetOrder.floorKey(startReference);
 
-		if (previousOrEqualReference != null) {
-			MediumRegion previousRegion = cachedRegionsInOffsetOrder.get(previousOrEqualReference);
+			if (previousOrEqualReference != null) {
+				MediumRegion previousRegion = cachedRegionsInOffsetOrder.get(previousOrEqualReference).region;
 
-			if (previousRegion.contains(startReference)) {
-				totalCachedByteCount += previousRegion.getSize()
-					- startReference.distanceTo(previousRegion.getStartOffset());
+				if (previousRegion.contains(startReference)) {
+					totalCachedByteCount += previousRegion.getSize()
+						- startReference.distanceTo(previousRegion.getStartOffset());
 
-				Map<MediumOffset, MediumRegion> tailRegions = cachedRegionsInOffsetOrder.tailMap(startReference, false);
+					Map<MediumOffset, CacheEntry> tailRegions = cachedRegionsInOffsetOrder.tailMap(startReference, false);
 
-				for (Iterator<MediumOffset> iterator = tailRegions.keySet().iterator(); iterator.hasNext();) {
-					MediumOffset nextReference = iterator.next();
+					for (Iterator<CacheEntry> iterator = tailRegions.values().iterator(); iterator.hasNext();) {
+						MediumRegion nextRegion = iterator.next().region;
 
-					MediumRegion nextRegion = tailRegions.get(nextReference);
+						// Consecutive region
+						if (nextRegion.getStartOffset().getAbsoluteMediumOffset() == previousRegion
+							.calculateEndOffsetAsLong()) {
+							totalCachedByteCount += nextRegion.getSize();
+						} else {
+							break;
+						}
 
-					// Consecutive region
-					if (nextRegion.getStartOffset().getAbsoluteMediumOffset() == previousRegion
-						.calculateEndOffsetAsLong()) {
-						totalCachedByteCount += nextRegion.getSize();
-					} else {
-						break;
+						previousRegion = nextRegion;
 					}
-
-					previousRegion = nextRegion;
 				}
 			}
-		}
 
-		return totalCachedByteCount;
+			return totalCachedByteCount;
+		}
 	}
 
 	/**
@@ -326,6 +632,29 @@ public class MediumCache {
 		return gapRegions;
 	}
 
+	/**
+	 * Returns the number of {@link MediumRegion}s evicted from this
+	 * {@link MediumCache} so far to keep its maximum cache size or the maximum
+	 * size of its {@link GlobalCacheBudget}. Regions removed by
+	 * {@link #removeRegionsInRange(MediumOffset, int)}, {@link #clear()} or by
+	 * adding overlapping regions are not counted.
+	 * 
+	 * @return the number of {@link MediumRegion}s evicted so far
+	 */
+	public long getEvictionCount() {
+		synchronized (lock) {
+			return evictionCount;
+		}
+	}
+
+	/**
+	 * @return The {@link GlobalCacheBudget} shared by this {@link MediumCache} or
+	 *         null if there is none
+	 */
+	public GlobalCacheBudget getGlobalCacheBudget() {
+		return globalCacheBudget;
+	}
+
 	/**
 	 * @return the maximum cache region size in bytes
 	 */
@@ -347,6 +676,14 @@ public class MediumCache {
 		return medium;
 	}
 
+	/**
+	 * @return The {@link ByteBufferAllocator} the bytes of regions added with
+	 *         {@link #addRegion(MediumRegion, ByteBuffer)} are allocated by
+	 */
+	public ByteBufferAllocator getByteBufferAllocator() {
+		return byteBufferAllocator;
+	}
+
 	/**
 	 * Returns {@link MediumRegion}s covering the whole range specified as input
 	 * parameters. This includes {@link MediumRegion}s actually contained in the
@@ -380,19 +717,96 @@ public class MediumCache {
 	 * second cached {@link MediumRegion}.</li>
 	 * </ul>
 	 * 
+	 * All cached {@link MediumRegion}s returned are marked as most recently used.
+	 * They retain the {@link ByteBuffer}s their bytes are allocated in, i.e. the
+	 * returned list must be passed to {@link #releaseRegions(List)} when their
+	 * bytes are not used anymore.
+	 * 
 	 * @param offset           The starting {@link MediumOffset} of the range. Must
 	 *                         refer to the same {@link Medium} as returned by
 	 *                         {@link #getMedium()}.
 	 * @param rangeSizeInBytes The size of the range in bytes. Must not be negative
 	 *                         and must not be zero.
+	 * 
 	 * @return {@link MediumRegion}s covering the whole range specified as input
 	 *         parameters. For details see the method description above.
 	 */
 	public List<MediumRegion> getRegionsInRange(MediumOffset offset, int rangeSizeInBytes) {
+		synchronized (lock) {
+			Reject.ifNull(offset, "offset");
+			Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+			Reject.ifTrue(rangeSizeInBytes <= 0, "The range size must be strictly bigger than zero");
+
+			List<MediumRegion> regionsInRange = determineRegionsInRange(offset, rangeSizeInBytes);
+
+			for (int i = 0; i < regionsInRange.size(); i++) {
+				MediumRegion regionInRange = regionsInRange.get(i);
+
+				if (regionInRange.isCached()) {
+					CacheEntry entry = cachedRegionsInOffsetOrder.get(regionInRange.getStartOffset());
+
+					markAsMostRecentlyUsed(entry);
+					regionsInRange.set(i, retainIfAllocated(entry));
+				}
+			}
+
+			return regionsInRange;
+		}
+	}
 
-		Reject.ifNull(offset, "offset");
-		Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
-		Reject.ifTrue(rangeSizeInBytes <= 0, "The range size must be strictly bigger than zero");
+	/**
+	 * Tells whether the given {@link MediumRegion} returned by this
+	 * {@link MediumCache} retains a {@link ByteBuffer} that is recycled after
+	 * {@link #releaseRegions(List)}, i.e. whether its bytes must be copied if they
+	 * are used afterwards.
+	 * 
+	 * @param region A {@link MediumRegion} returned by
+	 *               {@link #getRegionsInRange(MediumOffset, int)} or
+	 *               {@link #getAllCachedRegions()}, must not be null
+	 * @return true if the region retains a recycled {@link ByteBuffer} and is not
+	 *         released yet, false otherwise
+	 */
+	public boolean isRetained(MediumRegion region) {
+		Reject.ifNull(region, "region");
+
+		synchronized (lock) {
+			return allocatedBuffersOfRegionsHandedOut.containsKey(region);
+		}
+	}
+
+	/**
+	 * Releases the {@link ByteBuffer}s retained by the given {@link MediumRegion}s
+	 * returned by {@link #getRegionsInRange(MediumOffset, int)} or
+	 * {@link #getAllCachedRegions()}. Their bytes must not be used anymore
+	 * afterwards. Regions not retaining any {@link ByteBuffer} or released before
+	 * are ignored.
+	 * 
+	 * @param regions The {@link MediumRegion}s to release, must not be null
+	 */
+	public void releaseRegions(List<MediumRegion> regions) {
+		Reject.ifNull(regions, "regions");
+
+		synchronized (lock) {
+			for (MediumRegion region : regions) {
+				ByteBuffer allocatedBuffer = allocatedBuffersOfRegionsHandedOut.remove(region);
+
+				if (allocatedBuffer != null) {
+					byteBufferAllocator.release(allocatedBuffer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Implements {@link #getRegionsInRange(MediumOffset, int)} without changing
+	 * the order of last access of the cached {@link MediumRegion}s. Only the
+	 * cached {@link MediumRegion}s overlapping the range are visited.
+	 * 
+	 * @param offset           see {@link #getRegionsInRange(MediumOffset, int)}
+	 * @param rangeSizeInBytes see {@link #getRegionsInRange(MediumOffset, int)}
+	 * @return see {@link #getRegionsInRange(MediumOffset, int)}
+	 */
+	private List<MediumRegion> determineRegionsInRange(MediumOffset offset, int rangeSizeInBytes) {
 
 		List<MediumRegion> regionsInRange = new ArrayList<>();
 
@@ -419,7 +833,7 @@ public class MediumCache {
 		}
 
 		MediumRegion firstCachedRegionNearToStartReference = cachedRegionsInOffsetOrder
-			.get(firstCachedRegionReferenceNearToStartReference);
+			.get(firstCachedRegionReferenceNearToStartReference).region;
 
 		MediumRegionOverlapType overlapWithFirstRegion = MediumRegion.determineRegionOverlap(virtualRangeRegion,
 			firstCachedRegionNearToStartReference);
@@ -429,13 +843,21 @@ public class MediumCache {
 			return regionsInRange;
 		}
 
-		Map<MediumOffset, MediumRegion> cachedRegionsStartingWithFirstNearRangeStart = cachedRegionsInOffsetOrder
+		Map<MediumOffset, CacheEntry> cachedRegionsStartingWithFirstNearRangeStart = cachedRegionsInOffsetOrder
 			.tailMap(firstCachedRegionReferenceNearToStartReference);
 
 		MediumOffset previousRegionEndReference = offset;
 
-		for (MediumRegion currentRegion : cachedRegionsStartingWithFirstNearRangeStart.values()) {
+		for (CacheEntry currentEntry : cachedRegionsStartingWithFirstNearRangeStart.values()) {
+			MediumRegion currentRegion = currentEntry.region;
 			MediumOffset currentRegionStartReference = currentRegion.getStartOffset();
+
+			// All remaining regions start behind the range
+			if (currentRegionStartReference.getAbsoluteMediumOffset() >= virtualRangeRegion
+				.calculateEndOffsetAsLong()) {
+				break;
+			}
+
 			MediumOffset currentRegionEndReference = currentRegion.calculateEndOffset();
 
 			MediumRegionOverlapType overlapWithRangeRegion = MediumRegion.determineRegionOverlap(currentRegion,
@@ -458,6 +880,58 @@ public class MediumCache {
 		return regionsInRange;
 	}
 
+	/**
+	 * Returns the {@link MediumRegion} of the given {@link CacheEntry} to be handed
+	 * out to callers. If its bytes are stored in a tracked {@link ByteBuffer}, which
+	 * is recycled after eviction, a new {@link MediumRegion} with a read-only view
+	 * on them is returned, retaining the {@link ByteBuffer} until it is passed to
+	 * {@link #releaseRegions(List)}.
+	 * 
+	 * @param entry The {@link CacheEntry}
+	 * @return The {@link MediumRegion} of the entry or a retained view of it
+	 */
+	private MediumRegion retainIfAllocated(CacheEntry entry) {
+		if (entry.allocatedBuffer == null) {
+			return entry.region;
+		}
+
+		MediumRegion retainedRegion = new MediumRegion(entry.region.getStartOffset(), entry.region.getBytes());
+
+		byteBufferAllocator.retain(entry.allocatedBuffer);
+		allocatedBuffersOfRegionsHandedOut.put(retainedRegion, entry.allocatedBuffer);
+
+		return retainedRegion;
+	}
+
+	/**
+	 * Returns the number of bytes the given {@link CacheEntry} adds to the cache
+	 * size when added or subtracts from it when removed. Untracked entries count
+	 * with their region size. All entries sharing the same tracked
+	 * {@link ByteBuffer} count with its capacity once, i.e. the first entry added
+	 * and the last entry removed count with the capacity, all others with zero.
+	 * 
+	 * @param entry   The {@link CacheEntry} added or removed
+	 * @param isAdded true if the entry is added, false if it is removed
+	 * @return The number of bytes to add to or subtract from the cache size
+	 */
+	private long countEntryBytes(CacheEntry entry, boolean isAdded) {
+		if (entry.allocatedBuffer == null) {
+			return entry.region.getSize();
+		}
+
+		int entryCount = entryCountsPerAllocatedBuffer.getOrDefault(entry.allocatedBuffer, 0) + (isAdded ? 1 : -1);
+
+		if (entryCount == 0) {
+			entryCountsPerAllocatedBuffer.remove(entry.allocatedBuffer);
+
+			return entry.allocatedBuffer.capacity();
+		}
+
+		entryCountsPerAllocatedBuffer.put(entry.allocatedBuffer, entryCount);
+
+		return isAdded && entryCount == 1 ? entry.allocatedBuffer.capacity() : 0;
+	}
+
 	/**
 	 * Logs a debug message, if debug logging is enabled
 	 * 
@@ -477,8 +951,104 @@ public class MediumCache {
 	 * @param region The {@link MediumRegion} to remove.
 	 */
 	private void removeRegionFromCache(MediumRegion region) {
-		cachedRegionsInInsertOrder.remove(region);
-		cachedRegionsInOffsetOrder.remove(region.getStartOffset());
+		removeEntryFromCache(cachedRegionsInOffsetOrder.get(region.getStartOffset()));
+	}
+
+	/**
+	 * Removes the given {@link CacheEntry} from internal data structures
+	 * representing the cache and releases its allocated {@link ByteBuffer}, if any.
+	 * The entry keeps its links to its former neighbors in the order of last
+	 * access.
+	 * 
+	 * @param entry The {@link CacheEntry} to remove.
+	 */
+	private void removeEntryFromCache(CacheEntry entry) {
+		cachedRegionsInOffsetOrder.remove(entry.region.getStartOffset());
+
+		unlinkEntry(entry);
+
+		long removedBytes = countEntryBytes(entry, false);
+
+		currentCacheSizeInBytes -= removedBytes;
+
+		if (globalCacheBudget != null) {
+			globalCacheBudget.removeFromAccessOrder(Collections.singleton(entry));
+			globalCacheBudget.updateCachedBytes(this, -removedBytes);
+		}
+
+		if (entry.allocatedBuffer != null) {
+			byteBufferAllocator.release(entry.allocatedBuffer);
+		}
+	}
+
+	/**
+	 * Unlinks the given {@link CacheEntry} from the order of last access. The entry
+	 * itself keeps its links to its former neighbors.
+	 * 
+	 * @param entry The {@link CacheEntry} to unlink
+	 */
+	private void unlinkEntry(CacheEntry entry) {
+		if (entry.lessRecentlyUsed == null) {
+			leastRecentlyUsedEntry = entry.moreRecentlyUsed;
+		} else {
+			entry.lessRecentlyUsed.moreRecentlyUsed = entry.moreRecentlyUsed;
+		}
+
+		if (entry.moreRecentlyUsed == null) {
+			mostRecentlyUsedEntry = entry.lessRecentlyUsed;
+		} else {
+			entry.moreRecentlyUsed.lessRecentlyUsed = entry.lessRecentlyUsed;
+		}
+	}
+
+	/**
+	 * Links the given {@link CacheEntry} into the order of last access, between the
+	 * neighbors already set in the entry. If it has no more recently used
+	 * neighbor, it becomes the most recently used entry. If it has no less recently
+	 * used neighbor, it becomes the least recently used entry.
+	 * 
+	 * @param entry The {@link CacheEntry} to link
+	 */
+	private void linkEntry(CacheEntry entry) {
+		if (entry.lessRecentlyUsed == null) {
+			leastRecentlyUsedEntry = entry;
+		} else {
+			entry.lessRecentlyUsed.moreRecentlyUsed = entry;
+		}
+
+		if (entry.moreRecentlyUsed == null) {
+			mostRecentlyUsedEntry = entry;
+		} else {
+			entry.moreRecentlyUsed.lessRecentlyUsed = entry;
+		}
+	}
+
+	/**
+	 * Marks the given {@link CacheEntry} as most recently used.
+	 * 
+	 * @param entry The {@link CacheEntry} to mark
+	 */
+	private void markAsMostRecentlyUsed(CacheEntry entry) {
+		// The entry must not be ordered by the global cache budget while its stamp
+		// changes
+		if (globalCacheBudget != null) {
+			globalCacheBudget.removeFromAccessOrder(Collections.singleton(entry));
+		}
+
+		entry.lastAccessStamp = ACCESS_CLOCK.incrementAndGet();
+
+		if (globalCacheBudget != null) {
+			globalCacheBudget.addToAccessOrder(entry, this);
+		}
+
+		if (entry != mostRecentlyUsedEntry) {
+			unlinkEntry(entry);
+
+			entry.lessRecentlyUsed = mostRecentlyUsedEntry;
+			entry.moreRecentlyUsed = null;
+
+			linkEntry(entry);
+		}
 	}
 
 	/**
@@ -496,22 +1066,67 @@ public class MediumCache {
 	 *                         and must not be zero.
 	 */
 	public void removeRegionsInRange(MediumOffset offset, int rangeSizeInBytes) {
-		Reject.ifNull(offset, "offset");
-		Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
-		Reject.ifNegativeOrZero(rangeSizeInBytes, "rangeSizeInBytes");
+		synchronized (lock) {
+			Reject.ifNull(offset, "offset");
+			Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+			Reject.ifNegativeOrZero(rangeSizeInBytes, "rangeSizeInBytes");
 
-		logDebugMessage(() -> "Removing regions in range: " + new MediumRegion(offset, rangeSizeInBytes));
+			logDebugMessage(() -> "Removing regions in range: " + new MediumRegion(offset, rangeSizeInBytes));
 
-		List<MediumRegion> regionsInRange = getRegionsInRange(offset, rangeSizeInBytes);
+			List<MediumRegion> regionsInRange = determineRegionsInRange(offset, rangeSizeInBytes);
 
-		for (MediumRegion mediumRegion : regionsInRange) {
+			for (MediumRegion mediumRegion : regionsInRange) {
 
-			if (mediumRegion.isCached()) {
-				clipExistingRegionAgainstRegionToAdd(mediumRegion, new MediumRegion(offset, rangeSizeInBytes));
+				if (mediumRegion.isCached()) {
+					clipExistingRegionAgainstRegionToAdd(mediumRegion, new MediumRegion(offset, rangeSizeInBytes));
+				}
 			}
 		}
 	}
 
+	/**
+	 * Removes all {@link MediumRegion}s ending at or before the given
+	 * {@link MediumOffset} from this {@link MediumCache}. A cached region
+	 * containing the given {@link MediumOffset} is kept entirely. As the regions
+	 * are removed in offset order, this is much cheaper than
+	 * {@link #removeRegionsInRange(MediumOffset, int)} for sliding over a stream.
+	 * 
+	 * @param offset The {@link MediumOffset} before which all regions are removed.
+	 *               Must refer to the same {@link Medium} as returned by
+	 *               {@link #getMedium()}.
+	 */
+	public void removeRegionsBefore(MediumOffset offset) {
+		synchronized (lock) {
+			Reject.ifNull(offset, "offset");
+			Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+
+			Map.Entry<MediumOffset, CacheEntry> firstEntry = cachedRegionsInOffsetOrder.firstEntry();
+
+			while (firstEntry != null && firstEntry.getValue().region.calculateEndOffsetAsLong() <= offset
+				.getAbsoluteMediumOffset()) {
+				removeEntryFromCache(firstEntry.getValue());
+
+				firstEntry = cachedRegionsInOffsetOrder.firstEntry();
+			}
+		}
+	}
+
+	/**
+	 * Sets a listener that is called with each {@link MediumRegion} evicted from
+	 * this {@link MediumCache} to keep its maximum cache size or the maximum size
+	 * of its {@link GlobalCacheBudget}, before the region's bytes are released.
+	 * Regions removed for any other reason are not passed to the listener. The
+	 * listener must not access this {@link MediumCache} and must not keep the
+	 * region's bytes.
+	 * 
+	 * @param evictionListener The listener or null to remove the current one
+	 */
+	public void setEvictionListener(Consumer<MediumRegion> evictionListener) {
+		synchronized (lock) {
+			this.evictionListener = evictionListener;
+		}
+	}
+
 	/**
 	 * This method performs the actual splitting of a {@link MediumRegion} according
 	 * to the maximum allowed cache region size. It is used with
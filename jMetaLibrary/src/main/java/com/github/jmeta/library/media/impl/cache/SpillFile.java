@@ -0,0 +1,365 @@
+/**
+ *
+ * {@link SpillFile}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link SpillFile} is a second cache tier behind a {@link MediumCache}, meant
+ * for non-random-access {@link Medium}s that cannot re-read bytes once they have
+ * been passed. {@link MediumRegion}s evicted from the {@link MediumCache} are
+ * written to a temporary file, and read back from it using positional reads.
+ *
+ * The temporary file is created with the first spilled {@link MediumRegion} and
+ * deleted again by {@link #close()}. The file space of regions dropped using
+ * {@link #removeRegionsBefore(long)} is reused by later spilled regions that fit
+ * into it, and free space at the end of the file is truncated, so the file does
+ * not grow with the length of the medium if regions are dropped regularly.
+ */
+public class SpillFile {
+
+	/**
+	 * {@link SpilledRegion} describes a range of medium bytes stored in the spill
+	 * file.
+	 */
+	private static class SpilledRegion {
+
+		private final long filePosition;
+
+		private final long mediumEndOffset;
+
+		/**
+		 * Creates a new {@link SpilledRegion}.
+		 *
+		 * @param filePosition    The position of the first byte in the spill file
+		 * @param mediumEndOffset The absolute medium offset behind the last byte
+		 */
+		public SpilledRegion(long filePosition, long mediumEndOffset) {
+			this.filePosition = filePosition;
+			this.mediumEndOffset = mediumEndOffset;
+		}
+	}
+
+	private static final String SPILL_FILE_PREFIX = "jmeta-spill";
+
+	private final Path directory;
+
+	private final TreeMap<Long, SpilledRegion> spilledRegionsByMediumOffset = new TreeMap<>();
+
+	private final TreeMap<Long, Long> freeByteCountsByFilePosition = new TreeMap<>();
+
+	private Path path;
+
+	private FileChannel channel;
+
+	private long fileSize;
+
+	/**
+	 * Creates a new {@link SpillFile} in the default temporary directory.
+	 */
+	public SpillFile() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new {@link SpillFile}.
+	 *
+	 * @param directory The directory to create the temporary file in or null to
+	 *                  use the default temporary directory
+	 */
+	public SpillFile(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Closes and deletes the temporary file, if any, and empties the index. The
+	 * {@link SpillFile} can be used again afterwards.
+	 */
+	public synchronized void close() {
+		spilledRegionsByMediumOffset.clear();
+		freeByteCountsByFilePosition.clear();
+		fileSize = 0;
+
+		if (channel == null) {
+			return;
+		}
+
+		try {
+			channel.close();
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			throw new MediumAccessException("Could not delete spill file " + path, e);
+		} finally {
+			channel = null;
+			path = null;
+		}
+	}
+
+	/**
+	 * Tells whether all bytes in the given range are stored in this
+	 * {@link SpillFile}.
+	 *
+	 * @param mediumOffset  The absolute medium offset of the range
+	 * @param numberOfBytes The size of the range in bytes, must not be negative
+	 * @return true if all bytes of the range are stored, false otherwise
+	 */
+	public synchronized boolean contains(long mediumOffset, int numberOfBytes) {
+		Reject.ifNegative(numberOfBytes, "numberOfBytes");
+
+		return read(mediumOffset, numberOfBytes, null);
+	}
+
+	/**
+	 * Returns the current size of the temporary file, including reusable free
+	 * space between stored regions.
+	 *
+	 * @return the current size of the temporary file
+	 */
+	public synchronized long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Reads the bytes in the given range from this {@link SpillFile}.
+	 *
+	 * @param mediumOffset  The absolute medium offset of the range
+	 * @param numberOfBytes The size of the range in bytes, must not be negative
+	 * @return The bytes read or null if not all bytes of the range are stored
+	 */
+	public synchronized ByteBuffer read(long mediumOffset, int numberOfBytes) {
+		Reject.ifNegative(numberOfBytes, "numberOfBytes");
+
+		ByteBuffer bytesRead = ByteBuffer.allocate(numberOfBytes);
+
+		if (!read(mediumOffset, numberOfBytes, bytesRead)) {
+			return null;
+		}
+
+		bytesRead.flip();
+
+		return bytesRead;
+	}
+
+	/**
+	 * Removes all regions ending at or before the given absolute medium offset
+	 * from the index and frees their file space for reuse. Free space at the end
+	 * of the temporary file is truncated.
+	 *
+	 * @param mediumOffset The absolute medium offset
+	 */
+	public synchronized void removeRegionsBefore(long mediumOffset) {
+		Map.Entry<Long, SpilledRegion> firstEntry = spilledRegionsByMediumOffset.firstEntry();
+
+		while (firstEntry != null && firstEntry.getValue().mediumEndOffset <= mediumOffset) {
+			spilledRegionsByMediumOffset.remove(firstEntry.getKey());
+
+			freeFileSpace(firstEntry.getKey(), firstEntry.getValue());
+
+			firstEntry = spilledRegionsByMediumOffset.firstEntry();
+		}
+
+		truncateFreeSpaceAtEnd();
+	}
+
+	/**
+	 * Writes the bytes of the given cached {@link MediumRegion} to the temporary
+	 * file, unless they are already stored completely. They are written into the
+	 * first free space large enough to hold them, or appended to the file.
+	 *
+	 * @param region The cached {@link MediumRegion}, must not be null. The
+	 *               position of its bytes is not changed.
+	 */
+	public synchronized void spill(MediumRegion region) {
+		Reject.ifNull(region, "region");
+		Reject.ifFalse(region.isCached(), "region.isCached()");
+
+		long mediumOffset = region.getStartOffset().getAbsoluteMediumOffset();
+
+		if (region.getSize() == 0 || contains(mediumOffset, region.getSize())) {
+			return;
+		}
+
+		ByteBuffer bytesToSpill = region.getBytes();
+
+		try {
+			if (channel == null) {
+				path = directory == null ? Files.createTempFile(SpillFile.SPILL_FILE_PREFIX, null)
+					: Files.createTempFile(directory, SpillFile.SPILL_FILE_PREFIX, null);
+				channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			}
+
+			SpilledRegion existingRegion = spilledRegionsByMediumOffset.get(mediumOffset);
+
+			// Keep the longer region if one starting at the same offset is stored already
+			if (existingRegion != null && existingRegion.mediumEndOffset >= mediumOffset + region.getSize()) {
+				return;
+			}
+
+			long filePosition = allocateFileSpace(region.getSize());
+			long currentFilePosition = filePosition;
+
+			while (bytesToSpill.hasRemaining()) {
+				currentFilePosition += channel.write(bytesToSpill, currentFilePosition);
+			}
+
+			spilledRegionsByMediumOffset.put(mediumOffset,
+				new SpilledRegion(filePosition, mediumOffset + region.getSize()));
+
+			if (existingRegion != null) {
+				freeFileSpace(mediumOffset, existingRegion);
+				truncateFreeSpaceAtEnd();
+			}
+		} catch (IOException e) {
+			throw new MediumAccessException("Could not write spill file " + path, e);
+		}
+	}
+
+	/**
+	 * Returns the file position of the first free space of the given size,
+	 * removing this space from the free spaces, or the end of the file if there is
+	 * no such free space.
+	 *
+	 * @param byteCount The number of bytes to allocate
+	 * @return The file position to write the bytes to
+	 */
+	private long allocateFileSpace(long byteCount) {
+		for (Map.Entry<Long, Long> freeSpace : freeByteCountsByFilePosition.entrySet()) {
+			if (freeSpace.getValue() >= byteCount) {
+				freeByteCountsByFilePosition.remove(freeSpace.getKey());
+
+				if (freeSpace.getValue() > byteCount) {
+					freeByteCountsByFilePosition.put(freeSpace.getKey() + byteCount, freeSpace.getValue() - byteCount);
+				}
+
+				return freeSpace.getKey();
+			}
+		}
+
+		long filePosition = fileSize;
+
+		fileSize += byteCount;
+
+		return filePosition;
+	}
+
+	/**
+	 * Adds the file space of the given removed {@link SpilledRegion} to the free
+	 * spaces, merging it with adjacent free spaces.
+	 *
+	 * @param mediumOffset  The absolute medium offset of the removed region
+	 * @param removedRegion The removed {@link SpilledRegion}
+	 */
+	private void freeFileSpace(long mediumOffset, SpilledRegion removedRegion) {
+		long freePosition = removedRegion.filePosition;
+		long freeByteCount = removedRegion.mediumEndOffset - mediumOffset;
+
+		Map.Entry<Long, Long> previousFreeSpace = freeByteCountsByFilePosition.lowerEntry(freePosition);
+
+		if (previousFreeSpace != null && previousFreeSpace.getKey() + previousFreeSpace.getValue() == freePosition) {
+			freeByteCountsByFilePosition.remove(previousFreeSpace.getKey());
+
+			freePosition = previousFreeSpace.getKey();
+			freeByteCount += previousFreeSpace.getValue();
+		}
+
+		Long nextFreeByteCount = freeByteCountsByFilePosition.remove(freePosition + freeByteCount);
+
+		if (nextFreeByteCount != null) {
+			freeByteCount += nextFreeByteCount;
+		}
+
+		freeByteCountsByFilePosition.put(freePosition, freeByteCount);
+	}
+
+	/**
+	 * Truncates the temporary file if it ends with free space, which is then
+	 * removed from the free spaces.
+	 */
+	private void truncateFreeSpaceAtEnd() {
+		Map.Entry<Long, Long> lastFreeSpace = freeByteCountsByFilePosition.lastEntry();
+
+		if (lastFreeSpace == null || lastFreeSpace.getKey() + lastFreeSpace.getValue() != fileSize) {
+			return;
+		}
+
+		freeByteCountsByFilePosition.remove(lastFreeSpace.getKey());
+		fileSize = lastFreeSpace.getKey();
+
+		try {
+			channel.truncate(fileSize);
+		} catch (IOException e) {
+			throw new MediumAccessException("Could not truncate spill file " + path, e);
+		}
+	}
+
+	/**
+	 * Checks that all bytes in the given range are stored and copies them into
+	 * the given {@link ByteBuffer}, if any.
+	 *
+	 * @param mediumOffset  The absolute medium offset of the range
+	 * @param numberOfBytes The size of the range in bytes
+	 * @param target        The {@link ByteBuffer} to copy the bytes into or null
+	 *                      to only check their presence
+	 * @return true if all bytes of the range are stored, false otherwise
+	 */
+	private boolean read(long mediumOffset, int numberOfBytes, ByteBuffer target) {
+		long currentOffset = mediumOffset;
+		long endOffset = mediumOffset + numberOfBytes;
+
+		while (currentOffset < endOffset) {
+			Map.Entry<Long, SpilledRegion> entry = spilledRegionsByMediumOffset.floorEntry(currentOffset);
+
+			if (entry == null || entry.getValue().mediumEndOffset <= currentOffset) {
+				return false;
+			}
+
+			long pieceEndOffset = Math.min(endOffset, entry.getValue().mediumEndOffset);
+
+			if (target != null) {
+				long piecePosition = entry.getValue().filePosition + currentOffset - entry.getKey();
+				int originalLimit = target.limit();
+
+				target.limit(target.position() + (int) (pieceEndOffset - currentOffset));
+
+				try {
+					while (target.hasRemaining()) {
+						int bytesRead = channel.read(target, piecePosition);
+
+						if (bytesRead < 0) {
+							throw new MediumAccessException("Unexpected end of spill file " + path, null);
+						}
+
+						piecePosition += bytesRead;
+					}
+				} catch (IOException e) {
+					throw new MediumAccessException("Could not read spill file " + path, e);
+				} finally {
+					target.limit(originalLimit);
+				}
+			}
+
+			currentOffset = pieceEndOffset;
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ *
+ * {@link StripedMediumCache}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link StripedMediumCache} is a thread-safe cache for a read-only
+ * {@link Medium}, which caches the medium in blocks of a fixed size, aligned to
+ * multiples of this size. The blocks are distributed round-robin over a number
+ * of stripes, each of them being a {@link MediumCache} with its own lock and an
+ * equal share of the maximum cache size. Threads accessing blocks of different
+ * stripes, especially neighbouring blocks, therefore do not block each other.
+ *
+ * A block not yet cached is read and added to its stripe while holding the lock
+ * of the stripe. This way, several threads requesting the same block at the
+ * same time read it from the medium only once.
+ *
+ * As the bytes of the cached blocks are never changed, the {@link ByteBuffer}s
+ * returned by {@link #getBlock(MediumOffset, Function)} remain valid even after
+ * the block was evicted.
+ */
+public class StripedMediumCache {
+
+	/**
+	 * The default number of stripes
+	 */
+	public static final int DEFAULT_STRIPE_COUNT = 16;
+
+	private final Medium<?> medium;
+
+	private final int blockSizeInBytes;
+
+	private final MediumCache[] stripes;
+
+	/**
+	 * Creates a new {@link StripedMediumCache}.
+	 *
+	 * @param medium                  The {@link Medium} to cache, must not be null
+	 * @param maximumCacheSizeInBytes The maximum size of all stripes together in
+	 *                                bytes, must at least be the block size times
+	 *                                the stripe count
+	 * @param blockSizeInBytes        The size of a block in bytes, must be bigger
+	 *                                than zero
+	 * @param stripeCount             The number of stripes, must be bigger than
+	 *                                zero
+	 */
+	public StripedMediumCache(Medium<?> medium, long maximumCacheSizeInBytes, int blockSizeInBytes, int stripeCount) {
+		Reject.ifNull(medium, "medium");
+		Reject.ifNegativeOrZero(blockSizeInBytes, "blockSizeInBytes");
+		Reject.ifNegativeOrZero(stripeCount, "stripeCount");
+		Reject.ifFalse(maximumCacheSizeInBytes / stripeCount >= blockSizeInBytes,
+			"maximumCacheSizeInBytes / stripeCount >= blockSizeInBytes");
+
+		this.medium = medium;
+		this.blockSizeInBytes = blockSizeInBytes;
+		this.stripes = new MediumCache[stripeCount];
+
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new MediumCache(medium, maximumCacheSizeInBytes / stripeCount, blockSizeInBytes);
+		}
+	}
+
+	/**
+	 * @return The current size of all stripes together in bytes
+	 */
+	public long calculateCurrentCacheSizeInBytes() {
+		long currentCacheSizeInBytes = 0;
+
+		for (MediumCache stripe : stripes) {
+			currentCacheSizeInBytes += stripe.calculateCurrentCacheSizeInBytes();
+		}
+
+		return currentCacheSizeInBytes;
+	}
+
+	/**
+	 * Removes all blocks from all stripes.
+	 */
+	public void clear() {
+		for (MediumCache stripe : stripes) {
+			stripe.clear();
+		}
+	}
+
+	/**
+	 * Returns the bytes of the block starting at the given offset. If the block
+	 * is not cached yet, it is read using the given reader function and added to
+	 * the cache, unless it is empty.
+	 *
+	 * @param blockOffset The start offset of the block, must not be null, must
+	 *                    refer to the {@link Medium} of this
+	 *                    {@link StripedMediumCache} and must be a multiple of
+	 *                    the block size
+	 * @param blockReader Reads the block at the given offset and returns a
+	 *                    {@link ByteBuffer} with position 0 containing its bytes,
+	 *                    less than the block size at the end of medium. Must not
+	 *                    be null.
+	 * @return A read-only {@link ByteBuffer} with position 0 containing the bytes
+	 *         of the block
+	 */
+	public ByteBuffer getBlock(MediumOffset blockOffset, Function<MediumOffset, ByteBuffer> blockReader) {
+		Reject.ifNull(blockOffset, "blockOffset");
+		Reject.ifNull(blockReader, "blockReader");
+		Reject.ifFalse(blockOffset.getMedium().equals(medium), "blockOffset.getMedium().equals(medium)");
+		Reject.ifFalse(blockOffset.getAbsoluteMediumOffset() % blockSizeInBytes == 0,
+			"blockOffset.getAbsoluteMediumOffset() % blockSizeInBytes == 0");
+
+		MediumCache stripe = getStripe(blockOffset.getAbsoluteMediumOffset());
+
+		synchronized (stripe) {
+			MediumRegion cachedRegion = stripe.getRegionsInRange(blockOffset, blockSizeInBytes).get(0);
+
+			if (cachedRegion.isCached()) {
+				return cachedRegion.getBytes();
+			}
+
+			ByteBuffer blockBytes = blockReader.apply(blockOffset);
+
+			if (blockBytes.hasRemaining()) {
+				stripe.addRegion(new MediumRegion(blockOffset, blockBytes));
+			}
+
+			return blockBytes.asReadOnlyBuffer();
+		}
+	}
+
+	/**
+	 * @return The size of a block in bytes
+	 */
+	public int getBlockSizeInBytes() {
+		return blockSizeInBytes;
+	}
+
+	/**
+	 * Returns the number of consecutive bytes cached starting at the given offset,
+	 * possibly spanning several blocks.
+	 *
+	 * @param offset The offset, must not be null and must refer to the
+	 *               {@link Medium} of this {@link StripedMediumCache}
+	 * @return The number of consecutive bytes cached starting at the given offset
+	 */
+	public long getCachedByteCountAt(MediumOffset offset) {
+		Reject.ifNull(offset, "offset");
+		Reject.ifFalse(offset.getMedium().equals(medium), "offset.getMedium().equals(medium)");
+
+		long cachedByteCount = 0;
+
+		MediumOffset nextOffset = offset;
+
+		while (true) {
+			long cachedByteCountInBlock = getStripe(nextOffset.getAbsoluteMediumOffset())
+				.getCachedByteCountAt(nextOffset);
+
+			cachedByteCount += cachedByteCountInBlock;
+
+			if (cachedByteCountInBlock == 0 || (nextOffset.getAbsoluteMediumOffset() + cachedByteCountInBlock)
+				% blockSizeInBytes != 0) {
+				return cachedByteCount;
+			}
+
+			nextOffset = nextOffset.advance(cachedByteCountInBlock);
+		}
+	}
+
+	/**
+	 * @return The {@link Medium} cached
+	 */
+	public Medium<?> getMedium() {
+		return medium;
+	}
+
+	/**
+	 * @return The number of stripes
+	 */
+	public int getStripeCount() {
+		return stripes.length;
+	}
+
+	/**
+	 * Returns the stripe the block containing the given offset belongs to.
+	 *
+	 * @param absoluteOffset The absolute offset
+	 * @return The stripe
+	 */
+	private MediumCache getStripe(long absoluteOffset) {
+		return stripes[(int) ((absoluteOffset / blockSizeInBytes) % stripes.length)];
+	}
+}
@@ -12,6 +12,7 @@ package com.github.jmeta.library.media.impl.changeManager;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -57,6 +58,7 @@ public class MediumChangeManager {
 		MediumChangeManager.EXISTING_ACTION_TYPES_TO_CHECK.add(MediumActionType.REPLACE);
 	}
 	private TreeSet<MediumAction> mediumActions = new TreeSet<>(new MediumActionComparator());
+	private final List<MediumRegion> paddingRegions = new ArrayList<>();
 	private long nextScheduleSequenceNumber = 0;
 	private final MediumOffsetFactory mediumReferenceFactory;
 
@@ -77,6 +79,30 @@ public class MediumChangeManager {
 	 */
 	public void clearAll() {
 		mediumActions.clear();
+		paddingRegions.clear();
+	}
+
+	/**
+	 * Declares the given {@link MediumRegion} as padding that absorbs bytes added
+	 * by {@link MediumAction}s in front of it with the next call to
+	 * {@link #createFlushPlan(int, long)}, see
+	 * {@link MediumStore#declarePadding(MediumOffset, int)} for details. Declaring
+	 * a padding overlapping an already declared padding replaces the already
+	 * declared one.
+	 * 
+	 * @param paddingRegion The padding {@link MediumRegion}
+	 */
+	public void declarePadding(MediumRegion paddingRegion) {
+		Reject.ifNull(paddingRegion, "paddingRegion");
+
+		long paddingStartOffset = paddingRegion.getStartOffset().getAbsoluteMediumOffset();
+		long paddingEndOffset = paddingStartOffset + paddingRegion.getSize();
+
+		paddingRegions.removeIf(existingRegion -> existingRegion.getStartOffset()
+			.getAbsoluteMediumOffset() < paddingEndOffset
+			&& existingRegion.getStartOffset().getAbsoluteMediumOffset() + existingRegion.getSize() > paddingStartOffset);
+
+		paddingRegions.add(paddingRegion);
 	}
 
 	/**
@@ -91,6 +117,12 @@ public class MediumChangeManager {
 	 * The details of the overall flush algorithm are described at
 	 * {@link MediumStore#flush()}.
 	 * 
+	 * Before, each declared padding absorbs the bytes added in front of it by
+	 * scheduling an additional {@link MediumActionType#REMOVE} at its start, see
+	 * {@link #declarePadding(MediumRegion)}. A net insert followed by such a remove
+	 * turns into rewriting the bytes in between in place, without shifting any
+	 * bytes behind the padding. All padding declarations are dropped afterwards.
+	 * 
 	 * @param maxReadWriteBlockSizeInBytes The maximum read-write block size in
 	 *                                     bytes, must be strictly positive
 	 * @param totalMediumSizeInBytes       The overall number of bytes the medium
@@ -104,6 +136,8 @@ public class MediumChangeManager {
 		Reject.ifNegativeOrZero(maxReadWriteBlockSizeInBytes, "maxReadWriteBlockSizeInBytes");
 		Reject.ifNegative(totalMediumSizeInBytes, "totalMediumSizeInBytes");
 
+		scheduleRemovesAbsorbedByPaddings();
+
 		List<MediumAction> flushPlan = new ArrayList<>();
 		List<ShiftedMediumBlock> mediumBlocks = new ArrayList<>();
 
@@ -446,6 +480,49 @@ public class MediumChangeManager {
 		return returnedAction;
 	}
 
+	/**
+	 * Schedules a {@link MediumActionType#REMOVE} at the start of each declared
+	 * padding that absorbs the bytes added by all {@link MediumAction}s behind the
+	 * preceding padding (or the start of the medium) and in front of the padding,
+	 * as far as the padding is big enough. Paddings that contain the start offset
+	 * of any {@link MediumAction}, or that overlap a removed or replaced region, do
+	 * not absorb any bytes. Finally, all padding declarations are dropped.
+	 */
+	private void scheduleRemovesAbsorbedByPaddings() {
+		paddingRegions.sort(Comparator.comparingLong(region -> region.getStartOffset().getAbsoluteMediumOffset()));
+
+		long scopeStartOffset = 0;
+
+		for (MediumRegion paddingRegion : paddingRegions) {
+			long paddingStartOffset = paddingRegion.getStartOffset().getAbsoluteMediumOffset();
+			long paddingEndOffset = paddingStartOffset + paddingRegion.getSize();
+
+			long addedByteCount = 0;
+			boolean isPaddingChanged = false;
+
+			for (MediumAction action : mediumActions) {
+				long actionStartOffset = action.getRegion().getStartOffset().getAbsoluteMediumOffset();
+				long actionEndOffset = actionStartOffset
+					+ (action.getActionType() == MediumActionType.INSERT ? 0 : action.getRegion().getSize());
+
+				if (actionStartOffset >= scopeStartOffset && actionEndOffset <= paddingStartOffset) {
+					addedByteCount += action.getSizeDelta();
+				} else if (actionStartOffset < paddingEndOffset && actionEndOffset > paddingStartOffset) {
+					isPaddingChanged = true;
+				}
+			}
+
+			if (!isPaddingChanged && addedByteCount > 0) {
+				scheduleRemove(
+					new MediumRegion(paddingRegion.getStartOffset(), (int) Math.min(addedByteCount, paddingRegion.getSize())));
+			}
+
+			scopeStartOffset = paddingEndOffset;
+		}
+
+		paddingRegions.clear();
+	}
+
 	/**
 	 * Schedules a new {@link MediumAction} of type
 	 * {@link MediumActionType#REPLACE}. The replace action must not overlap with an
@@ -11,6 +11,7 @@ package com.github.jmeta.library.media.impl.mediumAccessor;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
@@ -18,6 +19,7 @@ import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumAccessType;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
@@ -135,6 +137,32 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
       }
    }
 
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor#rewrite(java.util.List)
+    */
+   @Override
+   public void rewrite(List<MediumRegion> newContent) {
+      Reject.ifNull(newContent, "newContent");
+      Reject.ifFalse(isOpened(), "isOpened()");
+
+      preventWriteOnReadyOnlyMedium();
+
+      for (MediumRegion region : newContent) {
+         Reject.ifFalse(region.getStartOffset().getMedium().equals(getMedium()),
+            "region.getStartOffset().getMedium().equals(getMedium())");
+         Reject.ifFalse(region.isCached() || region.calculateEndOffsetAsLong() <= getMedium().getCurrentLength(),
+            "region.isCached() || region.calculateEndOffsetAsLong() <= getMedium().getCurrentLength()");
+      }
+
+      try {
+         mediumSpecificRewrite(newContent);
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not rewrite " + getMedium(), e);
+      }
+
+      updateCurrentPosition(new StandardMediumOffset(getMedium(), 0));
+   }
+
    /**
     * @see com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor#setCurrentPosition(com.github.jmeta.library.media.api.types.MediumOffset)
     */
@@ -151,6 +179,30 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
       }
    }
 
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor#transfer(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public void transfer(MediumOffset sourceOffset, int numberOfBytes) throws EndOfMediumException {
+      Reject.ifNull(sourceOffset, "sourceOffset");
+      Reject.ifFalse(sourceOffset.getMedium().equals(getMedium()), "sourceOffset.getMedium().equals(getMedium())");
+      Reject.ifNegative(numberOfBytes, "numberOfBytes");
+      Reject.ifFalse(isOpened(), "isOpened()");
+
+      preventWriteOnReadyOnlyMedium();
+
+      if (numberOfBytes == 0) {
+         return;
+      }
+
+      try {
+         mediumSpecificTransfer(sourceOffset, numberOfBytes);
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not transfer bytes within " + getMedium(), e);
+      }
+   }
+
    /**
     * @see com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor#truncate()
     */
@@ -193,6 +245,38 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
       }
    }
 
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor#write(java.nio.ByteBuffer[])
+    */
+   @Override
+   public void write(ByteBuffer[] buffers) {
+
+      Reject.ifNull(buffers, "buffers");
+      Reject.ifFalse(isOpened(), "isOpened()");
+
+      preventWriteOnReadyOnlyMedium();
+
+      for (ByteBuffer buffer : buffers) {
+         Reject.ifNull(buffer, "buffer");
+
+         buffer.mark();
+      }
+
+      try {
+         mediumSpecificWrite(buffers);
+      }
+
+      catch (IOException e) {
+         throw new MediumAccessException("Could not not write to " + getMedium(), e);
+      }
+
+      finally {
+         for (ByteBuffer buffer : buffers) {
+            buffer.reset();
+         }
+      }
+   }
+
    /**
     * Checks if the underlying {@link Medium} is read-only, and if so, it throws a {@link ReadOnlyMediumException}.
     */
@@ -228,6 +312,16 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
     */
    protected abstract ByteBuffer mediumSpecificRead(int numberOfBytes) throws IOException, EndOfMediumException;
 
+   /**
+    * Concrete core implementation of {@link #rewrite(List)}.
+    *
+    * @param newContent
+    *           The {@link MediumRegion}s making up the new content
+    * @throws IOException
+    *            in case of anything goes wrong in the concrete implementation
+    */
+   protected abstract void mediumSpecificRewrite(List<MediumRegion> newContent) throws IOException;
+
    /**
     * Concrete core implementation of {@link #setCurrentPosition(MediumOffset)}
     *
@@ -238,6 +332,34 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
     */
    protected abstract void mediumSpecificSetCurrentPosition(MediumOffset position) throws IOException;
 
+   /**
+    * Concrete core implementation of {@link #transfer(MediumOffset, int)}. The default implementation reads all bytes
+    * to copy and writes them afterwards, subclasses may override it with a more efficient way of copying bytes.
+    *
+    * @param sourceOffset
+    *           The {@link MediumOffset} of the first byte to copy
+    * @param numberOfBytes
+    *           The number of bytes to copy, is bigger than zero
+    * @throws IOException
+    *            in case of anything goes wrong in the concrete implementation
+    */
+   protected void mediumSpecificTransfer(MediumOffset sourceOffset, int numberOfBytes)
+      throws IOException, EndOfMediumException {
+      MediumOffset targetOffset = getCurrentPosition();
+
+      mediumSpecificSetCurrentPosition(sourceOffset);
+
+      ByteBuffer bytesToCopy;
+
+      try {
+         bytesToCopy = mediumSpecificRead(numberOfBytes);
+      } finally {
+         mediumSpecificSetCurrentPosition(targetOffset);
+      }
+
+      mediumSpecificWrite(bytesToCopy);
+   }
+
    /**
     * Concrete core implementation of {@link #truncate()}
     *
@@ -256,6 +378,22 @@ public abstract class AbstractMediumAccessor<T extends Medium<?>> implements Med
     */
    protected abstract void mediumSpecificWrite(ByteBuffer buffer) throws IOException;
 
+   /**
+    * Concrete core implementation of {@link #write(ByteBuffer[])}. The default implementation calls
+    * {@link #mediumSpecificWrite(ByteBuffer)} for each {@link ByteBuffer}, subclasses may override it with a single
+    * gathering write.
+    *
+    * @param buffers
+    *           The {@link ByteBuffer}s holding the bytes to write
+    * @throws IOException
+    *            in case of anything goes wrong in the concrete implementation
+    */
+   protected void mediumSpecificWrite(ByteBuffer[] buffers) throws IOException {
+      for (ByteBuffer buffer : buffers) {
+         mediumSpecificWrite(buffer);
+      }
+   }
+
    /**
     * Updates the position returned by {@link #getCurrentPosition()}.
     *
@@ -0,0 +1,160 @@
+/**
+ * {@link AsynchronousFileMediumAccessor}.java
+ *
+ * @author Jens Ebert
+ * @date 17.10.2026
+ */
+
+package com.github.jmeta.library.media.impl.mediumAccessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+import com.github.jmeta.library.media.api.types.AbstractMedium;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * Represents an {@link MediumAccessor} that is a physical file with random
+ * access, additionally offering non-blocking reads via an
+ * {@link AsynchronousFileChannel}, see
+ * {@link FileMediumAccessMode#ASYNCHRONOUS_FILE_CHANNEL}.
+ *
+ * All methods of {@link MediumAccessor} behave exactly as for a
+ * {@link FileMediumAccessor}. In addition, {@link #readAtAsync(long, int)}
+ * starts a positional read and returns immediately. The read is completed by
+ * the default thread pool of the {@link AsynchronousFileChannel}, the calling
+ * thread does not wait for the disk. The {@link AsynchronousFileChannel} is
+ * opened and closed together with the file.
+ */
+public class AsynchronousFileMediumAccessor extends FileMediumAccessor {
+
+	/**
+	 * {@link ReadCompletionHandler} continues a read started by
+	 * {@link AsynchronousFileMediumAccessor#readAtAsync(long, int)} until the
+	 * buffer is full or the end of the file is reached, and then completes the
+	 * {@link CompletableFuture} given as attachment.
+	 */
+	private static class ReadCompletionHandler implements CompletionHandler<Integer, CompletableFuture<ByteBuffer>> {
+
+		private final AsynchronousFileChannel channel;
+
+		private final ByteBuffer buffer;
+
+		private final long offset;
+
+		/**
+		 * Creates a new {@link ReadCompletionHandler}.
+		 *
+		 * @param channel The {@link AsynchronousFileChannel} the read was started on
+		 * @param buffer  The {@link ByteBuffer} to read into
+		 * @param offset  The absolute offset of the first byte to read
+		 */
+		public ReadCompletionHandler(AsynchronousFileChannel channel, ByteBuffer buffer, long offset) {
+			this.channel = channel;
+			this.buffer = buffer;
+			this.offset = offset;
+		}
+
+		/**
+		 * @see java.nio.channels.CompletionHandler#completed(java.lang.Object,
+		 *      java.lang.Object)
+		 */
+		@Override
+		public void completed(Integer result, CompletableFuture<ByteBuffer> attachment) {
+			if (result == -1 || !buffer.hasRemaining()) {
+				buffer.flip();
+
+				attachment.complete(buffer);
+			} else {
+				channel.read(buffer, offset + buffer.position(), attachment, this);
+			}
+		}
+
+		/**
+		 * @see java.nio.channels.CompletionHandler#failed(java.lang.Throwable,
+		 *      java.lang.Object)
+		 */
+		@Override
+		public void failed(Throwable exc, CompletableFuture<ByteBuffer> attachment) {
+			attachment.completeExceptionally(exc);
+		}
+	}
+
+	private AsynchronousFileChannel asynchronousFileChannel;
+
+	/**
+	 * Creates a new {@link AsynchronousFileMediumAccessor} allocating the bytes
+	 * returned by {@link #read(int)} using the given {@link ByteBufferAllocator}.
+	 *
+	 * @param medium              The {@link AbstractMedium} this class works on.
+	 * @param byteBufferAllocator The {@link ByteBufferAllocator} to use
+	 */
+	public AsynchronousFileMediumAccessor(FileMedium medium, ByteBufferAllocator byteBufferAllocator) {
+		super(medium, byteBufferAllocator);
+	}
+
+	/**
+	 * Starts reading bytes from the given absolute offset of the file without
+	 * changing the current position of this {@link AsynchronousFileMediumAccessor}
+	 * and without waiting for the read to complete. Like
+	 * {@link #readAt(long, int)}, it may be called by another thread concurrently
+	 * to the other methods of this {@link AsynchronousFileMediumAccessor}, as long
+	 * as it is opened.
+	 *
+	 * @param offset        The absolute offset to start reading from, must not be
+	 *                      negative
+	 * @param numberOfBytes The number of bytes to read, must be bigger than zero
+	 * @return A {@link CompletableFuture} delivering a {@link ByteBuffer} with
+	 *         position 0 containing the bytes read. It contains less than the
+	 *         requested number of bytes if the end of the file was reached during
+	 *         reading. The {@link CompletableFuture} completes exceptionally with
+	 *         an {@link IOException} in case reading the file failed, e.g. because
+	 *         this {@link AsynchronousFileMediumAccessor} was closed meanwhile.
+	 */
+	public CompletableFuture<ByteBuffer> readAtAsync(long offset, int numberOfBytes) {
+		Reject.ifNegative(offset, "offset");
+		Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+		Reject.ifFalse(isOpened(), "isOpened()");
+
+		CompletableFuture<ByteBuffer> bytesRead = new CompletableFuture<>();
+
+		ByteBuffer buffer = ByteBuffer.allocate(numberOfBytes);
+
+		asynchronousFileChannel.read(buffer, offset, bytesRead,
+			new ReadCompletionHandler(asynchronousFileChannel, buffer, offset));
+
+		return bytesRead;
+	}
+
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor#mediumSpecificClose()
+	 */
+	@Override
+	protected void mediumSpecificClose() throws IOException {
+		try {
+			asynchronousFileChannel.close();
+		} finally {
+			asynchronousFileChannel = null;
+
+			super.mediumSpecificClose();
+		}
+	}
+
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor#mediumSpecificOpen()
+	 */
+	@Override
+	protected void mediumSpecificOpen() throws IOException {
+		super.mediumSpecificOpen();
+
+		asynchronousFileChannel = AsynchronousFileChannel.open(getMedium().getWrappedMedium(),
+			StandardOpenOption.READ);
+	}
+}
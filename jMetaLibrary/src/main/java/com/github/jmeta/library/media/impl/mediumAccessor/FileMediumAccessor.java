@@ -12,13 +12,22 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.List;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
 import com.github.jmeta.library.media.api.types.AbstractMedium;
 import com.github.jmeta.library.media.api.types.FileMedium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -27,17 +36,42 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  */
 public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 
+	/**
+	 * The suffix appended to the file name to get the name of the file the new
+	 * content is streamed to by {@link #rewrite(List)}
+	 */
+	public static final String REWRITTEN_FILE_SUFFIX = ".jmeta-rewrite";
+
 	private FileChannel fileChannel;
 
 	private FileLock lock;
 
+	private ByteBuffer transferBuffer;
+
+	private final ByteBufferAllocator byteBufferAllocator;
+
 	/**
 	 * Creates a new {@link FileMediumAccessor}.
 	 * 
 	 * @param medium The {@link AbstractMedium} this class works on.
 	 */
 	public FileMediumAccessor(FileMedium medium) {
+		this(medium, new HeapByteBufferAllocator());
+	}
+
+	/**
+	 * Creates a new {@link FileMediumAccessor} allocating the bytes returned by
+	 * {@link #read(int)} using the given {@link ByteBufferAllocator}.
+	 * 
+	 * @param medium              The {@link AbstractMedium} this class works on.
+	 * @param byteBufferAllocator The {@link ByteBufferAllocator} to use
+	 */
+	public FileMediumAccessor(FileMedium medium, ByteBufferAllocator byteBufferAllocator) {
 		super(medium);
+
+		Reject.ifNull(byteBufferAllocator, "byteBufferAllocator");
+
+		this.byteBufferAllocator = byteBufferAllocator;
 	}
 
 	/**
@@ -50,6 +84,60 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 		return getCurrentPosition().getAbsoluteMediumOffset() >= getMedium().getCurrentLength();
 	}
 
+	/**
+	 * Forces all bytes written so far and all changes of the file length to be
+	 * written to the storage device containing the file, see
+	 * {@link FileChannel#force(boolean)}.
+	 *
+	 * @throws IOException in case forcing the changes failed
+	 */
+	public void force() throws IOException {
+		Reject.ifFalse(isOpened(), "isOpened()");
+
+		fileChannel.force(true);
+	}
+
+	/**
+	 * @return the {@link FileChannel} used for accessing the file, only available
+	 *         while this {@link FileMediumAccessor} is opened
+	 */
+	protected FileChannel getFileChannel() {
+		return fileChannel;
+	}
+
+	/**
+	 * Reads bytes from the given absolute offset of the file without changing the
+	 * current position of this {@link FileMediumAccessor}. As it only uses
+	 * positional reads on the underlying {@link FileChannel}, it may be called by
+	 * another thread concurrently to the other methods of this
+	 * {@link FileMediumAccessor}, as long as it is opened.
+	 *
+	 * @param offset        The absolute offset to start reading from, must not be
+	 *                      negative
+	 * @param numberOfBytes The number of bytes to read, must be bigger than zero
+	 * @return A {@link ByteBuffer} with position 0 containing the bytes read. It
+	 *         contains less than the requested number of bytes if the end of the
+	 *         file was reached during reading.
+	 * @throws IOException in case reading the file failed
+	 */
+	public ByteBuffer readAt(long offset, int numberOfBytes) throws IOException {
+		Reject.ifNegative(offset, "offset");
+		Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+		Reject.ifFalse(isOpened(), "isOpened()");
+
+		ByteBuffer buffer = ByteBuffer.allocate(numberOfBytes);
+
+		while (buffer.hasRemaining()) {
+			if (fileChannel.read(buffer, offset + buffer.position()) == -1) {
+				break;
+			}
+		}
+
+		buffer.flip();
+
+		return buffer;
+	}
+
 	/**
 	 * Locks the file medium, if it is not read-only.
 	 */
@@ -78,6 +166,8 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 		unlockMedium();
 
 		fileChannel.close();
+
+		transferBuffer = null;
 	}
 
 	/**
@@ -101,7 +191,7 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 	@Override
 	protected ByteBuffer mediumSpecificRead(int numberOfBytes) throws IOException, EndOfMediumException {
 
-		ByteBuffer buffer = ByteBuffer.allocate(numberOfBytes);
+		ByteBuffer buffer = byteBufferAllocator.allocate(numberOfBytes);
 
 		buffer.mark();
 
@@ -134,6 +224,63 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 		}
 	}
 
+	/**
+	 * Streams the new content into a new file next to the file, using
+	 * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+	 * for all regions of the old content. Afterwards the new file atomically
+	 * replaces the file, if supported by the file system. The file is closed and
+	 * opened again during the replacement, i.e. its lock is released in between.
+	 *
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificRewrite(java.util.List)
+	 */
+	@Override
+	protected void mediumSpecificRewrite(List<MediumRegion> newContent) throws IOException {
+		Path file = getMedium().getWrappedMedium();
+		Path rewrittenFile = file.resolveSibling(file.getFileName() + REWRITTEN_FILE_SUFFIX);
+
+		try {
+			try (FileChannel rewrittenFileChannel = FileChannel.open(rewrittenFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				for (MediumRegion region : newContent) {
+					if (region.isCached()) {
+						ByteBuffer regionBytes = region.getBytes();
+
+						while (regionBytes.hasRemaining()) {
+							rewrittenFileChannel.write(regionBytes);
+						}
+					} else {
+						long sourceOffset = region.getStartOffset().getAbsoluteMediumOffset();
+						long bytesTransferred = 0;
+
+						while (bytesTransferred < region.getSize()) {
+							bytesTransferred += fileChannel.transferTo(sourceOffset + bytesTransferred,
+								region.getSize() - bytesTransferred, rewrittenFileChannel);
+						}
+					}
+				}
+
+				rewrittenFileChannel.force(true);
+			}
+
+			if (Files.getFileStore(file).supportsFileAttributeView(PosixFileAttributeView.class)) {
+				Files.setPosixFilePermissions(rewrittenFile, Files.getPosixFilePermissions(file));
+			}
+
+			// Not all platforms allow to replace a file that is still open
+			mediumSpecificClose();
+
+			try {
+				Files.move(rewrittenFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(rewrittenFile, file, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				mediumSpecificOpen();
+			}
+		} finally {
+			Files.deleteIfExists(rewrittenFile);
+		}
+	}
+
 	/**
 	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificSetCurrentPosition(com.github.jmeta.library.media.api.types.MediumOffset)
 	 */
@@ -142,6 +289,57 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 		updateCurrentPosition(position);
 	}
 
+	/**
+	 * Copies non-overlapping ranges directly within the file using
+	 * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+	 * which allows the operating system to avoid copying the bytes to user space.
+	 * Overlapping ranges are first read completely into a transfer buffer that is
+	 * reused for all further transfers.
+	 *
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificTransfer(com.github.jmeta.library.media.api.types.MediumOffset,
+	 *      int)
+	 */
+	@Override
+	protected void mediumSpecificTransfer(MediumOffset sourceOffset, int numberOfBytes)
+		throws IOException, EndOfMediumException {
+		long sourceStartOffset = sourceOffset.getAbsoluteMediumOffset();
+		long targetStartOffset = getCurrentPosition().getAbsoluteMediumOffset();
+		long fileSize = fileChannel.size();
+
+		if (sourceStartOffset + numberOfBytes > fileSize) {
+			throw new EndOfMediumException(sourceOffset, numberOfBytes,
+				(int) Math.max(0, fileSize - sourceStartOffset), ByteBuffer.allocate(0));
+		}
+
+		if (Math.abs(targetStartOffset - sourceStartOffset) >= numberOfBytes) {
+			fileChannel.position(targetStartOffset);
+
+			long bytesTransferred = 0;
+
+			while (bytesTransferred < numberOfBytes) {
+				bytesTransferred += fileChannel.transferTo(sourceStartOffset + bytesTransferred,
+					numberOfBytes - bytesTransferred, fileChannel);
+			}
+		} else {
+			ByteBuffer buffer = provideTransferBuffer(numberOfBytes);
+
+			while (buffer.hasRemaining()) {
+				if (fileChannel.read(buffer, sourceStartOffset + buffer.position()) == -1) {
+					throw new EndOfMediumException(sourceOffset, numberOfBytes, buffer.position(),
+						ByteBuffer.allocate(0));
+				}
+			}
+
+			buffer.flip();
+
+			while (buffer.hasRemaining()) {
+				fileChannel.write(buffer, targetStartOffset + buffer.position());
+			}
+		}
+
+		updateCurrentPosition(getCurrentPosition().advance(numberOfBytes));
+	}
+
 	/**
 	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificTruncate()
 	 */
@@ -165,6 +363,49 @@ public class FileMediumAccessor extends AbstractMediumAccessor<FileMedium> {
 		updateCurrentPosition(getCurrentPosition().advance(bytesWritten));
 	}
 
+	/**
+	 * Uses a single gathering write of the {@link FileChannel}.
+	 *
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificWrite(java.nio.ByteBuffer[])
+	 */
+	@Override
+	protected void mediumSpecificWrite(ByteBuffer[] buffers) throws IOException {
+
+		long bytesToWrite = 0;
+
+		for (ByteBuffer buffer : buffers) {
+			bytesToWrite += buffer.remaining();
+		}
+
+		fileChannel.position(getCurrentPosition().getAbsoluteMediumOffset());
+
+		long bytesWritten = 0;
+
+		while (bytesWritten < bytesToWrite) {
+			bytesWritten += fileChannel.write(buffers);
+		}
+
+		updateCurrentPosition(getCurrentPosition().advance(bytesWritten));
+	}
+
+	/**
+	 * Returns the transfer buffer cleared and limited to the given number of bytes,
+	 * allocating a bigger one if the current one is too small.
+	 *
+	 * @param numberOfBytes The number of bytes needed
+	 * @return The transfer buffer
+	 */
+	private ByteBuffer provideTransferBuffer(int numberOfBytes) {
+		if (transferBuffer == null || transferBuffer.capacity() < numberOfBytes) {
+			transferBuffer = ByteBuffer.allocateDirect(numberOfBytes);
+		}
+
+		transferBuffer.clear();
+		transferBuffer.limit(numberOfBytes);
+
+		return transferBuffer;
+	}
+
 	/**
 	 * Locks the file medium, if locked.
 	 */
@@ -9,11 +9,13 @@ package com.github.jmeta.library.media.impl.mediumAccessor;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.types.AbstractMedium;
 import com.github.jmeta.library.media.api.types.InMemoryMedium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -95,6 +97,39 @@ public class InMemoryMediumAccessor extends AbstractMediumAccessor<InMemoryMediu
 		}
 	}
 
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificRewrite(java.util.List)
+	 */
+	@Override
+	protected void mediumSpecificRewrite(List<MediumRegion> newContent) throws IOException {
+		int newSize = 0;
+
+		for (MediumRegion region : newContent) {
+			newSize += region.getSize();
+		}
+
+		ByteBuffer bufferToChange = ByteBuffer.allocate(newSize);
+
+		for (MediumRegion region : newContent) {
+			if (region.isCached()) {
+				bufferToChange.put(region.getBytes());
+			} else {
+				// Note: setCurrentPosition prevents offsets bigger than Integert.MAX_VALUE
+				int absoluteMediumOffset = (int) region.getStartOffset().getAbsoluteMediumOffset();
+
+				ByteBuffer regionBytes = memory.duplicate();
+				regionBytes.limit(absoluteMediumOffset + region.getSize());
+				regionBytes.position(absoluteMediumOffset);
+
+				bufferToChange.put(regionBytes);
+			}
+		}
+
+		bufferToChange.rewind();
+		memory = bufferToChange;
+		getMedium().setBytes(bufferToChange);
+	}
+
 	/**
 	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificSetCurrentPosition(com.github.jmeta.library.media.api.types.MediumOffset)
 	 */
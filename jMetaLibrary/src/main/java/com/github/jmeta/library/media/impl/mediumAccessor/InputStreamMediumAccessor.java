@@ -10,11 +10,13 @@ package com.github.jmeta.library.media.impl.mediumAccessor;
 import java.io.IOException;
 import java.io.PushbackInputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
 import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 
 /**
@@ -135,6 +137,14 @@ public class InputStreamMediumAccessor extends AbstractMediumAccessor<InputStrea
 		}
 	}
 
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificRewrite(java.util.List)
+	 */
+	@Override
+	protected void mediumSpecificRewrite(List<MediumRegion> newContent) throws IOException {
+		// do nothing as this is a read-only class
+	}
+
 	/**
 	 * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessor#mediumSpecificSetCurrentPosition(com.github.jmeta.library.media.api.types.MediumOffset)
 	 */
@@ -10,12 +10,14 @@
 package com.github.jmeta.library.media.impl.mediumAccessor;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
 import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.utility.dbc.api.exceptions.PreconditionUnfullfilledException;
 
 /**
@@ -149,6 +151,31 @@ public interface MediumAccessor<T extends Medium<?>> {
 	 */
 	ByteBuffer read(int numberOfBytes) throws EndOfMediumException;
 
+	/**
+	 * Replaces the whole content of the {@link Medium} by the given
+	 * {@link MediumRegion}s, in the given order. The bytes of a
+	 * {@link MediumRegion} with cached bytes are taken from its
+	 * {@link MediumRegion#getBytes()}, while the bytes of a {@link MediumRegion}
+	 * without cached bytes are taken from the content of the {@link Medium} before
+	 * the call, starting at its {@link MediumRegion#getStartOffset()}. The length of
+	 * the {@link Medium} afterwards is the total size of all
+	 * {@link MediumRegion}s. This operation must only be called for a writable
+	 * {@link Medium}.
+	 * 
+	 * Implementations may build the new content separately and replace the old
+	 * content with a single, atomic operation, which is much faster than shifting
+	 * most of the bytes in place. The current position is reset to the start of the
+	 * {@link Medium}.
+	 * 
+	 * @param newContent The {@link MediumRegion}s making up the new content. Their
+	 *                   {@link MediumOffset}s must refer to the same {@link Medium}
+	 *                   as this {@link MediumAccessor}, and regions without cached
+	 *                   bytes must be completely contained in the {@link Medium}.
+	 * @throws ReadOnlyMediumException if the {@link Medium} is read-only
+	 * @throws MediumAccessException   in case of any errors during medium access
+	 */
+	void rewrite(List<MediumRegion> newContent);
+
 	/**
 	 * Sets the current position of this {@link MediumAccessor}. Only has an effect
 	 * for random-access media. See {@link #getCurrentPosition()} for more details.
@@ -161,6 +188,27 @@ public interface MediumAccessor<T extends Medium<?>> {
 	 */
 	void setCurrentPosition(MediumOffset position);
 
+	/**
+	 * Copies bytes of the {@link Medium} starting at the given source offset to the
+	 * current position as returned by {@link #getCurrentPosition()}, i.e. this is
+	 * equivalent to reading the bytes at the source offset and writing them at the
+	 * current position afterwards. Source and target range may overlap. This
+	 * operation must only be called for a writable {@link Medium}. Implementations
+	 * may copy the bytes without transferring them to the Java heap. This method
+	 * advances the current position of the medium by the bytes copied.
+	 * 
+	 * @param sourceOffset  The {@link MediumOffset} of the first byte to copy. Must
+	 *                      refer to the same {@link Medium} as this
+	 *                      {@link MediumAccessor}.
+	 * @param numberOfBytes The number of bytes to copy, must not be negative
+	 * @throws EndOfMediumException    if the end of the medium was reached before
+	 *                                 all bytes to copy could be read. Nothing has
+	 *                                 been written in this case.
+	 * @throws ReadOnlyMediumException if the {@link Medium} is read-only
+	 * @throws MediumAccessException   in case of any errors during medium access
+	 */
+	void transfer(MediumOffset sourceOffset, int numberOfBytes) throws EndOfMediumException;
+
 	/**
 	 * Truncates the {@link Medium} at the current position as returned by
 	 * {@link #getCurrentPosition()}. This effectively shortens the {@link Medium}
@@ -199,4 +247,24 @@ public interface MediumAccessor<T extends Medium<?>> {
 	 * @throws MediumAccessException   in case of any errors during medium access
 	 */
 	void write(ByteBuffer buffer);
+
+	/**
+	 * Writes the given {@link ByteBuffer}s one after the other to the
+	 * {@link MediumAccessor} starting at the current position as returned by
+	 * {@link #getCurrentPosition()}. The result is the same as calling
+	 * {@link #write(ByteBuffer)} for each of the {@link ByteBuffer}s in the given
+	 * order, but implementations may write all of them with a single medium access.
+	 * This method advances the current position of the medium by the total number
+	 * of bytes written.
+	 * 
+	 * The contents and properties of the specified {@link ByteBuffer}s are not
+	 * changed, see {@link #write(ByteBuffer)}.
+	 * 
+	 * @param buffers The {@link ByteBuffer}s to be written, must not be null and
+	 *                must not contain null entries
+	 * 
+	 * @throws ReadOnlyMediumException if the {@link Medium} is read-only
+	 * @throws MediumAccessException   in case of any errors during medium access
+	 */
+	void write(ByteBuffer[] buffers);
 }
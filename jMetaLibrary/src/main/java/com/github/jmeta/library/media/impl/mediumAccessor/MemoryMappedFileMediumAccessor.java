@@ -0,0 +1,164 @@
+/**
+ * {@link MemoryMappedFileMediumAccessor}.java
+ *
+ * @author Jens Ebert
+ * @date 17.10.2026
+ */
+
+package com.github.jmeta.library.media.impl.mediumAccessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.types.AbstractMedium;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * Represents an {@link MediumAccessor} that is a physical file with random
+ * access, reading it via memory-mapped windows, see
+ * {@link FileMediumAccessMode#MEMORY_MAPPED}.
+ *
+ * At any time, at most one window of the file is mapped. A read that is not
+ * fully contained in the current window maps a new window starting at the
+ * closest page boundary before the read offset, with a size of
+ * {@link #DEFAULT_WINDOW_SIZE_IN_BYTES} or the number of bytes to read, if
+ * bigger, clipped to the current length of the file. Windows are never mapped
+ * beyond the end of the file, as this would extend the file.
+ *
+ * The {@link ByteBuffer}s returned by {@link #read(int)} are read-only views
+ * onto the mapped window, i.e. no bytes are copied.
+ *
+ * Java offers no way to unmap a window explicitly. A window that is not current
+ * anymore, even after closing this {@link MemoryMappedFileMediumAccessor}, stays
+ * mapped until it and all views onto it are garbage collected. On some platforms,
+ * e.g. Windows, a file with an existing mapping cannot be truncated, deleted or
+ * rewritten. Therefore only read-only media are mapped, while writable media are
+ * read using positional reads on the file channel, as done by
+ * {@link FileMediumAccessor}.
+ */
+public class MemoryMappedFileMediumAccessor extends FileMediumAccessor {
+
+	/**
+	 * The default size of a single mapped window of the file
+	 */
+	public static final int DEFAULT_WINDOW_SIZE_IN_BYTES = 64 * 1024 * 1024;
+
+	private static final int PAGE_SIZE_IN_BYTES = 4096;
+
+	private final int windowSizeInBytes;
+
+	private MappedByteBuffer currentWindow;
+
+	private long currentWindowStartOffset;
+
+	/**
+	 * Creates a new {@link MemoryMappedFileMediumAccessor} using
+	 * {@link #DEFAULT_WINDOW_SIZE_IN_BYTES} as window size.
+	 *
+	 * @param medium The {@link AbstractMedium} this class works on.
+	 */
+	public MemoryMappedFileMediumAccessor(FileMedium medium) {
+		this(medium, DEFAULT_WINDOW_SIZE_IN_BYTES);
+	}
+
+	/**
+	 * Creates a new {@link MemoryMappedFileMediumAccessor}.
+	 *
+	 * @param medium            The {@link AbstractMedium} this class works on.
+	 * @param windowSizeInBytes The size of a single mapped window of the file,
+	 *                          must be bigger than zero
+	 */
+	public MemoryMappedFileMediumAccessor(FileMedium medium, int windowSizeInBytes) {
+		super(medium);
+
+		Reject.ifNegativeOrZero(windowSizeInBytes, "windowSizeInBytes");
+
+		this.windowSizeInBytes = windowSizeInBytes;
+	}
+
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor#mediumSpecificClose()
+	 */
+	@Override
+	protected void mediumSpecificClose() throws IOException {
+		invalidateWindow();
+
+		super.mediumSpecificClose();
+	}
+
+	/**
+	 * @see com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor#mediumSpecificRead(int)
+	 */
+	@Override
+	protected ByteBuffer mediumSpecificRead(int numberOfBytes) throws IOException, EndOfMediumException {
+		if (getMedium().getMediumAccessType() != MediumAccessType.READ_ONLY) {
+			return super.mediumSpecificRead(numberOfBytes);
+		}
+
+		MediumOffset readOffsetRef = getCurrentPosition();
+		long readOffset = readOffsetRef.getAbsoluteMediumOffset();
+		long fileSize = getFileChannel().size();
+
+		int bytesAvailable = (int) Math.max(0, Math.min(numberOfBytes, fileSize - readOffset));
+
+		ByteBuffer view = bytesAvailable == 0 ? ByteBuffer.allocate(0)
+			: getViewOnWindow(readOffset, bytesAvailable, fileSize);
+
+		updateCurrentPosition(readOffsetRef.advance(bytesAvailable));
+
+		if (bytesAvailable < numberOfBytes) {
+			throw new EndOfMediumException(readOffsetRef, numberOfBytes, bytesAvailable, view);
+		}
+
+		return view;
+	}
+
+	/**
+	 * Returns a {@link ByteBuffer} with position 0 and the given number of bytes
+	 * remaining, containing the bytes of the file starting at the given offset.
+	 * Maps a new window, if the current one does not fully contain the range. The
+	 * range must be fully contained in the file.
+	 *
+	 * @param offset        The absolute offset of the first byte
+	 * @param numberOfBytes The number of bytes, must be bigger than zero
+	 * @param fileSize      The current size of the file
+	 * @return The read-only view on the window
+	 * @throws IOException in case of mapping the file failed
+	 */
+	private ByteBuffer getViewOnWindow(long offset, int numberOfBytes, long fileSize) throws IOException {
+		if (currentWindow == null || offset < currentWindowStartOffset
+			|| offset + numberOfBytes > currentWindowStartOffset + currentWindow.capacity()) {
+			long windowStartOffset = offset - offset % PAGE_SIZE_IN_BYTES;
+			long windowSize = Math.min(Math.max(windowSizeInBytes, offset - windowStartOffset + numberOfBytes),
+				fileSize - windowStartOffset);
+
+			currentWindow = getFileChannel().map(MapMode.READ_ONLY, windowStartOffset, windowSize);
+			currentWindowStartOffset = windowStartOffset;
+		}
+
+		ByteBuffer window = currentWindow.duplicate();
+
+		int positionInWindow = (int) (offset - currentWindowStartOffset);
+
+		window.limit(positionInWindow + numberOfBytes);
+		window.position(positionInWindow);
+
+		return window.slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Drops the currently mapped window, if any. The mapping itself is only
+	 * released when the window and all views on it are garbage collected.
+	 */
+	private void invalidateWindow() {
+		currentWindow = null;
+		currentWindowStartOffset = 0;
+	}
+}
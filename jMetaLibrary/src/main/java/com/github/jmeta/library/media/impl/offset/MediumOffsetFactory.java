@@ -9,9 +9,15 @@
  */
 package com.github.jmeta.library.media.impl.offset;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -41,12 +47,56 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  * Furthermore, it implements update functionality to automatically update all
  * {@link MediumOffset} instances due to an action that was done on the current
  * {@link Medium}.
+ *
+ * The created {@link MediumOffset}s are only weakly referenced by this class,
+ * i.e. as soon as a {@link MediumOffset} is not used anymore by any other
+ * object, it is garbage collected and silently dropped from this factory. The
+ * {@link MediumOffset}s are indexed by their current absolute offset, so that
+ * queries and updates only visit those {@link MediumOffset}s that are really
+ * affected instead of all {@link MediumOffset}s ever created. Nevertheless, all
+ * methods returning {@link MediumOffset}s return them in the order of their
+ * creation.
  */
 public class MediumOffsetFactory {
 
+	/**
+	 * {@link OffsetReference} is a weak reference to a created
+	 * {@link StandardMediumOffset}, remembering the key it is currently stored
+	 * with in the index as well as its creation order, both of which must still be
+	 * known after the {@link StandardMediumOffset} has been garbage collected.
+	 */
+	private static class OffsetReference extends WeakReference<StandardMediumOffset> {
+
+		private long indexedAbsoluteMediumOffset;
+
+		private final long creationSequenceNumber;
+
+		/**
+		 * Creates a new {@link OffsetReference}.
+		 * 
+		 * @param offset                 The {@link StandardMediumOffset} referenced
+		 * @param creationSequenceNumber The sequence number of the creation of the
+		 *                               {@link StandardMediumOffset}
+		 * @param queue                  The queue the reference is enqueued to as
+		 *                               soon as the {@link StandardMediumOffset} is
+		 *                               garbage collected
+		 */
+		public OffsetReference(StandardMediumOffset offset, long creationSequenceNumber,
+			ReferenceQueue<? super StandardMediumOffset> queue) {
+			super(offset, queue);
+
+			this.indexedAbsoluteMediumOffset = offset.getAbsoluteMediumOffset();
+			this.creationSequenceNumber = creationSequenceNumber;
+		}
+	}
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(StandardLibraryJMeta.class);
 
-	private final List<MediumOffset> offsets = new ArrayList<>();
+	private final NavigableMap<Long, List<OffsetReference>> offsetsByAbsoluteOffset = new TreeMap<>();
+
+	private final ReferenceQueue<StandardMediumOffset> collectedOffsets = new ReferenceQueue<>();
+
+	private long nextCreationSequenceNumber;
 
 	private final Medium<?> medium;
 
@@ -66,7 +116,11 @@ public class MediumOffsetFactory {
 	 */
 	public void clear() {
 
-		offsets.clear();
+		offsetsByAbsoluteOffset.clear();
+
+		while (collectedOffsets.poll() != null) {
+			// Just empty the queue, the index is empty anyways
+		}
 	}
 
 	/**
@@ -87,7 +141,9 @@ public class MediumOffsetFactory {
 		// "this"
 		newOffset.setMediumReferenceRepository(this);
 
-		offsets.add(newOffset);
+		expungeCollectedOffsets();
+
+		addToIndex(new OffsetReference(newOffset, nextCreationSequenceNumber++, collectedOffsets));
 
 		return newOffset;
 	}
@@ -99,7 +155,9 @@ public class MediumOffsetFactory {
 	 */
 	public List<MediumOffset> getAllOffsets() {
 
-		return Collections.unmodifiableList(offsets);
+		expungeCollectedOffsets();
+
+		return getOffsetsInCreationOrder(offsetsByAbsoluteOffset.values());
 	}
 
 	/**
@@ -116,15 +174,10 @@ public class MediumOffsetFactory {
 		Reject.ifNull(offset, "offset");
 		Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
 
-		List<MediumOffset> allOffsetsBehindOrEqual = new ArrayList<>();
-
-		for (MediumOffset offsetBehindOrEqual : offsets) {
-			if (offsetBehindOrEqual.behindOrEqual(offset)) {
-				allOffsetsBehindOrEqual.add(offsetBehindOrEqual);
-			}
-		}
+		expungeCollectedOffsets();
 
-		return allOffsetsBehindOrEqual;
+		return getOffsetsInCreationOrder(
+			offsetsByAbsoluteOffset.tailMap(offset.getAbsoluteMediumOffset(), true).values());
 	}
 
 	/**
@@ -141,15 +194,10 @@ public class MediumOffsetFactory {
 		Reject.ifFalse(region.getStartOffset().getMedium().equals(getMedium()),
 			"region.getStartOffset().getMedium().equals(getMedium())");
 
-		List<MediumOffset> allOffsetsInRegion = new ArrayList<>();
+		expungeCollectedOffsets();
 
-		for (MediumOffset offset : offsets) {
-			if (region.contains(offset)) {
-				allOffsetsInRegion.add(offset);
-			}
-		}
-
-		return allOffsetsInRegion;
+		return getOffsetsInCreationOrder(offsetsByAbsoluteOffset.subMap(region.getStartOffset().getAbsoluteMediumOffset(),
+			true, region.calculateEndOffsetAsLong(), false).values());
 	}
 
 	/**
@@ -240,14 +288,29 @@ public class MediumOffsetFactory {
 			}
 		}
 
-		List<MediumOffset> referencesBehindOrEqual = getAllOffsetsBehindOrEqual(startReference);
-
 		long y = startReference.getAbsoluteMediumOffset();
 
-		for (MediumOffset offsetToUpdate : referencesBehindOrEqual) {
-			long x = offsetToUpdate.getAbsoluteMediumOffset();
+		expungeCollectedOffsets();
+
+		// Only the offsets behind or equal to the start offset are affected. They are
+		// taken out of the index and added again with their new offsets afterwards
+		NavigableMap<Long, List<OffsetReference>> affectedOffsets = offsetsByAbsoluteOffset.tailMap(y, true);
+
+		List<OffsetReference> referencesBehindOrEqual = new ArrayList<>();
 
-			StandardMediumOffset ref = (StandardMediumOffset) offsetToUpdate;
+		affectedOffsets.values().forEach(referencesBehindOrEqual::addAll);
+		affectedOffsets.clear();
+
+		for (OffsetReference referenceToUpdate : referencesBehindOrEqual) {
+			StandardMediumOffset ref = referenceToUpdate.get();
+
+			if (ref == null) {
+				continue;
+			}
+
+			MediumOffset offsetToUpdate = ref;
+
+			long x = offsetToUpdate.getAbsoluteMediumOffset();
 
 			// For INSERTS, we only update all medium offsets EXCEPT the causing action's
 			// start offset which must remain
@@ -266,6 +329,69 @@ public class MediumOffsetFactory {
 					ref.setAbsoluteMediumOffset(x - k);
 				}
 			}
+
+			referenceToUpdate.indexedAbsoluteMediumOffset = ref.getAbsoluteMediumOffset();
+
+			addToIndex(referenceToUpdate);
+		}
+	}
+
+	/**
+	 * Adds the given {@link OffsetReference} to the index, using its current
+	 * indexed absolute offset as key.
+	 * 
+	 * @param reference The {@link OffsetReference} to add
+	 */
+	private void addToIndex(OffsetReference reference) {
+		offsetsByAbsoluteOffset.computeIfAbsent(reference.indexedAbsoluteMediumOffset, key -> new ArrayList<>(1))
+			.add(reference);
+	}
+
+	/**
+	 * Removes all {@link OffsetReference}s from the index whose
+	 * {@link StandardMediumOffset} has been garbage collected in the meantime.
+	 */
+	private void expungeCollectedOffsets() {
+		Reference<? extends StandardMediumOffset> collectedOffset;
+
+		while ((collectedOffset = collectedOffsets.poll()) != null) {
+			OffsetReference reference = (OffsetReference) collectedOffset;
+
+			List<OffsetReference> referencesAtOffset = offsetsByAbsoluteOffset
+				.get(reference.indexedAbsoluteMediumOffset);
+
+			if (referencesAtOffset != null) {
+				referencesAtOffset.remove(reference);
+
+				if (referencesAtOffset.isEmpty()) {
+					offsetsByAbsoluteOffset.remove(reference.indexedAbsoluteMediumOffset);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns all {@link MediumOffset}s referenced by the given
+	 * {@link OffsetReference}s that are not yet garbage collected, in the order of
+	 * their creation.
+	 * 
+	 * @param references The {@link OffsetReference}s, grouped by offset
+	 * @return all {@link MediumOffset}s not yet garbage collected, in the order of
+	 *         their creation
+	 */
+	private List<MediumOffset> getOffsetsInCreationOrder(Collection<List<OffsetReference>> references) {
+		Map<Long, MediumOffset> offsetsInCreationOrder = new TreeMap<>();
+
+		for (List<OffsetReference> referencesAtOffset : references) {
+			for (OffsetReference reference : referencesAtOffset) {
+				StandardMediumOffset offset = reference.get();
+
+				if (offset != null) {
+					offsetsInCreationOrder.put(reference.creationSequenceNumber, offset);
+				}
+			}
 		}
+
+		return new ArrayList<>(offsetsInCreationOrder.values());
 	}
 }
@@ -0,0 +1,364 @@
+/**
+ *
+ * {@link ConcurrentReadOnlyMediumStore}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
+import com.github.jmeta.library.media.api.exceptions.MediumStoreClosedException;
+import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumAction;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.cache.StripedMediumCache;
+import com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link ConcurrentReadOnlyMediumStore} is a thread-safe {@link MediumStore} for a {@link FileMedium} opened with
+ * {@link MediumAccessType#READ_ONLY}. Its reading methods may be called by any number of threads concurrently, while
+ * {@link #open()} and {@link #close()} must not be called concurrently to any other method.
+ *
+ * In contrast to the {@link StandardMediumStore}, it does not use the current position of its
+ * {@link FileMediumAccessor}, but only its positional {@link FileMediumAccessor#readAt(long, int)}. Bytes read are
+ * cached in a {@link StripedMediumCache}, in blocks of the maximum read-write block size of the medium.
+ *
+ * As a read-only medium is never changed by a flush, the {@link MediumOffset}s created by this store are never
+ * updated. Therefore they are not registered in a {@link com.github.jmeta.library.media.impl.offset.MediumOffsetFactory},
+ * which would need to be synchronized otherwise. All writing methods throw a {@link ReadOnlyMediumException}.
+ */
+public class ConcurrentReadOnlyMediumStore implements MediumStore {
+
+   private final FileMediumAccessor mediumAccessor;
+
+   private final StripedMediumCache cache;
+
+   private volatile boolean isOpened;
+
+   /**
+    * Creates a new {@link ConcurrentReadOnlyMediumStore}.
+    *
+    * @param mediumAccessor
+    *           The {@link FileMediumAccessor} to use, must not be null and its medium must be read-only
+    * @param cache
+    *           The {@link StripedMediumCache} to use, must not be null and must cache the same medium
+    */
+   public ConcurrentReadOnlyMediumStore(FileMediumAccessor mediumAccessor, StripedMediumCache cache) {
+      Reject.ifNull(mediumAccessor, "mediumAccessor");
+      Reject.ifNull(cache, "cache");
+      Reject.ifFalse(mediumAccessor.getMedium().getMediumAccessType() == MediumAccessType.READ_ONLY,
+         "mediumAccessor.getMedium().getMediumAccessType() == MediumAccessType.READ_ONLY");
+      Reject.ifFalse(cache.getMedium().equals(mediumAccessor.getMedium()),
+         "cache.getMedium().equals(mediumAccessor.getMedium())");
+
+      this.mediumAccessor = mediumAccessor;
+      this.cache = cache;
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#cache(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public void cache(MediumOffset offset, int numberOfBytes) throws EndOfMediumException {
+      getData(offset, numberOfBytes);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#cacheAsync(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public CompletableFuture<Void> cacheAsync(MediumOffset offset, int numberOfBytes) {
+      return getDataAsync(offset, numberOfBytes).thenApply(bytes -> null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#close()
+    */
+   @Override
+   public void close() {
+      ensureOpened();
+
+      isOpened = false;
+
+      cache.clear();
+      mediumAccessor.close();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#createMediumOffset(long)
+    */
+   @Override
+   public MediumOffset createMediumOffset(long offset) {
+      Reject.ifNegative(offset, "offset");
+      ensureOpened();
+
+      return new StandardMediumOffset(getMedium(), offset);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#declarePadding(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public void declarePadding(MediumOffset offset, int size) {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#flush()
+    */
+   @Override
+   public void flush() {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getCachedByteCountAt(com.github.jmeta.library.media.api.types.MediumOffset)
+    */
+   @Override
+   public long getCachedByteCountAt(MediumOffset offset) {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+
+      return cache.getCachedByteCountAt(offset);
+   }
+
+   /**
+    * Reads all blocks overlapping the range from the {@link StripedMediumCache}, and only if not cached from the
+    * medium. If the range is within a single block, a view on the bytes of the block is returned without copying.
+    *
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getData(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public ByteBuffer getData(MediumOffset offset, int numberOfBytes) throws EndOfMediumException {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+      Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+
+      long absoluteOffset = offset.getAbsoluteMediumOffset();
+
+      if (getMedium().getCurrentLength() < absoluteOffset) {
+         throw new EndOfMediumException(offset, numberOfBytes, 0, ByteBuffer.allocate(0));
+      }
+
+      int blockSize = cache.getBlockSizeInBytes();
+
+      long firstBlockOffset = absoluteOffset - absoluteOffset % blockSize;
+      long endOffset = absoluteOffset + numberOfBytes;
+
+      ByteBuffer firstBlockBytes = getBlock(firstBlockOffset);
+
+      int positionInFirstBlock = (int) (absoluteOffset - firstBlockOffset);
+
+      if (firstBlockBytes.limit() >= positionInFirstBlock + numberOfBytes) {
+         firstBlockBytes.position(positionInFirstBlock);
+         firstBlockBytes.limit(positionInFirstBlock + numberOfBytes);
+
+         return firstBlockBytes.slice();
+      }
+
+      ByteBuffer returnedBytes = ByteBuffer.allocate(numberOfBytes);
+
+      ByteBuffer blockBytes = firstBlockBytes;
+
+      blockBytes.position(Math.min(positionInFirstBlock, blockBytes.limit()));
+
+      for (long blockOffset = firstBlockOffset; blockOffset < endOffset; blockOffset += blockSize) {
+         if (blockOffset != firstBlockOffset) {
+            blockBytes = getBlock(blockOffset);
+         }
+
+         boolean isEndOfMediumReached = blockBytes.limit() < blockSize;
+
+         blockBytes.limit(Math.min(blockBytes.limit(), blockBytes.position() + returnedBytes.remaining()));
+
+         returnedBytes.put(blockBytes);
+
+         if (isEndOfMediumReached) {
+            break;
+         }
+      }
+
+      returnedBytes.flip();
+
+      if (returnedBytes.remaining() < numberOfBytes) {
+         throw new EndOfMediumException(offset, numberOfBytes, returnedBytes.remaining(),
+            returnedBytes.asReadOnlyBuffer());
+      }
+
+      return returnedBytes.asReadOnlyBuffer();
+   }
+
+   /**
+    * Reads synchronously on the calling thread, as concurrent reads are already possible by calling
+    * {@link #getData(MediumOffset, int)} from several threads.
+    *
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getDataAsync(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public CompletableFuture<ByteBuffer> getDataAsync(MediumOffset offset, int numberOfBytes) {
+      CompletableFuture<ByteBuffer> bytesRead = new CompletableFuture<>();
+
+      try {
+         bytesRead.complete(getData(offset, numberOfBytes));
+      } catch (EndOfMediumException | MediumAccessException e) {
+         bytesRead.completeExceptionally(e);
+      }
+
+      return bytesRead;
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getMedium()
+    */
+   @Override
+   public Medium<?> getMedium() {
+      return mediumAccessor.getMedium();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#insertData(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      java.nio.ByteBuffer)
+    */
+   @Override
+   public MediumAction insertData(MediumOffset offset, ByteBuffer dataToInsert) {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#isAtEndOfMedium(com.github.jmeta.library.media.api.types.MediumOffset)
+    */
+   @Override
+   public boolean isAtEndOfMedium(MediumOffset offset) {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+
+      return offset.getAbsoluteMediumOffset() >= getMedium().getCurrentLength();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#isOpened()
+    */
+   @Override
+   public boolean isOpened() {
+      return isOpened;
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#open()
+    */
+   @Override
+   public void open() {
+      mediumAccessor.open();
+
+      isOpened = true;
+   }
+
+   /**
+    * Does nothing, as this {@link MediumStore} is only used for random-access media.
+    *
+    * @see com.github.jmeta.library.media.api.services.MediumStore#releaseCachedDataBefore(com.github.jmeta.library.media.api.types.MediumOffset)
+    */
+   @Override
+   public void releaseCachedDataBefore(MediumOffset offset) {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#removeData(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public MediumAction removeData(MediumOffset offset, int numberOfBytesToRemove) {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#replaceData(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int, java.nio.ByteBuffer)
+    */
+   @Override
+   public MediumAction replaceData(MediumOffset offset, int numberOfBytesToReplace, ByteBuffer replacementData) {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#undo(com.github.jmeta.library.media.api.types.MediumAction)
+    */
+   @Override
+   public void undo(MediumAction mediumAction) {
+      ensureOpened();
+
+      throw new ReadOnlyMediumException(getMedium(), null);
+   }
+
+   /**
+    * Ensures that this {@link MediumStore} is opened for most of the operations.
+    */
+   private void ensureOpened() {
+      if (!isOpened()) {
+         throw new MediumStoreClosedException();
+      }
+   }
+
+   /**
+    * Returns the bytes of the block at the given offset from the {@link StripedMediumCache}, reading it if not yet
+    * cached.
+    *
+    * @param blockOffset
+    *           The absolute offset of the block, a multiple of the block size
+    * @return A read-only {@link ByteBuffer} with position 0 containing the bytes of the block, less than the block size
+    *         at the end of medium
+    */
+   private ByteBuffer getBlock(long blockOffset) {
+      return cache.getBlock(new StandardMediumOffset(getMedium(), blockOffset), this::readBlock);
+   }
+
+   /**
+    * Reads the block at the given offset from the medium using a positional read.
+    *
+    * @param blockOffset
+    *           The start offset of the block
+    * @return A {@link ByteBuffer} with position 0 containing the bytes of the block, less than the block size at the end
+    *         of medium
+    */
+   private ByteBuffer readBlock(MediumOffset blockOffset) {
+      try {
+         return mediumAccessor.readAt(blockOffset.getAbsoluteMediumOffset(), cache.getBlockSizeInBytes());
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not read block at <" + blockOffset + ">", e);
+      }
+   }
+}
@@ -0,0 +1,739 @@
+/**
+ *
+ * {@link FlushJournal}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link FlushJournal} is a write-ahead journal making flushes of a medium crash-safe. Before a flush changes the
+ * medium, all {@link JournalStep}s it is going to execute are persisted in a journal file and forced to the storage
+ * device.
+ *
+ * While the flush executes the {@link JournalStep}s, the index of the last completed {@link JournalStep} is written to
+ * the journal file as checkpoint, after forcing all changes of the medium done so far to the storage device. This
+ * happens whenever the number of bytes changed since the last checkpoint exceeds the checkpoint interval. After the
+ * flush is complete, the journal file is deleted.
+ *
+ * If the process dies during a flush, the journal file remains. When the medium is opened the next time,
+ * {@link #readPendingSteps()} returns all {@link JournalStep}s behind the last checkpoint, which must be executed again
+ * to complete the interrupted flush. If the journal file is incomplete, the process died before the medium was
+ * changed at all, and the journal is just discarded.
+ *
+ * Executing the {@link JournalStep}s behind the last checkpoint again must yield the same result, no matter how many
+ * of them were executed before the interruption. This is ensured as follows:
+ * <ul>
+ * <li>A {@link JournalStepType#SHIFT} destroys its own source bytes when executed partially. Thus, its source bytes
+ * must be appended to the journal file using {@link #journalSourceBytes(ByteBuffer)} directly before executing it.
+ * These bytes are only kept until the next checkpoint, so the journal file grows by at most the checkpoint interval
+ * plus a single step.</li>
+ * <li>A step might overwrite the source bytes of a {@link JournalStepType#TRANSFER} executed before. Thus,
+ * {@link #beforeChanging(long, long)} must be called directly before executing any step, and it writes a checkpoint if
+ * the bytes to change are the source bytes of a {@link JournalStepType#TRANSFER} completed after the last
+ * checkpoint.</li>
+ * </ul>
+ *
+ * The {@link JournalStep}s returned by {@link #readPendingSteps()} must be executed following the same rules, such
+ * that the flush can be completed even if the process dies again while completing it.
+ *
+ * This class is not thread-safe.
+ */
+public class FlushJournal {
+
+   /**
+    * {@link MediumSynchronizer} forces all changes of the medium done so far to the storage device.
+    */
+   @FunctionalInterface
+   public interface MediumSynchronizer {
+
+      /**
+       * Forces all changes of the medium done so far to the storage device.
+       *
+       * @throws IOException
+       *            in case forcing the changes failed
+       */
+      void synchronize() throws IOException;
+   }
+
+   /**
+    * The types of {@link JournalStep}s.
+    */
+   public enum JournalStepType {
+      /**
+       * Writes bytes to the target offset.
+       */
+      WRITE,
+      /**
+       * Copies bytes from the source offset to the target offset, source and target range do not overlap.
+       */
+      TRANSFER,
+      /**
+       * Truncates the medium at the target offset.
+       */
+      TRUNCATE,
+      /**
+       * Copies bytes from the source offset to the target offset, source and target range overlap. The bytes to copy
+       * are journaled with {@link FlushJournal#journalSourceBytes(ByteBuffer)} directly before the step is executed.
+       */
+      SHIFT,
+   }
+
+   /**
+    * {@link JournalStep} is a single change of the medium done during a flush.
+    */
+   public static class JournalStep {
+
+      private final JournalStepType type;
+
+      private final long targetOffset;
+
+      private final long sourceOffset;
+
+      private final int size;
+
+      private final ByteBuffer bytes;
+
+      /**
+       * Creates a new {@link JournalStep}.
+       *
+       * @param type
+       *           The {@link JournalStepType}, must not be null
+       * @param targetOffset
+       *           The absolute offset changed by the step, must not be negative
+       * @param sourceOffset
+       *           The absolute offset of the bytes to copy for {@link JournalStepType#TRANSFER} and
+       *           {@link JournalStepType#SHIFT}, ignored otherwise
+       * @param size
+       *           The number of bytes to copy for {@link JournalStepType#TRANSFER} and {@link JournalStepType#SHIFT},
+       *           ignored otherwise
+       * @param bytes
+       *           The bytes to write for {@link JournalStepType#WRITE}, must not be null in this case. The journaled
+       *           source bytes for {@link JournalStepType#SHIFT}, if already known, with exactly size bytes remaining.
+       *           Must be null otherwise.
+       */
+      public JournalStep(JournalStepType type, long targetOffset, long sourceOffset, int size, ByteBuffer bytes) {
+         Reject.ifNull(type, "type");
+         Reject.ifNegative(targetOffset, "targetOffset");
+         Reject.ifFalse((type == JournalStepType.WRITE) == (bytes != null) || type == JournalStepType.SHIFT,
+            "(type == JournalStepType.WRITE) == (bytes != null) || type == JournalStepType.SHIFT");
+         Reject.ifFalse(type != JournalStepType.SHIFT || bytes == null || bytes.remaining() == size,
+            "type != JournalStepType.SHIFT || bytes == null || bytes.remaining() == size");
+
+         this.type = type;
+         this.targetOffset = targetOffset;
+         this.bytes = bytes;
+
+         if (type == JournalStepType.WRITE) {
+            this.sourceOffset = 0;
+            this.size = bytes.remaining();
+         } else if (type == JournalStepType.TRANSFER || type == JournalStepType.SHIFT) {
+            this.sourceOffset = sourceOffset;
+            this.size = size;
+         } else {
+            this.sourceOffset = 0;
+            this.size = 0;
+         }
+      }
+
+      /**
+       * @return the bytes to write for {@link JournalStepType#WRITE}, the journaled source bytes for
+       *         {@link JournalStepType#SHIFT} or null if they are not known, null otherwise
+       */
+      public ByteBuffer getBytes() {
+         return bytes;
+      }
+
+      /**
+       * @return the number of bytes written or copied, 0 for {@link JournalStepType#TRUNCATE}
+       */
+      public int getSize() {
+         return size;
+      }
+
+      /**
+       * @return the absolute offset of the bytes to copy for {@link JournalStepType#TRANSFER} and
+       *         {@link JournalStepType#SHIFT}, 0 otherwise
+       */
+      public long getSourceOffset() {
+         return sourceOffset;
+      }
+
+      /**
+       * @return the absolute offset changed by this {@link JournalStep}
+       */
+      public long getTargetOffset() {
+         return targetOffset;
+      }
+
+      /**
+       * @return the {@link JournalStepType}
+       */
+      public JournalStepType getType() {
+         return type;
+      }
+
+      /**
+       * @see java.lang.Object#toString()
+       */
+      @Override
+      public String toString() {
+         return "JournalStep [type=" + type + ", targetOffset=" + targetOffset + ", sourceOffset=" + sourceOffset
+            + ", size=" + size + "]";
+      }
+   }
+
+   /**
+    * The default number of bytes changed after which a checkpoint is written.
+    */
+   public static final long DEFAULT_CHECKPOINT_INTERVAL_IN_BYTES = 4L * 1024 * 1024;
+
+   private static final int JOURNAL_MAGIC_KEY = 0x4A4D464A;
+
+   private static final int JOURNAL_VERSION = 2;
+
+   private static final int PLAN_COMPLETE_MARKER = 0x504C414E;
+
+   /**
+    * Checkpoints are written alternately to two slots, each containing the step index and its bitwise complement. A
+    * torn checkpoint write leaves the other slot with the previous checkpoint intact.
+    */
+   private static final int CHECKPOINT_SLOT_COUNT = 2;
+
+   private static final int CHECKPOINT_SLOT_SIZE = 2 * Integer.BYTES;
+
+   private static final int NO_CHECKPOINT = -1;
+
+   private final Path journalPath;
+
+   private final MediumSynchronizer mediumSynchronizer;
+
+   private final long checkpointIntervalInBytes;
+
+   private FileChannel journalChannel;
+
+   private List<JournalStep> currentSteps;
+
+   private final List<JournalStep> transfersSinceLastCheckpoint = new ArrayList<>();
+
+   private int lastCompletedStepIndex;
+
+   private int lastCheckpointStepIndex;
+
+   private int nextCheckpointSlot;
+
+   private long checkpointSlotsPosition;
+
+   private long sourceBytesEndPosition;
+
+   private long bytesChangedSinceLastCheckpoint;
+
+   /**
+    * Creates a new {@link FlushJournal}.
+    *
+    * @param journalPath
+    *           The {@link Path} of the journal file, must not be null
+    * @param mediumSynchronizer
+    *           The {@link MediumSynchronizer} used to force changes of the medium to the storage device before writing
+    *           a checkpoint, must not be null
+    * @param checkpointIntervalInBytes
+    *           The number of bytes changed after which a checkpoint is written, must be bigger than zero
+    */
+   public FlushJournal(Path journalPath, MediumSynchronizer mediumSynchronizer, long checkpointIntervalInBytes) {
+      Reject.ifNull(journalPath, "journalPath");
+      Reject.ifNull(mediumSynchronizer, "mediumSynchronizer");
+      Reject.ifNegativeOrZero(checkpointIntervalInBytes, "checkpointIntervalInBytes");
+
+      this.journalPath = journalPath;
+      this.mediumSynchronizer = mediumSynchronizer;
+      this.checkpointIntervalInBytes = checkpointIntervalInBytes;
+   }
+
+   /**
+    * Tells this {@link FlushJournal} that the next {@link JournalStep} is going to change the given range of the
+    * medium. Writes a checkpoint, if the range overlaps the source bytes of a {@link JournalStepType#TRANSFER}
+    * completed after the last checkpoint, as this {@link JournalStepType#TRANSFER} could not be executed again
+    * afterwards. Must be called directly before executing any {@link JournalStep}. If several {@link JournalStep}s are
+    * executed together, the range must cover all of them.
+    *
+    * @param startOffset
+    *           The absolute offset of the first byte changed, must not be negative
+    * @param endOffset
+    *           The absolute offset behind the last byte changed, must not be smaller than startOffset. Use
+    *           {@link Long#MAX_VALUE} for {@link JournalStepType#TRUNCATE}.
+    */
+   public void beforeChanging(long startOffset, long endOffset) {
+      Reject.ifFalse(isActive(), "isActive()");
+      Reject.ifNegative(startOffset, "startOffset");
+      Reject.ifFalse(endOffset >= startOffset, "endOffset >= startOffset");
+
+      for (JournalStep transfer : transfersSinceLastCheckpoint) {
+         if (transfer.getSourceOffset() < endOffset && startOffset < transfer.getSourceOffset() + transfer.getSize()) {
+            writeCheckpoint();
+            return;
+         }
+      }
+   }
+
+   /**
+    * Starts journaling a flush by persisting all {@link JournalStep}s it is going to execute, in the order of
+    * execution. Returns as soon as the journal file has been forced to the storage device, i.e. the medium may be
+    * changed afterwards.
+    *
+    * @param steps
+    *           The {@link JournalStep}s of the flush, must not be null
+    */
+   public void begin(List<JournalStep> steps) {
+      Reject.ifNull(steps, "steps");
+      Reject.ifFalse(!isActive(), "!isActive()");
+
+      try {
+         journalChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+         DataOutputStream journalStream = new DataOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(journalChannel)));
+
+         journalStream.writeInt(FlushJournal.JOURNAL_MAGIC_KEY);
+         journalStream.writeInt(FlushJournal.JOURNAL_VERSION);
+         journalStream.writeInt(steps.size());
+
+         for (JournalStep step : steps) {
+            writeStep(journalStream, step);
+         }
+
+         journalStream.writeInt(FlushJournal.PLAN_COMPLETE_MARKER);
+
+         for (int i = 0; i < FlushJournal.CHECKPOINT_SLOT_COUNT; i++) {
+            journalStream.writeInt(FlushJournal.NO_CHECKPOINT);
+            journalStream.writeInt(~FlushJournal.NO_CHECKPOINT);
+         }
+
+         journalStream.flush();
+
+         journalChannel.force(true);
+
+         sourceBytesEndPosition = journalChannel.position();
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not write flush journal " + journalPath, e);
+      }
+
+      currentSteps = new ArrayList<>(steps);
+      checkpointSlotsPosition = sourceBytesEndPosition
+         - FlushJournal.CHECKPOINT_SLOT_COUNT * FlushJournal.CHECKPOINT_SLOT_SIZE;
+      lastCompletedStepIndex = FlushJournal.NO_CHECKPOINT;
+      lastCheckpointStepIndex = FlushJournal.NO_CHECKPOINT;
+      nextCheckpointSlot = 0;
+      bytesChangedSinceLastCheckpoint = 0;
+      transfersSinceLastCheckpoint.clear();
+   }
+
+   /**
+    * Closes the journal file, if still open, without deleting it. If a flush is currently journaled, it is completed
+    * with the next call to {@link #readPendingSteps()}.
+    */
+   public void close() {
+      try {
+         closeJournalChannel();
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not close flush journal " + journalPath, e);
+      }
+
+      currentSteps = null;
+   }
+
+   /**
+    * Tells this {@link FlushJournal} that all {@link JournalStep}s up to and including the one with the given index
+    * have been executed. Writes a checkpoint, if the checkpoint interval is exceeded.
+    *
+    * @param stepIndex
+    *           The index of the last {@link JournalStep} executed, must not be smaller than the last index given
+    */
+   public void completedUpTo(int stepIndex) {
+      Reject.ifFalse(isActive(), "isActive()");
+      Reject.ifNotInInterval(stepIndex, lastCompletedStepIndex, currentSteps.size() - 1, "stepIndex");
+
+      for (int i = lastCompletedStepIndex + 1; i <= stepIndex; i++) {
+         JournalStep completedStep = currentSteps.get(i);
+
+         bytesChangedSinceLastCheckpoint += completedStep.getSize();
+
+         if (completedStep.getType() == JournalStepType.TRANSFER) {
+            transfersSinceLastCheckpoint.add(completedStep);
+         }
+      }
+
+      lastCompletedStepIndex = stepIndex;
+
+      if (bytesChangedSinceLastCheckpoint >= checkpointIntervalInBytes) {
+         writeCheckpoint();
+      }
+   }
+
+   /**
+    * Finishes a flush, either journaled with {@link #begin(List)} or completed after calling
+    * {@link #readPendingSteps()}: Forces all changes of the medium to the storage device, and deletes the journal file
+    * afterwards.
+    */
+   public void end() {
+      try {
+         mediumSynchronizer.synchronize();
+
+         closeJournalChannel();
+
+         Files.deleteIfExists(journalPath);
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not delete flush journal " + journalPath, e);
+      }
+
+      currentSteps = null;
+   }
+
+   /**
+    * @return the index of the last {@link JournalStep} completed, -1 if none is completed yet
+    */
+   public int getLastCompletedStepIndex() {
+      Reject.ifFalse(isActive(), "isActive()");
+
+      return lastCompletedStepIndex;
+   }
+
+   /**
+    * @return true if a flush is currently journaled, i.e. {@link #begin(List)} was called or {@link #readPendingSteps()}
+    *         returned {@link JournalStep}s, but {@link #end()} was not called yet
+    */
+   public boolean isActive() {
+      return currentSteps != null;
+   }
+
+   /**
+    * Appends the source bytes of the next {@link JournalStep} to execute, which must be a {@link JournalStepType#SHIFT},
+    * to the journal file. Returns as soon as they have been forced to the storage device, i.e. the
+    * {@link JournalStepType#SHIFT} may be executed afterwards.
+    *
+    * @param sourceBytes
+    *           The source bytes of the {@link JournalStepType#SHIFT}, must not be null and must have exactly its size
+    *           remaining
+    */
+   public void journalSourceBytes(ByteBuffer sourceBytes) {
+      Reject.ifNull(sourceBytes, "sourceBytes");
+      Reject.ifFalse(isActive(), "isActive()");
+
+      int stepIndex = lastCompletedStepIndex + 1;
+
+      Reject.ifFalse(stepIndex < currentSteps.size(), "stepIndex < currentSteps.size()");
+
+      JournalStep shift = currentSteps.get(stepIndex);
+
+      Reject.ifFalse(shift.getType() == JournalStepType.SHIFT, "shift.getType() == JournalStepType.SHIFT");
+      Reject.ifFalse(sourceBytes.remaining() == shift.getSize(), "sourceBytes.remaining() == shift.getSize()");
+
+      CRC32 checksum = new CRC32();
+      checksum.update(sourceBytes.duplicate());
+
+      ByteBuffer recordHeader = ByteBuffer.allocate(2 * Integer.BYTES);
+      recordHeader.putInt(stepIndex);
+      recordHeader.putInt(shift.getSize());
+      recordHeader.flip();
+
+      ByteBuffer recordTrailer = ByteBuffer.allocate(Long.BYTES);
+      recordTrailer.putLong(checksum.getValue());
+      recordTrailer.flip();
+
+      ByteBuffer[] record = new ByteBuffer[] { recordHeader, sourceBytes.duplicate(), recordTrailer };
+
+      try {
+         journalChannel.position(sourceBytesEndPosition);
+
+         while (recordTrailer.hasRemaining()) {
+            journalChannel.write(record);
+         }
+
+         journalChannel.force(false);
+
+         sourceBytesEndPosition = journalChannel.position();
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not write source bytes to flush journal " + journalPath, e);
+      }
+   }
+
+   /**
+    * Reads the journal file left by an interrupted flush, if any, and returns all {@link JournalStep}s that must be
+    * executed again to complete the flush, in execution order. {@link JournalStepType#SHIFT}s whose source bytes were
+    * already journaled are returned together with these bytes.
+    *
+    * If this list is not empty, this {@link FlushJournal} is active afterwards, and the {@link JournalStep}s must be
+    * executed just like after {@link #begin(List)}, where the first one has the index
+    * {@link #getLastCompletedStepIndex()} + 1. {@link #journalSourceBytes(ByteBuffer)} must only be called for
+    * {@link JournalStepType#SHIFT}s without journaled source bytes. Finally, {@link #end()} must be called.
+    *
+    * An incomplete journal file is deleted, as the medium was not changed yet. The same happens for a journal file
+    * whose last checkpoint already covers all {@link JournalStep}s.
+    *
+    * @return The {@link JournalStep}s that must be executed again, or an empty list if there was no interrupted flush
+    */
+   public List<JournalStep> readPendingSteps() {
+      Reject.ifFalse(!isActive(), "!isActive()");
+
+      if (!Files.exists(journalPath)) {
+         return Collections.emptyList();
+      }
+
+      try {
+         ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+
+         List<JournalStep> steps = new ArrayList<>();
+
+         int checkpointStepIndex = FlushJournal.NO_CHECKPOINT;
+         int checkpointSlot = FlushJournal.CHECKPOINT_SLOT_COUNT - 1;
+
+         try {
+            if (journal.getInt() != FlushJournal.JOURNAL_MAGIC_KEY
+               || journal.getInt() != FlushJournal.JOURNAL_VERSION) {
+               throw new MediumAccessException("File " + journalPath + " is not a valid flush journal", null);
+            }
+
+            int stepCount = journal.getInt();
+
+            for (int i = 0; i < stepCount; i++) {
+               steps.add(readStep(journal));
+            }
+
+            if (journal.getInt() != FlushJournal.PLAN_COMPLETE_MARKER) {
+               throw new MediumAccessException("File " + journalPath + " is not a valid flush journal", null);
+            }
+
+            checkpointSlotsPosition = journal.position();
+
+            for (int slot = 0; slot < FlushJournal.CHECKPOINT_SLOT_COUNT; slot++) {
+               int stepIndex = journal.getInt();
+
+               if (journal.getInt() == ~stepIndex && stepIndex > checkpointStepIndex && stepIndex < stepCount) {
+                  checkpointStepIndex = stepIndex;
+                  checkpointSlot = slot;
+               }
+            }
+         } catch (BufferUnderflowException e) {
+            // The process died while writing the journal, before changing the medium
+            Files.delete(journalPath);
+            return Collections.emptyList();
+         }
+
+         if (checkpointStepIndex == steps.size() - 1) {
+            // The process died after completing the flush, but before deleting the journal
+            Files.delete(journalPath);
+            return Collections.emptyList();
+         }
+
+         sourceBytesEndPosition = readSourceBytes(journal, steps, checkpointStepIndex);
+
+         journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE);
+         journalChannel.truncate(sourceBytesEndPosition);
+
+         currentSteps = steps;
+         lastCompletedStepIndex = checkpointStepIndex;
+         lastCheckpointStepIndex = checkpointStepIndex;
+         nextCheckpointSlot = (checkpointSlot + 1) % FlushJournal.CHECKPOINT_SLOT_COUNT;
+         bytesChangedSinceLastCheckpoint = 0;
+         transfersSinceLastCheckpoint.clear();
+
+         return Collections.unmodifiableList(steps.subList(checkpointStepIndex + 1, steps.size()));
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not read flush journal " + journalPath, e);
+      }
+   }
+
+   /**
+    * Closes the journal file, if it is open.
+    *
+    * @throws IOException
+    *            in case closing failed
+    */
+   private void closeJournalChannel() throws IOException {
+      if (journalChannel != null) {
+         journalChannel.close();
+         journalChannel = null;
+      }
+   }
+
+   /**
+    * Reads all complete source bytes records as written by {@link #journalSourceBytes(ByteBuffer)} and replaces each
+    * {@link JournalStepType#SHIFT} behind the checkpoint with a record by a {@link JournalStep} containing the source
+    * bytes. Reading stops at the first incomplete or corrupt record, as the process died while writing it, i.e.
+    * before executing the corresponding {@link JournalStepType#SHIFT}.
+    *
+    * @param journal
+    *           The content of the journal file, positioned at the first record
+    * @param steps
+    *           The {@link JournalStep}s read from the journal file
+    * @param checkpointStepIndex
+    *           The index of the last {@link JournalStep} covered by the last checkpoint
+    * @return The position behind the last complete record
+    */
+   private long readSourceBytes(ByteBuffer journal, List<JournalStep> steps, int checkpointStepIndex) {
+      long recordsEndPosition = journal.position();
+
+      while (journal.remaining() >= 2 * Integer.BYTES) {
+         int stepIndex = journal.getInt();
+         int size = journal.getInt();
+
+         if (stepIndex < 0 || stepIndex >= steps.size() || steps.get(stepIndex).getType() != JournalStepType.SHIFT
+            || steps.get(stepIndex).getSize() != size || journal.remaining() < size + Long.BYTES) {
+            break;
+         }
+
+         ByteBuffer sourceBytes = ByteBuffer.allocate(size);
+
+         ByteBuffer recordBytes = journal.slice();
+         recordBytes.limit(size);
+         sourceBytes.put(recordBytes);
+         sourceBytes.flip();
+
+         journal.position(journal.position() + size);
+
+         CRC32 checksum = new CRC32();
+         checksum.update(sourceBytes.duplicate());
+
+         if (journal.getLong() != checksum.getValue()) {
+            break;
+         }
+
+         recordsEndPosition = journal.position();
+
+         // Records up to the checkpoint are outdated leftovers that are only removed after writing the checkpoint
+         if (stepIndex > checkpointStepIndex) {
+            JournalStep shift = steps.get(stepIndex);
+
+            steps.set(stepIndex, new JournalStep(JournalStepType.SHIFT, shift.getTargetOffset(),
+               shift.getSourceOffset(), size, sourceBytes));
+         }
+      }
+
+      return recordsEndPosition;
+   }
+
+   /**
+    * Reads a single {@link JournalStep} as written by {@link #writeStep(DataOutputStream, JournalStep)}.
+    *
+    * @param journal
+    *           The content of the journal file, positioned at the {@link JournalStep} to read
+    * @return The {@link JournalStep} read
+    */
+   private JournalStep readStep(ByteBuffer journal) {
+      int typeOrdinal = journal.get();
+
+      if (typeOrdinal < 0 || typeOrdinal >= JournalStepType.values().length) {
+         throw new MediumAccessException("File " + journalPath + " is not a valid flush journal", null);
+      }
+
+      JournalStepType type = JournalStepType.values()[typeOrdinal];
+      long targetOffset = journal.getLong();
+
+      switch (type) {
+         case WRITE:
+            byte[] bytes = new byte[journal.getInt()];
+            journal.get(bytes);
+            return new JournalStep(type, targetOffset, 0, bytes.length, ByteBuffer.wrap(bytes));
+
+         case TRANSFER:
+         case SHIFT:
+            long sourceOffset = journal.getLong();
+            int size = journal.getInt();
+            return new JournalStep(type, targetOffset, sourceOffset, size, null);
+
+         default:
+            return new JournalStep(type, targetOffset, 0, 0, null);
+      }
+   }
+
+   /**
+    * Forces all changes of the medium done so far to the storage device and writes the index of the last completed
+    * {@link JournalStep} as checkpoint. Afterwards, the source bytes journaled so far are not needed anymore and
+    * removed from the journal file.
+    */
+   private void writeCheckpoint() {
+      ByteBuffer checkpoint = ByteBuffer.allocate(FlushJournal.CHECKPOINT_SLOT_SIZE);
+      checkpoint.putInt(lastCompletedStepIndex);
+      checkpoint.putInt(~lastCompletedStepIndex);
+      checkpoint.flip();
+
+      long checkpointPosition = checkpointSlotsPosition + nextCheckpointSlot * FlushJournal.CHECKPOINT_SLOT_SIZE;
+
+      try {
+         mediumSynchronizer.synchronize();
+
+         while (checkpoint.hasRemaining()) {
+            journalChannel.write(checkpoint, checkpointPosition + checkpoint.position());
+         }
+
+         journalChannel.force(false);
+
+         sourceBytesEndPosition = checkpointSlotsPosition
+            + FlushJournal.CHECKPOINT_SLOT_COUNT * FlushJournal.CHECKPOINT_SLOT_SIZE;
+
+         journalChannel.truncate(sourceBytesEndPosition);
+      } catch (IOException e) {
+         throw new MediumAccessException("Could not write checkpoint to flush journal " + journalPath, e);
+      }
+
+      lastCheckpointStepIndex = lastCompletedStepIndex;
+      nextCheckpointSlot = (nextCheckpointSlot + 1) % FlushJournal.CHECKPOINT_SLOT_COUNT;
+      bytesChangedSinceLastCheckpoint = 0;
+      transfersSinceLastCheckpoint.clear();
+   }
+
+   /**
+    * Writes a single {@link JournalStep}.
+    *
+    * @param journalStream
+    *           The {@link DataOutputStream} to write to
+    * @param step
+    *           The {@link JournalStep} to write
+    * @throws IOException
+    *            in case writing failed
+    */
+   private void writeStep(DataOutputStream journalStream, JournalStep step) throws IOException {
+      journalStream.writeByte(step.getType().ordinal());
+      journalStream.writeLong(step.getTargetOffset());
+
+      switch (step.getType()) {
+         case WRITE:
+            byte[] bytes = new byte[step.getSize()];
+            step.getBytes().duplicate().get(bytes);
+
+            journalStream.writeInt(bytes.length);
+            journalStream.write(bytes);
+         break;
+
+         case TRANSFER:
+         case SHIFT:
+            journalStream.writeLong(step.getSourceOffset());
+            journalStream.writeInt(step.getSize());
+         break;
+
+         default:
+         break;
+      }
+   }
+}
@@ -0,0 +1,258 @@
+/**
+ *
+ * {@link InFlightReadTracker}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link InFlightReadTracker} starts asynchronous reads of ranges of a medium and keeps track of them while they are
+ * in flight. A range overlapping reads still in flight only reads the bytes not yet requested, the overlapping bytes
+ * are taken from the reads in flight. This way, several asynchronous requests for the same or overlapping ranges
+ * issued before the first one completes do not read the same bytes from the medium twice.
+ *
+ * Just like the {@link ReadAheadPrefetcher}, this class is not thread-safe itself, all its methods must be called by
+ * the same thread. Only the reads are completed by other threads, and they do not access any other state, especially
+ * not the {@link MediumCache}: It is the responsibility of the caller to take completed reads via
+ * {@link #takeCompletedReads()} and add them to the cache.
+ */
+public class InFlightReadTracker {
+
+   /**
+    * {@link AsynchronousBlockReader} starts reading a block of bytes from the medium without waiting for it.
+    */
+   @FunctionalInterface
+   public interface AsynchronousBlockReader {
+
+      /**
+       * Starts reading a block of bytes from the medium. Must not change any state that is used by other threads.
+       *
+       * @param offset
+       *           The absolute offset of the block
+       * @param numberOfBytes
+       *           The size of the block in bytes
+       * @return A {@link CompletableFuture} delivering a {@link ByteBuffer} with position 0 containing the bytes read,
+       *         less than requested in case the end of medium was reached
+       */
+      CompletableFuture<ByteBuffer> readBlockAsync(long offset, int numberOfBytes);
+   }
+
+   /**
+    * {@link InFlightRead} is a block currently read or already read, but not yet taken.
+    */
+   private static class InFlightRead {
+
+      private final long offset;
+
+      private final int size;
+
+      private final CompletableFuture<ByteBuffer> bytes;
+
+      /**
+       * Creates a new {@link InFlightRead}.
+       *
+       * @param offset
+       *           The absolute offset of the block
+       * @param size
+       *           The size of the block in bytes
+       * @param bytes
+       *           The {@link CompletableFuture} delivering the bytes of the block
+       */
+      public InFlightRead(long offset, int size, CompletableFuture<ByteBuffer> bytes) {
+         this.offset = offset;
+         this.size = size;
+         this.bytes = bytes;
+      }
+
+      /**
+       * @return The absolute end offset of this block, exclusive
+       */
+      public long getEndOffset() {
+         return offset + size;
+      }
+   }
+
+   private final AsynchronousBlockReader blockReader;
+
+   private final NavigableMap<Long, InFlightRead> inFlightReads = new TreeMap<>();
+
+   /**
+    * Creates a new {@link InFlightReadTracker}.
+    *
+    * @param blockReader
+    *           The {@link AsynchronousBlockReader} used for starting reads, must not be null
+    */
+   public InFlightReadTracker(AsynchronousBlockReader blockReader) {
+      Reject.ifNull(blockReader, "blockReader");
+
+      this.blockReader = blockReader;
+   }
+
+   /**
+    * Cancels all reads in flight and drops all reads completed, but not yet taken. All {@link CompletableFuture}s
+    * returned by {@link #read(long, int)} that are not yet completed complete exceptionally. Must be called before the
+    * medium is changed, as otherwise outdated blocks could be returned by {@link #takeCompletedReads()}.
+    */
+   public void cancel() {
+      inFlightReads.values().forEach(inFlightRead -> inFlightRead.bytes.cancel(false));
+      inFlightReads.clear();
+   }
+
+   /**
+    * Starts reading the given range asynchronously. Only the parts of the range not covered by reads already in flight
+    * are actually read from the medium.
+    *
+    * @param offset
+    *           The absolute start offset of the range, must not be negative
+    * @param numberOfBytes
+    *           The size of the range in bytes, must be bigger than zero
+    * @return A {@link CompletableFuture} delivering a read-only {@link ByteBuffer} with position 0 containing the
+    *         bytes of the range, less than requested in case the end of medium was reached
+    */
+   public CompletableFuture<ByteBuffer> read(long offset, int numberOfBytes) {
+      Reject.ifNegative(offset, "offset");
+      Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+
+      List<CompletableFuture<ByteBuffer>> pieces = new ArrayList<>();
+      List<Integer> pieceSizes = new ArrayList<>();
+
+      long endOffset = offset + numberOfBytes;
+      long nextOffset = offset;
+
+      while (nextOffset < endOffset) {
+         Map.Entry<Long, InFlightRead> inFlightEntry = inFlightReads.floorEntry(nextOffset);
+
+         long pieceEndOffset;
+
+         if (inFlightEntry != null && inFlightEntry.getValue().getEndOffset() > nextOffset) {
+            InFlightRead inFlightRead = inFlightEntry.getValue();
+
+            pieceEndOffset = Math.min(endOffset, inFlightRead.getEndOffset());
+
+            int positionInBlock = (int) (nextOffset - inFlightRead.offset);
+            int pieceSize = (int) (pieceEndOffset - nextOffset);
+
+            pieces.add(inFlightRead.bytes.thenApply(bytes -> slice(bytes, positionInBlock, pieceSize)));
+         } else {
+            Long nextInFlightOffset = inFlightReads.higherKey(nextOffset);
+
+            pieceEndOffset = nextInFlightOffset == null ? endOffset : Math.min(endOffset, nextInFlightOffset);
+
+            int pieceSize = (int) (pieceEndOffset - nextOffset);
+
+            CompletableFuture<ByteBuffer> pieceBytes = blockReader.readBlockAsync(nextOffset, pieceSize);
+
+            inFlightReads.put(nextOffset, new InFlightRead(nextOffset, pieceSize, pieceBytes));
+
+            pieces.add(pieceBytes);
+         }
+
+         pieceSizes.add((int) (pieceEndOffset - nextOffset));
+
+         nextOffset = pieceEndOffset;
+      }
+
+      if (pieces.size() == 1) {
+         return pieces.get(0).thenApply(ByteBuffer::asReadOnlyBuffer);
+      }
+
+      return CompletableFuture.allOf(pieces.toArray(new CompletableFuture<?>[pieces.size()]))
+         .thenApply(ignored -> concatenate(pieces, pieceSizes, numberOfBytes));
+   }
+
+   /**
+    * Removes all reads completed and returns them. Reads that failed or were cancelled are silently dropped.
+    *
+    * @return The bytes of all reads completed, by their absolute offset in ascending order
+    */
+   public NavigableMap<Long, ByteBuffer> takeCompletedReads() {
+      NavigableMap<Long, ByteBuffer> completedReads = new TreeMap<>();
+
+      for (Iterator<InFlightRead> iterator = inFlightReads.values().iterator(); iterator.hasNext();) {
+         InFlightRead inFlightRead = iterator.next();
+
+         if (inFlightRead.bytes.isDone()) {
+            iterator.remove();
+
+            if (!inFlightRead.bytes.isCompletedExceptionally()) {
+               ByteBuffer blockBytes = inFlightRead.bytes.join();
+
+               if (blockBytes.hasRemaining()) {
+                  completedReads.put(inFlightRead.offset, blockBytes);
+               }
+            }
+         }
+      }
+
+      return completedReads;
+   }
+
+   /**
+    * Concatenates the bytes of the given completed pieces, stopping at the first piece that is shorter than requested,
+    * as all pieces behind it are beyond the end of medium.
+    *
+    * @param pieces
+    *           The completed pieces in ascending order of their offsets
+    * @param pieceSizes
+    *           The number of bytes requested for each of the pieces
+    * @param numberOfBytes
+    *           The total number of bytes requested
+    * @return A read-only {@link ByteBuffer} with position 0 containing the concatenated bytes
+    */
+   private ByteBuffer concatenate(List<CompletableFuture<ByteBuffer>> pieces, List<Integer> pieceSizes,
+      int numberOfBytes) {
+      ByteBuffer concatenatedBytes = ByteBuffer.allocate(numberOfBytes);
+
+      for (int i = 0; i < pieces.size(); i++) {
+         ByteBuffer pieceBytes = pieces.get(i).join().duplicate();
+
+         boolean isEndOfMediumReached = pieceBytes.remaining() < pieceSizes.get(i);
+
+         concatenatedBytes.put(pieceBytes);
+
+         if (isEndOfMediumReached) {
+            break;
+         }
+      }
+
+      concatenatedBytes.flip();
+
+      return concatenatedBytes.asReadOnlyBuffer();
+   }
+
+   /**
+    * Returns a read-only view on a part of the given bytes of a block, clipped at its limit.
+    *
+    * @param bytes
+    *           The bytes of the block with position 0
+    * @param position
+    *           The position of the first byte of the part
+    * @param size
+    *           The size of the part in bytes
+    * @return The view on the part, less than size bytes if the block is shorter
+    */
+   private static ByteBuffer slice(ByteBuffer bytes, int position, int size) {
+      ByteBuffer view = bytes.asReadOnlyBuffer();
+
+      view.position(Math.min(position, view.limit()));
+      view.limit(Math.min(view.position() + size, view.limit()));
+
+      return view.slice();
+   }
+}
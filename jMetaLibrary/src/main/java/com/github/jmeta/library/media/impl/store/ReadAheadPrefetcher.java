@@ -0,0 +1,437 @@
+/**
+ *
+ * {@link ReadAheadPrefetcher}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongUnaryOperator;
+
+import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link ReadAheadPrefetcher} reads blocks of a medium in background, before they are actually requested. It detects
+ * sequential access to the medium, either forward (e.g. iterating the frames of an MP3 file) or backward (e.g.
+ * searching for tags at the end of a file), by looking at the offsets of consecutive accesses. As soon as a sequential
+ * access is detected, the next blocks in access direction are read in a single background thread, overlapping I/O with
+ * processing the bytes read before.
+ *
+ * This class is not thread-safe itself, all its methods must be called by the same thread. Only the reading of the
+ * blocks is done in background using the {@link BlockReader} given, it must therefore be safe to call it concurrently
+ * to other accesses to the medium. The background thread does not access any other state, especially not the
+ * {@link MediumCache}: It is the responsibility of the caller to take completed blocks via
+ * {@link #takeCompletedBlocks()} and add them to the cache.
+ */
+public class ReadAheadPrefetcher {
+
+   /**
+    * {@link BlockReader} reads a block of bytes from the medium in background.
+    */
+   @FunctionalInterface
+   public interface BlockReader {
+
+      /**
+       * Reads a block of bytes from the medium. Must not change any state that is used by other threads.
+       *
+       * @param offset
+       *           The absolute offset of the block
+       * @param numberOfBytes
+       *           The size of the block in bytes
+       * @return A {@link ByteBuffer} containing the bytes read, less than requested in case the end of medium was
+       *         reached
+       * @throws IOException
+       *            in case reading failed
+       */
+      ByteBuffer readBlock(long offset, int numberOfBytes) throws IOException;
+   }
+
+   /**
+    * The direction of the accesses detected so far.
+    */
+   private enum AccessDirection {
+      NONE,
+      FORWARD,
+      BACKWARD,
+   }
+
+   /**
+    * {@link PendingBlock} is a block currently read or already read in background.
+    */
+   private static class PendingBlock {
+
+      private final long offset;
+
+      private final int size;
+
+      private final Future<ByteBuffer> bytes;
+
+      /**
+       * Creates a new {@link PendingBlock}.
+       *
+       * @param offset
+       *           The absolute offset of the block
+       * @param size
+       *           The size of the block in bytes
+       * @param bytes
+       *           The {@link Future} delivering the bytes of the block
+       */
+      public PendingBlock(long offset, int size, Future<ByteBuffer> bytes) {
+         this.offset = offset;
+         this.size = size;
+         this.bytes = bytes;
+      }
+
+      /**
+       * @return The absolute end offset of this block, exclusive
+       */
+      public long getEndOffset() {
+         return offset + size;
+      }
+   }
+
+   /**
+    * The number of sequential accesses in the same direction necessary to start reading ahead
+    */
+   private static final int SEQUENTIAL_ACCESS_THRESHOLD = 2;
+
+   private final BlockReader blockReader;
+
+   private final int blockSizeInBytes;
+
+   private final int readAheadBlockCount;
+
+   private final NavigableMap<Long, PendingBlock> pendingBlocks = new TreeMap<>();
+
+   private ExecutorService executor;
+
+   private long lastAccessStartOffset = -1;
+
+   private long lastAccessEndOffset = -1;
+
+   private AccessDirection currentDirection = AccessDirection.NONE;
+
+   private int sequentialAccessCount;
+
+   /**
+    * Creates a new {@link ReadAheadPrefetcher}.
+    *
+    * @param blockReader
+    *           The {@link BlockReader} used for reading in background, must not be null
+    * @param blockSizeInBytes
+    *           The maximum size of a single block read ahead, must be bigger than zero
+    * @param readAheadBlockCount
+    *           The maximum number of blocks read ahead of the current access, must be bigger than zero
+    */
+   public ReadAheadPrefetcher(BlockReader blockReader, int blockSizeInBytes, int readAheadBlockCount) {
+      Reject.ifNull(blockReader, "blockReader");
+      Reject.ifNegativeOrZero(blockSizeInBytes, "blockSizeInBytes");
+      Reject.ifNegativeOrZero(readAheadBlockCount, "readAheadBlockCount");
+
+      this.blockReader = blockReader;
+      this.blockSizeInBytes = blockSizeInBytes;
+      this.readAheadBlockCount = readAheadBlockCount;
+   }
+
+   /**
+    * Waits until all blocks read in background that overlap the given range are completed. Afterwards, these blocks
+    * can be taken using {@link #takeCompletedBlocks()}.
+    *
+    * @param offset
+    *           The absolute start offset of the range
+    * @param numberOfBytes
+    *           The size of the range in bytes, must be bigger than zero
+    */
+   public void awaitBlocksInRange(long offset, int numberOfBytes) {
+      Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+
+      Long firstOverlappingOffset = pendingBlocks.floorKey(offset);
+
+      if (firstOverlappingOffset == null) {
+         firstOverlappingOffset = offset;
+      }
+
+      for (PendingBlock pendingBlock : pendingBlocks.subMap(firstOverlappingOffset, offset + numberOfBytes).values()) {
+         if (pendingBlock.getEndOffset() > offset) {
+            awaitBlock(pendingBlock);
+         }
+      }
+   }
+
+   /**
+    * Cancels all blocks not yet read. All blocks read in background so far are dropped, including the block currently
+    * read, if any, and the sequential access detection starts from scratch. Must be called before the medium is
+    * changed, as otherwise outdated blocks could be returned by {@link #takeCompletedBlocks()}.
+    */
+   public void cancel() {
+      pendingBlocks.values().forEach(pendingBlock -> pendingBlock.bytes.cancel(false));
+      pendingBlocks.clear();
+
+      lastAccessStartOffset = -1;
+      lastAccessEndOffset = -1;
+      currentDirection = AccessDirection.NONE;
+      sequentialAccessCount = 0;
+   }
+
+   /**
+    * Cancels all blocks like {@link #cancel()} and stops the background thread. This {@link ReadAheadPrefetcher} can
+    * still be used afterwards, it then starts a new background thread on demand.
+    */
+   public void close() {
+      cancel();
+
+      if (executor != null) {
+         executor.shutdown();
+         executor = null;
+      }
+   }
+
+   /**
+    * Records an access to the medium, updating the sequential access detection. If a sequential access is detected,
+    * the next blocks in access direction that are neither cached nor already read in background are scheduled for
+    * reading in background.
+    *
+    * @param offset
+    *           The absolute start offset of the access
+    * @param numberOfBytes
+    *           The number of bytes accessed, must be bigger than zero
+    * @param mediumLength
+    *           The current length of the medium, no blocks are read beyond it
+    * @param cachedByteCountAt
+    *           Returns the number of bytes consecutively cached starting at a given absolute offset, see
+    *           {@link MediumCache#getCachedByteCountAt}
+    */
+   public void recordAccess(long offset, int numberOfBytes, long mediumLength, LongUnaryOperator cachedByteCountAt) {
+      Reject.ifNegative(offset, "offset");
+      Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
+      Reject.ifNull(cachedByteCountAt, "cachedByteCountAt");
+
+      long endOffset = offset + numberOfBytes;
+
+      AccessDirection direction = determineAccessDirection(offset, endOffset);
+
+      if (direction == AccessDirection.NONE || direction != currentDirection) {
+         sequentialAccessCount = direction == AccessDirection.NONE ? 0 : 1;
+         currentDirection = direction;
+      } else {
+         sequentialAccessCount++;
+      }
+
+      lastAccessStartOffset = offset;
+      lastAccessEndOffset = endOffset;
+
+      if (sequentialAccessCount < ReadAheadPrefetcher.SEQUENTIAL_ACCESS_THRESHOLD) {
+         return;
+      }
+
+      if (currentDirection == AccessDirection.FORWARD) {
+         scheduleBlocksForward(mediumLength, cachedByteCountAt);
+      } else {
+         scheduleBlocksBackward(cachedByteCountAt);
+      }
+   }
+
+   /**
+    * Removes all blocks completely read in background and returns them. Blocks that could not be read are silently
+    * dropped.
+    *
+    * @return The bytes of all blocks completely read in background, by their absolute offset in ascending order
+    */
+   public NavigableMap<Long, ByteBuffer> takeCompletedBlocks() {
+      NavigableMap<Long, ByteBuffer> completedBlocks = new TreeMap<>();
+
+      for (Iterator<PendingBlock> iterator = pendingBlocks.values().iterator(); iterator.hasNext();) {
+         PendingBlock pendingBlock = iterator.next();
+
+         if (pendingBlock.bytes.isDone()) {
+            iterator.remove();
+
+            ByteBuffer blockBytes = awaitBlock(pendingBlock);
+
+            if (blockBytes != null && blockBytes.hasRemaining()) {
+               completedBlocks.put(pendingBlock.offset, blockBytes);
+            }
+         }
+      }
+
+      return completedBlocks;
+   }
+
+   /**
+    * Waits for the given block to be completed.
+    *
+    * @param pendingBlock
+    *           The {@link PendingBlock}
+    * @return The bytes of the block or null if reading it failed or was cancelled
+    */
+   private ByteBuffer awaitBlock(PendingBlock pendingBlock) {
+      try {
+         return pendingBlock.bytes.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException | CancellationException e) {
+         // The block is simply not available, it will be read synchronously if needed
+      }
+
+      return null;
+   }
+
+   /**
+    * Determines the direction of the current access compared to the last access.
+    *
+    * @param offset
+    *           The absolute start offset of the current access
+    * @param endOffset
+    *           The absolute end offset of the current access, exclusive
+    * @return The direction of the current access, {@link AccessDirection#NONE} if it is not sequential
+    */
+   private AccessDirection determineAccessDirection(long offset, long endOffset) {
+      if (lastAccessStartOffset < 0) {
+         return AccessDirection.NONE;
+      }
+
+      if (offset >= lastAccessStartOffset && endOffset > lastAccessEndOffset
+         && offset <= lastAccessEndOffset + blockSizeInBytes) {
+         return AccessDirection.FORWARD;
+      }
+
+      if (offset < lastAccessStartOffset && endOffset <= lastAccessEndOffset
+         && endOffset >= lastAccessStartOffset - blockSizeInBytes) {
+         return AccessDirection.BACKWARD;
+      }
+
+      return AccessDirection.NONE;
+   }
+
+   /**
+    * Schedules reading of all blocks behind the last access up to the read-ahead limit that are neither cached nor
+    * already pending.
+    *
+    * @param mediumLength
+    *           The current length of the medium
+    * @param cachedByteCountAt
+    *           see {@link #recordAccess(long, int, long, LongUnaryOperator)}
+    */
+   private void scheduleBlocksForward(long mediumLength, LongUnaryOperator cachedByteCountAt) {
+      long readAheadEndOffset = Math.min(mediumLength,
+         lastAccessEndOffset + (long) readAheadBlockCount * blockSizeInBytes);
+
+      long nextOffset = lastAccessEndOffset;
+
+      while (nextOffset < readAheadEndOffset) {
+         Map.Entry<Long, PendingBlock> pendingEntry = pendingBlocks.floorEntry(nextOffset);
+
+         if (pendingEntry != null && pendingEntry.getValue().getEndOffset() > nextOffset) {
+            nextOffset = pendingEntry.getValue().getEndOffset();
+            continue;
+         }
+
+         long cachedByteCount = cachedByteCountAt.applyAsLong(nextOffset);
+
+         if (cachedByteCount > 0) {
+            nextOffset += cachedByteCount;
+            continue;
+         }
+
+         long blockEndOffset = Math.min(nextOffset + blockSizeInBytes, readAheadEndOffset);
+
+         Long nextPendingOffset = pendingBlocks.higherKey(nextOffset);
+
+         if (nextPendingOffset != null) {
+            blockEndOffset = Math.min(blockEndOffset, nextPendingOffset);
+         } else if (blockEndOffset - nextOffset < blockSizeInBytes && blockEndOffset < mediumLength) {
+            // Avoid reading tiny blocks for each access, wait until a full block fits into the read-ahead range
+            break;
+         }
+
+         scheduleBlock(nextOffset, (int) (blockEndOffset - nextOffset));
+
+         nextOffset = blockEndOffset;
+      }
+   }
+
+   /**
+    * Schedules reading of all blocks before the last access up to the read-ahead limit that are neither cached nor
+    * already pending.
+    *
+    * @param cachedByteCountAt
+    *           see {@link #recordAccess(long, int, long, LongUnaryOperator)}
+    */
+   private void scheduleBlocksBackward(LongUnaryOperator cachedByteCountAt) {
+      long readAheadStartOffset = Math.max(0, lastAccessStartOffset - (long) readAheadBlockCount * blockSizeInBytes);
+
+      long nextEndOffset = lastAccessStartOffset;
+
+      while (nextEndOffset > readAheadStartOffset) {
+         Map.Entry<Long, PendingBlock> pendingEntry = pendingBlocks.lowerEntry(nextEndOffset);
+
+         if (pendingEntry != null && pendingEntry.getValue().getEndOffset() >= nextEndOffset) {
+            nextEndOffset = pendingEntry.getKey();
+            continue;
+         }
+
+         long blockStartOffset = Math.max(nextEndOffset - blockSizeInBytes, readAheadStartOffset);
+
+         if (pendingEntry != null) {
+            blockStartOffset = Math.max(blockStartOffset, pendingEntry.getValue().getEndOffset());
+         } else if (nextEndOffset - blockStartOffset < blockSizeInBytes && blockStartOffset > 0) {
+            // Avoid reading tiny blocks for each access, wait until a full block fits into the read-ahead range
+            break;
+         }
+
+         int blockSize = (int) (nextEndOffset - blockStartOffset);
+
+         if (cachedByteCountAt.applyAsLong(blockStartOffset) < blockSize) {
+            scheduleBlock(blockStartOffset, blockSize);
+         }
+
+         nextEndOffset = blockStartOffset;
+      }
+   }
+
+   /**
+    * Schedules reading of a single block in background, starting the background thread on demand.
+    *
+    * @param offset
+    *           The absolute offset of the block
+    * @param size
+    *           The size of the block in bytes
+    */
+   private void scheduleBlock(long offset, int size) {
+      if (executor == null) {
+         executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread readAheadThread = new Thread(runnable, "jMeta read-ahead");
+            readAheadThread.setDaemon(true);
+            return readAheadThread;
+         });
+      }
+
+      pendingBlocks.put(offset,
+         new PendingBlock(offset, size, executor.submit(() -> blockReader.readBlock(offset, size))));
+   }
+
+   /**
+    * @return The absolute offsets of all blocks currently read or already read in background, but not yet taken, in
+    *         ascending order
+    */
+   List<Long> getPendingBlockOffsets() {
+      return new ArrayList<>(pendingBlocks.keySet());
+   }
+}
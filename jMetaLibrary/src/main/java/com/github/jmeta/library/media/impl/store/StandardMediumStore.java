@@ -10,8 +10,15 @@
 package com.github.jmeta.library.media.impl.store;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -19,9 +26,11 @@ import org.slf4j.LoggerFactory;
 
 import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.exceptions.InvalidMediumOffsetException;
+import com.github.jmeta.library.media.api.exceptions.MediumAccessException;
 import com.github.jmeta.library.media.api.exceptions.MediumStoreClosedException;
 import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
 import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumAccessType;
 import com.github.jmeta.library.media.api.types.MediumAction;
@@ -29,11 +38,16 @@ import com.github.jmeta.library.media.api.types.MediumActionType;
 import com.github.jmeta.library.media.api.types.MediumOffset;
 import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.library.media.api.types.MediumRegion.MediumRegionClipResult;
+import com.github.jmeta.library.media.impl.buffer.ByteBufferAllocator;
 import com.github.jmeta.library.media.impl.cache.MediumCache;
 import com.github.jmeta.library.media.impl.cache.MediumRangeChunkAction;
+import com.github.jmeta.library.media.impl.cache.SpillFile;
 import com.github.jmeta.library.media.impl.changeManager.MediumChangeManager;
+import com.github.jmeta.library.media.impl.mediumAccessor.AsynchronousFileMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor;
 import com.github.jmeta.library.media.impl.offset.MediumOffsetFactory;
+import com.github.jmeta.library.media.impl.store.FlushJournal.JournalStep;
+import com.github.jmeta.library.media.impl.store.FlushJournal.JournalStepType;
 import com.github.jmeta.library.startup.impl.StandardLibraryJMeta;
 import com.github.jmeta.utility.dbc.api.services.Reject;
 import com.github.jmeta.utility.errors.api.services.JMetaIllegalStateException;
@@ -45,6 +59,12 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
 
    private static final Logger LOGGER = LoggerFactory.getLogger(StandardLibraryJMeta.class);
 
+   /**
+    * The minimum fraction of the medium length that must be shifted by a flush to rewrite the whole medium instead of
+    * shifting its bytes in place, see {@link MediumAccessor#rewrite(List)}
+    */
+   public static final double REWRITE_THRESHOLD_FRACTION = 0.5;
+
    private final MediumAccessor<T> mediumAccessor;
 
    private final MediumCache cache;
@@ -55,8 +75,22 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
 
    private final MediumChangeManager changeManager;
 
+   private final ReadAheadPrefetcher readAheadPrefetcher;
+
+   private boolean isReadAheadSuspended;
+
+   private final FlushJournal flushJournal;
+
+   private final SpillFile spillFile;
+
+   private final InFlightReadTracker inFlightReadTracker;
+
+   private final Map<MediumRegion, ByteBuffer> allocatedBuffersOfRegionsRead = new IdentityHashMap<>();
+
+   private long releasedEndOffset;
+
    /**
-    * Creates a new {@link StandardMediumStore}.
+    * Creates a new {@link StandardMediumStore} without any read-ahead.
     *
     * @param mediumAccessor
     *           The {@link MediumAccessor} instance to use, also contains the {@link Medium} this {@link MediumStore}
@@ -70,6 +104,82 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
     */
    public StandardMediumStore(MediumAccessor<T> mediumAccessor, MediumCache cache, MediumOffsetFactory offsetFactory,
       MediumChangeManager changeManager) {
+      this(mediumAccessor, cache, offsetFactory, changeManager, null);
+   }
+
+   /**
+    * Creates a new {@link StandardMediumStore} reading ahead in background using the given {@link ReadAheadPrefetcher}.
+    * The blocks read ahead are added to the {@link MediumCache} as soon as they are completed and the next access
+    * happens.
+    *
+    * @param mediumAccessor
+    *           The {@link MediumAccessor} instance to use, also contains the {@link Medium} this {@link MediumStore}
+    *           works on
+    * @param cache
+    *           The {@link MediumCache} instance to use
+    * @param offsetFactory
+    *           The {@link MediumOffsetFactory} instance to use
+    * @param changeManager
+    *           The {@link MediumChangeManager} to use
+    * @param readAheadPrefetcher
+    *           The {@link ReadAheadPrefetcher} to use or null to not read ahead at all. Must only be given for random
+    *           access media.
+    */
+   public StandardMediumStore(MediumAccessor<T> mediumAccessor, MediumCache cache, MediumOffsetFactory offsetFactory,
+      MediumChangeManager changeManager, ReadAheadPrefetcher readAheadPrefetcher) {
+      this(mediumAccessor, cache, offsetFactory, changeManager, readAheadPrefetcher, null);
+   }
+
+   /**
+    * Creates a new {@link StandardMediumStore} reading ahead in background using the given {@link ReadAheadPrefetcher}
+    * and journaling flushes using the given {@link FlushJournal}. When opening the {@link StandardMediumStore}, a flush
+    * interrupted before is completed using the {@link FlushJournal}.
+    *
+    * @param mediumAccessor
+    *           The {@link MediumAccessor} instance to use, also contains the {@link Medium} this {@link MediumStore}
+    *           works on
+    * @param cache
+    *           The {@link MediumCache} instance to use
+    * @param offsetFactory
+    *           The {@link MediumOffsetFactory} instance to use
+    * @param changeManager
+    *           The {@link MediumChangeManager} to use
+    * @param readAheadPrefetcher
+    *           see {@link #StandardMediumStore(MediumAccessor, MediumCache, MediumOffsetFactory, MediumChangeManager, ReadAheadPrefetcher)}
+    * @param flushJournal
+    *           The {@link FlushJournal} to use or null to not journal flushes at all. Must only be given for writable
+    *           random access media.
+    */
+   public StandardMediumStore(MediumAccessor<T> mediumAccessor, MediumCache cache, MediumOffsetFactory offsetFactory,
+      MediumChangeManager changeManager, ReadAheadPrefetcher readAheadPrefetcher, FlushJournal flushJournal) {
+      this(mediumAccessor, cache, offsetFactory, changeManager, readAheadPrefetcher, flushJournal, null);
+   }
+
+   /**
+    * Creates a new {@link StandardMediumStore} that additionally writes all regions evicted from the
+    * {@link MediumCache} to the given {@link SpillFile}. Reading bytes of a non-random-access medium that are already
+    * passed and not cached anymore then takes them from the {@link SpillFile} instead of failing.
+    *
+    * @param mediumAccessor
+    *           The {@link MediumAccessor} instance to use, also contains the {@link Medium} this {@link MediumStore}
+    *           works on
+    * @param cache
+    *           The {@link MediumCache} instance to use
+    * @param offsetFactory
+    *           The {@link MediumOffsetFactory} instance to use
+    * @param changeManager
+    *           The {@link MediumChangeManager} to use
+    * @param readAheadPrefetcher
+    *           see {@link #StandardMediumStore(MediumAccessor, MediumCache, MediumOffsetFactory, MediumChangeManager, ReadAheadPrefetcher)}
+    * @param flushJournal
+    *           see {@link #StandardMediumStore(MediumAccessor, MediumCache, MediumOffsetFactory, MediumChangeManager, ReadAheadPrefetcher, FlushJournal)}
+    * @param spillFile
+    *           The {@link SpillFile} to use or null to not spill evicted regions at all. Must only be given for
+    *           non-random access media.
+    */
+   public StandardMediumStore(MediumAccessor<T> mediumAccessor, MediumCache cache, MediumOffsetFactory offsetFactory,
+      MediumChangeManager changeManager, ReadAheadPrefetcher readAheadPrefetcher, FlushJournal flushJournal,
+      SpillFile spillFile) {
       Reject.ifNull(mediumAccessor, "mediumAccessor");
       Reject.ifNull(offsetFactory, "offsetFactory");
       Reject.ifNull(changeManager, "changeManager");
@@ -79,6 +189,20 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       this.cache = cache;
       this.offsetFactory = offsetFactory;
       this.changeManager = changeManager;
+      this.readAheadPrefetcher = readAheadPrefetcher;
+      this.flushJournal = flushJournal;
+      this.spillFile = spillFile;
+
+      if (spillFile != null) {
+         cache.setEvictionListener(spillFile::spill);
+      }
+
+      if (mediumAccessor instanceof AsynchronousFileMediumAccessor) {
+         inFlightReadTracker = new InFlightReadTracker(
+            ((AsynchronousFileMediumAccessor) mediumAccessor)::readAtAsync);
+      } else {
+         inFlightReadTracker = null;
+      }
 
       isOpened = false;
    }
@@ -106,6 +230,9 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       if (getMedium().isRandomAccess()) {
          logDebugMessage(() -> "Working on random access medium");
 
+         addBlocksReadAheadToCache(offset, numberOfBytes);
+         addCompletedAsynchronousReadsToCache();
+
          long initialCacheSize = cache.calculateCurrentCacheSizeInBytes();
 
          logDebugMessage(() -> "Current cache size is: " + initialCacheSize);
@@ -114,21 +241,30 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
 
          List<MediumRegion> cacheRegionsInRange = cache.getRegionsInRange(offset, numberOfBytes);
 
-         for (MediumRegion cacheRegion : cacheRegionsInRange) {
-            logDebugMessage(() -> "Next cache region in range: " + cacheRegion);
+         try {
+            for (MediumRegion cacheRegion : cacheRegionsInRange) {
+               logDebugMessage(() -> "Next cache region in range: " + cacheRegion);
 
-            MediumRegion clippedCacheRegion = clipRegionAgainstRange(cacheRegion, offset, numberOfBytes);
+               MediumRegion clippedCacheRegion = clipRegionAgainstRange(cacheRegion, offset, numberOfBytes);
 
-            if (!clippedCacheRegion.isCached()) {
-               MediumRegion regionWithBytes = readRegion(clippedCacheRegion.getStartOffset(),
-                  clippedCacheRegion.getSize());
-               cache.addRegion(regionWithBytes);
-            } else if (isPreviouslyCachedRegionNowUncached(clippedCacheRegion, initialCacheSize, numberOfBytes)) {
-               cache.addRegion(clippedCacheRegion);
+               if (!clippedCacheRegion.isCached()) {
+                  MediumRegion regionWithBytes = readRegion(clippedCacheRegion.getStartOffset(),
+                     clippedCacheRegion.getSize());
+                  addRegionReadToCache(regionWithBytes);
+               } else if (isPreviouslyCachedRegionNowUncached(clippedCacheRegion, initialCacheSize, numberOfBytes)) {
+                  cache.addRegion(copyIfRetained(cacheRegion, clippedCacheRegion));
+               }
             }
+         } finally {
+            cache.releaseRegions(cacheRegionsInRange);
          }
+
+         readAhead(offset, numberOfBytes);
       } else {
          logDebugMessage(() -> "Working on non-random access medium");
+
+         removeReleasedRegionsBehindSlidingWindow();
+         restoreSpilledRegions(offset, numberOfBytes);
          logDebugMessage(() -> "Reading any bytes until cache start offset, if necessary");
 
          List<MediumRegion> regionsToAdd = readDataFromCurrentPositionUntilOffsetForNonRandomAccessMedia(offset);
@@ -143,12 +279,31 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
             regionsToAdd.addAll(readRegionWise(offsetToUse, numberOfBytesToUse));
          }
 
-         regionsToAdd.forEach(cache::addRegion);
+         regionsToAdd.forEach(this::addRegionReadToCache);
       }
 
       logDebugMessage(() -> "DONE Cache <" + numberOfBytes + "> bytes at <" + offset + ">");
    }
 
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#cacheAsync(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
+    */
+   @Override
+   public CompletableFuture<Void> cacheAsync(MediumOffset offset, int numberOfBytes) {
+      if (inFlightReadTracker == null) {
+         try {
+            cache(offset, numberOfBytes);
+
+            return CompletableFuture.completedFuture(null);
+         } catch (EndOfMediumException | MediumAccessException e) {
+            return StandardMediumStore.failedFuture(e);
+         }
+      }
+
+      return getDataAsync(offset, numberOfBytes).thenApply(bytes -> null);
+   }
+
    /**
     * @see com.github.jmeta.library.media.api.services.MediumStore#close()
     */
@@ -156,10 +311,30 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
    public void close() {
       ensureOpened();
 
+      if (readAheadPrefetcher != null) {
+         readAheadPrefetcher.close();
+      }
+
+      if (inFlightReadTracker != null) {
+         inFlightReadTracker.cancel();
+      }
+
+      if (flushJournal != null) {
+         flushJournal.close();
+      }
+
       cache.clear();
+
+      if (spillFile != null) {
+         spillFile.close();
+      }
+
+      allocatedBuffersOfRegionsRead.values().forEach(cache.getByteBufferAllocator()::release);
+      allocatedBuffersOfRegionsRead.clear();
       mediumAccessor.close();
       offsetFactory.clear();
 
+      releasedEndOffset = 0;
       isOpened = false;
    }
 
@@ -174,140 +349,51 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
    }
 
    /**
-    * @see com.github.jmeta.library.media.api.services.MediumStore#flush()
+    * @see com.github.jmeta.library.media.api.services.MediumStore#declarePadding(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
     */
    @Override
-   public void flush() {
+   public void declarePadding(MediumOffset offset, int size) {
+      Reject.ifNull(offset, "offset");
+      Reject.ifNegativeOrZero(size, "size");
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
       ensureOpened();
       ensureWritable();
+      Reject.ifFalse(offset.getAbsoluteMediumOffset() + size <= getMedium().getCurrentLength(),
+         "offset.getAbsoluteMediumOffset() + size <= getMedium().getCurrentLength()");
 
-      logDebugMessage(() -> "STARTING Flush, having " + changeManager.getScheduledActionCount() + " scheduled changes");
-
-      logDebugMessage(() -> "Creating flush plan...");
-
-      List<MediumAction> flushPlan = changeManager.createFlushPlan(getMedium().getMaxReadWriteBlockSizeInBytes(),
-         getMedium().getCurrentLength());
-
-      logDebugMessage(() -> "Done with creation of flush plan plan; it has " + flushPlan.size() + " actions");
-
-      // Phase 1 - Medium access phase
-      logDebugMessage(() -> "Starting medium access phase...");
-
-      ByteBuffer lastReadBytes = null;
-
-      MediumActionType previousActionType = null;
-
-      List<MediumAction> scheduledActions = new ArrayList<>();
-
-      for (MediumAction mediumAction : flushPlan) {
-         switch (mediumAction.getActionType()) {
-            case READ:
-               logDebugMessage(() -> "Executing READ action: " + mediumAction);
-               try {
-                  lastReadBytes = getData(mediumAction.getRegion().getStartOffset(),
-                     mediumAction.getRegion().getSize());
-               } catch (EndOfMediumException e) {
-                  throw new JMetaIllegalStateException(
-                     "Unexpected end of medium, maybe the external medium was changed by another process? Medium: "
-                        + getMedium(),
-                     e);
-               }
-               mediumAction.setDone();
-            break;
-
-            case WRITE:
-               logDebugMessage(() -> "Executing WRITE action: " + mediumAction);
-               if (mediumAction.getActionBytes() != null) {
-                  mediumAccessor.setCurrentPosition(mediumAction.getRegion().getStartOffset());
-                  mediumAccessor.write(mediumAction.getActionBytes());
-               } else {
-                  if (previousActionType != MediumActionType.READ || lastReadBytes == null
-                     || lastReadBytes.remaining() != mediumAction.getRegion().getSize()) {
-                     throw new JMetaIllegalStateException(
-                        "A WRITE action was given, but there was no READ action directly before reading the exact amount of bytes indicated by the current action: "
-                           + mediumAction,
-                        null);
-                  }
+      logDebugMessage(() -> "declarePadding of <" + size + "> bytes at <" + offset + ">");
 
-                  mediumAccessor.setCurrentPosition(mediumAction.getRegion().getStartOffset());
-                  mediumAccessor.write(lastReadBytes);
-                  lastReadBytes = null;
-               }
-               mediumAction.setDone();
-            break;
+      changeManager.declarePadding(new MediumRegion(offset, size));
+   }
 
-            case TRUNCATE:
-               logDebugMessage(() -> "Executing TRUNCATE action: " + mediumAction);
-               mediumAccessor.setCurrentPosition(mediumAction.getRegion().getStartOffset());
-               mediumAccessor.truncate();
-               mediumAction.setDone();
-            break;
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#flush()
+    */
+   @Override
+   public void flush() {
+      ensureOpened();
+      ensureWritable();
 
-            default:
-               scheduledActions.add(mediumAction);
-         }
+      logDebugMessage(() -> "STARTING Flush, having " + changeManager.getScheduledActionCount() + " scheduled changes");
 
-         previousActionType = mediumAction.getActionType();
+      // Blocks read ahead might get outdated by the flush, and no read-ahead must happen while writing
+      if (readAheadPrefetcher != null) {
+         readAheadPrefetcher.cancel();
       }
 
-      logDebugMessage(() -> "Done with medium access phase");
-
-      // Phase 2 - Cache update phase
-      logDebugMessage(() -> "Starting cache update phase...");
-
-      for (MediumAction scheduledAction : scheduledActions) {
-         logDebugMessage(() -> "Next scheduledAction in flush plan: " + scheduledAction);
-
-         ByteBuffer actionBytes = scheduledAction.getActionBytes();
-
-         switch (scheduledAction.getActionType()) {
-            case INSERT:
-               changeManager.undo(scheduledAction);
-
-               // If there is an existing cached region containing the insert offset, we must
-               // split it there,
-               // to ensure the part of the region behind the insert offset is shifted
-               // correspondingly to leave room
-               // for the inserts
-               MediumRegion existingRegionContainingInsertOffset = cache
-                  .getRegionsInRange(scheduledAction.getRegion().getStartOffset(), 1).get(0);
-
-               if (existingRegionContainingInsertOffset.isCached() && existingRegionContainingInsertOffset
-                  .getStartOffset().before(scheduledAction.getRegion().getStartOffset())) {
-                  MediumRegion existingRegionSplitAtInsertOffset = existingRegionContainingInsertOffset
-                     .split(scheduledAction.getRegion().getStartOffset())[0];
-
-                  cache.addRegion(existingRegionSplitAtInsertOffset);
-               }
-
-               offsetFactory.updateOffsets(scheduledAction);
-
-               // Please note the comment in ShiftedMediumBlock.initStartReference()
-               cache.addRegion(new MediumRegion(scheduledAction.getRegion().getStartOffset(), actionBytes));
-            break;
-
-            case REMOVE:
-               cache.removeRegionsInRange(scheduledAction.getRegion().getStartOffset(),
-                  scheduledAction.getRegion().getSize());
-               changeManager.undo(scheduledAction);
-               offsetFactory.updateOffsets(scheduledAction);
-            break;
+      if (inFlightReadTracker != null) {
+         inFlightReadTracker.cancel();
+      }
 
-            case REPLACE:
-               changeManager.undo(scheduledAction);
-               cache.removeRegionsInRange(scheduledAction.getRegion().getStartOffset(),
-                  scheduledAction.getRegion().getSize());
-               offsetFactory.updateOffsets(scheduledAction);
-               cache.addRegion(new MediumRegion(scheduledAction.getRegion().getStartOffset(), actionBytes));
-            break;
+      isReadAheadSuspended = true;
 
-            default:
-               throw new JMetaIllegalStateException("Unexpected medium action type for action: " + scheduledAction,
-                  null);
-         }
+      try {
+         flushScheduledChanges();
+      } finally {
+         isReadAheadSuspended = false;
       }
 
-      logDebugMessage(() -> "Done with cache update phase");
       logDebugMessage(() -> "DONE Flush");
    }
 
@@ -345,6 +431,11 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
          }
       }
 
+      addBlocksReadAheadToCache(offset, numberOfBytes);
+      addCompletedAsynchronousReadsToCache();
+      removeReleasedRegionsBehindSlidingWindow();
+      restoreSpilledRegions(offset, numberOfBytes);
+
       long initialCacheSize = cache.calculateCurrentCacheSizeInBytes();
 
       logDebugMessage(() -> "Current cache size: " + initialCacheSize);
@@ -354,8 +445,42 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       logDebugMessage(
          () -> "Getting all cached regions in range " + new MediumRegion(offset, numberOfBytes).toIntervalString());
 
+      try {
+         returnedBytes = getCachedOrReadBytes(offset, numberOfBytes, cacheRegionsInRange, initialCacheSize);
+      } finally {
+         cache.releaseRegions(cacheRegionsInRange);
+      }
+
+      readAhead(offset, numberOfBytes);
+
+      logDebugMessage(() -> "DONE getData of <" + numberOfBytes + "> bytes at <" + offset + ">");
+
+      return returnedBytes;
+   }
+
+   /**
+    * Implements {@link #getData(MediumOffset, int)} for the given {@link MediumRegion}s returned by the cache, covering
+    * the requested range. Uncached regions are read and added to the cache.
+    *
+    * @param offset
+    *           The start offset of the requested range
+    * @param numberOfBytes
+    *           The size of the requested range in bytes
+    * @param cacheRegionsInRange
+    *           The {@link MediumRegion}s returned by {@link MediumCache#getRegionsInRange(MediumOffset, int)} for the
+    *           range, not released yet
+    * @param initialCacheSize
+    *           The cache size before getting the regions in range
+    * @return The bytes of the requested range, not sharing any {@link ByteBuffer} recycled by the cache
+    * @throws EndOfMediumException
+    *            if the end of medium is reached while reading
+    */
+   private ByteBuffer getCachedOrReadBytes(MediumOffset offset, int numberOfBytes,
+      List<MediumRegion> cacheRegionsInRange, long initialCacheSize) throws EndOfMediumException {
       MediumRegion firstRegion = cacheRegionsInRange.get(0);
 
+      ByteBuffer returnedBytes = null;
+
       // This "if" is just an optimization for the 80% case in which we just take the
       // original ByteBuffer as view,
       // tailored to the requested range. This safes us new memory allocation and
@@ -370,7 +495,17 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
             .position(firstRegionCachedBytes.position() + (int) offset.distanceTo(firstRegion.getStartOffset()));
          firstRegionCachedBytes.limit(firstRegionCachedBytes.position() + numberOfBytes);
 
-         returnedBytes = firstRegionCachedBytes;
+         // Bytes recycled by the cache after releasing the region are copied once, only the requested range
+         if (cache.isRetained(firstRegion)) {
+            ByteBuffer copiedBytes = ByteBuffer.allocate(numberOfBytes);
+
+            copiedBytes.put(firstRegionCachedBytes);
+            copiedBytes.flip();
+
+            returnedBytes = copiedBytes;
+         } else {
+            returnedBytes = firstRegionCachedBytes;
+         }
       } else {
          ByteBuffer cachedBytes = ByteBuffer.allocate(numberOfBytes);
 
@@ -395,7 +530,7 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
 
                regionsRead.add(regionToAddWithBytes);
 
-               regionsRead.forEach((region) -> cache.addRegion(region));
+               regionsRead.forEach(this::addRegionReadToCache);
             }
          }
 
@@ -404,57 +539,147 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
          returnedBytes = cachedBytes;
       }
 
-      logDebugMessage(() -> "DONE getData of <" + numberOfBytes + "> bytes at <" + offset + ">");
-
       return returnedBytes;
    }
 
    /**
-    * @see com.github.jmeta.library.media.api.services.MediumStore#getMedium()
+    * Cached bytes are copied into the returned {@link ByteBuffer} directly, while uncached bytes are read using the
+    * {@link InFlightReadTracker} and copied into it by the thread completing the read.
+    *
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getDataAsync(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      int)
     */
    @Override
-   public Medium<?> getMedium() {
-      return mediumAccessor.getMedium();
-   }
+   public CompletableFuture<ByteBuffer> getDataAsync(MediumOffset offset, int numberOfBytes) {
+      if (inFlightReadTracker == null) {
+         try {
+            return CompletableFuture.completedFuture(getData(offset, numberOfBytes));
+         } catch (EndOfMediumException | MediumAccessException e) {
+            return StandardMediumStore.failedFuture(e);
+         }
+      }
 
-   /**
-    * @see com.github.jmeta.library.media.api.services.MediumStore#insertData(com.github.jmeta.library.media.api.types.MediumOffset,
-    *      java.nio.ByteBuffer)
-    */
-   @Override
-   public MediumAction insertData(MediumOffset offset, ByteBuffer dataToInsert) {
       Reject.ifNull(offset, "offset");
-      Reject.ifNull(dataToInsert, "dataToInsert");
-      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
       ensureOpened();
-      ensureWritable();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+      Reject.ifNegativeOrZero(numberOfBytes, "numberOfBytes");
 
-      logDebugMessage(() -> "insertData of <" + dataToInsert + "> at <" + offset + ">");
+      logDebugMessage(() -> "STARTING getDataAsync of <" + numberOfBytes + "> bytes at <" + offset + ">");
 
-      return changeManager.scheduleInsert(new MediumRegion(offset, dataToInsert.remaining()), dataToInsert);
-   }
+      if (getMedium().getCurrentLength() < offset.getAbsoluteMediumOffset()) {
+         logDebugMessage(() -> "Tried to get data starting beyond end of medium, completing with EndOfMediumException");
+         return StandardMediumStore
+            .failedFuture(new EndOfMediumException(offset, numberOfBytes, 0, ByteBuffer.allocate(0)));
+      }
 
-   /**
-    * @see com.github.jmeta.library.media.api.services.MediumStore#isAtEndOfMedium(com.github.jmeta.library.media.api.types.MediumOffset)
-    */
-   @Override
-   public boolean isAtEndOfMedium(MediumOffset offset) {
-      Reject.ifNull(offset, "offset");
-      ensureOpened();
-      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+      addCompletedAsynchronousReadsToCache();
 
-      mediumAccessor.setCurrentPosition(offset);
+      ByteBuffer returnedBytes = ByteBuffer.allocate(numberOfBytes);
 
-      return mediumAccessor.isAtEndOfMedium();
-   }
+      // Each pending read delivers the number of bytes available in the range, or the range size if not at its end
+      List<CompletableFuture<Integer>> pendingReads = new ArrayList<>();
 
-   /**
-    * @see com.github.jmeta.library.media.api.services.MediumStore#isOpened()
-    */
-   @Override
-   public boolean isOpened() {
-      return isOpened;
-   }
+      List<MediumRegion> cacheRegionsInRange = cache.getRegionsInRange(offset, numberOfBytes);
+
+      try {
+         for (MediumRegion cacheRegion : cacheRegionsInRange) {
+            MediumRegion clippedCacheRegion = clipRegionAgainstRange(cacheRegion, offset, numberOfBytes);
+
+            int positionInRange = (int) clippedCacheRegion.getStartOffset().distanceTo(offset);
+
+            ByteBuffer targetBytes = returnedBytes.duplicate();
+            targetBytes.position(positionInRange);
+
+            if (clippedCacheRegion.isCached()) {
+               targetBytes.put(clippedCacheRegion.getBytes());
+            } else {
+               logDebugMessage(() -> "Reading region asynchronously: " + clippedCacheRegion);
+
+               pendingReads.add(inFlightReadTracker
+                  .read(clippedCacheRegion.getStartOffset().getAbsoluteMediumOffset(), clippedCacheRegion.getSize())
+                  .thenApply(bytesRead -> {
+                     int byteCountRead = bytesRead.remaining();
+
+                     targetBytes.put(bytesRead);
+
+                     return byteCountRead < clippedCacheRegion.getSize() ? positionInRange + byteCountRead
+                        : numberOfBytes;
+                  }));
+            }
+         }
+      } finally {
+         cache.releaseRegions(cacheRegionsInRange);
+      }
+
+      logDebugMessage(() -> "DONE getDataAsync of <" + numberOfBytes + "> bytes at <" + offset + ">, <"
+         + pendingReads.size() + "> reads pending");
+
+      return CompletableFuture.allOf(pendingReads.toArray(new CompletableFuture<?>[pendingReads.size()]))
+         .handle((ignored, exception) -> {
+            if (exception != null) {
+               throw new CompletionException(new MediumAccessException("Could not read medium asynchronously",
+                  exception instanceof CompletionException ? exception.getCause() : exception));
+            }
+
+            int byteCountRead = pendingReads.stream().mapToInt(CompletableFuture::join).min().orElse(numberOfBytes);
+
+            returnedBytes.limit(byteCountRead);
+
+            if (byteCountRead < numberOfBytes) {
+               throw new CompletionException(
+                  new EndOfMediumException(offset, numberOfBytes, byteCountRead, returnedBytes.asReadOnlyBuffer()));
+            }
+
+            return returnedBytes.asReadOnlyBuffer();
+         });
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#getMedium()
+    */
+   @Override
+   public Medium<?> getMedium() {
+      return mediumAccessor.getMedium();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#insertData(com.github.jmeta.library.media.api.types.MediumOffset,
+    *      java.nio.ByteBuffer)
+    */
+   @Override
+   public MediumAction insertData(MediumOffset offset, ByteBuffer dataToInsert) {
+      Reject.ifNull(offset, "offset");
+      Reject.ifNull(dataToInsert, "dataToInsert");
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+      ensureOpened();
+      ensureWritable();
+
+      logDebugMessage(() -> "insertData of <" + dataToInsert + "> at <" + offset + ">");
+
+      return changeManager.scheduleInsert(new MediumRegion(offset, dataToInsert.remaining()), dataToInsert);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#isAtEndOfMedium(com.github.jmeta.library.media.api.types.MediumOffset)
+    */
+   @Override
+   public boolean isAtEndOfMedium(MediumOffset offset) {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+
+      mediumAccessor.setCurrentPosition(offset);
+
+      return mediumAccessor.isAtEndOfMedium();
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#isOpened()
+    */
+   @Override
+   public boolean isOpened() {
+      return isOpened;
+   }
 
    /**
     * @see com.github.jmeta.library.media.api.services.MediumStore#open()
@@ -464,6 +689,30 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       mediumAccessor.open();
 
       isOpened = true;
+
+      if (flushJournal != null) {
+         completeInterruptedFlush();
+      }
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.MediumStore#releaseCachedDataBefore(com.github.jmeta.library.media.api.types.MediumOffset)
+    */
+   @Override
+   public void releaseCachedDataBefore(MediumOffset offset) {
+      Reject.ifNull(offset, "offset");
+      ensureOpened();
+      Reject.ifFalse(offset.getMedium().equals(getMedium()), "offset.getMedium().equals(getMedium())");
+
+      if (getSlidingWindowSize() == InputStreamMedium.NO_SLIDING_WINDOW) {
+         return;
+      }
+
+      logDebugMessage(() -> "Releasing cached data before <" + offset + ">");
+
+      releasedEndOffset = Math.max(releasedEndOffset, offset.getAbsoluteMediumOffset());
+
+      removeReleasedRegionsBehindSlidingWindow();
    }
 
    /**
@@ -517,6 +766,130 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       changeManager.undo(mediumAction);
    }
 
+   /**
+    * If reading ahead, waits for all blocks read ahead overlapping the given range and adds all blocks read ahead so
+    * far to the cache.
+    *
+    * @param offset
+    *           The start offset of the range accessed next
+    * @param numberOfBytes
+    *           The size of the range in bytes
+    */
+   private void addBlocksReadAheadToCache(MediumOffset offset, int numberOfBytes) {
+      if (readAheadPrefetcher == null || !getMedium().isRandomAccess()) {
+         return;
+      }
+
+      readAheadPrefetcher.awaitBlocksInRange(offset.getAbsoluteMediumOffset(), numberOfBytes);
+
+      readAheadPrefetcher.takeCompletedBlocks().forEach((blockOffset, blockBytes) -> {
+         logDebugMessage(() -> "Adding block read ahead at <" + blockOffset + "> with size <" + blockBytes.remaining()
+            + "> to cache");
+
+         cache.addRegion(new MediumRegion(offsetFactory.createMediumOffset(blockOffset), blockBytes));
+      });
+   }
+
+   /**
+    * If reading asynchronously, adds all reads completed so far to the cache.
+    */
+   private void addCompletedAsynchronousReadsToCache() {
+      if (inFlightReadTracker == null) {
+         return;
+      }
+
+      inFlightReadTracker.takeCompletedReads().forEach((readOffset, readBytes) -> {
+         logDebugMessage(() -> "Adding bytes read asynchronously at <" + readOffset + "> with size <"
+            + readBytes.remaining() + "> to cache");
+
+         cache.addRegion(new MediumRegion(offsetFactory.createMediumOffset(readOffset), readBytes));
+      });
+   }
+
+   /**
+    * Adds a {@link MediumRegion} returned by {@link #readRegion(MediumOffset, int)} to the cache, which takes over the
+    * reference to the {@link ByteBuffer} allocated for reading it. Its bytes must not be used anymore afterwards.
+    *
+    * @param regionRead
+    *           The {@link MediumRegion} read
+    */
+   private void addRegionReadToCache(MediumRegion regionRead) {
+      cache.addRegion(regionRead, allocatedBuffersOfRegionsRead.remove(regionRead));
+   }
+
+   /**
+    * Adds uncached {@link MediumRegion}s covering the given range of the medium unchanged to the new content of the
+    * medium. The range is split into {@link MediumRegion}s of at most {@link Integer#MAX_VALUE} bytes.
+    *
+    * @param rewrittenContent
+    *           The new content of the medium
+    * @param startOffset
+    *           The absolute start offset of the unchanged range
+    * @param endOffset
+    *           The absolute end offset of the unchanged range, exclusive
+    * @param currentLength
+    *           The current length of the medium
+    * @return true if the regions were added, false if the range exceeds the current length of the medium, i.e. there
+    *         are no bytes to keep unchanged
+    */
+   private boolean addUnchangedRegions(List<MediumRegion> rewrittenContent, long startOffset, long endOffset,
+      long currentLength) {
+      if (endOffset > currentLength) {
+         return false;
+      }
+
+      for (long offset = startOffset; offset < endOffset; offset += Integer.MAX_VALUE) {
+         rewrittenContent.add(new MediumRegion(offsetFactory.createMediumOffset(offset),
+            (int) Math.min(endOffset - offset, Integer.MAX_VALUE)));
+      }
+
+      return true;
+   }
+
+   /**
+    * Calculates the total number of bytes shifted within the medium by the given flush plan, i.e. the total size of all
+    * READ actions directly followed by a WRITE action without bytes.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @return The total number of bytes shifted
+    */
+   private long calculateShiftedByteCount(List<MediumAction> flushPlan) {
+      long shiftedByteCount = 0;
+
+      for (int i = 0; i < flushPlan.size(); i++) {
+         if (isShiftPairAt(flushPlan, i)) {
+            shiftedByteCount += flushPlan.get(i).getRegion().getSize();
+         }
+      }
+
+      return shiftedByteCount;
+   }
+
+   /**
+    * Returns a heap copy of the given part of a {@link MediumRegion} returned by
+    * {@link MediumCache#getRegionsInRange(MediumOffset, int)}, if its bytes are recycled after releasing it, to be
+    * added to the cache again.
+    *
+    * @param cacheRegion
+    *           The {@link MediumRegion} returned by the cache, not released yet
+    * @param regionPart
+    *           The cached part of the region to add
+    * @return The part itself or a copy of it
+    */
+   private MediumRegion copyIfRetained(MediumRegion cacheRegion, MediumRegion regionPart) {
+      if (!cache.isRetained(cacheRegion)) {
+         return regionPart;
+      }
+
+      ByteBuffer copiedBytes = ByteBuffer.allocate(regionPart.getSize());
+
+      copiedBytes.put(regionPart.getBytes());
+      copiedBytes.flip();
+
+      return new MediumRegion(regionPart.getStartOffset(), copiedBytes);
+   }
+
    /**
     * In case of {@link MediumRegion}s overlapping just front or back of a given range, they need to be clipped, which
     * is done by this method. It returns a clipped region that is guaranteed to start at or behind the range start
@@ -537,6 +910,204 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       return clipResult.getOverlappingPartOfLeftRegion();
    }
 
+   /**
+    * Completes a flush interrupted before by executing all pending steps from the {@link FlushJournal} again. The steps
+    * are journaled just like during the flush itself, such that completing the flush can be interrupted as well.
+    */
+   private void completeInterruptedFlush() {
+      List<JournalStep> pendingSteps = flushJournal.readPendingSteps();
+
+      if (pendingSteps.isEmpty()) {
+         return;
+      }
+
+      logDebugMessage(() -> "Completing interrupted flush with " + pendingSteps.size() + " pending steps");
+
+      int stepIndex = flushJournal.getLastCompletedStepIndex();
+
+      for (JournalStep pendingStep : pendingSteps) {
+         logDebugMessage(() -> "Executing journal step: " + pendingStep);
+
+         long targetOffset = pendingStep.getTargetOffset();
+
+         MediumOffset targetMediumOffset = offsetFactory.createMediumOffset(targetOffset);
+
+         try {
+            switch (pendingStep.getType()) {
+               case WRITE:
+                  flushJournal.beforeChanging(targetOffset, targetOffset + pendingStep.getSize());
+                  mediumAccessor.setCurrentPosition(targetMediumOffset);
+                  mediumAccessor.write(pendingStep.getBytes());
+               break;
+
+               case TRANSFER:
+                  flushJournal.beforeChanging(targetOffset, targetOffset + pendingStep.getSize());
+                  mediumAccessor.setCurrentPosition(targetMediumOffset);
+                  mediumAccessor.transfer(offsetFactory.createMediumOffset(pendingStep.getSourceOffset()),
+                     pendingStep.getSize());
+               break;
+
+               case SHIFT:
+                  flushJournal.beforeChanging(targetOffset, targetOffset + pendingStep.getSize());
+
+                  if (pendingStep.getBytes() != null) {
+                     mediumAccessor.setCurrentPosition(targetMediumOffset);
+                     mediumAccessor.write(pendingStep.getBytes());
+                  } else {
+                     shiftJournaled(offsetFactory.createMediumOffset(pendingStep.getSourceOffset()),
+                        targetMediumOffset, pendingStep.getSize());
+                  }
+               break;
+
+               default:
+                  flushJournal.beforeChanging(targetOffset, Long.MAX_VALUE);
+                  mediumAccessor.setCurrentPosition(targetMediumOffset);
+                  mediumAccessor.truncate();
+            }
+         } catch (EndOfMediumException e) {
+            throw new JMetaIllegalStateException(
+               "Unexpected end of medium while completing an interrupted flush, maybe the external medium was changed by another process? Medium: "
+                  + getMedium(),
+               e);
+         }
+
+         stepIndex++;
+
+         flushJournal.completedUpTo(stepIndex);
+      }
+
+      flushJournal.end();
+
+      logDebugMessage(() -> "Done with completing interrupted flush");
+   }
+
+   /**
+    * Creates the new content of the medium after executing the given flush plan, to be passed to
+    * {@link MediumAccessor#rewrite(List)}. Shifted bytes are represented by uncached {@link MediumRegion}s at their
+    * source offset, written bytes by cached {@link MediumRegion}s, and all unchanged bytes by uncached
+    * {@link MediumRegion}s at their current offset.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @return The new content of the medium in order, or null if the flush plan cannot be executed by rewriting the
+    *         medium, e.g. because it contains READ actions that are not part of a shift, or because its targets
+    *         overlap
+    */
+   private List<MediumRegion> createRewrittenContent(List<MediumAction> flushPlan) {
+      long currentLength = getMedium().getCurrentLength();
+      long newLength = currentLength;
+
+      Map<Long, MediumRegion> changedRegionsByTargetOffset = new TreeMap<>();
+
+      for (int i = 0; i < flushPlan.size(); i++) {
+         MediumAction mediumAction = flushPlan.get(i);
+         long targetOffset = mediumAction.getRegion().getStartOffset().getAbsoluteMediumOffset();
+
+         if (isShiftPairAt(flushPlan, i)) {
+            MediumRegion sourceRegion = mediumAction.getRegion();
+
+            targetOffset = flushPlan.get(i + 1).getRegion().getStartOffset().getAbsoluteMediumOffset();
+
+            if (changedRegionsByTargetOffset.put(targetOffset, sourceRegion) != null) {
+               return null;
+            }
+
+            newLength = Math.max(newLength, targetOffset + sourceRegion.getSize());
+            i++;
+         } else if (mediumAction.getActionType() == MediumActionType.WRITE && mediumAction.getActionBytes() != null) {
+            ByteBuffer actionBytes = mediumAction.getActionBytes();
+
+            if (changedRegionsByTargetOffset.put(targetOffset,
+               new MediumRegion(mediumAction.getRegion().getStartOffset(), actionBytes)) != null) {
+               return null;
+            }
+
+            newLength = Math.max(newLength, targetOffset + actionBytes.remaining());
+         } else if (mediumAction.getActionType() == MediumActionType.TRUNCATE) {
+            newLength = targetOffset;
+         } else if (mediumAction.getActionType() == MediumActionType.READ
+            || mediumAction.getActionType() == MediumActionType.WRITE) {
+            return null;
+         }
+      }
+
+      List<MediumRegion> rewrittenContent = new ArrayList<>();
+
+      long nextOffset = 0;
+
+      for (Map.Entry<Long, MediumRegion> changedRegionEntry : changedRegionsByTargetOffset.entrySet()) {
+         long targetOffset = changedRegionEntry.getKey();
+         MediumRegion changedRegion = changedRegionEntry.getValue();
+
+         if (targetOffset < nextOffset || targetOffset + changedRegion.getSize() > newLength
+            || !addUnchangedRegions(rewrittenContent, nextOffset, targetOffset, currentLength)) {
+            return null;
+         }
+
+         rewrittenContent.add(changedRegion);
+         nextOffset = targetOffset + changedRegion.getSize();
+      }
+
+      if (!addUnchangedRegions(rewrittenContent, nextOffset, newLength, currentLength)) {
+         return null;
+      }
+
+      return rewrittenContent;
+   }
+
+   /**
+    * Creates the {@link JournalStep}s for all actions of the flush plan that change the medium. Shifts with overlapping
+    * source and target range are journaled as {@link JournalStepType#SHIFT}, whose source bytes are only journaled
+    * directly before executing it, such that they never need to be kept in memory for the whole flush.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param lastJournalStepIndexOfAction
+    *           Filled with the index of the last {@link JournalStep} that is completed as soon as the action with the
+    *           same index is executed, or -1 if there is none
+    * @return The {@link JournalStep}s in execution order
+    */
+   private List<JournalStep> createJournalSteps(List<MediumAction> flushPlan, int[] lastJournalStepIndexOfAction) {
+      List<JournalStep> journalSteps = new ArrayList<>();
+
+      for (int i = 0; i < flushPlan.size(); i++) {
+         MediumAction mediumAction = flushPlan.get(i);
+
+         if (isShiftPairAt(flushPlan, i)) {
+            MediumRegion sourceRegion = mediumAction.getRegion();
+            long sourceOffset = sourceRegion.getStartOffset().getAbsoluteMediumOffset();
+            long targetOffset = flushPlan.get(i + 1).getRegion().getStartOffset().getAbsoluteMediumOffset();
+
+            JournalStepType stepType = Math.abs(targetOffset - sourceOffset) >= sourceRegion.getSize()
+               ? JournalStepType.TRANSFER
+               : JournalStepType.SHIFT;
+
+            journalSteps.add(new JournalStep(stepType, targetOffset, sourceOffset, sourceRegion.getSize(), null));
+
+            lastJournalStepIndexOfAction[i] = journalSteps.size() - 1;
+            i++;
+         } else if (mediumAction.getActionType() == MediumActionType.WRITE) {
+            if (mediumAction.getActionBytes() == null) {
+               throw new JMetaIllegalStateException(
+                  "A WRITE action was given, but there was no READ action directly before reading the exact amount of bytes indicated by the current action: "
+                     + mediumAction,
+                  null);
+            }
+
+            journalSteps.add(new JournalStep(JournalStepType.WRITE,
+               mediumAction.getRegion().getStartOffset().getAbsoluteMediumOffset(), 0, 0,
+               mediumAction.getActionBytes()));
+         } else if (mediumAction.getActionType() == MediumActionType.TRUNCATE) {
+            journalSteps.add(new JournalStep(JournalStepType.TRUNCATE,
+               mediumAction.getRegion().getStartOffset().getAbsoluteMediumOffset(), 0, 0, null));
+         }
+
+         lastJournalStepIndexOfAction[i] = journalSteps.size() - 1;
+      }
+
+      return journalSteps;
+   }
+
    /**
     * Ensures that this {@link MediumStore} is opened for most of the operations.
     */
@@ -555,6 +1126,425 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       }
    }
 
+   /**
+    * Executes the shift of bytes given by the pair of a READ action and a WRITE action without bytes at the given index
+    * of the flush plan. Directly following pairs that shift adjacent bytes by the same distance are executed together
+    * with a single write, as long as the combined bytes to shift do not overlap with their target range.
+    *
+    * If the shifted bytes should be cached, they are read using {@link #getData(MediumOffset, int)} and written with a
+    * single gathering write. Otherwise they are copied within the medium using
+    * {@link MediumAccessor#transfer(MediumOffset, int)}, which avoids reading them into memory for some media.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param readActionIndex
+    *           The index of the READ action of the first pair
+    * @param cacheShiftedBytes
+    *           true to read the shifted bytes via the cache, false to copy them directly within the medium
+    * @return The index of the last action executed
+    */
+   private int executeShift(List<MediumAction> flushPlan, int readActionIndex, boolean cacheShiftedBytes) {
+      MediumRegion firstSourceRegion = flushPlan.get(readActionIndex).getRegion();
+      MediumOffset targetOffset = flushPlan.get(readActionIndex + 1).getRegion().getStartOffset();
+
+      long shiftDistance = targetOffset.getAbsoluteMediumOffset()
+         - firstSourceRegion.getStartOffset().getAbsoluteMediumOffset();
+      long maxCombinedSize = Math.min(Math.abs(shiftDistance), Integer.MAX_VALUE);
+      long sourceStartOffset = firstSourceRegion.getStartOffset().getAbsoluteMediumOffset();
+      long sourceEndOffset = sourceStartOffset + firstSourceRegion.getSize();
+
+      Deque<MediumRegion> sourceRegions = new ArrayDeque<>();
+      sourceRegions.add(firstSourceRegion);
+
+      int lastActionIndex = readActionIndex + 1;
+
+      while (isShiftPairAt(flushPlan, lastActionIndex + 1)) {
+         MediumRegion nextSourceRegion = flushPlan.get(lastActionIndex + 1).getRegion();
+         MediumRegion nextTargetRegion = flushPlan.get(lastActionIndex + 2).getRegion();
+
+         long nextSourceStartOffset = nextSourceRegion.getStartOffset().getAbsoluteMediumOffset();
+         long nextShiftDistance = nextTargetRegion.getStartOffset().getAbsoluteMediumOffset() - nextSourceStartOffset;
+
+         if (nextShiftDistance != shiftDistance
+            || sourceEndOffset - sourceStartOffset + nextSourceRegion.getSize() > maxCombinedSize) {
+            break;
+         }
+
+         if (nextSourceStartOffset == sourceEndOffset) {
+            sourceEndOffset += nextSourceRegion.getSize();
+            sourceRegions.addLast(nextSourceRegion);
+         } else if (nextSourceStartOffset + nextSourceRegion.getSize() == sourceStartOffset) {
+            sourceStartOffset = nextSourceStartOffset;
+            targetOffset = nextTargetRegion.getStartOffset();
+            sourceRegions.addFirst(nextSourceRegion);
+         } else {
+            break;
+         }
+
+         lastActionIndex += 2;
+      }
+
+      for (int i = readActionIndex; i <= lastActionIndex; i++) {
+         MediumAction shiftAction = flushPlan.get(i);
+
+         logDebugMessage(() -> "Executing " + shiftAction.getActionType() + " action: " + shiftAction);
+      }
+
+      int shiftedByteCount = (int) (sourceEndOffset - sourceStartOffset);
+
+      boolean isJournaled = flushJournal != null && flushJournal.isActive();
+
+      if (isJournaled) {
+         flushJournal.beforeChanging(targetOffset.getAbsoluteMediumOffset(),
+            targetOffset.getAbsoluteMediumOffset() + shiftedByteCount);
+      }
+
+      // Shifts with overlapping source and target range are never combined, i.e. there is a single source region
+      boolean isJournaledOverlappingShift = isJournaled && Math.abs(shiftDistance) < shiftedByteCount;
+
+      try {
+         if (cacheShiftedBytes) {
+            List<ByteBuffer> shiftedBytes = new ArrayList<>();
+
+            for (MediumRegion sourceRegion : sourceRegions) {
+               shiftedBytes.add(getData(sourceRegion.getStartOffset(), sourceRegion.getSize()));
+            }
+
+            if (isJournaledOverlappingShift) {
+               flushJournal.journalSourceBytes(shiftedBytes.get(0));
+            }
+
+            mediumAccessor.setCurrentPosition(targetOffset);
+            mediumAccessor.write(shiftedBytes.toArray(new ByteBuffer[shiftedBytes.size()]));
+         } else if (isJournaledOverlappingShift) {
+            shiftJournaled(sourceRegions.getFirst().getStartOffset(), targetOffset, shiftedByteCount);
+         } else {
+            mediumAccessor.setCurrentPosition(targetOffset);
+            mediumAccessor.transfer(sourceRegions.getFirst().getStartOffset(), shiftedByteCount);
+         }
+      } catch (EndOfMediumException e) {
+         throw new JMetaIllegalStateException(
+            "Unexpected end of medium, maybe the external medium was changed by another process? Medium: "
+               + getMedium(),
+            e);
+      }
+
+      for (int i = readActionIndex; i <= lastActionIndex; i++) {
+         flushPlan.get(i).setDone();
+      }
+
+      return lastActionIndex;
+   }
+
+   /**
+    * Executes all actions of the flush plan that access the medium in place, i.e. each shift, write and truncation is
+    * done directly on the medium in the order given by the flush plan. The execution is journaled, if a
+    * {@link FlushJournal} is used.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param scheduledActions
+    *           Filled with all actions of the flush plan that only affect the cache and offsets
+    * @param cacheShiftedBytes
+    *           true to read the shifted bytes via the cache, false to copy them directly within the medium
+    */
+   private void executeInPlace(List<MediumAction> flushPlan, List<MediumAction> scheduledActions,
+      boolean cacheShiftedBytes) {
+      int[] lastJournalStepIndexOfAction = new int[flushPlan.size()];
+
+      boolean isJournaled = false;
+
+      if (flushJournal != null) {
+         List<JournalStep> journalSteps = createJournalSteps(flushPlan, lastJournalStepIndexOfAction);
+
+         if (!journalSteps.isEmpty()) {
+            logDebugMessage(() -> "Journaling " + journalSteps.size() + " medium access steps");
+
+            flushJournal.begin(journalSteps);
+            isJournaled = true;
+         }
+      }
+
+      int actionIndex = 0;
+
+      while (actionIndex < flushPlan.size()) {
+         MediumAction mediumAction = flushPlan.get(actionIndex);
+
+         switch (mediumAction.getActionType()) {
+            case READ:
+               if (isShiftPairAt(flushPlan, actionIndex)) {
+                  actionIndex = executeShift(flushPlan, actionIndex, cacheShiftedBytes);
+               } else {
+                  logDebugMessage(() -> "Executing READ action: " + mediumAction);
+                  try {
+                     getData(mediumAction.getRegion().getStartOffset(), mediumAction.getRegion().getSize());
+                  } catch (EndOfMediumException e) {
+                     throw new JMetaIllegalStateException(
+                        "Unexpected end of medium, maybe the external medium was changed by another process? Medium: "
+                           + getMedium(),
+                        e);
+                  }
+                  mediumAction.setDone();
+               }
+            break;
+
+            case WRITE:
+               if (mediumAction.getActionBytes() == null) {
+                  throw new JMetaIllegalStateException(
+                     "A WRITE action was given, but there was no READ action directly before reading the exact amount of bytes indicated by the current action: "
+                        + mediumAction,
+                     null);
+               }
+
+               actionIndex = executeWrites(flushPlan, actionIndex);
+            break;
+
+            case TRUNCATE:
+               logDebugMessage(() -> "Executing TRUNCATE action: " + mediumAction);
+
+               if (isJournaled) {
+                  flushJournal.beforeChanging(mediumAction.getRegion().getStartOffset().getAbsoluteMediumOffset(),
+                     Long.MAX_VALUE);
+               }
+
+               mediumAccessor.setCurrentPosition(mediumAction.getRegion().getStartOffset());
+               mediumAccessor.truncate();
+               mediumAction.setDone();
+            break;
+
+            default:
+               scheduledActions.add(mediumAction);
+         }
+
+         if (isJournaled) {
+            flushJournal.completedUpTo(lastJournalStepIndexOfAction[actionIndex]);
+         }
+
+         actionIndex++;
+      }
+
+      if (isJournaled) {
+         flushJournal.end();
+      }
+   }
+
+   /**
+    * Executes all actions of the flush plan that access the medium by rewriting the whole medium with the given new
+    * content at once. As the medium is atomically replaced, the rewrite is not journaled.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param rewrittenContent
+    *           The new content of the medium, as returned by {@link #createRewrittenContent(List)}
+    * @param scheduledActions
+    *           Filled with all actions of the flush plan that only affect the cache and offsets
+    */
+   private void executeRewrite(List<MediumAction> flushPlan, List<MediumRegion> rewrittenContent,
+      List<MediumAction> scheduledActions) {
+      logDebugMessage(() -> "Rewriting medium with " + rewrittenContent.size() + " regions instead of executing "
+         + flushPlan.size() + " actions in place");
+
+      mediumAccessor.rewrite(rewrittenContent);
+
+      for (MediumAction mediumAction : flushPlan) {
+         switch (mediumAction.getActionType()) {
+            case READ:
+            case WRITE:
+            case TRUNCATE:
+               mediumAction.setDone();
+            break;
+
+            default:
+               scheduledActions.add(mediumAction);
+         }
+      }
+   }
+
+   /**
+    * Executes the WRITE action with bytes at the given index of the flush plan. All directly following WRITE actions
+    * with bytes that continue exactly where the previous one ends are written together with a single medium access.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param firstWriteActionIndex
+    *           The index of the first WRITE action
+    * @return The index of the last action executed
+    */
+   private int executeWrites(List<MediumAction> flushPlan, int firstWriteActionIndex) {
+      MediumAction firstWriteAction = flushPlan.get(firstWriteActionIndex);
+
+      List<ByteBuffer> bytesToWrite = new ArrayList<>();
+      bytesToWrite.add(firstWriteAction.getActionBytes());
+
+      long endOffset = firstWriteAction.getRegion().getStartOffset().getAbsoluteMediumOffset()
+         + firstWriteAction.getActionBytes().remaining();
+
+      int lastActionIndex = firstWriteActionIndex;
+
+      while (lastActionIndex + 1 < flushPlan.size()) {
+         MediumAction nextAction = flushPlan.get(lastActionIndex + 1);
+
+         if (nextAction.getActionType() != MediumActionType.WRITE || nextAction.getActionBytes() == null
+            || nextAction.getRegion().getStartOffset().getAbsoluteMediumOffset() != endOffset) {
+            break;
+         }
+
+         bytesToWrite.add(nextAction.getActionBytes());
+         endOffset += nextAction.getActionBytes().remaining();
+         lastActionIndex++;
+      }
+
+      for (int i = firstWriteActionIndex; i <= lastActionIndex; i++) {
+         MediumAction writeAction = flushPlan.get(i);
+
+         logDebugMessage(() -> "Executing WRITE action: " + writeAction);
+      }
+
+      if (flushJournal != null && flushJournal.isActive()) {
+         flushJournal.beforeChanging(firstWriteAction.getRegion().getStartOffset().getAbsoluteMediumOffset(),
+            endOffset);
+      }
+
+      mediumAccessor.setCurrentPosition(firstWriteAction.getRegion().getStartOffset());
+      mediumAccessor.write(bytesToWrite.toArray(new ByteBuffer[bytesToWrite.size()]));
+
+      for (int i = firstWriteActionIndex; i <= lastActionIndex; i++) {
+         flushPlan.get(i).setDone();
+      }
+
+      return lastActionIndex;
+   }
+
+   /**
+    * Returns a {@link CompletableFuture} that is already completed exceptionally with the given exception.
+    *
+    * @param exception
+    *           The exception
+    * @return The {@link CompletableFuture}
+    */
+   private static <V> CompletableFuture<V> failedFuture(Throwable exception) {
+      CompletableFuture<V> failedFuture = new CompletableFuture<>();
+
+      failedFuture.completeExceptionally(exception);
+
+      return failedFuture;
+   }
+
+   /**
+    * Implements {@link #flush()}: Creates the flush plan, performs all actions on the medium and finally updates the
+    * cache as well as the offsets according to the changes done.
+    */
+   private void flushScheduledChanges() {
+
+      logDebugMessage(() -> "Creating flush plan...");
+
+      List<MediumAction> flushPlan = changeManager.createFlushPlan(getMedium().getMaxReadWriteBlockSizeInBytes(),
+         getMedium().getCurrentLength());
+
+      logDebugMessage(() -> "Done with creation of flush plan plan; it has " + flushPlan.size() + " actions");
+
+      // Phase 1 - Medium access phase
+      logDebugMessage(() -> "Starting medium access phase...");
+
+      List<MediumAction> scheduledActions = new ArrayList<>();
+
+      long shiftedByteCount = calculateShiftedByteCount(flushPlan);
+
+      // Shifted bytes are only worth caching if the cache is big enough to keep them
+      boolean cacheShiftedBytes = shiftedByteCount <= cache.getMaximumCacheSizeInBytes();
+
+      List<MediumRegion> rewrittenContent = null;
+
+      // Shifting most of the medium in place reads and writes it in many small steps, while rewriting streams it once
+      if (!cacheShiftedBytes && getMedium().isRandomAccess()
+         && shiftedByteCount >= REWRITE_THRESHOLD_FRACTION * getMedium().getCurrentLength()) {
+         rewrittenContent = createRewrittenContent(flushPlan);
+      }
+
+      if (rewrittenContent != null) {
+         executeRewrite(flushPlan, rewrittenContent, scheduledActions);
+      } else {
+         executeInPlace(flushPlan, scheduledActions, cacheShiftedBytes);
+      }
+
+      logDebugMessage(() -> "Done with medium access phase");
+
+      // Phase 2 - Cache update phase
+      logDebugMessage(() -> "Starting cache update phase...");
+
+      for (MediumAction scheduledAction : scheduledActions) {
+         logDebugMessage(() -> "Next scheduledAction in flush plan: " + scheduledAction);
+
+         ByteBuffer actionBytes = scheduledAction.getActionBytes();
+
+         switch (scheduledAction.getActionType()) {
+            case INSERT:
+               changeManager.undo(scheduledAction);
+
+               // If there is an existing cached region containing the insert offset, we must
+               // split it there,
+               // to ensure the part of the region behind the insert offset is shifted
+               // correspondingly to leave room
+               // for the inserts
+               List<MediumRegion> regionsAtInsertOffset = cache
+                  .getRegionsInRange(scheduledAction.getRegion().getStartOffset(), 1);
+               MediumRegion existingRegionContainingInsertOffset = regionsAtInsertOffset.get(0);
+
+               if (existingRegionContainingInsertOffset.isCached() && existingRegionContainingInsertOffset
+                  .getStartOffset().before(scheduledAction.getRegion().getStartOffset())) {
+                  MediumRegion existingRegionSplitAtInsertOffset = existingRegionContainingInsertOffset
+                     .split(scheduledAction.getRegion().getStartOffset())[0];
+
+                  cache.addRegion(
+                     copyIfRetained(existingRegionContainingInsertOffset, existingRegionSplitAtInsertOffset));
+               }
+
+               cache.releaseRegions(regionsAtInsertOffset);
+
+               offsetFactory.updateOffsets(scheduledAction);
+
+               // Please note the comment in ShiftedMediumBlock.initStartReference()
+               cache.addRegion(new MediumRegion(scheduledAction.getRegion().getStartOffset(), actionBytes));
+            break;
+
+            case REMOVE:
+               cache.removeRegionsInRange(scheduledAction.getRegion().getStartOffset(),
+                  scheduledAction.getRegion().getSize());
+               changeManager.undo(scheduledAction);
+               offsetFactory.updateOffsets(scheduledAction);
+            break;
+
+            case REPLACE:
+               changeManager.undo(scheduledAction);
+               cache.removeRegionsInRange(scheduledAction.getRegion().getStartOffset(),
+                  scheduledAction.getRegion().getSize());
+               offsetFactory.updateOffsets(scheduledAction);
+               cache.addRegion(new MediumRegion(scheduledAction.getRegion().getStartOffset(), actionBytes));
+            break;
+
+            default:
+               throw new JMetaIllegalStateException("Unexpected medium action type for action: " + scheduledAction,
+                  null);
+         }
+      }
+
+      logDebugMessage(() -> "Done with cache update phase");
+   }
+
+   /**
+    * Returns the sliding window size of the {@link Medium}, see {@link InputStreamMedium#getSlidingWindowSizeInBytes()}.
+    *
+    * @return the sliding window size of the {@link Medium} or {@link InputStreamMedium#NO_SLIDING_WINDOW} if it has
+    *         none
+    */
+   private int getSlidingWindowSize() {
+      if (getMedium() instanceof InputStreamMedium) {
+         return ((InputStreamMedium) getMedium()).getSlidingWindowSizeInBytes();
+      }
+
+      return InputStreamMedium.NO_SLIDING_WINDOW;
+   }
+
    /**
     * Determines if a given cached {@link MediumRegion}, that was still cached at point in time
     * {@link MediumCache#getRegionsInRange(MediumOffset, int)} was meanwhile has become uncached as new regions have
@@ -579,6 +1569,29 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
          && cache.getCachedByteCountAt(cachedRegion.getStartOffset()) < cachedRegion.getSize();
    }
 
+   /**
+    * Checks whether there is a READ action at the given index of the flush plan, directly followed by a WRITE action
+    * without bytes of the same size, i.e. a pair of actions shifting bytes within the medium.
+    *
+    * @param flushPlan
+    *           The flush plan
+    * @param actionIndex
+    *           The index of the potential READ action
+    * @return true if there is such a pair of actions at the given index, false otherwise
+    */
+   private boolean isShiftPairAt(List<MediumAction> flushPlan, int actionIndex) {
+      if (actionIndex + 1 >= flushPlan.size()) {
+         return false;
+      }
+
+      MediumAction readAction = flushPlan.get(actionIndex);
+      MediumAction writeAction = flushPlan.get(actionIndex + 1);
+
+      return readAction.getActionType() == MediumActionType.READ
+         && writeAction.getActionType() == MediumActionType.WRITE && writeAction.getActionBytes() == null
+         && writeAction.getRegion().getSize() == readAction.getRegion().getSize();
+   }
+
    /**
     * Logs a debug message, if debug logging is enabled
     *
@@ -591,6 +1604,25 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       }
    }
 
+   /**
+    * If reading ahead and not suspended, records the given access and possibly starts reading the next blocks in
+    * background.
+    *
+    * @param offset
+    *           The start offset of the range accessed
+    * @param numberOfBytes
+    *           The size of the range in bytes
+    */
+   private void readAhead(MediumOffset offset, int numberOfBytes) {
+      if (readAheadPrefetcher == null || isReadAheadSuspended || !getMedium().isRandomAccess()) {
+         return;
+      }
+
+      readAheadPrefetcher.recordAccess(offset.getAbsoluteMediumOffset(), numberOfBytes,
+         getMedium().getCurrentLength(),
+         blockOffset -> cache.getCachedByteCountAt(offsetFactory.createMediumOffset(blockOffset)));
+   }
+
    /**
     * Only for non-random access media: If the medium's current position is smaller than the given offset, it reads all
     * bytes between these offsets chunk-wise and returns the corresponding {@link MediumRegion}s. If the medium's
@@ -637,6 +1669,8 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
     *           The offset of the region
     * @param regionSize
     *           The size of the region
+    * @return The {@link MediumRegion} read. Its bytes are allocated by the {@link ByteBufferAllocator} of the cache, it
+    *         must therefore be added to the cache using {@link #addRegionReadToCache(MediumRegion)}.
     * @throws EndOfMediumException
     *            in case of EOM was reached during reading
     */
@@ -646,8 +1680,15 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       try {
          ByteBuffer dataRead = mediumAccessor.read(regionSize);
 
-         return new MediumRegion(regionOffset, dataRead);
+         MediumRegion regionRead = new MediumRegion(regionOffset, dataRead);
+
+         allocatedBuffersOfRegionsRead.put(regionRead, dataRead);
+
+         return regionRead;
       } catch (EndOfMediumException e) {
+         // The bytes read so far are handed out to callers with the exception, so they must never be recycled
+         cache.getByteBufferAllocator().detach(e.getBytesReadSoFar());
+
          if (e.getByteCountActuallyRead() > 0) {
             cache.addRegion(new MediumRegion(e.getReadStartReference(), e.getBytesReadSoFar()));
          }
@@ -676,4 +1717,99 @@ public class StandardMediumStore<T extends Medium<?>> implements MediumStore {
       return regionsRead;
    }
 
+   /**
+    * Only for an {@link InputStreamMedium} with a sliding window: Removes all cached regions ending before both the
+    * offset released by {@link #releaseCachedDataBefore(MediumOffset)} and the start of the sliding window behind the
+    * current read position. This way, bytes of a still open container are never removed, while the cache does not grow
+    * with the length of the stream.
+    */
+   private void removeReleasedRegionsBehindSlidingWindow() {
+      int slidingWindowSize = getSlidingWindowSize();
+
+      if (slidingWindowSize == InputStreamMedium.NO_SLIDING_WINDOW) {
+         return;
+      }
+
+      long slidingWindowStartOffset = mediumAccessor.getCurrentPosition().getAbsoluteMediumOffset()
+         - slidingWindowSize;
+
+      long removedEndOffset = Math.min(releasedEndOffset, slidingWindowStartOffset);
+
+      if (removedEndOffset > 0) {
+         cache.removeRegionsBefore(offsetFactory.createMediumOffset(removedEndOffset));
+
+         if (spillFile != null) {
+            spillFile.removeRegionsBefore(removedEndOffset);
+         }
+      }
+   }
+
+   /**
+    * Only for non-random access media with a {@link SpillFile}: Adds all uncached bytes of the given range that are
+    * before the current position of the medium and stored in the {@link SpillFile} to the cache again. Uncached bytes
+    * not stored in the {@link SpillFile} are left as they are.
+    *
+    * @param offset
+    *           The start offset of the range
+    * @param numberOfBytes
+    *           The size of the range in bytes
+    */
+   private void restoreSpilledRegions(MediumOffset offset, int numberOfBytes) {
+      if (spillFile == null || getMedium().isRandomAccess()) {
+         return;
+      }
+
+      long passedByteCount = Math.min(numberOfBytes, mediumAccessor.getCurrentPosition().distanceTo(offset));
+
+      if (passedByteCount <= 0) {
+         return;
+      }
+
+      List<MediumRegion> regionsInRange = cache.getRegionsInRange(offset, (int) passedByteCount);
+
+      cache.releaseRegions(regionsInRange);
+
+      for (MediumRegion region : regionsInRange) {
+         if (!region.isCached()) {
+            ByteBuffer spilledBytes = spillFile.read(region.getStartOffset().getAbsoluteMediumOffset(),
+               region.getSize());
+
+            if (spilledBytes != null) {
+               logDebugMessage(() -> "Restoring region from spill file: " + region);
+
+               cache.addRegion(new MediumRegion(region.getStartOffset(), spilledBytes));
+            }
+         }
+      }
+   }
+
+   /**
+    * Shifts bytes with overlapping source and target range during a journaled flush: Reads the bytes to shift, journals
+    * them with {@link FlushJournal#journalSourceBytes(ByteBuffer)} and writes them to the target offset afterwards.
+    * Only a single {@link JournalStepType#SHIFT} is kept in memory at once.
+    *
+    * @param sourceOffset
+    *           The offset of the bytes to shift
+    * @param targetOffset
+    *           The offset to shift the bytes to
+    * @param numberOfBytes
+    *           The number of bytes to shift
+    * @throws EndOfMediumException
+    *            if the end of medium was reached while reading the bytes to shift
+    */
+   private void shiftJournaled(MediumOffset sourceOffset, MediumOffset targetOffset, int numberOfBytes)
+      throws EndOfMediumException {
+      mediumAccessor.setCurrentPosition(sourceOffset);
+
+      ByteBuffer shiftedBytes = mediumAccessor.read(numberOfBytes);
+
+      try {
+         flushJournal.journalSourceBytes(shiftedBytes);
+
+         mediumAccessor.setCurrentPosition(targetOffset);
+         mediumAccessor.write(shiftedBytes);
+      } finally {
+         cache.getByteBufferAllocator().release(shiftedBytes);
+      }
+   }
 }
@@ -12,14 +12,21 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.github.jmeta.library.datablocks.impl.ConcurrentMediumParseIteratorTest;
+import com.github.jmeta.library.datablocks.impl.ContainerBasedLazyPayloadTest;
 import com.github.jmeta.library.datablocks.impl.FieldTerminationFinderTest;
+import com.github.jmeta.library.datablocks.impl.IndexedPayloadContainerIteratorTest;
+import com.github.jmeta.library.datablocks.impl.TopLevelMagicKeyDetectorTest;
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBusTest;
 
 /**
  * {@link AllDataBlocksTests} is used for running all test cases of the
  * extension management component.
  */
 @RunWith(Suite.class)
-@SuiteClasses({ FieldTerminationFinderTest.class, })
+@SuiteClasses({ FieldTerminationFinderTest.class, TopLevelMagicKeyDetectorTest.class,
+	ContainerBasedLazyPayloadTest.class, IndexedPayloadContainerIteratorTest.class, DataBlockEventBusTest.class,
+	ConcurrentMediumParseIteratorTest.class, })
 public class AllDataBlocksTests {
 	// Nothing necessary here
 }
@@ -8,7 +8,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -25,8 +31,10 @@ import com.github.jmeta.library.datablocks.api.types.Field;
 import com.github.jmeta.library.datablocks.api.types.FieldBasedPayload;
 import com.github.jmeta.library.datablocks.api.types.FieldSequence;
 import com.github.jmeta.library.datablocks.api.types.Header;
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
 import com.github.jmeta.library.datablocks.api.types.Payload;
 import com.github.jmeta.library.dataformats.api.services.DataFormatRepository;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
 import com.github.jmeta.library.dataformats.api.types.PhysicalDataBlockType;
 import com.github.jmeta.library.media.api.helper.MediaTestUtility;
 import com.github.jmeta.library.media.api.services.MediaAPI;
@@ -37,6 +45,7 @@ import com.github.jmeta.library.media.api.types.InMemoryMedium;
 import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
 import com.github.jmeta.library.media.impl.StandardMediaAPI;
 import com.github.jmeta.utility.byteutils.api.services.ByteBufferUtils;
 import com.github.jmeta.utility.compregistry.api.services.ComponentRegistry;
@@ -50,6 +59,8 @@ import com.github.jmeta.utility.testsetup.api.services.JMetaTestBasics;
  */
 public abstract class AbstractLowLevelAPITest {
 
+   private static final int CONCURRENTLY_PARSED_MEDIUM_COUNT = 8;
+
    /**
     * Checks the given {@link Path} for plausibility.
     *
@@ -270,6 +281,130 @@ public abstract class AbstractLowLevelAPITest {
          getFileForMediaContents(), MediumAccessType.READ_WRITE, maxCacheSizeToUse, maxReadWriteBlockSizeToUse));
    }
 
+   /**
+    * Tests {@link LowLevelAPI#getContainerIterator(Medium, Set)}.
+    */
+   @Test
+   public void getContainerIterator_withFieldProjection_returnsProjectedPayloadFieldsWithSameValues() {
+      List<Field<?>> allPayloadFields = readPayloadFields(createInMemoryMedium(getFileForMediaContents(),
+         MediumAccessType.READ_ONLY, Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES,
+         Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES), null);
+
+      if (allPayloadFields.isEmpty()) {
+         return;
+      }
+
+      DataBlockId projectedFieldId = allPayloadFields.get(allPayloadFields.size() - 1).getId();
+
+      List<Field<?>> projectedPayloadFields = readPayloadFields(createInMemoryMedium(getFileForMediaContents(),
+         MediumAccessType.READ_ONLY, Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES,
+         Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES), Collections.singleton(projectedFieldId));
+
+      Assert.assertTrue(projectedPayloadFields.size() <= allPayloadFields.size());
+
+      List<Field<?>> expectedFields = filterFieldsById(allPayloadFields, projectedFieldId);
+      List<Field<?>> actualFields = filterFieldsById(projectedPayloadFields, projectedFieldId);
+
+      Assert.assertEquals(expectedFields.size(), actualFields.size());
+
+      for (int i = 0; i < expectedFields.size(); i++) {
+         Field<?> expectedField = expectedFields.get(i);
+         Field<?> actualField = actualFields.get(i);
+
+         Assert.assertEquals(expectedField.getOffset(), actualField.getOffset());
+
+         try {
+            Assert.assertEquals(expectedField.getBinaryValue(), actualField.getBinaryValue());
+         } catch (InterpretedValueConversionException e) {
+            Assert.fail("Unexpected exception: " + e);
+         }
+      }
+   }
+
+   /**
+    * Tests {@link LowLevelAPI#parse(Medium, DataBlockHandler)}.
+    */
+   @Test
+   public void parse_forInMemoryMedium_notifiesAllTopLevelContainersWithBalancedCalls() {
+      List<DataBlockId> topLevelContainerIds = new ArrayList<>();
+
+      int[] nestingDepth = new int[1];
+
+      getTestling().parse(createInMemoryMedium(getFileForMediaContents(), MediumAccessType.READ_ONLY,
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES),
+         new DataBlockHandler() {
+
+            @Override
+            public void endContainer(DataBlockId id, MediumOffset offset, long size) {
+               nestingDepth[0]--;
+
+               Assert.assertTrue(nestingDepth[0] >= 0);
+            }
+
+            @Override
+            public void field(DataBlockId id, MediumOffset offset, long size, ByteBuffer binaryValue) {
+               Assert.assertTrue(nestingDepth[0] > 0);
+               Assert.assertEquals(size, binaryValue.remaining());
+            }
+
+            @Override
+            public void startContainer(DataBlockId id, int sequenceNumber, MediumOffset offset) {
+               if (nestingDepth[0] == 0) {
+                  topLevelContainerIds.add(id);
+               }
+
+               nestingDepth[0]++;
+            }
+         });
+
+      Assert.assertEquals(0, nestingDepth[0]);
+
+      Medium<?> medium = createInMemoryMedium(getFileForMediaContents(), MediumAccessType.READ_ONLY,
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES);
+
+      try (MediumContainerIterator containerIterator = getTestling().getContainerIterator(medium)) {
+         Assert.assertEquals(readTopLevelContainerIds(medium, containerIterator), topLevelContainerIds);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not close container iterator", e);
+      }
+   }
+
+   /**
+    * Tests {@link LowLevelAPI#parseConcurrently(java.util.Collection, MediumParser)}.
+    */
+   @Test
+   public void parseConcurrently_forSeveralInMemoryMedia_returnsExpectedTopLevelContainersPerMedium() {
+      List<Medium<?>> media = createInMemoryMedia(AbstractLowLevelAPITest.CONCURRENTLY_PARSED_MEDIUM_COUNT);
+
+      assertParseConcurrentlyReturnsExpectedTopLevelContainers(media,
+         getTestling().parseConcurrently(media, this::readTopLevelContainerIds), null);
+   }
+
+   /**
+    * Tests {@link LowLevelAPI#parseConcurrently(java.util.Collection, MediumParser, ExecutorService, int)}.
+    */
+   @Test
+   public void parseConcurrently_withParserFailingForOneMedium_returnsErrorOnlyForThatMedium() {
+      List<Medium<?>> media = createInMemoryMedia(AbstractLowLevelAPITest.CONCURRENTLY_PARSED_MEDIUM_COUNT);
+
+      Medium<?> failingMedium = media.get(2);
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+
+      try {
+         assertParseConcurrentlyReturnsExpectedTopLevelContainers(media,
+            getTestling().parseConcurrently(media, (medium, containerIterator) -> {
+               if (medium == failingMedium) {
+                  throw new IOException("Parsing failed");
+               }
+
+               return readTopLevelContainerIds(medium, containerIterator);
+            }, executor, 3), failingMedium);
+      } finally {
+         executor.shutdown();
+      }
+   }
+
    /**
     * Sets up the test fixtures.
     */
@@ -349,6 +484,44 @@ public abstract class AbstractLowLevelAPITest {
       }
    }
 
+   /**
+    * Checks that the given {@link Iterator} returns exactly one {@link MediumParseResult} per {@link Medium}, and that
+    * each successful one contains the expected top-level container ids.
+    *
+    * @param media
+    *           The {@link Medium}s parsed
+    * @param results
+    *           The {@link Iterator} returned by the {@link LowLevelAPI}
+    * @param failingMedium
+    *           The {@link Medium} expected to fail or null if all {@link Medium}s should be parsed successfully
+    */
+   private void assertParseConcurrentlyReturnsExpectedTopLevelContainers(List<Medium<?>> media,
+      Iterator<MediumParseResult<List<DataBlockId>>> results, Medium<?> failingMedium) {
+      List<DataBlockId> expectedIds = new ArrayList<>();
+
+      for (DataBlockInstanceId expectedInstanceId : expectationProvider.getExpectedTopLevelContainers()) {
+         expectedIds.add(expectedInstanceId.getId());
+      }
+
+      Set<Medium<?>> parsedMedia = Collections.newSetFromMap(new IdentityHashMap<>());
+
+      while (results.hasNext()) {
+         MediumParseResult<List<DataBlockId>> result = results.next();
+
+         Assert.assertTrue(parsedMedia.add(result.getMedium()));
+
+         if (result.getMedium() == failingMedium) {
+            Assert.assertFalse(result.isSuccessful());
+            Assert.assertTrue(result.getError() instanceof IOException);
+         } else {
+            Assert.assertTrue("Unexpected error " + result.getError(), result.isSuccessful());
+            Assert.assertEquals(expectedIds, result.getResult());
+         }
+      }
+
+      Assert.assertEquals(media.size(), parsedMedia.size());
+   }
+
    /**
     * Recursively checks all {@link Container}s starting with the given iterator.
     *
@@ -695,6 +868,20 @@ public abstract class AbstractLowLevelAPITest {
       return new InMemoryMedium(byteContent, "TestMemMedium", mediumAccessType, maxCacheSize, maxReadWriteBlockSize);
    }
 
+   /**
+    * Creates the given number of read-only {@link InMemoryMedium}s with the contents of the test file.
+    */
+   private List<Medium<?>> createInMemoryMedia(int mediumCount) {
+      List<Medium<?>> media = new ArrayList<>();
+
+      for (int i = 0; i < mediumCount; i++) {
+         media.add(createInMemoryMedium(getFileForMediaContents(), MediumAccessType.READ_ONLY,
+            Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES));
+      }
+
+      return media;
+   }
+
    /**
     * Creates an {@link InputStreamMedium}.
     */
@@ -707,6 +894,68 @@ public abstract class AbstractLowLevelAPITest {
       }
    }
 
+   /**
+    * Returns all {@link Field}s with the given {@link DataBlockId}.
+    */
+   private List<Field<?>> filterFieldsById(List<Field<?>> fields, DataBlockId id) {
+      List<Field<?>> filteredFields = new ArrayList<>();
+
+      for (Field<?> field : fields) {
+         if (field.getId().equals(id)) {
+            filteredFields.add(field);
+         }
+      }
+
+      return filteredFields;
+   }
+
+   /**
+    * Adds the {@link Field}s of all field-based payloads of the given {@link Container}s and their children to the
+    * given {@link List}.
+    */
+   private void collectPayloadFields(ContainerIterator containerIterator, List<Field<?>> payloadFields) {
+      while (containerIterator.hasNext()) {
+         Payload payload = containerIterator.next().getPayload();
+
+         if (payload instanceof FieldBasedPayload) {
+            payloadFields.addAll(((FieldBasedPayload) payload).getFields());
+         } else {
+            collectPayloadFields(((ContainerBasedPayload) payload).getContainerIterator(), payloadFields);
+         }
+      }
+   }
+
+   /**
+    * Reads the {@link Field}s of all field-based payloads of the given {@link Medium}, using the given field
+    * projection or reading all fields if it is null.
+    */
+   private List<Field<?>> readPayloadFields(Medium<?> medium, Set<DataBlockId> projectedFieldIds) {
+      List<Field<?>> payloadFields = new ArrayList<>();
+
+      try (MediumContainerIterator containerIterator = projectedFieldIds == null
+         ? getTestling().getContainerIterator(medium)
+         : getTestling().getContainerIterator(medium, projectedFieldIds)) {
+         collectPayloadFields(containerIterator, payloadFields);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not close container iterator", e);
+      }
+
+      return payloadFields;
+   }
+
+   /**
+    * Reads the ids of all top-level {@link Container}s, used as {@link MediumParser}.
+    */
+   private List<DataBlockId> readTopLevelContainerIds(Medium<?> medium, MediumContainerIterator containerIterator) {
+      List<DataBlockId> ids = new ArrayList<>();
+
+      while (containerIterator.hasNext()) {
+         ids.add(containerIterator.next().getId());
+      }
+
+      return ids;
+   }
+
    private void resetMaxSizes(long maxCacheSizeToUse, int maxRWBSizeToUse) {
       MediaAPI mediaAPI = ComponentRegistry.lookupService(MediaAPI.class);
 
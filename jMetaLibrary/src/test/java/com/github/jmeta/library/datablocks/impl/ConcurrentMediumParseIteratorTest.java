@@ -0,0 +1,168 @@
+/**
+ *
+ * {@link ConcurrentMediumParseIteratorTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.datablocks.api.types.MediumParseResult;
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+
+/**
+ * {@link ConcurrentMediumParseIteratorTest} tests the {@link ConcurrentMediumParseIterator} class.
+ */
+public class ConcurrentMediumParseIteratorTest {
+
+   private static final int MEDIUM_COUNT = 6;
+
+   /**
+    * Tests {@link ConcurrentMediumParseIterator#next()}.
+    */
+   @Test
+   public void next_parseFunctionThrowingError_returnsFailedResultAndParsesAllOtherMedia() {
+      List<Medium<?>> media = createMedia();
+
+      Medium<?> failingMedium = media.get(1);
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+
+      try (ConcurrentMediumParseIterator<String> testling = new ConcurrentMediumParseIterator<>(media.iterator(),
+         medium -> {
+            if (medium == failingMedium) {
+               throw new StackOverflowError("Parsing failed");
+            }
+
+            return new MediumParseResult<>(medium, medium.getName(), null);
+         }, executor, 2, false)) {
+
+         List<Medium<?>> parsedMedia = new ArrayList<>();
+
+         while (testling.hasNext()) {
+            MediumParseResult<String> result = testling.next();
+
+            parsedMedia.add(result.getMedium());
+
+            if (result.getMedium() == failingMedium) {
+               Assert.assertFalse(result.isSuccessful());
+               Assert.assertTrue(result.getError() instanceof StackOverflowError);
+            } else {
+               Assert.assertEquals(result.getMedium().getName(), result.getResult());
+            }
+         }
+
+         Assert.assertEquals(media.size(), parsedMedia.size());
+         Assert.assertTrue(parsedMedia.containsAll(media));
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   /**
+    * Tests {@link ConcurrentMediumParseIterator#close()}.
+    *
+    * @throws InterruptedException if the test is interrupted
+    */
+   @Test
+   public void close_beforeLastResultWithOwnedExecutor_cancelsParsingAndShutsDownExecutor()
+      throws InterruptedException {
+      CountDownLatch parsingStarted = new CountDownLatch(1);
+      CountDownLatch neverReleased = new CountDownLatch(1);
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+
+      ConcurrentMediumParseIterator<String> testling = new ConcurrentMediumParseIterator<>(createMedia().iterator(),
+         createBlockingParseFunction(parsingStarted, neverReleased), executor, 2, true);
+
+      Assert.assertTrue(parsingStarted.await(10, TimeUnit.SECONDS));
+
+      testling.close();
+
+      Assert.assertFalse(testling.hasNext());
+      Assert.assertTrue(executor.isShutdown());
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+      testling.close();
+   }
+
+   /**
+    * Tests {@link ConcurrentMediumParseIterator#close()}.
+    *
+    * @throws Exception if waiting for the executor fails
+    */
+   @Test
+   public void close_beforeLastResultWithGivenExecutor_cancelsParsingAndKeepsExecutorRunning() throws Exception {
+      CountDownLatch parsingStarted = new CountDownLatch(1);
+      CountDownLatch neverReleased = new CountDownLatch(1);
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+
+      try {
+         ConcurrentMediumParseIterator<String> testling = new ConcurrentMediumParseIterator<>(
+            createMedia().iterator(), createBlockingParseFunction(parsingStarted, neverReleased), executor, 2, false);
+
+         Assert.assertTrue(parsingStarted.await(10, TimeUnit.SECONDS));
+
+         testling.close();
+
+         Assert.assertFalse(testling.hasNext());
+         Assert.assertFalse(executor.isShutdown());
+
+         // The cancelled parsing must have freed the threads of the executor
+         Assert.assertEquals("free", executor.submit(() -> "free").get(10, TimeUnit.SECONDS));
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * Creates a parse function that blocks until it is interrupted.
+    *
+    * @param parsingStarted Counted down as soon as parsing of any {@link Medium} started
+    * @param neverReleased  Awaited by the parse function, must never be counted down
+    * @return The parse function
+    */
+   private static Function<Medium<?>, MediumParseResult<String>> createBlockingParseFunction(
+      CountDownLatch parsingStarted, CountDownLatch neverReleased) {
+      return medium -> {
+         parsingStarted.countDown();
+
+         try {
+            neverReleased.await();
+         } catch (InterruptedException e) {
+            return new MediumParseResult<>(medium, null, e);
+         }
+
+         return new MediumParseResult<>(medium, medium.getName(), null);
+      };
+   }
+
+   /**
+    * @return {@link #MEDIUM_COUNT} distinct {@link InMemoryMedium}s
+    */
+   private static List<Medium<?>> createMedia() {
+      List<Medium<?>> media = new ArrayList<>();
+
+      for (int i = 0; i < ConcurrentMediumParseIteratorTest.MEDIUM_COUNT; i++) {
+         media.add(new InMemoryMedium(new byte[] { (byte) i }, "Medium " + i, MediumAccessType.READ_ONLY));
+      }
+
+      return media;
+   }
+}
@@ -0,0 +1,256 @@
+/**
+ *
+ * {@link ContainerBasedLazyPayloadTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.github.jmeta.library.datablocks.api.services.ContainerIterator;
+import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.ContainerContext;
+import com.github.jmeta.library.datablocks.api.types.DataBlockState;
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventBus;
+import com.github.jmeta.library.datablocks.impl.events.DataBlockEventListener;
+import com.github.jmeta.library.dataformats.api.services.DataFormatSpecification;
+import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockDescription;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.dataformats.api.types.MagicKey;
+import com.github.jmeta.library.dataformats.api.types.PhysicalDataBlockType;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * {@link ContainerBasedLazyPayloadTest} tests the {@link ContainerBasedLazyPayload} class with several child
+ * containers, both iterated for the first time (cold) and replayed from the recorded {@link ChildContainerIndex}
+ * (warm).
+ */
+public class ContainerBasedLazyPayloadTest {
+
+   private static final int CHILD_COUNT = 3;
+
+   private static final long CHILD_SIZE = 10;
+
+   private static final long PAYLOAD_OFFSET = 20;
+
+   private static final ContainerDataFormat DATA_FORMAT = new ContainerDataFormat("TEST", Collections.emptySet(),
+      Collections.emptySet(), Collections.emptyList(), "", new Date());
+
+   private static final DataBlockId PAYLOAD_ID = new DataBlockId(ContainerBasedLazyPayloadTest.DATA_FORMAT,
+      "test.payload");
+
+   private static final DataBlockId CHILD_ID = new DataBlockId(ContainerBasedLazyPayloadTest.DATA_FORMAT,
+      "test.payload.child");
+
+   /**
+    * Tests {@link ContainerBasedLazyPayload#initSize(long)}.
+    */
+   @Test
+   public void initSize_undefinedSizeWithSeveralChildren_sumsUpSizesOfAllChildrenReadOnce() {
+      DataBlockReader reader = createReader();
+
+      ContainerBasedLazyPayload testling = createTestling(reader);
+
+      testling.initSize(DataBlockDescription.UNDEFINED);
+
+      Assert.assertEquals(ContainerBasedLazyPayloadTest.CHILD_COUNT * ContainerBasedLazyPayloadTest.CHILD_SIZE,
+         testling.getSize());
+      verifyChildReads(reader, ContainerBasedLazyPayloadTest.CHILD_COUNT);
+   }
+
+   /**
+    * Tests {@link ContainerBasedLazyPayload#getContainerIterator()}.
+    */
+   @Test
+   public void getContainerIterator_beforeFirstCompleteIteration_readsChildrenFromMedium() {
+      DataBlockReader reader = createReader();
+
+      ContainerBasedLazyPayload testling = createTestling(reader);
+
+      testling.initSize(ContainerBasedLazyPayloadTest.CHILD_COUNT * ContainerBasedLazyPayloadTest.CHILD_SIZE);
+
+      ContainerIterator incompleteIterator = testling.getContainerIterator();
+
+      Assert.assertTrue(incompleteIterator instanceof PayloadContainerIterator);
+
+      incompleteIterator.next();
+
+      // An incomplete iteration does not record any index, so the next iterator reads all children again
+      ContainerIterator coldIterator = testling.getContainerIterator();
+
+      Assert.assertTrue(coldIterator instanceof PayloadContainerIterator);
+      Assert.assertEquals(ContainerBasedLazyPayloadTest.CHILD_COUNT, iterateAll(coldIterator).size());
+      verifyChildReads(reader, 1 + ContainerBasedLazyPayloadTest.CHILD_COUNT);
+   }
+
+   /**
+    * Tests {@link ContainerBasedLazyPayload#getContainerIterator()}.
+    */
+   @Test
+   public void getContainerIterator_afterFirstCompleteIteration_replaysSameChildrenWithoutReading() {
+      DataBlockReader reader = createReader();
+
+      ContainerBasedLazyPayload testling = createTestling(reader);
+
+      testling.initSize(ContainerBasedLazyPayloadTest.CHILD_COUNT * ContainerBasedLazyPayloadTest.CHILD_SIZE);
+
+      List<Container> coldChildren = iterateAll(testling.getContainerIterator());
+
+      Mockito.clearInvocations(reader);
+
+      ContainerIterator warmIterator = testling.getContainerIterator();
+
+      Assert.assertTrue(warmIterator instanceof IndexedPayloadContainerIterator);
+
+      List<Container> warmChildren = iterateAll(warmIterator);
+
+      Assert.assertEquals(ContainerBasedLazyPayloadTest.CHILD_COUNT, warmChildren.size());
+
+      for (int i = 0; i < coldChildren.size(); i++) {
+         Assert.assertSame(coldChildren.get(i), warmChildren.get(i));
+      }
+
+      Mockito.verifyNoInteractions(reader);
+   }
+
+   /**
+    * Tests {@link ContainerBasedLazyPayload#getContainerIterator()}.
+    */
+   @Test
+   public void getContainerIterator_afterInitSizeWithUndefinedSize_replaysChildrenSummedUp() {
+      DataBlockReader reader = createReader();
+
+      ContainerBasedLazyPayload testling = createTestling(reader);
+
+      testling.initSize(DataBlockDescription.UNDEFINED);
+
+      List<Container> warmChildren = iterateAll(testling.getContainerIterator());
+
+      Assert.assertEquals(ContainerBasedLazyPayloadTest.CHILD_COUNT, warmChildren.size());
+      verifyChildReads(reader, ContainerBasedLazyPayloadTest.CHILD_COUNT);
+   }
+
+   /**
+    * Creates a mocked {@link DataBlockReader} finding {@link #CHILD_COUNT} children with id {@link #CHILD_ID} and
+    * size {@link #CHILD_SIZE} directly behind {@link #PAYLOAD_OFFSET}. Each read returns a new child
+    * {@link Container}.
+    *
+    * @return The mocked {@link DataBlockReader}
+    */
+   private static DataBlockReader createReader() {
+      DataBlockDescription childDescription = Mockito.mock(DataBlockDescription.class);
+
+      Mockito.when(childDescription.getId()).thenReturn(ContainerBasedLazyPayloadTest.CHILD_ID);
+      Mockito.when(childDescription.getHeaderMagicKeys())
+         .thenReturn(Arrays.asList(new MagicKey("CHLD", ContainerBasedLazyPayloadTest.CHILD_ID, 0)));
+
+      DataBlockDescription payloadDescription = Mockito.mock(DataBlockDescription.class);
+
+      Mockito.when(payloadDescription.getChildDescriptionsOfType(PhysicalDataBlockType.CONTAINER))
+         .thenReturn(Arrays.asList(childDescription));
+
+      DataFormatSpecification spec = Mockito.mock(DataFormatSpecification.class);
+
+      Mockito.when(spec.getDataBlockDescription(ContainerBasedLazyPayloadTest.PAYLOAD_ID))
+         .thenReturn(payloadDescription);
+
+      DataBlockReader reader = Mockito.mock(DataBlockReader.class);
+
+      long payloadEndOffset = ContainerBasedLazyPayloadTest.PAYLOAD_OFFSET
+         + ContainerBasedLazyPayloadTest.CHILD_COUNT * ContainerBasedLazyPayloadTest.CHILD_SIZE;
+
+      Mockito.when(reader.getSpecification()).thenReturn(spec);
+      Mockito
+         .when(reader.hasContainerWithId(ArgumentMatchers.any(),
+            ArgumentMatchers.eq(ContainerBasedLazyPayloadTest.CHILD_ID), ArgumentMatchers.any(),
+            ArgumentMatchers.anyLong()))
+         .thenAnswer(
+            invocation -> invocation.<MediumOffset>getArgument(0).getAbsoluteMediumOffset() < payloadEndOffset);
+      Mockito
+         .when(reader.readContainerWithId(ArgumentMatchers.any(),
+            ArgumentMatchers.eq(ContainerBasedLazyPayloadTest.CHILD_ID), ArgumentMatchers.any(),
+            ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+         .thenAnswer(invocation -> createChild());
+
+      return reader;
+   }
+
+   /**
+    * @return A mocked child {@link Container} of size {@link #CHILD_SIZE}
+    */
+   private static Container createChild() {
+      Container child = Mockito.mock(Container.class);
+
+      Mockito.when(child.getSize()).thenReturn(ContainerBasedLazyPayloadTest.CHILD_SIZE);
+
+      return child;
+   }
+
+   /**
+    * Creates the {@link ContainerBasedLazyPayload} under test at {@link #PAYLOAD_OFFSET}.
+    *
+    * @param reader
+    *           The {@link DataBlockReader} to use
+    * @return The {@link ContainerBasedLazyPayload}
+    */
+   private static ContainerBasedLazyPayload createTestling(DataBlockReader reader) {
+      ContainerBasedLazyPayload testling = new ContainerBasedLazyPayload(ContainerBasedLazyPayloadTest.PAYLOAD_ID,
+         reader.getSpecification(), reader);
+
+      testling.initContainerContext(Mockito.mock(ContainerContext.class,
+         Mockito.withSettings().extraInterfaces(DataBlockEventListener.class)));
+      testling.attachToMedium(
+         new StandardMediumOffset(TestMedia.DEFAULT_TEST_MEDIUM, ContainerBasedLazyPayloadTest.PAYLOAD_OFFSET), 0,
+         Mockito.mock(MediumDataProvider.class), new DataBlockEventBus(), DataBlockState.PERSISTED);
+
+      return testling;
+   }
+
+   /**
+    * Iterates all children returned by the given {@link ContainerIterator}.
+    *
+    * @param iterator
+    *           The {@link ContainerIterator}
+    * @return The children in iteration order
+    */
+   private static List<Container> iterateAll(ContainerIterator iterator) {
+      List<Container> children = new ArrayList<>();
+
+      while (iterator.hasNext()) {
+         children.add(iterator.next());
+      }
+
+      return children;
+   }
+
+   /**
+    * Verifies that the given mocked {@link DataBlockReader} read the given number of children in total.
+    *
+    * @param reader
+    *           The mocked {@link DataBlockReader}
+    * @param expectedReadCount
+    *           The expected number of children read
+    */
+   private static void verifyChildReads(DataBlockReader reader, int expectedReadCount) {
+      Mockito.verify(reader, Mockito.times(expectedReadCount)).readContainerWithId(ArgumentMatchers.any(),
+         ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(),
+         ArgumentMatchers.any());
+   }
+}
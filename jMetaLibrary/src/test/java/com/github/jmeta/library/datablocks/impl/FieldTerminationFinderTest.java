@@ -118,6 +118,20 @@ public class FieldTerminationFinderTest {
 			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 303, Charsets.CHARSET_UTF16, 564 },
 			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 1111, Charsets.CHARSET_UTF16,
 				564 },
+			/*
+			 * String containing only US-ASCII characters, ISO-8859-1, UTF-16BE and UTF-16LE
+			 * encoding, varying block sizes
+			 */
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 7, Charsets.CHARSET_ISO, 281 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 100, Charsets.CHARSET_ISO, 281 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 7, Charsets.CHARSET_UTF16BE,
+				562 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 100, Charsets.CHARSET_UTF16BE,
+				562 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 7, Charsets.CHARSET_UTF16LE,
+				562 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::asciiString, 100, Charsets.CHARSET_UTF16LE,
+				562 },
 			/*
 			 * String containing only US-ASCII characters, UTF-8 encoding, varying block
 			 * sizes
@@ -144,6 +158,16 @@ public class FieldTerminationFinderTest {
 				98 },
 			{ (Function<Character, String>) FieldTerminationFinderTest::nonAsciiString, 999, Charsets.CHARSET_UTF16,
 				98 },
+			/*
+			 * String containing also NON-US-ASCII characters, UTF-16BE and UTF-16LE
+			 * encoding, varying block sizes
+			 */
+			{ (Function<Character, String>) FieldTerminationFinderTest::nonAsciiString, 7, Charsets.CHARSET_UTF16BE,
+				96 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::nonAsciiString, 33, Charsets.CHARSET_UTF16LE,
+				96 },
+			{ (Function<Character, String>) FieldTerminationFinderTest::nonAsciiString, 7, Charsets.CHARSET_UTF16,
+				98 },
 			/*
 			 * String containing also NON-US-ASCII characters, UTF-8 encoding, varying block
 			 * sizes
@@ -0,0 +1,212 @@
+/**
+ *
+ * {@link IndexedPayloadContainerIteratorTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.github.jmeta.library.datablocks.api.services.DataBlockReader;
+import com.github.jmeta.library.datablocks.api.types.Container;
+import com.github.jmeta.library.datablocks.api.types.Payload;
+import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * {@link IndexedPayloadContainerIteratorTest} tests the {@link IndexedPayloadContainerIterator} class together with
+ * the {@link ChildContainerIndex} it replays.
+ */
+public class IndexedPayloadContainerIteratorTest {
+
+   private static final int CHILD_COUNT = 3;
+
+   private static final long CHILD_SIZE = 10;
+
+   private static final long PAYLOAD_OFFSET = 20;
+
+   private static final ContainerDataFormat DATA_FORMAT = new ContainerDataFormat("TEST", Collections.emptySet(),
+      Collections.emptySet(), Collections.emptyList(), "", new Date());
+
+   private static final DataBlockId CHILD_ID = new DataBlockId(IndexedPayloadContainerIteratorTest.DATA_FORMAT,
+      "test.payload.child");
+
+   /**
+    * Tests {@link IndexedPayloadContainerIterator#next()}.
+    */
+   @Test
+   public void next_allIndexedChildrenStillReferenced_returnsIndexedChildrenWithoutReading() {
+      DataBlockReader reader = Mockito.mock(DataBlockReader.class);
+      Container[] children = createChildren();
+      List<Reference<Container>> childReferences = new ArrayList<>();
+      ChildContainerIndex childIndex = createChildIndex(children, childReferences);
+
+      IndexedPayloadContainerIterator testling = new IndexedPayloadContainerIterator(createParent(), reader,
+         childIndex);
+
+      for (Container child : children) {
+         Assert.assertTrue(testling.hasNext());
+         Assert.assertSame(child, testling.next());
+      }
+
+      Assert.assertFalse(testling.hasNext());
+      Mockito.verifyNoInteractions(reader);
+   }
+
+   /**
+    * Tests {@link IndexedPayloadContainerIterator#next()}.
+    */
+   @Test
+   public void next_indexedChildGarbageCollectedDuringIteration_rereadsOnlyThisChildAtItsIndexedOffset() {
+      DataBlockReader reader = Mockito.mock(DataBlockReader.class);
+      Payload parent = createParent();
+      Container[] children = createChildren();
+      List<Reference<Container>> childReferences = new ArrayList<>();
+      ChildContainerIndex childIndex = createChildIndex(children, childReferences);
+      Container rereadChild = createChild();
+
+      Mockito
+         .when(reader.readContainerWithId(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+         .thenReturn(rereadChild);
+
+      IndexedPayloadContainerIterator testling = new IndexedPayloadContainerIterator(parent, reader, childIndex);
+
+      Assert.assertSame(children[0], testling.next());
+
+      childReferences.get(1).clear();
+
+      Assert.assertSame(rereadChild, testling.next());
+      Assert.assertSame(children[2], testling.next());
+      Assert.assertFalse(testling.hasNext());
+
+      Assert.assertSame(rereadChild, childIndex.getContainer(1));
+
+      long secondChildOffset = IndexedPayloadContainerIteratorTest.PAYLOAD_OFFSET
+         + IndexedPayloadContainerIteratorTest.CHILD_SIZE;
+      long remainingParentSize = (IndexedPayloadContainerIteratorTest.CHILD_COUNT - 1)
+         * IndexedPayloadContainerIteratorTest.CHILD_SIZE;
+
+      Mockito.verify(reader).readContainerWithId(
+         ArgumentMatchers.argThat(offset -> offset.getAbsoluteMediumOffset() == secondChildOffset),
+         ArgumentMatchers.eq(IndexedPayloadContainerIteratorTest.CHILD_ID), ArgumentMatchers.same(parent),
+         ArgumentMatchers.eq(remainingParentSize), ArgumentMatchers.eq(1), ArgumentMatchers.isNull());
+      Mockito.verifyNoMoreInteractions(reader);
+   }
+
+   /**
+    * Tests {@link IndexedPayloadContainerIterator#next()}.
+    */
+   @Test
+   public void next_twoIteratorsOnSameIndex_returnRereadChildToLaterIterator() {
+      DataBlockReader reader = Mockito.mock(DataBlockReader.class);
+      Payload parent = createParent();
+      Container[] children = createChildren();
+      List<Reference<Container>> childReferences = new ArrayList<>();
+      ChildContainerIndex childIndex = createChildIndex(children, childReferences);
+      Container rereadChild = createChild();
+
+      Mockito
+         .when(reader.readContainerWithId(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+         .thenReturn(rereadChild);
+
+      childReferences.get(0).clear();
+
+      IndexedPayloadContainerIterator firstIterator = new IndexedPayloadContainerIterator(parent, reader, childIndex);
+
+      Assert.assertSame(rereadChild, firstIterator.next());
+
+      IndexedPayloadContainerIterator secondIterator = new IndexedPayloadContainerIterator(parent, reader,
+         childIndex);
+
+      Assert.assertSame(rereadChild, secondIterator.next());
+      Assert.assertSame(children[1], secondIterator.next());
+
+      Mockito.verify(reader, Mockito.times(1)).readContainerWithId(ArgumentMatchers.any(), ArgumentMatchers.any(),
+         ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+   }
+
+   /**
+    * @return A mocked child {@link Container} of size {@link #CHILD_SIZE}
+    */
+   private static Container createChild() {
+      Container child = Mockito.mock(Container.class);
+
+      Mockito.when(child.getSize()).thenReturn(IndexedPayloadContainerIteratorTest.CHILD_SIZE);
+
+      return child;
+   }
+
+   /**
+    * @return {@link #CHILD_COUNT} mocked child {@link Container}s
+    */
+   private static Container[] createChildren() {
+      Container[] children = new Container[IndexedPayloadContainerIteratorTest.CHILD_COUNT];
+
+      for (int i = 0; i < children.length; i++) {
+         children[i] = createChild();
+      }
+
+      return children;
+   }
+
+   /**
+    * Creates a complete {@link ChildContainerIndex} of the given children, all read with {@link #CHILD_ID}. Each
+    * {@link Reference} the index creates is recorded, so that a test case can clear it just like the garbage collector
+    * would.
+    *
+    * @param children
+    *           The child {@link Container}s
+    * @param childReferences
+    *           Receives the {@link Reference}s created by the index, in creation order
+    * @return The {@link ChildContainerIndex}
+    */
+   private static ChildContainerIndex createChildIndex(Container[] children,
+      List<Reference<Container>> childReferences) {
+      ChildContainerIndex childIndex = new ChildContainerIndex(container -> {
+         Reference<Container> reference = new SoftReference<>(container);
+
+         childReferences.add(reference);
+
+         return reference;
+      });
+
+      for (int i = 0; i < children.length; i++) {
+         childIndex.addChild(IndexedPayloadContainerIteratorTest.CHILD_ID, i, children[i]);
+      }
+
+      return childIndex;
+   }
+
+   /**
+    * @return A mocked parent {@link Payload} at {@link #PAYLOAD_OFFSET} exactly containing {@link #CHILD_COUNT}
+    *         children
+    */
+   private static Payload createParent() {
+      Payload parent = Mockito.mock(Payload.class);
+
+      Mockito.when(parent.getOffset()).thenReturn(
+         new StandardMediumOffset(TestMedia.DEFAULT_TEST_MEDIUM, IndexedPayloadContainerIteratorTest.PAYLOAD_OFFSET));
+      Mockito.when(parent.getSize())
+         .thenReturn(IndexedPayloadContainerIteratorTest.CHILD_COUNT * IndexedPayloadContainerIteratorTest.CHILD_SIZE);
+
+      return parent;
+   }
+}
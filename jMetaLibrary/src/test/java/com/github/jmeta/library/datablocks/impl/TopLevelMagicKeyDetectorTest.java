@@ -0,0 +1,160 @@
+/**
+ *
+ * {@link TopLevelMagicKeyDetectorTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.dataformats.api.types.MagicKey;
+
+/**
+ * {@link TopLevelMagicKeyDetectorTest} tests the {@link TopLevelMagicKeyDetector} class.
+ */
+public class TopLevelMagicKeyDetectorTest {
+
+   private static final ContainerDataFormat TAG_FORMAT = createDataFormat("TAG");
+
+   private static final ContainerDataFormat FRAME_FORMAT = createDataFormat("FRAME");
+
+   private static final ContainerDataFormat PAGE_FORMAT = createDataFormat("PAGE");
+
+   /**
+    * Tests {@link TopLevelMagicKeyDetector#identifyDataFormat(ByteBuffer)}.
+    */
+   @Test
+   public void identifyDataFormat_forMagicKeyOfSingleDataFormatPresent_returnsThisDataFormat() {
+      TopLevelMagicKeyDetector testling = createTestling();
+
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.TAG_FORMAT, testling.identifyDataFormat(window("TAG\0\0\0")));
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.PAGE_FORMAT, testling.identifyDataFormat(window("\0\0PAGE")));
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.FRAME_FORMAT,
+         testling.identifyDataFormat(ByteBuffer.wrap(new byte[] { (byte) 0xFF, (byte) 0xFB, 0, 0, 0, 0 })));
+   }
+
+   /**
+    * Tests {@link TopLevelMagicKeyDetector#identifyDataFormat(ByteBuffer)}.
+    */
+   @Test
+   public void identifyDataFormat_forNoMagicKeyPresent_returnsNull() {
+      TopLevelMagicKeyDetector testling = createTestling();
+
+      Assert.assertNull(testling.identifyDataFormat(window("TBX\0\0\0")));
+      Assert.assertNull(testling.identifyDataFormat(ByteBuffer.wrap(new byte[] { (byte) 0xFF, (byte) 0x1B, 0, 0, 0,
+         0 })));
+   }
+
+   /**
+    * Tests {@link TopLevelMagicKeyDetector#identifyDataFormat(ByteBuffer)}.
+    */
+   @Test
+   public void identifyDataFormat_forMagicKeysOfSeveralDataFormatsPresent_returnsDataFormatAddedFirst() {
+      TopLevelMagicKeyDetector testling = createTestling();
+
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.TAG_FORMAT, testling.identifyDataFormat(window("TAPAGE")));
+   }
+
+   /**
+    * Tests {@link TopLevelMagicKeyDetector#identifyDataFormat(ByteBuffer)}.
+    */
+   @Test
+   public void identifyDataFormat_forMagicKeyWithPartialFirstByte_comparesOnlyMagicKeyBits() {
+      TopLevelMagicKeyDetector testling = new TopLevelMagicKeyDetector();
+
+      testling.addDataFormat(TopLevelMagicKeyDetectorTest.FRAME_FORMAT,
+         Arrays.asList(new MagicKey(new byte[] { (byte) 0xE0 }, 3, id(TopLevelMagicKeyDetectorTest.FRAME_FORMAT), 0)));
+
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.FRAME_FORMAT,
+         testling.identifyDataFormat(ByteBuffer.wrap(new byte[] { (byte) 0xE7 })));
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.FRAME_FORMAT,
+         testling.identifyDataFormat(ByteBuffer.wrap(new byte[] { (byte) 0xF0 })));
+      Assert.assertNull(testling.identifyDataFormat(ByteBuffer.wrap(new byte[] { (byte) 0xC0 })));
+   }
+
+   /**
+    * Tests {@link TopLevelMagicKeyDetector#identifyDataFormat(ByteBuffer)}.
+    */
+   @Test
+   public void identifyDataFormat_forWindowWithNonZeroPosition_doesNotChangePosition() {
+      TopLevelMagicKeyDetector testling = createTestling();
+
+      ByteBuffer window = window("\0TAG\0\0\0");
+      window.position(1);
+
+      Assert.assertEquals(TopLevelMagicKeyDetectorTest.TAG_FORMAT, testling.identifyDataFormat(window));
+      Assert.assertEquals(1, window.position());
+   }
+
+   /**
+    * Creates a {@link TopLevelMagicKeyDetector} for three data formats in the order tag, frame and page. The tag
+    * format has two magic keys, one of them at delta offset 0, the frame format has an 11 bit sync word and the page
+    * format has a magic key at delta offset 2.
+    *
+    * @return The {@link TopLevelMagicKeyDetector} under test
+    */
+   private TopLevelMagicKeyDetector createTestling() {
+      TopLevelMagicKeyDetector testling = new TopLevelMagicKeyDetector();
+
+      DataBlockId tagId = id(TopLevelMagicKeyDetectorTest.TAG_FORMAT);
+
+      testling.addDataFormat(TopLevelMagicKeyDetectorTest.TAG_FORMAT,
+         Arrays.asList(new MagicKey("TAG", tagId, 0), new MagicKey("TA", tagId, 0)));
+      testling.addDataFormat(TopLevelMagicKeyDetectorTest.FRAME_FORMAT,
+         Arrays.asList(new MagicKey(new byte[] { (byte) 0xFF, (byte) 0xE0 }, 11,
+            id(TopLevelMagicKeyDetectorTest.FRAME_FORMAT), 0)));
+      testling.addDataFormat(TopLevelMagicKeyDetectorTest.PAGE_FORMAT,
+         Arrays.asList(new MagicKey("PAGE", id(TopLevelMagicKeyDetectorTest.PAGE_FORMAT), 2)));
+
+      Assert.assertEquals(6, testling.getWindowSize());
+
+      return testling;
+   }
+
+   /**
+    * Creates a {@link ContainerDataFormat} for testing.
+    *
+    * @param name
+    *           The name of the data format
+    * @return The {@link ContainerDataFormat}
+    */
+   private static ContainerDataFormat createDataFormat(String name) {
+      return new ContainerDataFormat(name, Collections.emptySet(), Collections.emptySet(), Collections.emptyList(), "",
+         new Date());
+   }
+
+   /**
+    * Creates the {@link DataBlockId} of the magic key field of the given data format.
+    *
+    * @param dataFormat
+    *           The {@link ContainerDataFormat}
+    * @return The {@link DataBlockId}
+    */
+   private static DataBlockId id(ContainerDataFormat dataFormat) {
+      return new DataBlockId(dataFormat, dataFormat.getName().toLowerCase() + ".header.id");
+   }
+
+   /**
+    * Creates a window of bytes from the given string.
+    *
+    * @param bytes
+    *           The bytes as ISO-8859-1 string
+    * @return The window of bytes
+    */
+   private static ByteBuffer window(String bytes) {
+      return ByteBuffer.wrap(bytes.getBytes(StandardCharsets.ISO_8859_1));
+   }
+}
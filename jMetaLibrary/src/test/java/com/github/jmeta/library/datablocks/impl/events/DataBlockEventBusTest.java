@@ -0,0 +1,160 @@
+/**
+ *
+ * {@link DataBlockEventBusTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.datablocks.impl.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.utility.testsetup.api.services.GarbageCollectionHelper;
+
+/**
+ * {@link DataBlockEventBusTest} tests the {@link DataBlockEventBus} class, especially that it only refers to its
+ * listeners weakly.
+ */
+public class DataBlockEventBusTest {
+
+   /**
+    * {@link RecordingListener} records all {@link DataBlockEvent}s it receives.
+    */
+   private static class RecordingListener implements DataBlockEventListener {
+
+      private final List<DataBlockEvent> receivedEvents = new ArrayList<>();
+
+      /**
+       * @see com.github.jmeta.library.datablocks.impl.events.DataBlockEventListener#dataBlockEventOccurred(com.github.jmeta.library.datablocks.impl.events.DataBlockEvent)
+       */
+      @Override
+      public void dataBlockEventOccurred(DataBlockEvent event) {
+         receivedEvents.add(event);
+      }
+   }
+
+   /**
+    * Tests {@link DataBlockEventBus#publishEvent(DataBlockEvent)}.
+    */
+   @Test
+   public void publishEvent_severalReferencedListeners_notifiesAllListeners() {
+      DataBlockEventBus testling = new DataBlockEventBus();
+      RecordingListener firstListener = new RecordingListener();
+      RecordingListener secondListener = new RecordingListener();
+
+      testling.registerListener(firstListener);
+      testling.registerListener(secondListener);
+
+      DataBlockEvent event = new DataBlockEvent(DataBlockEventType.MODIFIED, null);
+
+      testling.publishEvent(event);
+
+      Assert.assertEquals(1, firstListener.receivedEvents.size());
+      Assert.assertSame(event, firstListener.receivedEvents.get(0));
+      Assert.assertEquals(1, secondListener.receivedEvents.size());
+      Assert.assertSame(event, secondListener.receivedEvents.get(0));
+   }
+
+   /**
+    * Tests {@link DataBlockEventBus#registerListener(DataBlockEventListener)}.
+    */
+   @Test
+   public void registerListener_sameListenerTwice_notifiesListenerOnce() {
+      DataBlockEventBus testling = new DataBlockEventBus();
+      RecordingListener listener = new RecordingListener();
+
+      testling.registerListener(listener);
+      testling.registerListener(listener);
+
+      testling.publishEvent(new DataBlockEvent(DataBlockEventType.MODIFIED, null));
+
+      Assert.assertEquals(1, testling.getListenerCount());
+      Assert.assertEquals(1, listener.receivedEvents.size());
+   }
+
+   /**
+    * Tests {@link DataBlockEventBus#publishEvent(DataBlockEvent)}.
+    */
+   @Test
+   public void publishEvent_listenerGarbageCollected_removesOnlyThisListener() {
+      DataBlockEventBus testling = new DataBlockEventBus();
+      RecordingListener referencedListener = new RecordingListener();
+
+      registerUnreferencedListener(testling);
+      testling.registerListener(referencedListener);
+
+      Assert.assertTrue(GarbageCollectionHelper.collectGarbageUntil(() -> testling.getListenerCount() == 1));
+
+      testling.publishEvent(new DataBlockEvent(DataBlockEventType.MODIFIED, null));
+
+      Assert.assertEquals(1, testling.getListenerCount());
+      Assert.assertEquals(1, referencedListener.receivedEvents.size());
+   }
+
+   /**
+    * Tests {@link DataBlockEventBus#registerListener(DataBlockEventListener)}.
+    */
+   @Test
+   public void registerListener_afterListenerGarbageCollected_registersNewListener() {
+      DataBlockEventBus testling = new DataBlockEventBus();
+
+      registerUnreferencedListener(testling);
+
+      Assert.assertTrue(GarbageCollectionHelper.collectGarbageUntil(() -> testling.getListenerCount() == 0));
+
+      RecordingListener listener = new RecordingListener();
+
+      testling.registerListener(listener);
+
+      testling.publishEvent(new DataBlockEvent(DataBlockEventType.MODIFIED, null));
+
+      Assert.assertEquals(1, testling.getListenerCount());
+      Assert.assertEquals(1, listener.receivedEvents.size());
+   }
+
+   /**
+    * Tests {@link DataBlockEventBus#publishEvent(DataBlockEvent)}.
+    */
+   @Test
+   public void publishEvent_listenerRegisteringAnotherListener_notifiesOnlyListenersRegisteredBefore() {
+      DataBlockEventBus testling = new DataBlockEventBus();
+      RecordingListener lateListener = new RecordingListener();
+      RecordingListener registeringListener = new RecordingListener() {
+
+         /**
+          * @see com.github.jmeta.library.datablocks.impl.events.DataBlockEventBusTest.RecordingListener#dataBlockEventOccurred(com.github.jmeta.library.datablocks.impl.events.DataBlockEvent)
+          */
+         @Override
+         public void dataBlockEventOccurred(DataBlockEvent event) {
+            super.dataBlockEventOccurred(event);
+
+            testling.registerListener(lateListener);
+         }
+      };
+
+      testling.registerListener(registeringListener);
+
+      testling.publishEvent(new DataBlockEvent(DataBlockEventType.MODIFIED, null));
+
+      Assert.assertEquals(2, testling.getListenerCount());
+      Assert.assertEquals(1, registeringListener.receivedEvents.size());
+      Assert.assertEquals(0, lateListener.receivedEvents.size());
+   }
+
+   /**
+    * Registers a new {@link RecordingListener} at the given {@link DataBlockEventBus} without keeping any reference to
+    * it, so that it can be garbage collected as soon as this method returns.
+    *
+    * @param testling
+    *           The {@link DataBlockEventBus}
+    */
+   private static void registerUnreferencedListener(DataBlockEventBus testling) {
+      testling.registerListener(new RecordingListener());
+   }
+}
@@ -23,6 +23,7 @@ import com.github.jmeta.library.dataformats.api.types.Flags6ByteTest;
 import com.github.jmeta.library.dataformats.api.types.Flags7ByteTest;
 import com.github.jmeta.library.dataformats.api.types.Flags8ByteTest;
 import com.github.jmeta.library.dataformats.api.types.FlagsMultibitTest;
+import com.github.jmeta.library.dataformats.impl.GenericIdTrieTest;
 
 /**
  * {@link AllDataFormatsTests} is used for running all test cases of the
@@ -31,7 +32,7 @@ import com.github.jmeta.library.dataformats.api.types.FlagsMultibitTest;
 @RunWith(Suite.class)
 @SuiteClasses({ BitAddressEqualityTest.class, Flags1ByteTest.class, Flags2ByteTest.class, Flags3ByteTest.class,
 	Flags4ByteTest.class, Flags5ByteTest.class, Flags6ByteTest.class, Flags7ByteTest.class, Flags8ByteTest.class,
-	FlagSpecificationTest.class, FlagsMultibitTest.class, })
+	FlagSpecificationTest.class, FlagsMultibitTest.class, GenericIdTrieTest.class, })
 public class AllDataFormatsTests {
 	// Nothing necessary here
 }
@@ -0,0 +1,124 @@
+/**
+ *
+ * {@link GenericIdTrieTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.dataformats.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.dataformats.api.types.ContainerDataFormat;
+import com.github.jmeta.library.dataformats.api.types.DataBlockId;
+import com.github.jmeta.library.dataformats.impl.GenericIdTrie.GenericIdMatch;
+
+/**
+ * {@link GenericIdTrieTest} tests the {@link GenericIdTrie} class.
+ */
+public class GenericIdTrieTest {
+
+   private static final ContainerDataFormat FORMAT = new ContainerDataFormat("TEST", Collections.emptySet(),
+      Collections.emptySet(), Collections.emptyList(), "", new Date());
+
+   private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("(\\$\\{.+?\\})");
+
+   /**
+    * Tests {@link GenericIdTrie#match(DataBlockId)}.
+    */
+   @Test
+   public void match_forIdMatchingSinglePlaceholderSegments_returnsGenericIdAndPlaceholderValues() {
+      GenericIdTrie testling = createTestling("test.payload.${FRAME_ID}",
+         "test.payload.${FRAME_ID}.payload.${FIELD_ID}");
+
+      assertMatch(testling.match(id("test.payload.TALB")), "test.payload.${FRAME_ID}", "TALB");
+      assertMatch(testling.match(id("test.payload.TALB.payload.text")), "test.payload.${FRAME_ID}.payload.${FIELD_ID}",
+         "TALB", "text");
+   }
+
+   /**
+    * Tests {@link GenericIdTrie#match(DataBlockId)}.
+    */
+   @Test
+   public void match_forIdMatchingPlaceholderWithinSegment_returnsGenericIdAndPlaceholderValues() {
+      GenericIdTrie testling = createTestling("test.item_${KEY}_v${VERSION}");
+
+      assertMatch(testling.match(id("test.item_Artist_v2")), "test.item_${KEY}_v${VERSION}", "Artist", "2");
+      Assert.assertNull(testling.match(id("test.item_Artist")));
+   }
+
+   /**
+    * Tests {@link GenericIdTrie#match(DataBlockId)}.
+    */
+   @Test
+   public void match_forLiteralAndPlaceholderPrefix_backtracksToMatchingGenericId() {
+      GenericIdTrie testling = createTestling("test.header.${A}.size", "test.${B}.${C}.flags");
+
+      assertMatch(testling.match(id("test.header.x.size")), "test.header.${A}.size", "x");
+      assertMatch(testling.match(id("test.header.x.flags")), "test.${B}.${C}.flags", "header", "x");
+   }
+
+   /**
+    * Tests {@link GenericIdTrie#match(DataBlockId)}.
+    */
+   @Test
+   public void match_forNonMatchingIds_returnsNull() {
+      GenericIdTrie testling = createTestling("test.payload.${FRAME_ID}");
+
+      Assert.assertNull(testling.match(id("test.payload")));
+      Assert.assertNull(testling.match(id("test.payload.TALB.size")));
+      Assert.assertNull(testling.match(id("other.payload.TALB")));
+   }
+
+   /**
+    * Checks that the given {@link GenericIdMatch} has the expected values.
+    *
+    * @param match
+    *           The {@link GenericIdMatch} to check
+    * @param expectedGenericId
+    *           The expected generic global id
+    * @param expectedPlaceholderValues
+    *           The expected placeholder values
+    */
+   private void assertMatch(GenericIdMatch match, String expectedGenericId, String... expectedPlaceholderValues) {
+      Assert.assertNotNull(match);
+      Assert.assertEquals(id(expectedGenericId), match.getGenericId());
+      Assert.assertEquals(Arrays.asList(expectedPlaceholderValues), match.getPlaceholderValues());
+   }
+
+   /**
+    * Creates a {@link GenericIdTrie} with the given generic ids.
+    *
+    * @param genericIds
+    *           The generic global ids
+    * @return The {@link GenericIdTrie} under test
+    */
+   private GenericIdTrie createTestling(String... genericIds) {
+      GenericIdTrie testling = new GenericIdTrie(GenericIdTrieTest.PLACEHOLDER_PATTERN);
+
+      for (String genericId : genericIds) {
+         testling.addGenericId(id(genericId));
+      }
+
+      return testling;
+   }
+
+   /**
+    * Creates a {@link DataBlockId}.
+    *
+    * @param globalId
+    *           The global id
+    * @return The {@link DataBlockId}
+    */
+   private DataBlockId id(String globalId) {
+      return new DataBlockId(GenericIdTrieTest.FORMAT, globalId);
+   }
+}
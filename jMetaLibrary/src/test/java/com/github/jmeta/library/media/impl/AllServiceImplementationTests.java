@@ -12,7 +12,11 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.github.jmeta.library.media.impl.buffer.PooledDirectByteBufferAllocatorTest;
+import com.github.jmeta.library.media.impl.cache.GlobalCacheBudgetTest;
 import com.github.jmeta.library.media.impl.cache.MediumCacheTest;
+import com.github.jmeta.library.media.impl.cache.SpillFileTest;
+import com.github.jmeta.library.media.impl.cache.StripedMediumCacheTest;
 import com.github.jmeta.library.media.impl.changeManager.MediumChangeManagerCreateFlushPlanTest;
 import com.github.jmeta.library.media.impl.changeManager.MediumChangeManagerTest;
 import com.github.jmeta.library.media.impl.offset.MediumOffsetFactoryTest;
@@ -23,7 +27,9 @@ import com.github.jmeta.library.media.impl.offset.MediumOffsetFactoryTest;
  */
 @RunWith(Suite.class)
 @SuiteClasses({ MediumOffsetFactoryTest.class, MediumChangeManagerTest.class,
-	MediumChangeManagerCreateFlushPlanTest.class, MediumCacheTest.class, StandardMediaAPITest.class, })
+	MediumChangeManagerCreateFlushPlanTest.class, MediumCacheTest.class, StandardMediaAPITest.class,
+	PooledDirectByteBufferAllocatorTest.class, GlobalCacheBudgetTest.class, SpillFileTest.class,
+	StripedMediumCacheTest.class, })
 public class AllServiceImplementationTests {
 	// Nothing necessary here
 }
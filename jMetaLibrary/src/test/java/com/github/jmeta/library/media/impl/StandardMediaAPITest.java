@@ -56,6 +56,33 @@ public class StandardMediaAPITest {
       }
    }
 
+   /**
+    * Tests {@link MediaAPI#createConcurrentMediumStore(FileMedium)}.
+    */
+   @Test
+   public void createConcurrentMediumStore_forReadOnlyFileMedium_returnsProperStoreInstance() {
+      MediaAPI mediaAPI = new StandardMediaAPI();
+
+      FileMedium mediumDefinition = new FileMedium(TestMedia.EMPTY_TEST_FILE_PATH, MediumAccessType.READ_ONLY,
+         MediumStore.MINIMUM_CACHE_SIZE_IN_BYTES, MediumStore.MINIMUM_READ_WRITE_BLOCK_SIZE_IN_BYTES);
+
+      MediumStore store = mediaAPI.createConcurrentMediumStore(mediumDefinition);
+
+      Assert.assertNotNull(store);
+      Assert.assertEquals(mediumDefinition, store.getMedium());
+   }
+
+   /**
+    * Tests {@link MediaAPI#createConcurrentMediumStore(FileMedium)}.
+    */
+   @Test(expected = PreconditionUnfullfilledException.class)
+   public void createConcurrentMediumStore_forWritableFileMedium_throwsException() {
+      MediaAPI mediaAPI = new StandardMediaAPI();
+
+      mediaAPI.createConcurrentMediumStore(new FileMedium(TestMedia.EMPTY_TEST_FILE_PATH, MediumAccessType.READ_WRITE,
+         MediumStore.MINIMUM_CACHE_SIZE_IN_BYTES, MediumStore.MINIMUM_READ_WRITE_BLOCK_SIZE_IN_BYTES));
+   }
+
    /**
     * Tests {@link MediaAPI#createMediumStore(com.github.jmeta.library.media.api.types.Medium)}.
     */
@@ -0,0 +1,408 @@
+/**
+ *
+ * {@link PooledDirectByteBufferAllocatorTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * {@link PooledDirectByteBufferAllocatorTest} tests the {@link PooledDirectByteBufferAllocator} class, both standalone
+ * and used by a {@link MediumCache} as well as a {@link MediumStore}.
+ */
+public class PooledDirectByteBufferAllocatorTest {
+
+   private static final int MAXIMUM_SIZE_CLASS = 4 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES;
+
+   private static final int MAXIMUM_FREE_BUFFER_COUNT = 2;
+
+   private static final int REGION_SIZE = 100;
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#allocate(int)}.
+    */
+   @Test
+   public void allocate_sizeBetweenSizeClasses_returnsDirectBufferOfNextSizeClassWithRequestedLimit() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer buffer = testling.allocate(PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES + 1);
+
+      Assert.assertTrue(buffer.isDirect());
+      Assert.assertEquals(0, buffer.position());
+      Assert.assertEquals(PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES + 1, buffer.limit());
+      Assert.assertEquals(2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES, buffer.capacity());
+      Assert.assertEquals(1, testling.getReferencedBufferCount());
+   }
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#allocate(int)}.
+    */
+   @Test
+   public void allocate_sizeBiggerThanMaximumSizeClass_returnsUntrackedHeapBuffer() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer buffer = testling.allocate(PooledDirectByteBufferAllocatorTest.MAXIMUM_SIZE_CLASS + 1);
+
+      Assert.assertFalse(buffer.isDirect());
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.MAXIMUM_SIZE_CLASS + 1, buffer.remaining());
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+
+      testling.release(buffer);
+
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#release(ByteBuffer)}.
+    */
+   @Test
+   public void release_lastReference_recyclesBufferForNextAllocationOfSameSizeClass() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer buffer = testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+      buffer.position(10);
+
+      testling.release(buffer);
+
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+
+      ByteBuffer recycledBuffer = testling.allocate(2 * PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      Assert.assertSame(buffer, recycledBuffer);
+      Assert.assertEquals(0, recycledBuffer.position());
+      Assert.assertEquals(2 * PooledDirectByteBufferAllocatorTest.REGION_SIZE, recycledBuffer.limit());
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#release(ByteBuffer)}.
+    */
+   @Test
+   public void release_afterRetain_recyclesBufferOnlyAfterLastRelease() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer buffer = testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      testling.retain(buffer);
+      testling.release(buffer);
+
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+
+      testling.release(buffer);
+
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#release(ByteBuffer)}.
+    */
+   @Test
+   public void release_moreBuffersThanMaximumFreeBufferCount_keepsOnlyMaximumFreeBufferCount() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer[] buffers = new ByteBuffer[PooledDirectByteBufferAllocatorTest.MAXIMUM_FREE_BUFFER_COUNT + 1];
+
+      for (int i = 0; i < buffers.length; i++) {
+         buffers[i] = testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+      }
+
+      for (ByteBuffer buffer : buffers) {
+         testling.release(buffer);
+      }
+
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.MAXIMUM_FREE_BUFFER_COUNT,
+         testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link PooledDirectByteBufferAllocator#detach(ByteBuffer)}.
+    */
+   @Test
+   public void detach_referencedBuffer_neverRecyclesBuffer() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      ByteBuffer buffer = testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      testling.detach(buffer);
+      testling.release(buffer);
+
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+      Assert.assertNotSame(buffer, testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE));
+   }
+
+   /**
+    * Tests {@link MediumCache#addRegion(MediumRegion, ByteBuffer)} with a {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void addRegion_cacheEvictingRegionWithAllocatedBuffer_releasesBuffer() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      MediumCache cache = createCache(testling, 2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+
+      addAllocatedRegion(cache, testling, 0);
+      addAllocatedRegion(cache, testling, PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      Assert.assertEquals(2, testling.getReferencedBufferCount());
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+
+      addAllocatedRegion(cache, testling, 2 * PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      Assert.assertEquals(2, testling.getReferencedBufferCount());
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+
+      cache.clear();
+
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.MAXIMUM_FREE_BUFFER_COUNT,
+         testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link MediumCache#removeRegionsInRange(MediumOffset, int)} with a {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void removeRegionsInRange_clippingRegionWithAllocatedBuffer_releasesBufferOnlyWithLastPart() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      MediumCache cache = createCache(testling, 2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+
+      addAllocatedRegion(cache, testling, 0);
+
+      cache.removeRegionsInRange(createOffset(40), 20);
+
+      Assert.assertEquals(1, testling.getReferencedBufferCount());
+
+      cache.removeRegionsInRange(createOffset(0), 40);
+
+      Assert.assertEquals(1, testling.getReferencedBufferCount());
+
+      cache.removeRegionsInRange(createOffset(60), 40);
+
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link MediumCache#getRegionsInRange(MediumOffset, int)} and {@link MediumCache#releaseRegions(List)} with a
+    * {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void getRegionsInRange_cachedRegionWithAllocatedBuffer_returnsViewRetainingBufferUntilReleased() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      MediumCache cache = createCache(testling, 2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+
+      ByteBuffer allocatedBuffer = testling.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      for (int i = 0; i < PooledDirectByteBufferAllocatorTest.REGION_SIZE; i++) {
+         allocatedBuffer.put(i, (byte) i);
+      }
+
+      cache.addRegion(new MediumRegion(createOffset(0), allocatedBuffer), allocatedBuffer);
+
+      List<MediumRegion> returnedRegions = cache.getRegionsInRange(createOffset(10), 10);
+      MediumRegion returnedRegion = returnedRegions.get(0);
+
+      Assert.assertTrue(returnedRegion.getBytes().isDirect());
+      Assert.assertTrue(returnedRegion.getBytes().isReadOnly());
+      Assert.assertTrue(cache.isRetained(returnedRegion));
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.REGION_SIZE, returnedRegion.getSize());
+
+      cache.clear();
+
+      // The evicted buffer is still retained by the returned region
+      Assert.assertEquals(1, testling.getReferencedBufferCount());
+      Assert.assertEquals(0, testling.getFreeBufferCount());
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.REGION_SIZE - 1,
+         returnedRegion.getBytes().get(PooledDirectByteBufferAllocatorTest.REGION_SIZE - 1));
+
+      cache.releaseRegions(returnedRegions);
+
+      Assert.assertFalse(cache.isRetained(returnedRegion));
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+
+      // Releasing again has no effect
+      cache.releaseRegions(returnedRegions);
+
+      Assert.assertEquals(1, testling.getFreeBufferCount());
+   }
+
+   /**
+    * Tests {@link MediumCache#calculateCurrentCacheSizeInBytes()} with a {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void calculateCurrentCacheSizeInBytes_clippedRegionsSharingAllocatedBuffer_countsCapacityOnce() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      MediumCache cache = createCache(testling, 2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+
+      addAllocatedRegion(cache, testling, 0);
+
+      Assert.assertEquals(PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES,
+         cache.calculateCurrentCacheSizeInBytes());
+
+      cache.removeRegionsInRange(createOffset(40), 20);
+
+      Assert.assertEquals(PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES,
+         cache.calculateCurrentCacheSizeInBytes());
+
+      cache.addRegion(new MediumRegion(createOffset(PooledDirectByteBufferAllocatorTest.REGION_SIZE),
+         ByteBuffer.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE)));
+
+      Assert.assertEquals(
+         PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES + PooledDirectByteBufferAllocatorTest.REGION_SIZE,
+         cache.calculateCurrentCacheSizeInBytes());
+
+      cache.removeRegionsInRange(createOffset(0), 40);
+      cache.removeRegionsInRange(createOffset(60), 40);
+
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.REGION_SIZE, cache.calculateCurrentCacheSizeInBytes());
+   }
+
+   /**
+    * Tests {@link MediumCache#addRegion(MediumRegion, ByteBuffer)} with a {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void addRegion_allocatedBuffersExceedingMaximumCacheSize_evictsByCapacity() {
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      MediumCache cache = createCache(testling, 2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES);
+
+      for (int i = 0; i < 3; i++) {
+         addAllocatedRegion(cache, testling, i * PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+      }
+
+      Assert.assertEquals(2, cache.getAllCachedRegions().size());
+      Assert.assertEquals(2 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES,
+         cache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(2, testling.getReferencedBufferCount());
+   }
+
+   /**
+    * Tests reading a file by a {@link MediumStore} using a {@link PooledDirectByteBufferAllocator}.
+    */
+   @Test
+   public void getData_fileMediumWithSmallCache_returnsSameBytesAndRecyclesEvictedBuffers() {
+      int blockSize = 64;
+      // Each block occupies a whole buffer of the minimum size class
+      int cacheSize = 4 * PooledDirectByteBufferAllocator.MINIMUM_SIZE_CLASS_IN_BYTES;
+
+      PooledDirectByteBufferAllocator testling = createTestling();
+
+      FileMedium medium = new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY, cacheSize,
+         blockSize);
+
+      StandardMediaAPI mediaAPI = new StandardMediaAPI();
+      mediaAPI.setMinimumCacheSize(cacheSize);
+      mediaAPI.setMinimumReadWriteBlockSize(blockSize);
+      mediaAPI.setByteBufferAllocator(testling);
+
+      MediumStore store = mediaAPI.createMediumStore(medium);
+
+      byte[] expectedBytes = MediaTestUtility.readFileContent(TestMedia.FIRST_TEST_FILE_PATH);
+
+      int chunkSize = 37;
+
+      List<ByteBuffer> returnedData = new ArrayList<>();
+
+      store.open();
+
+      try {
+         for (int offset = 0; offset + chunkSize <= expectedBytes.length; offset += chunkSize) {
+            ByteBuffer data = store.getData(store.createMediumOffset(offset), chunkSize);
+
+            Assert.assertEquals(ByteBuffer.wrap(expectedBytes, offset, chunkSize), data);
+
+            returnedData.add(data);
+         }
+      } catch (EndOfMediumException e) {
+         Assert.fail("Unexpected end of medium: " + e);
+      } finally {
+         store.close();
+      }
+
+      // Returned bytes must not be changed by recycling the buffers they were read into
+      for (int i = 0; i < returnedData.size(); i++) {
+         Assert.assertEquals(ByteBuffer.wrap(expectedBytes, i * chunkSize, chunkSize), returnedData.get(i));
+      }
+
+      Assert.assertEquals(PooledDirectByteBufferAllocatorTest.MAXIMUM_FREE_BUFFER_COUNT,
+         testling.getFreeBufferCount());
+      Assert.assertEquals(0, testling.getReferencedBufferCount());
+   }
+
+   /**
+    * Adds a region of size {@link #REGION_SIZE} with bytes allocated by the given
+    * {@link PooledDirectByteBufferAllocator} to the given {@link MediumCache}.
+    *
+    * @param cache
+    *           The {@link MediumCache}
+    * @param allocator
+    *           The {@link PooledDirectByteBufferAllocator}
+    * @param offset
+    *           The offset of the region
+    */
+   private void addAllocatedRegion(MediumCache cache, PooledDirectByteBufferAllocator allocator, long offset) {
+      ByteBuffer allocatedBuffer = allocator.allocate(PooledDirectByteBufferAllocatorTest.REGION_SIZE);
+
+      cache.addRegion(new MediumRegion(createOffset(offset), allocatedBuffer), allocatedBuffer);
+   }
+
+   /**
+    * Creates a {@link MediumCache} using the given {@link PooledDirectByteBufferAllocator}.
+    *
+    * @param allocator
+    *           The {@link PooledDirectByteBufferAllocator}
+    * @param maximumCacheSize
+    *           The maximum cache size
+    * @return The {@link MediumCache}
+    */
+   private MediumCache createCache(PooledDirectByteBufferAllocator allocator, long maximumCacheSize) {
+      return new MediumCache(TestMedia.DEFAULT_TEST_MEDIUM, maximumCacheSize,
+         PooledDirectByteBufferAllocatorTest.REGION_SIZE, allocator);
+   }
+
+   /**
+    * Creates a {@link MediumOffset} on {@link TestMedia#DEFAULT_TEST_MEDIUM}.
+    *
+    * @param offset
+    *           The absolute offset
+    * @return The {@link MediumOffset}
+    */
+   private MediumOffset createOffset(long offset) {
+      return new StandardMediumOffset(TestMedia.DEFAULT_TEST_MEDIUM, offset);
+   }
+
+   /**
+    * @return The {@link PooledDirectByteBufferAllocator} under test
+    */
+   private PooledDirectByteBufferAllocator createTestling() {
+      return new PooledDirectByteBufferAllocator(PooledDirectByteBufferAllocatorTest.MAXIMUM_SIZE_CLASS,
+         PooledDirectByteBufferAllocatorTest.MAXIMUM_FREE_BUFFER_COUNT);
+   }
+}
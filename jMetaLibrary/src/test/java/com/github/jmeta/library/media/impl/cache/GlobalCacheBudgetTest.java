@@ -0,0 +1,317 @@
+/**
+ *
+ * {@link GlobalCacheBudgetTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * {@link GlobalCacheBudgetTest} tests the {@link GlobalCacheBudget} class, used by several {@link MediumCache}s as well
+ * as several {@link MediumStore}s.
+ */
+public class GlobalCacheBudgetTest {
+
+   private static final int REGION_SIZE = 100;
+
+   private static final Medium<?> FIRST_MEDIUM = TestMedia.DEFAULT_TEST_MEDIUM;
+
+   private static final Medium<?> SECOND_MEDIUM = TestMedia.OTHER_MEDIUM;
+
+   /**
+    * Tests {@link GlobalCacheBudget#enforceMaximumSize()}.
+    */
+   @Test
+   public void addRegion_exceedingGlobalMaximumSize_evictsLeastRecentlyUsedRegionOfAnyCache() {
+      GlobalCacheBudget testling = new GlobalCacheBudget(3 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      MediumCache firstCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+      MediumCache secondCache = createCache(GlobalCacheBudgetTest.SECOND_MEDIUM, testling);
+
+      addRegion(firstCache, 0);
+      addRegion(secondCache, 0);
+      addRegion(firstCache, GlobalCacheBudgetTest.REGION_SIZE);
+
+      // Makes the first region of the first cache more recently used than the one of the second cache
+      firstCache.getRegionsInRange(new StandardMediumOffset(GlobalCacheBudgetTest.FIRST_MEDIUM, 0), 1);
+
+      addRegion(firstCache, 2 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      Assert.assertEquals(3 * GlobalCacheBudgetTest.REGION_SIZE, testling.getCurrentSizeInBytes());
+      Assert.assertEquals(3 * GlobalCacheBudgetTest.REGION_SIZE, firstCache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(0, secondCache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(1, testling.getEvictionCount());
+      Assert.assertEquals(1, secondCache.getEvictionCount());
+
+      addRegion(secondCache, 0);
+
+      Assert.assertEquals(2 * GlobalCacheBudgetTest.REGION_SIZE, firstCache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(GlobalCacheBudgetTest.REGION_SIZE,
+         firstCache.getCachedByteCountAt(new StandardMediumOffset(GlobalCacheBudgetTest.FIRST_MEDIUM, 0)));
+      Assert.assertEquals(0, firstCache.getCachedByteCountAt(
+         new StandardMediumOffset(GlobalCacheBudgetTest.FIRST_MEDIUM, GlobalCacheBudgetTest.REGION_SIZE)));
+      Assert.assertEquals(2, testling.getEvictionCount());
+   }
+
+   /**
+    * Tests {@link MediumCache#addRegion(MediumRegion)} with a {@link GlobalCacheBudget}.
+    */
+   @Test
+   public void addRegion_exceedingMaximumCacheSizeWithinGlobalMaximumSize_evictsRegionOfSameCache() {
+      GlobalCacheBudget testling = new GlobalCacheBudget(10 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      MediumCache firstCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+      MediumCache secondCache = createCache(GlobalCacheBudgetTest.SECOND_MEDIUM, testling);
+
+      addRegion(secondCache, 0);
+
+      for (int i = 0; i < 4; i++) {
+         addRegion(firstCache, i * GlobalCacheBudgetTest.REGION_SIZE);
+      }
+
+      Assert.assertEquals(3 * GlobalCacheBudgetTest.REGION_SIZE, firstCache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(GlobalCacheBudgetTest.REGION_SIZE, secondCache.calculateCurrentCacheSizeInBytes());
+      Assert.assertEquals(4 * GlobalCacheBudgetTest.REGION_SIZE, testling.getCurrentSizeInBytes());
+      Assert.assertEquals(0, testling.getEvictionCount());
+      Assert.assertEquals(1, firstCache.getEvictionCount());
+   }
+
+   /**
+    * Tests {@link GlobalCacheBudget#getCachedBytesPerMedium()} and
+    * {@link GlobalCacheBudget#getEvictionCountPerMedium()}.
+    */
+   @Test
+   public void getCachedBytesPerMedium_afterClearingCache_containsOnlyNonEmptyCaches() {
+      GlobalCacheBudget testling = new GlobalCacheBudget(2 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      MediumCache firstCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+      MediumCache secondCache = createCache(GlobalCacheBudgetTest.SECOND_MEDIUM, testling);
+
+      addRegion(firstCache, 0);
+      addRegion(firstCache, GlobalCacheBudgetTest.REGION_SIZE);
+      addRegion(secondCache, 0);
+
+      Assert.assertEquals(Long.valueOf(GlobalCacheBudgetTest.REGION_SIZE),
+         testling.getCachedBytesPerMedium().get(GlobalCacheBudgetTest.FIRST_MEDIUM));
+      Assert.assertEquals(Long.valueOf(GlobalCacheBudgetTest.REGION_SIZE),
+         testling.getCachedBytesPerMedium().get(GlobalCacheBudgetTest.SECOND_MEDIUM));
+      Assert.assertEquals(Long.valueOf(1),
+         testling.getEvictionCountPerMedium().get(GlobalCacheBudgetTest.FIRST_MEDIUM));
+      Assert.assertEquals(Long.valueOf(0),
+         testling.getEvictionCountPerMedium().get(GlobalCacheBudgetTest.SECOND_MEDIUM));
+
+      firstCache.clear();
+
+      Assert.assertEquals(1, testling.getCachedBytesPerMedium().size());
+      Assert.assertFalse(testling.getCachedBytesPerMedium().containsKey(GlobalCacheBudgetTest.FIRST_MEDIUM));
+      Assert.assertEquals(GlobalCacheBudgetTest.REGION_SIZE, testling.getCurrentSizeInBytes());
+   }
+
+   /**
+    * Tests {@link GlobalCacheBudget#getEvictionCountPerMedium()}.
+    */
+   @Test
+   public void getEvictionCountPerMedium_afterClearingCache_forgetsEvictionCountOfClearedCache() {
+      GlobalCacheBudget testling = new GlobalCacheBudget(2 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      MediumCache firstCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+      MediumCache secondCache = createCache(GlobalCacheBudgetTest.SECOND_MEDIUM, testling);
+
+      addRegion(firstCache, 0);
+      addRegion(firstCache, GlobalCacheBudgetTest.REGION_SIZE);
+      addRegion(secondCache, 0);
+
+      firstCache.clear();
+
+      Assert.assertFalse(testling.getEvictionCountPerMedium().containsKey(GlobalCacheBudgetTest.FIRST_MEDIUM));
+      Assert.assertEquals(Long.valueOf(0),
+         testling.getEvictionCountPerMedium().get(GlobalCacheBudgetTest.SECOND_MEDIUM));
+
+      secondCache.clear();
+
+      Assert.assertTrue(testling.getCachedBytesPerMedium().isEmpty());
+      Assert.assertTrue(testling.getEvictionCountPerMedium().isEmpty());
+      Assert.assertEquals(1, testling.getEvictionCount());
+   }
+
+   /**
+    * Tests {@link GlobalCacheBudget#getEvictionCountPerMedium()}.
+    */
+   @Test
+   public void getEvictionCountPerMedium_afterClearingCacheOfSameMediumAsOtherCache_keepsEvictionCountOfOtherCache() {
+      GlobalCacheBudget testling = new GlobalCacheBudget(2 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      MediumCache firstCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+      MediumCache secondCache = createCache(GlobalCacheBudgetTest.FIRST_MEDIUM, testling);
+
+      addRegion(firstCache, 0);
+      addRegion(secondCache, GlobalCacheBudgetTest.REGION_SIZE);
+      addRegion(secondCache, 2 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      firstCache.clear();
+
+      Assert.assertEquals(Long.valueOf(1),
+         testling.getEvictionCountPerMedium().get(GlobalCacheBudgetTest.FIRST_MEDIUM));
+
+      secondCache.clear();
+
+      Assert.assertTrue(testling.getEvictionCountPerMedium().isEmpty());
+   }
+
+   /**
+    * Tests {@link MediumCache#addRegion(MediumRegion)} with a {@link GlobalCacheBudget} used by several threads.
+    */
+   @Test
+   public void addRegion_severalThreadsWithOwnCachesSharingGlobalCacheBudget_keepsGlobalMaximumSize() {
+      int threadCount = 4;
+      int regionCountPerThread = 1000;
+
+      GlobalCacheBudget testling = new GlobalCacheBudget(5 * GlobalCacheBudgetTest.REGION_SIZE);
+
+      Thread[] threads = new Thread[threadCount];
+      MediumCache[] caches = new MediumCache[threadCount];
+      Throwable[] failures = new Throwable[threadCount];
+
+      for (int i = 0; i < threadCount; i++) {
+         MediumCache cache = createCache(
+            new InMemoryMedium(new byte[] { (byte) i }, "Medium " + i, MediumAccessType.READ_ONLY), testling);
+         int threadIndex = i;
+
+         caches[i] = cache;
+         threads[i] = new Thread(() -> {
+            try {
+               for (int j = 0; j < regionCountPerThread; j++) {
+                  addRegion(cache, j * GlobalCacheBudgetTest.REGION_SIZE);
+                  cache.getRegionsInRange(new StandardMediumOffset(cache.getMedium(), (j / 2) * GlobalCacheBudgetTest.REGION_SIZE),
+                     GlobalCacheBudgetTest.REGION_SIZE);
+               }
+            } catch (Throwable e) {
+               failures[threadIndex] = e;
+            }
+         });
+      }
+
+      for (Thread thread : threads) {
+         thread.start();
+      }
+
+      for (int i = 0; i < threadCount; i++) {
+         try {
+            threads[i].join(10000);
+         } catch (InterruptedException e) {
+            Assert.fail("Unexpected interruption: " + e);
+         }
+
+         Assert.assertFalse("Thread " + i + " is deadlocked", threads[i].isAlive());
+         Assert.assertNull(failures[i]);
+      }
+
+      long totalCachedBytes = 0;
+
+      for (MediumCache cache : caches) {
+         totalCachedBytes += cache.calculateCurrentCacheSizeInBytes();
+      }
+
+      Assert.assertTrue(testling.getCurrentSizeInBytes() <= testling.getMaximumSizeInBytes());
+      Assert.assertEquals(totalCachedBytes, testling.getCurrentSizeInBytes());
+      Assert.assertEquals(threadCount, testling.getEvictionCountPerMedium().size());
+      Assert.assertTrue(testling.getEvictionCount() > 0);
+   }
+
+   /**
+    * Tests reading files by several {@link MediumStore}s sharing a {@link GlobalCacheBudget}.
+    */
+   @Test
+   public void getData_severalInMemoryStoresSharingGlobalCacheBudget_returnsSameBytesAndKeepsGlobalMaximumSize() {
+      int blockSize = 64;
+      int storeCount = 3;
+
+      GlobalCacheBudget testling = new GlobalCacheBudget(6 * blockSize);
+
+      StandardMediaAPI mediaAPI = new StandardMediaAPI();
+      mediaAPI.setMinimumCacheSize(4 * blockSize);
+      mediaAPI.setMinimumReadWriteBlockSize(blockSize);
+      mediaAPI.setGlobalCacheBudget(testling);
+
+      byte[] expectedBytes = MediaTestUtility.readFileContent(TestMedia.FIRST_TEST_FILE_PATH);
+
+      MediumStore[] stores = new MediumStore[storeCount];
+
+      for (int i = 0; i < storeCount; i++) {
+         stores[i] = mediaAPI.createMediumStore(new InMemoryMedium(expectedBytes, "Medium " + i,
+            MediumAccessType.READ_ONLY, 4 * blockSize, blockSize));
+         stores[i].open();
+      }
+
+      int chunkSize = 37;
+
+      try {
+         for (int offset = 0; offset + chunkSize <= expectedBytes.length; offset += chunkSize) {
+            for (MediumStore store : stores) {
+               ByteBuffer data = store.getData(store.createMediumOffset(offset), chunkSize);
+
+               Assert.assertEquals(ByteBuffer.wrap(expectedBytes, offset, chunkSize), data);
+               Assert.assertTrue(testling.getCurrentSizeInBytes() <= testling.getMaximumSizeInBytes());
+            }
+         }
+      } catch (EndOfMediumException e) {
+         Assert.fail("Unexpected end of medium: " + e);
+      } finally {
+         for (MediumStore store : stores) {
+            store.close();
+         }
+      }
+
+      Assert.assertTrue(testling.getEvictionCount() > 0);
+      Assert.assertEquals(0, testling.getCurrentSizeInBytes());
+      Assert.assertTrue(testling.getCachedBytesPerMedium().isEmpty());
+   }
+
+   /**
+    * Adds a region of size {@link #REGION_SIZE} to the given {@link MediumCache}.
+    *
+    * @param cache
+    *           The {@link MediumCache}
+    * @param offset
+    *           The offset of the region
+    */
+   private void addRegion(MediumCache cache, long offset) {
+      cache.addRegion(new MediumRegion(new StandardMediumOffset(cache.getMedium(), offset),
+         ByteBuffer.allocate(GlobalCacheBudgetTest.REGION_SIZE)));
+   }
+
+   /**
+    * Creates a {@link MediumCache} sharing the given {@link GlobalCacheBudget}, with a maximum cache size of three
+    * regions.
+    *
+    * @param medium
+    *           The {@link Medium} of the cache
+    * @param globalCacheBudget
+    *           The {@link GlobalCacheBudget}
+    * @return The {@link MediumCache}
+    */
+   private MediumCache createCache(Medium<?> medium, GlobalCacheBudget globalCacheBudget) {
+      return new MediumCache(medium, 3 * GlobalCacheBudgetTest.REGION_SIZE, GlobalCacheBudgetTest.REGION_SIZE,
+         new HeapByteBufferAllocator(), globalCacheBudget);
+   }
+}
@@ -553,6 +553,35 @@ public class MediumCacheTest {
 			expectedCacheContent);
 	}
 
+	/**
+	 * Tests {@link MediumCache#addRegion(MediumRegion)}.
+	 */
+	@Test
+	public void addRegion__toFilledCache_exceedMaxCSize_firstAddedRegRecentlyAccessed__removesLeastRecentlyUsedReg() {
+		int maxRegionSize = 100;
+		long maxCacheSize = 250L;
+
+		MediumCache cache = new MediumCache(TestMedia.DEFAULT_TEST_MEDIUM, maxCacheSize, maxRegionSize);
+
+		MediumRegion firstRegion = MediumCacheTest.createCachedRegionWithDefaultFillByte(0L, maxRegionSize);
+		MediumRegion secondRegion = MediumCacheTest.createCachedRegionWithDefaultFillByte(200L, maxRegionSize);
+
+		cache.addRegion(firstRegion);
+		cache.addRegion(secondRegion);
+
+		cache.getRegionsInRange(firstRegion.getStartOffset(), firstRegion.getSize());
+
+		MediumRegion regionToAdd = MediumCacheTest.createCachedRegionWithDefaultFillByte(400L, maxRegionSize);
+
+		TestCacheBuilder expectedCacheContent = new TestCacheBuilder(TestMedia.DEFAULT_TEST_MEDIUM);
+
+		expectedCacheContent.appendRegionInfo(firstRegion);
+		expectedCacheContent.appendRegionInfo(regionToAdd);
+
+		testAddRegion_expectedRegionsArePresentSizeChangedAndInvariantsAreFullfilled(cache, regionToAdd,
+			expectedCacheContent);
+	}
+
 	/**
 	 * Tests {@link MediumCache#addRegion(MediumRegion)}.
 	 */
@@ -1166,6 +1195,28 @@ public class MediumCacheTest {
 			.getAllCachedRegions().get(MediumCacheTest.DEFAULT_CACHE_INDEX_FIRST_REGION_WITH_CONSECUTIVE_REGIONS));
 	}
 
+	/**
+	 * Tests {@link MediumCache#removeRegionsBefore(MediumOffset)}.
+	 */
+	@Test
+	public void removeRegionsBefore_offsetInsideSecondRegion_removesOnlyFirstRegion() {
+		TestCacheBuilder cacheLayout = createDefaultLayoutHavingSubsequentAndScatteredRegions();
+
+		MediumCache cache = cacheLayout.buildCache(MediumCache.UNLIMITED_CACHE_SIZE,
+			MediumCache.UNLIMITED_CACHE_REGION_SIZE);
+
+		List<MediumRegion> expectedRegions = cacheLayout.getAllCachedRegions().subList(1,
+			cacheLayout.getAllCachedRegions().size());
+
+		cache.removeRegionsBefore(expectedRegions.get(0).getStartOffset().advance(1));
+
+		assertCacheInvariantsAreFulfilled(cache);
+
+		Assert.assertEquals(expectedRegions, cache.getAllCachedRegions());
+		Assert.assertEquals(cacheLayout.getTotalRegionSizeInBytes() - cacheLayout.getAllCachedRegions().get(0).getSize(),
+			cache.calculateCurrentCacheSizeInBytes());
+	}
+
 	/**
 	 * Tests {@link MediumCache#removeRegionsInRange(MediumOffset, int)}.
 	 */
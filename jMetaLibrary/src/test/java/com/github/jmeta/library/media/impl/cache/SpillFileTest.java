@@ -0,0 +1,262 @@
+/**
+ *
+ * {@link SpillFileTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+
+/**
+ * {@link SpillFileTest} tests the {@link SpillFile} class, both standalone and used by a {@link MediumCache}.
+ */
+public class SpillFileTest {
+
+   private static final int REGION_SIZE = 100;
+
+   private Path spillDirectory;
+
+   private SpillFile testling;
+
+   /**
+    * Creates the {@link SpillFile} under test in a new temporary directory.
+    *
+    * @throws IOException
+    *            in case creating the directory failed
+    */
+   @Before
+   public void createTestling() throws IOException {
+      spillDirectory = Files.createTempDirectory(getClass().getSimpleName());
+      testling = new SpillFile(spillDirectory);
+   }
+
+   /**
+    * Closes the {@link SpillFile} under test and deletes the temporary directory.
+    *
+    * @throws IOException
+    *            in case deleting failed
+    */
+   @After
+   public void deleteSpillDirectory() throws IOException {
+      testling.close();
+
+      Files.deleteIfExists(spillDirectory);
+   }
+
+   /**
+    * Tests {@link SpillFile#spill(MediumRegion)} and {@link SpillFile#read(long, int)}.
+    */
+   @Test
+   public void read_rangeSpanningConsecutiveSpilledRegions_returnsSpilledBytes() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(SpillFileTest.REGION_SIZE));
+
+      ByteBuffer bytesRead = testling.read(50, SpillFileTest.REGION_SIZE);
+
+      Assert.assertEquals(ByteBuffer.wrap(createRegionBytes(50, SpillFileTest.REGION_SIZE)), bytesRead);
+      Assert.assertEquals(2 * SpillFileTest.REGION_SIZE, testling.getFileSize());
+   }
+
+   /**
+    * Tests {@link SpillFile#read(long, int)}.
+    */
+   @Test
+   public void read_rangeWithGapBetweenSpilledRegions_returnsNull() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(2 * SpillFileTest.REGION_SIZE));
+
+      Assert.assertNull(testling.read(50, 2 * SpillFileTest.REGION_SIZE));
+      Assert.assertFalse(testling.contains(50, 2 * SpillFileTest.REGION_SIZE));
+      Assert.assertTrue(testling.contains(2 * SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE));
+   }
+
+   /**
+    * Tests {@link SpillFile#spill(MediumRegion)}.
+    */
+   @Test
+   public void spill_regionAlreadySpilled_doesNotWriteItAgain() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(0));
+
+      Assert.assertEquals(SpillFileTest.REGION_SIZE, testling.getFileSize());
+   }
+
+   /**
+    * Tests {@link SpillFile#removeRegionsBefore(long)}.
+    */
+   @Test
+   public void removeRegionsBefore_offsetInsideSecondRegion_removesOnlyFirstRegion() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(SpillFileTest.REGION_SIZE));
+
+      testling.removeRegionsBefore(SpillFileTest.REGION_SIZE + 1);
+
+      Assert.assertFalse(testling.contains(0, 1));
+      Assert.assertTrue(testling.contains(SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE));
+   }
+
+   /**
+    * Tests {@link SpillFile#removeRegionsBefore(long)}.
+    */
+   @Test
+   public void removeRegionsBefore_allRegions_truncatesFileToZero() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(SpillFileTest.REGION_SIZE));
+
+      testling.removeRegionsBefore(2 * SpillFileTest.REGION_SIZE);
+
+      Assert.assertEquals(0, testling.getFileSize());
+
+      testling.spill(createRegion(2 * SpillFileTest.REGION_SIZE));
+
+      Assert.assertEquals(SpillFileTest.REGION_SIZE, testling.getFileSize());
+      Assert.assertEquals(ByteBuffer.wrap(createRegionBytes(2 * SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE)),
+         testling.read(2 * SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE));
+   }
+
+   /**
+    * Tests {@link SpillFile#spill(MediumRegion)} and {@link SpillFile#removeRegionsBefore(long)}.
+    */
+   @Test
+   public void spill_afterRemovingFirstRegion_reusesFreedSpaceAndTruncatesFreeSpaceAtEnd() {
+      testling.spill(createRegion(0));
+      testling.spill(createRegion(SpillFileTest.REGION_SIZE));
+      testling.spill(createRegion(2 * SpillFileTest.REGION_SIZE));
+
+      testling.removeRegionsBefore(SpillFileTest.REGION_SIZE);
+
+      Assert.assertEquals(3 * SpillFileTest.REGION_SIZE, testling.getFileSize());
+
+      // Stored at the start of the file, where the first region was
+      testling.spill(createRegion(3 * SpillFileTest.REGION_SIZE));
+
+      Assert.assertEquals(3 * SpillFileTest.REGION_SIZE, testling.getFileSize());
+      Assert.assertEquals(
+         ByteBuffer.wrap(createRegionBytes(SpillFileTest.REGION_SIZE + 50, 2 * SpillFileTest.REGION_SIZE + 10)),
+         testling.read(SpillFileTest.REGION_SIZE + 50, 2 * SpillFileTest.REGION_SIZE + 10));
+
+      testling.removeRegionsBefore(3 * SpillFileTest.REGION_SIZE);
+
+      Assert.assertEquals(SpillFileTest.REGION_SIZE, testling.getFileSize());
+      Assert.assertEquals(ByteBuffer.wrap(createRegionBytes(3 * SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE)),
+         testling.read(3 * SpillFileTest.REGION_SIZE, SpillFileTest.REGION_SIZE));
+   }
+
+   /**
+    * Tests {@link SpillFile#spill(MediumRegion)}.
+    */
+   @Test
+   public void spill_longerRegionAtSameOffset_replacesShorterRegionAndReusesItsSpace() {
+      testling.spill(new MediumRegion(TestMedia.at(0), ByteBuffer.wrap(createRegionBytes(0, 10))));
+      testling.spill(createRegion(0));
+
+      Assert.assertEquals(10 + SpillFileTest.REGION_SIZE, testling.getFileSize());
+
+      testling.spill(new MediumRegion(TestMedia.at(SpillFileTest.REGION_SIZE),
+         ByteBuffer.wrap(createRegionBytes(SpillFileTest.REGION_SIZE, 10))));
+
+      Assert.assertEquals(10 + SpillFileTest.REGION_SIZE, testling.getFileSize());
+      Assert.assertEquals(ByteBuffer.wrap(createRegionBytes(0, SpillFileTest.REGION_SIZE + 10)),
+         testling.read(0, SpillFileTest.REGION_SIZE + 10));
+   }
+
+   /**
+    * Tests {@link SpillFile#close()}.
+    *
+    * @throws IOException
+    *            in case listing the temporary directory failed
+    */
+   @Test
+   public void close_afterSpilling_deletesFileAndForgetsAllRegions() throws IOException {
+      testling.spill(createRegion(0));
+
+      Assert.assertEquals(1, countFilesInSpillDirectory());
+
+      testling.close();
+
+      Assert.assertEquals(0, countFilesInSpillDirectory());
+      Assert.assertEquals(0, testling.getFileSize());
+      Assert.assertNull(testling.read(0, 1));
+   }
+
+   /**
+    * Tests {@link MediumCache#setEvictionListener(java.util.function.Consumer)} with a {@link SpillFile}.
+    */
+   @Test
+   public void addRegion_cacheWithSpillFileExceedingMaxSize_spillsEvictedRegion() {
+      MediumCache cache = new MediumCache(TestMedia.DEFAULT_TEST_MEDIUM, 2 * SpillFileTest.REGION_SIZE,
+         SpillFileTest.REGION_SIZE);
+
+      cache.setEvictionListener(testling::spill);
+
+      cache.addRegion(createRegion(0));
+      cache.addRegion(createRegion(SpillFileTest.REGION_SIZE));
+      cache.addRegion(createRegion(2 * SpillFileTest.REGION_SIZE));
+
+      Assert.assertEquals(0, cache.getCachedByteCountAt(TestMedia.at(0)));
+      Assert.assertEquals(ByteBuffer.wrap(createRegionBytes(0, SpillFileTest.REGION_SIZE)),
+         testling.read(0, SpillFileTest.REGION_SIZE));
+      Assert.assertFalse(testling.contains(SpillFileTest.REGION_SIZE, 1));
+   }
+
+   /**
+    * Returns the number of files in the temporary directory.
+    *
+    * @return the number of files in the temporary directory
+    * @throws IOException
+    *            in case listing the directory failed
+    */
+   private long countFilesInSpillDirectory() throws IOException {
+      try (Stream<Path> files = Files.list(spillDirectory)) {
+         return files.count();
+      }
+   }
+
+   /**
+    * Creates a cached {@link MediumRegion} of {@link #REGION_SIZE} bytes at the given offset, see
+    * {@link #createRegionBytes(long, int)}.
+    *
+    * @param offset
+    *           The offset of the region
+    * @return The {@link MediumRegion}
+    */
+   private MediumRegion createRegion(long offset) {
+      return new MediumRegion(TestMedia.at(offset),
+         ByteBuffer.wrap(createRegionBytes(offset, SpillFileTest.REGION_SIZE)));
+   }
+
+   /**
+    * Creates the bytes of a range, each byte being its offset modulo 256.
+    *
+    * @param offset
+    *           The offset of the range
+    * @param size
+    *           The size of the range
+    * @return The bytes of the range
+    */
+   private byte[] createRegionBytes(long offset, int size) {
+      byte[] bytes = new byte[size];
+
+      for (int i = 0; i < size; i++) {
+         bytes[i] = (byte) (offset + i);
+      }
+
+      return bytes;
+   }
+}
@@ -0,0 +1,135 @@
+/**
+ *
+ * {@link StripedMediumCacheTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+
+/**
+ * {@link StripedMediumCacheTest} tests the {@link StripedMediumCache} class.
+ */
+public class StripedMediumCacheTest {
+
+   private static final int BLOCK_SIZE = 100;
+
+   /**
+    * Tests {@link StripedMediumCache#getBlock(MediumOffset, Function)}.
+    */
+   @Test
+   public void getBlock_sameBlockRequestedByConcurrentThreads_readsBlockOnlyOnce() throws Exception {
+      StripedMediumCache testling = new StripedMediumCache(TestMedia.DEFAULT_TEST_MEDIUM,
+         4 * StripedMediumCacheTest.BLOCK_SIZE, StripedMediumCacheTest.BLOCK_SIZE, 4);
+
+      AtomicInteger readCount = new AtomicInteger();
+
+      Function<MediumOffset, ByteBuffer> blockReader = blockOffset -> {
+         readCount.incrementAndGet();
+
+         return ByteBuffer.wrap(createBlockBytes(blockOffset.getAbsoluteMediumOffset()));
+      };
+
+      int threadCount = 8;
+
+      ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+      CountDownLatch startSignal = new CountDownLatch(1);
+
+      try {
+         List<Future<ByteBuffer>> blocks = new ArrayList<>();
+
+         for (int i = 0; i < threadCount; i++) {
+            blocks.add(executor.submit(() -> {
+               startSignal.await();
+
+               return testling.getBlock(TestMedia.at(StripedMediumCacheTest.BLOCK_SIZE), blockReader);
+            }));
+         }
+
+         startSignal.countDown();
+
+         for (Future<ByteBuffer> block : blocks) {
+            Assert.assertEquals(ByteBuffer.wrap(createBlockBytes(StripedMediumCacheTest.BLOCK_SIZE)), block.get());
+         }
+      } finally {
+         executor.shutdown();
+      }
+
+      Assert.assertEquals(1, readCount.get());
+   }
+
+   /**
+    * Tests {@link StripedMediumCache#getBlock(MediumOffset, Function)}.
+    */
+   @Test
+   public void getBlock_moreBlocksOfOneStripeThanFit_evictsOnlyBlocksOfThisStripe() {
+      StripedMediumCache testling = new StripedMediumCache(TestMedia.DEFAULT_TEST_MEDIUM,
+         2 * StripedMediumCacheTest.BLOCK_SIZE, StripedMediumCacheTest.BLOCK_SIZE, 2);
+
+      Function<MediumOffset, ByteBuffer> blockReader = blockOffset -> ByteBuffer
+         .wrap(createBlockBytes(blockOffset.getAbsoluteMediumOffset()));
+
+      testling.getBlock(TestMedia.at(0), blockReader);
+      testling.getBlock(TestMedia.at(StripedMediumCacheTest.BLOCK_SIZE), blockReader);
+      testling.getBlock(TestMedia.at(2 * StripedMediumCacheTest.BLOCK_SIZE), blockReader);
+
+      Assert.assertEquals(0, testling.getCachedByteCountAt(TestMedia.at(0)));
+      Assert.assertEquals(2 * StripedMediumCacheTest.BLOCK_SIZE,
+         testling.getCachedByteCountAt(TestMedia.at(StripedMediumCacheTest.BLOCK_SIZE)));
+      Assert.assertEquals(2 * StripedMediumCacheTest.BLOCK_SIZE, testling.calculateCurrentCacheSizeInBytes());
+   }
+
+   /**
+    * Tests {@link StripedMediumCache#getCachedByteCountAt(MediumOffset)}.
+    */
+   @Test
+   public void getCachedByteCountAt_consecutiveBlocksInDifferentStripes_returnsBytesOfAllBlocks() {
+      StripedMediumCache testling = new StripedMediumCache(TestMedia.DEFAULT_TEST_MEDIUM,
+         4 * StripedMediumCacheTest.BLOCK_SIZE, StripedMediumCacheTest.BLOCK_SIZE, 4);
+
+      Function<MediumOffset, ByteBuffer> blockReader = blockOffset -> ByteBuffer
+         .wrap(createBlockBytes(blockOffset.getAbsoluteMediumOffset()));
+
+      testling.getBlock(TestMedia.at(0), blockReader);
+      testling.getBlock(TestMedia.at(StripedMediumCacheTest.BLOCK_SIZE), blockReader);
+      testling.getBlock(TestMedia.at(3 * StripedMediumCacheTest.BLOCK_SIZE), blockReader);
+
+      Assert.assertEquals(2 * StripedMediumCacheTest.BLOCK_SIZE - 10, testling.getCachedByteCountAt(TestMedia.at(10)));
+   }
+
+   /**
+    * Creates the bytes of a block, each byte being its offset modulo 256.
+    *
+    * @param offset
+    *           The offset of the block
+    * @return The bytes of the block
+    */
+   private byte[] createBlockBytes(long offset) {
+      byte[] bytes = new byte[StripedMediumCacheTest.BLOCK_SIZE];
+
+      for (int i = 0; i < bytes.length; i++) {
+         bytes[i] = (byte) (offset + i);
+      }
+
+      return bytes;
+   }
+}
@@ -15,6 +15,7 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -1959,6 +1960,105 @@ public class MediumChangeManagerCreateFlushPlanTest {
 			new SingleActionSequence(replaceAction2));
 	}
 
+	/**
+	 * Tests {@link MediumChangeManager#createFlushPlan(int, long)} and
+	 * {@link MediumChangeManager#declarePadding(MediumRegion)}.
+	 */
+	@Test
+	public void CF10a_insertThenPadding_paddingBiggerThanInsert_paddingAbsorbsInsertAndNoBytesBehindShifted() {
+
+		MediumChangeManager testling = getTestling();
+
+		int totalMediumSizeInBytes = 1000;
+		int writeBlockSizeInBytes = 200;
+
+		// First insert
+		int insertSize1 = 20;
+		ByteBuffer insertBuffer1 = MediumChangeManagerCreateFlushPlanTest.createTestByteBufferOfSize(insertSize1);
+		int insertOffset1 = 10;
+		MediumAction insertAction1 = testling.scheduleInsert(new MediumRegion(TestMedia.at(insertOffset1), insertSize1),
+			insertBuffer1);
+		// Padding behind first insert
+		int paddingOffset = 100;
+		testling.declarePadding(new MediumRegion(TestMedia.at(paddingOffset), 50));
+
+		checkCreatedFlushPlan(testling, writeBlockSizeInBytes, totalMediumSizeInBytes,
+			ReadWriteActionSequence.createSingleBlock(TestMedia.at(insertOffset1), paddingOffset - insertOffset1,
+				insertSize1),
+			new WriteActionSequence(TestMedia.at(insertOffset1), 1, insertSize1, insertBuffer1, 0),
+			new SingleActionSequence(insertAction1), new SingleActionSequence(new MediumAction(MediumActionType.REMOVE,
+				new MediumRegion(TestMedia.at(paddingOffset), insertSize1), 1, null)));
+	}
+
+	/**
+	 * Tests {@link MediumChangeManager#createFlushPlan(int, long)} and
+	 * {@link MediumChangeManager#declarePadding(MediumRegion)}.
+	 */
+	@Test
+	public void CF10b_insertThenPadding_paddingSmallerThanInsert_paddingAbsorbsPartOfInsert() {
+
+		MediumChangeManager testling = getTestling();
+
+		int totalMediumSizeInBytes = 1000;
+		int writeBlockSizeInBytes = 200;
+
+		// First insert
+		int insertSize1 = 20;
+		ByteBuffer insertBuffer1 = MediumChangeManagerCreateFlushPlanTest.createTestByteBufferOfSize(insertSize1);
+		int insertOffset1 = 10;
+		MediumAction insertAction1 = testling.scheduleInsert(new MediumRegion(TestMedia.at(insertOffset1), insertSize1),
+			insertBuffer1);
+		// Padding behind first insert
+		int paddingOffset = 100;
+		int paddingSize = 5;
+		testling.declarePadding(new MediumRegion(TestMedia.at(paddingOffset), paddingSize));
+		// Bytes behind padding
+		int totalRWSizeInBytes = totalMediumSizeInBytes - paddingOffset - paddingSize;
+		int readWriteBlockCount = totalRWSizeInBytes / writeBlockSizeInBytes;
+		int readWriteRemainderSizeInBytes = totalRWSizeInBytes % writeBlockSizeInBytes;
+
+		checkCreatedFlushPlan(testling, writeBlockSizeInBytes, totalMediumSizeInBytes,
+			new ReadWriteActionSequence(TestMedia.at(totalMediumSizeInBytes), readWriteBlockCount, writeBlockSizeInBytes,
+				insertSize1 - paddingSize, ActionOrder.BACKWARD),
+			ReadWriteActionSequence.createSingleBlock(TestMedia.at(paddingOffset + paddingSize),
+				readWriteRemainderSizeInBytes, insertSize1 - paddingSize),
+			new SingleActionSequence(new MediumAction(MediumActionType.REMOVE,
+				new MediumRegion(TestMedia.at(paddingOffset), paddingSize), 1, null)),
+			ReadWriteActionSequence.createSingleBlock(TestMedia.at(insertOffset1), paddingOffset - insertOffset1,
+				insertSize1),
+			new WriteActionSequence(TestMedia.at(insertOffset1), 1, insertSize1, insertBuffer1, 0),
+			new SingleActionSequence(insertAction1));
+	}
+
+	/**
+	 * Tests {@link MediumChangeManager#createFlushPlan(int, long)} and
+	 * {@link MediumChangeManager#declarePadding(MediumRegion)}.
+	 */
+	@Test
+	public void CF10c_insertThenPadding_paddingContainsReplace_paddingDoesNotAbsorbAnything() {
+
+		MediumChangeManager testling = getTestling();
+		MediumChangeManager testlingWithoutPadding = getTestling();
+
+		int totalMediumSizeInBytes = 1000;
+		int writeBlockSizeInBytes = 200;
+
+		for (MediumChangeManager changeManager : Arrays.asList(testling, testlingWithoutPadding)) {
+			changeManager.scheduleInsert(new MediumRegion(TestMedia.at(10), 20),
+				MediumChangeManagerCreateFlushPlanTest.createTestByteBufferOfSize(20));
+			changeManager.scheduleReplace(new MediumRegion(TestMedia.at(120), 10),
+				MediumChangeManagerCreateFlushPlanTest.createTestByteBufferOfSize(10));
+		}
+
+		testling.declarePadding(new MediumRegion(TestMedia.at(100), 50));
+
+		List<MediumAction> expectedFlushPlan = testlingWithoutPadding.createFlushPlan(writeBlockSizeInBytes,
+			totalMediumSizeInBytes);
+
+		checkCreatedFlushPlan(testling, writeBlockSizeInBytes, totalMediumSizeInBytes,
+			expectedFlushPlan.stream().map(SingleActionSequence::new).toArray(ExpectedActionSequence[]::new));
+	}
+
 	/**
 	 * Calls the {@link MediumChangeManager#createFlushPlan(int, long)} method and
 	 * checks its results against the expected action sequence given by the
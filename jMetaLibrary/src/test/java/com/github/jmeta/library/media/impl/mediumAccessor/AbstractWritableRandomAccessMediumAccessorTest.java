@@ -8,14 +8,17 @@
 package com.github.jmeta.library.media.impl.mediumAccessor;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
 import com.github.jmeta.library.media.api.helper.TestMedia;
 import com.github.jmeta.library.media.api.types.Medium;
 import com.github.jmeta.library.media.api.types.MediumAccessType;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
 import com.github.jmeta.utility.dbc.api.exceptions.PreconditionUnfullfilledException;
 import com.github.jmeta.utility.testsetup.api.exceptions.InvalidTestDataException;
@@ -26,7 +29,8 @@ import com.github.jmeta.utility.testsetup.api.exceptions.InvalidTestDataExceptio
  * by {@link #createImplementationToTest()} must be thus enabled for writing.
  *
  * This class contains all test cases specific to those {@link MediumAccessor} instances, specifically the tests of
- * {@link MediumAccessor#write(ByteBuffer)}.
+ * {@link MediumAccessor#write(ByteBuffer)}, {@link MediumAccessor#write(ByteBuffer[])},
+ * {@link MediumAccessor#transfer(MediumOffset, int)} and {@link MediumAccessor#rewrite(java.util.List)}.
  */
 public abstract class AbstractWritableRandomAccessMediumAccessorTest extends AbstractMediumAccessorTest {
 
@@ -141,6 +145,49 @@ public abstract class AbstractWritableRandomAccessMediumAccessorTest extends Abs
       Assert.assertEquals(true, mediumAccessor.isAtEndOfMedium());
    }
 
+   /**
+    * Tests {@link MediumAccessor#rewrite(java.util.List)}.
+    */
+   @Test
+   public void rewrite_cachedAndUncachedRegions_mediumContainsRegionsInOrderAndPositionIsReset() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      byte[] originalContent = AbstractMediumAccessorTest.getExpectedMediumContent();
+      byte[] newBytes = new byte[] { 'R', 'E', 'W', 'R', 'I', 'T', 'T', 'E', 'N' };
+
+      mediumAccessor.setCurrentPosition(TestMedia.at(mediumAccessor.getMedium(), 30));
+      mediumAccessor.rewrite(Arrays.asList(new MediumRegion(TestMedia.at(mediumAccessor.getMedium(), 100), 50),
+         new MediumRegion(TestMedia.at(mediumAccessor.getMedium(), 0), ByteBuffer.wrap(newBytes)),
+         new MediumRegion(TestMedia.at(mediumAccessor.getMedium(), 0), 20)));
+
+      byte[] expectedContent = new byte[50 + newBytes.length + 20];
+      System.arraycopy(originalContent, 100, expectedContent, 0, 50);
+      System.arraycopy(newBytes, 0, expectedContent, 50, newBytes.length);
+      System.arraycopy(originalContent, 0, expectedContent, 50 + newBytes.length, 20);
+
+      Assert.assertEquals(expectedContent.length, mediumAccessor.getMedium().getCurrentLength());
+      Assert.assertEquals(TestMedia.at(mediumAccessor.getMedium(), 0), mediumAccessor.getCurrentPosition());
+
+      AbstractWritableRandomAccessMediumAccessorTest.assertSameDataWrittenIsReadAgain(mediumAccessor,
+         TestMedia.at(mediumAccessor.getMedium(), 0), ByteBuffer.wrap(expectedContent));
+   }
+
+   /**
+    * Tests {@link MediumAccessor#rewrite(java.util.List)}.
+    */
+   @Test(expected = PreconditionUnfullfilledException.class)
+   public void rewrite_onClosedMediumAccessor_throwsException() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      mediumAccessor.close();
+
+      mediumAccessor.rewrite(Arrays.asList(new MediumRegion(TestMedia.at(mediumAccessor.getMedium(), 0), 10)));
+   }
+
    /**
     * Tests {@link MediumAccessor#setCurrentPosition(MediumOffset)}.
     */
@@ -222,6 +269,77 @@ public abstract class AbstractWritableRandomAccessMediumAccessorTest extends Abs
       getImplementationToTest().setCurrentPosition(TestMedia.at(getExpectedMedium(), 0));
    }
 
+   /**
+    * Tests {@link MediumAccessor#transfer(MediumOffset, int)}.
+    */
+   @Test
+   public void transfer_nonOverlappingRanges_copiesBytesAndLeavesSourceUnchanged() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      int sourceOffset = 20;
+      int targetOffset = 300;
+      int numberOfBytes = 100;
+
+      testTransfer_targetContainsSourceBytesBeforeTransfer(mediumAccessor, sourceOffset, targetOffset, numberOfBytes);
+
+      assertMediumDidNotChangeInRange(mediumAccessor, TestMedia.at(mediumAccessor.getMedium(), 0),
+         TestMedia.at(mediumAccessor.getMedium(), targetOffset));
+   }
+
+   /**
+    * Tests {@link MediumAccessor#transfer(MediumOffset, int)}.
+    */
+   @Test
+   public void transfer_overlappingRangesBackward_copiesBytesAsReadBeforeTransfer() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      int sourceOffset = 120;
+      int targetOffset = 100;
+      int numberOfBytes = 100;
+
+      testTransfer_targetContainsSourceBytesBeforeTransfer(mediumAccessor, sourceOffset, targetOffset, numberOfBytes);
+
+      assertMediumDidNotChangeInRange(mediumAccessor, TestMedia.at(mediumAccessor.getMedium(), 0),
+         TestMedia.at(mediumAccessor.getMedium(), targetOffset));
+   }
+
+   /**
+    * Tests {@link MediumAccessor#transfer(MediumOffset, int)}.
+    */
+   @Test
+   public void transfer_overlappingRangesForward_copiesBytesAsReadBeforeTransfer() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      int sourceOffset = 100;
+      int targetOffset = 110;
+      int numberOfBytes = 100;
+
+      testTransfer_targetContainsSourceBytesBeforeTransfer(mediumAccessor, sourceOffset, targetOffset, numberOfBytes);
+
+      assertMediumDidNotChangeInRange(mediumAccessor, TestMedia.at(mediumAccessor.getMedium(), 0),
+         TestMedia.at(mediumAccessor.getMedium(), targetOffset));
+   }
+
+   /**
+    * Tests {@link MediumAccessor#transfer(MediumOffset, int)}.
+    */
+   @Test(expected = PreconditionUnfullfilledException.class)
+   public void transfer_onClosedMediumAccessor_throwsException() throws EndOfMediumException {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      mediumAccessor.close();
+
+      mediumAccessor.transfer(TestMedia.at(mediumAccessor.getMedium(), 0), 10);
+   }
+
    /**
     * Tests {@link MediumAccessor#truncate()}.
     */
@@ -403,6 +521,33 @@ public abstract class AbstractWritableRandomAccessMediumAccessorTest extends Abs
          TestMedia.at(mediumAccessor.getMedium(), mediumAccessor.getMedium().getCurrentLength()));
    }
 
+   /**
+    * Tests {@link MediumAccessor#write(ByteBuffer[])}.
+    */
+   @Test
+   public void write_multipleBuffers_writesBuffersConsecutivelyAndLeavesBuffersUnchanged() {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      ByteBuffer firstBuffer = ByteBuffer.wrap(new byte[] { 'F', 'I', 'R', 'S', 'T' });
+      ByteBuffer secondBuffer = ByteBuffer.wrap(new byte[] { '-', 'S', 'E', 'C', 'O', 'N', 'D', '-' }, 1, 6);
+      ByteBuffer thirdBuffer = ByteBuffer.wrap(new byte[] { 'T', 'H', 'I', 'R', 'D' }).asReadOnlyBuffer();
+
+      MediumOffset writeReference = TestMedia.at(mediumAccessor.getMedium(), 50);
+
+      mediumAccessor.setCurrentPosition(writeReference);
+      mediumAccessor.write(new ByteBuffer[] { firstBuffer, secondBuffer, thirdBuffer });
+
+      Assert.assertEquals(1, secondBuffer.position());
+      Assert.assertEquals(7, secondBuffer.limit());
+      Assert.assertEquals(writeReference.advance(16), mediumAccessor.getCurrentPosition());
+
+      AbstractWritableRandomAccessMediumAccessorTest.assertSameDataWrittenIsReadAgain(mediumAccessor, writeReference,
+         ByteBuffer.wrap(new byte[] { 'F', 'I', 'R', 'S', 'T', 'S', 'E', 'C', 'O', 'N', 'D', 'T', 'H', 'I', 'R', 'D' }));
+      assertMediumDidNotChangeInRange(mediumAccessor, TestMedia.at(mediumAccessor.getMedium(), 0), writeReference);
+   }
+
    /**
     * Tests {@link MediumAccessor#write(ByteBuffer)}.
     */
@@ -475,6 +620,40 @@ public abstract class AbstractWritableRandomAccessMediumAccessorTest extends Abs
       Assert.assertEquals(bytesExpected, bytesRead);
    }
 
+   /**
+    * Calls {@link MediumAccessor#transfer(MediumOffset, int)} and checks that the target range afterwards contains the
+    * bytes of the source range before the transfer, and that the current position was advanced correspondingly.
+    *
+    * @param mediumAccessor
+    *           The {@link MediumAccessor} to test
+    * @param sourceOffset
+    *           The offset of the first byte to copy
+    * @param targetOffset
+    *           The offset to copy to
+    * @param numberOfBytes
+    *           The number of bytes to copy
+    */
+   private void testTransfer_targetContainsSourceBytesBeforeTransfer(MediumAccessor<?> mediumAccessor,
+      int sourceOffset, int targetOffset, int numberOfBytes) {
+      ByteBuffer expectedBytes = ByteBuffer.wrap(AbstractMediumAccessorTest.getExpectedMediumContent(), sourceOffset,
+         numberOfBytes);
+
+      MediumOffset targetReference = TestMedia.at(mediumAccessor.getMedium(), targetOffset);
+
+      mediumAccessor.setCurrentPosition(targetReference);
+
+      try {
+         mediumAccessor.transfer(TestMedia.at(mediumAccessor.getMedium(), sourceOffset), numberOfBytes);
+      } catch (EndOfMediumException e) {
+         Assert.fail("Unexpected end of medium: " + e);
+      }
+
+      Assert.assertEquals(targetReference.advance(numberOfBytes), mediumAccessor.getCurrentPosition());
+
+      AbstractWritableRandomAccessMediumAccessorTest.assertSameDataWrittenIsReadAgain(mediumAccessor, targetReference,
+         expectedBytes);
+   }
+
    /**
     * Tests the {@link MediumAccessor#truncate()} method on the given {@link MediumAccessor} and with the given truncate
     * {@link MediumOffset}.
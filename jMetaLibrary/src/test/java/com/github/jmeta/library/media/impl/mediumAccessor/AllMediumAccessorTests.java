@@ -19,7 +19,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ StreamMediumAccessorTest.class, ReadOnlyFileMediumAccessorTest.class,
 	ReadOnlyMemoryMediumAccessorTest.class, WritableFileMediumAccessorTest.class,
-	WritableMemoryMediumAccessorTest.class, })
+	WritableMemoryMediumAccessorTest.class, ReadOnlyMemoryMappedFileMediumAccessorTest.class,
+	WritableMemoryMappedFileMediumAccessorTest.class, ReadOnlyAsynchronousFileMediumAccessorTest.class, })
 public class AllMediumAccessorTests {
 	// Nothing necessary here
 }
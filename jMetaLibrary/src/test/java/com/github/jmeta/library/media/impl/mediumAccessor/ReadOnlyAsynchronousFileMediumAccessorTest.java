@@ -0,0 +1,95 @@
+/**
+ * {@link ReadOnlyAsynchronousFileMediumAccessorTest}.java
+ *
+ * @author Jens Ebert
+ * @date 17.10.2026
+ */
+
+package com.github.jmeta.library.media.impl.mediumAccessor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
+
+/**
+ * Tests the class {@link AsynchronousFileMediumAccessor} for a read-only medium.
+ */
+public class ReadOnlyAsynchronousFileMediumAccessorTest extends ReadOnlyFileMediumAccessorTest {
+
+   /**
+    * Tests {@link AsynchronousFileMediumAccessor#readAtAsync(long, int)}.
+    */
+   @Test
+   public void readAtAsync_severalRangesInsideMedium_returnsExpectedBytesWithoutChangingPosition()
+      throws InterruptedException, ExecutionException {
+      AsynchronousFileMediumAccessor mediumAccessor = (AsynchronousFileMediumAccessor) getImplementationToTest();
+
+      mediumAccessor.open();
+
+      byte[] expectedContent = AbstractMediumAccessorTest.getExpectedMediumContent();
+
+      int[][] offsetsAndSizes = new int[][] { { 90, 20 }, { 0, 250 }, { 1150, 30 }, { 33, 1 }, };
+
+      CompletableFuture<?>[] reads = new CompletableFuture<?>[offsetsAndSizes.length];
+
+      for (int i = 0; i < offsetsAndSizes.length; i++) {
+         reads[i] = mediumAccessor.readAtAsync(offsetsAndSizes[i][0], offsetsAndSizes[i][1]);
+      }
+
+      for (int i = 0; i < offsetsAndSizes.length; i++) {
+         Assert.assertEquals(ByteBuffer.wrap(expectedContent, offsetsAndSizes[i][0], offsetsAndSizes[i][1]),
+            reads[i].get());
+      }
+
+      Assert.assertEquals(0, mediumAccessor.getCurrentPosition().getAbsoluteMediumOffset());
+
+      mediumAccessor.close();
+   }
+
+   /**
+    * Tests {@link AsynchronousFileMediumAccessor#readAtAsync(long, int)}.
+    */
+   @Test
+   public void readAtAsync_rangeBeyondEndOfMedium_returnsBytesUntilEndOfMedium()
+      throws InterruptedException, ExecutionException {
+      AsynchronousFileMediumAccessor mediumAccessor = (AsynchronousFileMediumAccessor) getImplementationToTest();
+
+      mediumAccessor.open();
+
+      byte[] expectedContent = AbstractMediumAccessorTest.getExpectedMediumContent();
+
+      ByteBuffer readBytes = mediumAccessor.readAtAsync(expectedContent.length - 5, 20).get();
+
+      Assert.assertEquals(ByteBuffer.wrap(expectedContent, expectedContent.length - 5, 5), readBytes);
+
+      mediumAccessor.close();
+   }
+
+   /**
+    * @see AbstractMediumAccessorTest#getImplementationToTest()
+    */
+   @Override
+   protected MediumAccessor<?> createImplementationToTest() {
+      return new AsynchronousFileMediumAccessor(getExpectedMedium(), new HeapByteBufferAllocator());
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessorTest#getExpectedMedium()
+    */
+   @Override
+   protected FileMedium getExpectedMedium() {
+      return new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY,
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES,
+         FileMediumAccessMode.ASYNCHRONOUS_FILE_CHANNEL);
+   }
+}
@@ -0,0 +1,96 @@
+/**
+ * {@link ReadOnlyMemoryMappedFileMediumAccessorTest}.java
+ *
+ * @author Jens Ebert
+ * @date 17.10.2026
+ */
+
+package com.github.jmeta.library.media.impl.mediumAccessor;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * Tests the class {@link MemoryMappedFileMediumAccessor} for a read-only medium.
+ */
+public class ReadOnlyMemoryMappedFileMediumAccessorTest extends ReadOnlyFileMediumAccessorTest {
+
+   private static final int SMALL_WINDOW_SIZE = 100;
+
+   /**
+    * Tests {@link MediumAccessor#read(int)} for a read-only medium, which must return read-only views.
+    */
+   @Test
+   public void read_forReadOnlyMedium_returnsReadOnlyBuffer() throws EndOfMediumException {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      mediumAccessor.setCurrentPosition(new StandardMediumOffset(getExpectedMedium(), 16));
+
+      ByteBuffer readBytes = mediumAccessor.read(7);
+
+      Assert.assertTrue(readBytes.isReadOnly());
+      Assert.assertEquals(0, readBytes.position());
+      Assert.assertEquals(7, readBytes.remaining());
+
+      mediumAccessor.close();
+   }
+
+   /**
+    * Tests {@link MediumAccessor#read(int)} with reads crossing the boundaries of small windows.
+    */
+   @Test
+   public void read_acrossWindowBoundaries_returnsExpectedBytes() throws EndOfMediumException {
+      MediumAccessor<?> mediumAccessor = new MemoryMappedFileMediumAccessor(getExpectedMedium(),
+         ReadOnlyMemoryMappedFileMediumAccessorTest.SMALL_WINDOW_SIZE);
+
+      mediumAccessor.open();
+
+      byte[] expectedContent = AbstractMediumAccessorTest.getExpectedMediumContent();
+
+      int[][] offsetsAndSizes = new int[][] { { 90, 20 }, { 0, 250 }, { 1150, 30 }, { 33, 1 }, };
+
+      for (int[] offsetAndSize : offsetsAndSizes) {
+         mediumAccessor.setCurrentPosition(new StandardMediumOffset(getExpectedMedium(), offsetAndSize[0]));
+
+         ByteBuffer readBytes = mediumAccessor.read(offsetAndSize[1]);
+
+         Assert.assertEquals(offsetAndSize[1], readBytes.remaining());
+
+         for (int i = 0; i < offsetAndSize[1]; i++) {
+            Assert.assertEquals(expectedContent[offsetAndSize[0] + i], readBytes.get());
+         }
+      }
+
+      mediumAccessor.close();
+   }
+
+   /**
+    * @see AbstractMediumAccessorTest#getImplementationToTest()
+    */
+   @Override
+   protected MediumAccessor<?> createImplementationToTest() {
+      return new MemoryMappedFileMediumAccessor(getExpectedMedium());
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessorTest#getExpectedMedium()
+    */
+   @Override
+   protected FileMedium getExpectedMedium() {
+      return new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY,
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES,
+         FileMediumAccessMode.MEMORY_MAPPED);
+   }
+}
@@ -0,0 +1,66 @@
+/**
+ * {@link WritableMemoryMappedFileMediumAccessorTest}.java
+ *
+ * @author Jens Ebert
+ * @date 17.10.2026
+ */
+
+package com.github.jmeta.library.media.impl.mediumAccessor;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.impl.offset.StandardMediumOffset;
+
+/**
+ * Tests the class {@link MemoryMappedFileMediumAccessor} for a writable medium.
+ */
+public class WritableMemoryMappedFileMediumAccessorTest extends WritableFileMediumAccessorTest {
+
+   /**
+    * Tests {@link MediumAccessor#read(int)} for a writable medium, which must not be mapped but read into newly
+    * allocated buffers.
+    */
+   @Test
+   public void read_forWritableMedium_returnsBufferNotMapped() throws EndOfMediumException {
+      MediumAccessor<?> mediumAccessor = getImplementationToTest();
+
+      mediumAccessor.open();
+
+      mediumAccessor.setCurrentPosition(new StandardMediumOffset(getExpectedMedium(), 16));
+
+      ByteBuffer readBytes = mediumAccessor.read(7);
+
+      Assert.assertFalse(readBytes.isReadOnly());
+      Assert.assertFalse(readBytes.isDirect());
+      Assert.assertEquals(7, readBytes.remaining());
+
+      mediumAccessor.close();
+   }
+
+   /**
+    * @see AbstractMediumAccessorTest#getImplementationToTest()
+    */
+   @Override
+   protected MediumAccessor<?> createImplementationToTest() {
+      return new MemoryMappedFileMediumAccessor(getExpectedMedium());
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.mediumAccessor.AbstractMediumAccessorTest#getExpectedMedium()
+    */
+   @Override
+   protected FileMedium getExpectedMedium() {
+      FileMedium fileMedium = super.getExpectedMedium();
+
+      return new FileMedium(fileMedium.getWrappedMedium(), fileMedium.getMediumAccessType(),
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES,
+         FileMediumAccessMode.MEMORY_MAPPED);
+   }
+}
@@ -24,6 +24,7 @@ import com.github.jmeta.library.media.api.types.MediumActionType;
 import com.github.jmeta.library.media.api.types.MediumOffset;
 import com.github.jmeta.library.media.api.types.MediumRegion;
 import com.github.jmeta.utility.dbc.api.services.Reject;
+import com.github.jmeta.utility.testsetup.api.services.GarbageCollectionHelper;
 
 /**
  * {@link MediumOffsetFactoryTest} tests the {@link MediumOffsetFactory} class.
@@ -94,6 +95,24 @@ public class MediumOffsetFactoryTest {
       Assert.assertEquals(expectedReferences, testling.getAllOffsets());
    }
 
+   /**
+    * Tests {@link MediumOffsetFactory#getAllOffsets()}.
+    */
+   @Test
+   public void getAllOffsets_afterReferencesAreNotUsedAnymore_returnsOnlyUsedReferences() {
+
+      MediumOffsetFactory testling = new MediumOffsetFactory(MediumOffsetFactoryTest.MEDIUM);
+      List<MediumOffset> expectedReferences = createAndAddDefaultOffsets(testling);
+
+      for (int i = 0; i < 1000; i++) {
+         testling.createMediumOffset(i);
+      }
+
+      Assert.assertTrue(GarbageCollectionHelper
+         .collectGarbageUntil(() -> testling.getAllOffsets().size() == expectedReferences.size()));
+      Assert.assertEquals(expectedReferences, testling.getAllOffsets());
+   }
+
    /**
     * Tests {@link MediumOffsetFactory#getAllOffsets()}.
     */
@@ -19,7 +19,9 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ ReadOnlyFileMediumStoreTest.class, ReadOnlyInMemoryMediumStoreTest.class,
 	ReadOnlyStreamMediumStoreTest.class, StreamMediumStoreTest.class, WritableFileMediumStoreTest.class,
-	WritableInMemoryMediumStoreTest.class, })
+	WritableInMemoryMediumStoreTest.class, ReadOnlyMemoryMappedFileMediumStoreTest.class, ReadAheadPrefetcherTest.class,
+	FlushJournalTest.class, InFlightReadTrackerTest.class,
+	WritableAsynchronousFileMediumStoreTest.class, ConcurrentReadOnlyMediumStoreTest.class, })
 public class AllMediumStoreTests {
 	// Nothing necessary here
 }
@@ -0,0 +1,151 @@
+/**
+ *
+ * {@link ConcurrentReadOnlyMediumStoreTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.exceptions.ReadOnlyMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+
+/**
+ * {@link ConcurrentReadOnlyMediumStoreTest} tests the {@link ConcurrentReadOnlyMediumStore} class, created via the
+ * {@link StandardMediaAPI}.
+ */
+public class ConcurrentReadOnlyMediumStoreTest {
+
+   private static final int BLOCK_SIZE = 64;
+
+   private static final byte[] EXPECTED_BYTES = MediaTestUtility.readFileContent(TestMedia.FIRST_TEST_FILE_PATH);
+
+   private MediumStore testling;
+
+   /**
+    * Creates and opens the {@link ConcurrentReadOnlyMediumStore} under test, with a cache much smaller than the
+    * medium.
+    */
+   @Before
+   public void createTestling() {
+      FileMedium medium = new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY,
+         8 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE, ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE);
+
+      StandardMediaAPI mediaAPI = new StandardMediaAPI();
+      mediaAPI.setMinimumCacheSize(8 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE);
+      mediaAPI.setMinimumReadWriteBlockSize(ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE);
+
+      testling = mediaAPI.createConcurrentMediumStore(medium);
+
+      testling.open();
+   }
+
+   /**
+    * Closes the {@link ConcurrentReadOnlyMediumStore} under test.
+    */
+   @After
+   public void closeTestling() {
+      if (testling.isOpened()) {
+         testling.close();
+      }
+   }
+
+   /**
+    * Tests {@link ConcurrentReadOnlyMediumStore#getData(MediumOffset, int)}.
+    */
+   @Test
+   public void getData_severalThreadsReadingRandomRanges_returnsExpectedBytes() throws Exception {
+      int threadCount = 8;
+
+      ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+      try {
+         List<Future<?>> readers = new ArrayList<>();
+
+         for (int i = 0; i < threadCount; i++) {
+            Random random = new Random(i);
+
+            readers.add(executor.submit(() -> {
+               for (int j = 0; j < 500; j++) {
+                  int size = 1 + random.nextInt(3 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE);
+                  int offset = random.nextInt(ConcurrentReadOnlyMediumStoreTest.EXPECTED_BYTES.length - size + 1);
+
+                  Assert.assertEquals(ByteBuffer.wrap(ConcurrentReadOnlyMediumStoreTest.EXPECTED_BYTES, offset, size),
+                     testling.getData(testling.createMediumOffset(offset), size));
+               }
+
+               return null;
+            }));
+         }
+
+         for (Future<?> reader : readers) {
+            reader.get();
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   /**
+    * Tests {@link ConcurrentReadOnlyMediumStore#getData(MediumOffset, int)}.
+    */
+   @Test
+   public void getData_rangeBeyondEndOfMedium_throwsEndOfMediumExceptionWithBytesRead() {
+      int mediumLength = ConcurrentReadOnlyMediumStoreTest.EXPECTED_BYTES.length;
+
+      try {
+         testling.getData(testling.createMediumOffset(mediumLength - 100),
+            3 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE);
+
+         Assert.fail("Expected " + EndOfMediumException.class);
+      } catch (EndOfMediumException e) {
+         Assert.assertEquals(100, e.getByteCountActuallyRead());
+         Assert.assertEquals(ByteBuffer.wrap(ConcurrentReadOnlyMediumStoreTest.EXPECTED_BYTES, mediumLength - 100, 100),
+            e.getBytesReadSoFar());
+      }
+   }
+
+   /**
+    * Tests {@link ConcurrentReadOnlyMediumStore#cache(MediumOffset, int)} and
+    * {@link ConcurrentReadOnlyMediumStore#getCachedByteCountAt(MediumOffset)}.
+    */
+   @Test
+   public void getCachedByteCountAt_afterCachingRange_returnsBytesUpToEndOfLastBlock() throws EndOfMediumException {
+      testling.cache(testling.createMediumOffset(10), 100);
+
+      Assert.assertEquals(2 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE - 5,
+         testling.getCachedByteCountAt(testling.createMediumOffset(5)));
+      Assert.assertEquals(0,
+         testling.getCachedByteCountAt(testling.createMediumOffset(2 * ConcurrentReadOnlyMediumStoreTest.BLOCK_SIZE)));
+   }
+
+   /**
+    * Tests {@link ConcurrentReadOnlyMediumStore#insertData(MediumOffset, ByteBuffer)}.
+    */
+   @Test(expected = ReadOnlyMediumException.class)
+   public void insertData_readOnlyMedium_throwsException() {
+      testling.insertData(testling.createMediumOffset(0), ByteBuffer.allocate(10));
+   }
+}
@@ -0,0 +1,563 @@
+/**
+ *
+ * {@link FlushJournalTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.library.media.impl.changeManager.MediumChangeManager;
+import com.github.jmeta.library.media.impl.mediumAccessor.FileMediumAccessor;
+import com.github.jmeta.library.media.impl.offset.MediumOffsetFactory;
+import com.github.jmeta.library.media.impl.store.FlushJournal.JournalStep;
+import com.github.jmeta.library.media.impl.store.FlushJournal.JournalStepType;
+
+/**
+ * {@link FlushJournalTest} tests the {@link FlushJournal} class, both standalone and used by a
+ * {@link StandardMediumStore}.
+ */
+public class FlushJournalTest {
+
+   private static final ByteBuffer WRITTEN_BYTES = ByteBuffer.wrap(new byte[] { 'J', 'O', 'U', 'R', 'N', 'A', 'L' });
+
+   private static final List<JournalStep> STEPS = Arrays.asList(
+      new JournalStep(JournalStepType.TRANSFER, 300, 20, 100, null),
+      new JournalStep(JournalStepType.WRITE, 20, 0, 0, FlushJournalTest.WRITTEN_BYTES),
+      new JournalStep(JournalStepType.TRUNCATE, 400, 0, 0, null));
+
+   private final List<Path> journalPaths = new ArrayList<>();
+
+   private int synchronizationCount;
+
+   /**
+    * Deletes all journal files created by the test.
+    *
+    * @throws IOException
+    *            in case deleting failed
+    */
+   @After
+   public void deleteJournals() throws IOException {
+      for (Path journalPath : journalPaths) {
+         Files.deleteIfExists(journalPath);
+      }
+   }
+
+   /**
+    * Tests {@link FlushJournal#readPendingSteps()}.
+    */
+   @Test
+   public void readPendingSteps_withoutJournalFile_returnsNoSteps() {
+      FlushJournal testling = createTestling(getJournalPath("withoutJournalFile"), 1);
+
+      Assert.assertTrue(testling.readPendingSteps().isEmpty());
+   }
+
+   /**
+    * Tests {@link FlushJournal#readPendingSteps()}.
+    */
+   @Test
+   public void readPendingSteps_afterInterruptionWithoutCheckpoint_returnsAllSteps() {
+      Path journalPath = getJournalPath("withoutCheckpoint");
+
+      FlushJournal testling = createTestling(journalPath, Long.MAX_VALUE);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.completedUpTo(1);
+      testling.close();
+
+      FlushJournal readingTestling = createTestling(journalPath, 1);
+
+      assertStepsEqual(FlushJournalTest.STEPS, readingTestling.readPendingSteps());
+      Assert.assertTrue(readingTestling.isActive());
+      Assert.assertEquals(-1, readingTestling.getLastCompletedStepIndex());
+
+      readingTestling.close();
+
+      Assert.assertTrue(Files.exists(journalPath));
+   }
+
+   /**
+    * Tests {@link FlushJournal#readPendingSteps()}.
+    */
+   @Test
+   public void readPendingSteps_afterInterruptionBehindCheckpoint_returnsStepsBehindCheckpoint() {
+      Path journalPath = getJournalPath("behindCheckpoint");
+
+      FlushJournal testling = createTestling(journalPath, 50);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.completedUpTo(0);
+      testling.close();
+
+      Assert.assertEquals(1, synchronizationCount);
+
+      FlushJournal readingTestling = createTestling(journalPath, 1);
+
+      assertStepsEqual(FlushJournalTest.STEPS.subList(1, 3), readingTestling.readPendingSteps());
+      Assert.assertEquals(0, readingTestling.getLastCompletedStepIndex());
+
+      readingTestling.close();
+   }
+
+   /**
+    * Tests {@link FlushJournal#readPendingSteps()}.
+    */
+   @Test
+   public void readPendingSteps_afterInterruptionWithinShift_returnsShiftWithJournaledSourceBytes() {
+      Path journalPath = getJournalPath("withinShift");
+
+      ByteBuffer sourceBytes = ByteBuffer.wrap(new byte[100]);
+      Arrays.fill(sourceBytes.array(), (byte) 'S');
+
+      List<JournalStep> steps = Arrays.asList(new JournalStep(JournalStepType.SHIFT, 25, 20, 100, null),
+         new JournalStep(JournalStepType.SHIFT, 15, 10, 100, null));
+
+      FlushJournal testling = createTestling(journalPath, Long.MAX_VALUE);
+
+      testling.begin(steps);
+      testling.journalSourceBytes(sourceBytes);
+      testling.close();
+
+      FlushJournal readingTestling = createTestling(journalPath, 1);
+
+      assertStepsEqual(Arrays.asList(new JournalStep(JournalStepType.SHIFT, 25, 20, 100, sourceBytes), steps.get(1)),
+         readingTestling.readPendingSteps());
+
+      readingTestling.close();
+   }
+
+   /**
+    * Tests {@link FlushJournal#beforeChanging(long, long)}.
+    */
+   @Test
+   public void beforeChanging_sourceOfTransferAfterLastCheckpoint_writesCheckpoint() {
+      Path journalPath = getJournalPath("sourceOfTransfer");
+
+      FlushJournal testling = createTestling(journalPath, Long.MAX_VALUE);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.completedUpTo(0);
+      testling.beforeChanging(110, 130);
+      testling.close();
+
+      Assert.assertEquals(1, synchronizationCount);
+
+      FlushJournal readingTestling = createTestling(journalPath, 1);
+
+      assertStepsEqual(FlushJournalTest.STEPS.subList(1, 3), readingTestling.readPendingSteps());
+
+      readingTestling.close();
+   }
+
+   /**
+    * Tests {@link FlushJournal#beforeChanging(long, long)}.
+    */
+   @Test
+   public void beforeChanging_noSourceOfTransferAfterLastCheckpoint_writesNoCheckpoint() {
+      Path journalPath = getJournalPath("noSourceOfTransfer");
+
+      FlushJournal testling = createTestling(journalPath, Long.MAX_VALUE);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.beforeChanging(20, 120);
+      testling.completedUpTo(0);
+      testling.beforeChanging(120, 400);
+      testling.close();
+
+      Assert.assertEquals(0, synchronizationCount);
+   }
+
+   /**
+    * Tests {@link FlushJournal#readPendingSteps()}.
+    */
+   @Test
+   public void readPendingSteps_forIncompleteJournal_returnsNoStepsAndDeletesJournal() {
+      Path journalPath = getJournalPath("incompleteJournal");
+
+      FlushJournal testling = createTestling(journalPath, 1);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.close();
+
+      try (FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+         journalChannel.truncate(journalChannel.size() - 10);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not truncate journal " + journalPath, e);
+      }
+
+      Assert.assertTrue(createTestling(journalPath, 1).readPendingSteps().isEmpty());
+      Assert.assertFalse(Files.exists(journalPath));
+   }
+
+   /**
+    * Tests {@link FlushJournal#end()}.
+    */
+   @Test
+   public void end_afterAllStepsCompleted_synchronizesMediumAndDeletesJournal() {
+      Path journalPath = getJournalPath("allStepsCompleted");
+
+      FlushJournal testling = createTestling(journalPath, Long.MAX_VALUE);
+
+      testling.begin(FlushJournalTest.STEPS);
+      testling.completedUpTo(2);
+      testling.end();
+
+      Assert.assertEquals(1, synchronizationCount);
+      Assert.assertFalse(testling.isActive());
+      Assert.assertFalse(Files.exists(journalPath));
+   }
+
+   /**
+    * Tests {@link StandardMediumStore#open()} completing an interrupted flush using the {@link FlushJournal}.
+    */
+   @Test
+   public void open_journaledFileMediumWithInterruptedFlush_completesFlush() {
+      Path copiedFile = copyTestFile("interruptedFlush");
+
+      byte[] originalBytes = MediaTestUtility.readFileContent(copiedFile);
+
+      FileMedium medium = createJournaledMedium(copiedFile);
+
+      FlushJournal interruptedJournal = createTestling(medium.getFlushJournalPath(), 1);
+      interruptedJournal.begin(FlushJournalTest.STEPS);
+      interruptedJournal.close();
+
+      MediumStore store = createMediumStore(medium);
+
+      store.open();
+      store.close();
+
+      byte[] expectedBytes = Arrays.copyOf(originalBytes, 400);
+      System.arraycopy(originalBytes, 20, expectedBytes, 300, 100);
+      FlushJournalTest.WRITTEN_BYTES.duplicate().get(expectedBytes, 20, FlushJournalTest.WRITTEN_BYTES.remaining());
+
+      Assert.assertArrayEquals(expectedBytes, MediaTestUtility.readFileContent(copiedFile));
+      Assert.assertFalse(Files.exists(medium.getFlushJournalPath()));
+   }
+
+   /**
+    * Tests {@link StandardMediumStore#open()} completing a flush interrupted in the middle of a shift spanning several
+    * blocks, where later blocks overwrite the source bytes of earlier blocks.
+    */
+   @Test
+   public void open_journaledFileMediumWithFlushInterruptedWithinMultiBlockShift_completesFlush() {
+      Path copiedFile = copyTestFile("interruptedMultiBlockShift");
+
+      byte[] originalBytes = MediaTestUtility.readFileContent(copiedFile);
+
+      FileMedium medium = createSmallBlockJournaledMedium(copiedFile);
+
+      byte[] insertedBytes = new byte[200];
+      Arrays.fill(insertedBytes, (byte) 'I');
+
+      interruptFlushAfterInsertion(createCrashingMediumStore(medium, 2, Integer.MAX_VALUE), 836, insertedBytes);
+
+      assertFlushCompletedOnOpen(medium, originalBytes, 836, insertedBytes);
+   }
+
+   /**
+    * Tests {@link StandardMediumStore#open()} completing a flush interrupted in the middle of writing the bytes of a
+    * shift with overlapping source and target range.
+    */
+   @Test
+   public void open_journaledFileMediumWithFlushInterruptedWithinOverlappingShift_completesFlush() {
+      Path copiedFile = copyTestFile("interruptedOverlappingShift");
+
+      byte[] originalBytes = MediaTestUtility.readFileContent(copiedFile);
+
+      FileMedium medium = createSmallBlockJournaledMedium(copiedFile);
+
+      byte[] insertedBytes = new byte[] { 'I', 'N', 'S', 'E', 'R' };
+
+      interruptFlushAfterInsertion(createCrashingMediumStore(medium, Integer.MAX_VALUE, 2), 836, insertedBytes);
+
+      assertFlushCompletedOnOpen(medium, originalBytes, 836, insertedBytes);
+   }
+
+   /**
+    * Tests {@link StandardMediumStore#flush()} using the {@link FlushJournal}.
+    */
+   @Test
+   public void flush_journaledFileMedium_changesMediumLikeWithoutJournalAndDeletesJournal() {
+      Path copiedFile = copyTestFile("journaledFlush");
+
+      byte[] originalBytes = MediaTestUtility.readFileContent(copiedFile);
+
+      FileMedium medium = createJournaledMedium(copiedFile);
+
+      MediumStore store = createMediumStore(medium);
+
+      store.open();
+
+      try {
+         store.insertData(store.createMediumOffset(10), ByteBuffer.wrap(new byte[] { 'I', 'N', 'S' }));
+         store.removeData(store.createMediumOffset(500), 100);
+         store.flush();
+      } finally {
+         store.close();
+      }
+
+      byte[] expectedBytes = new byte[originalBytes.length - 97];
+      System.arraycopy(originalBytes, 0, expectedBytes, 0, 10);
+      System.arraycopy(new byte[] { 'I', 'N', 'S' }, 0, expectedBytes, 10, 3);
+      System.arraycopy(originalBytes, 10, expectedBytes, 13, 490);
+      System.arraycopy(originalBytes, 600, expectedBytes, 503, originalBytes.length - 600);
+
+      Assert.assertArrayEquals(expectedBytes, MediaTestUtility.readFileContent(copiedFile));
+      Assert.assertFalse(Files.exists(medium.getFlushJournalPath()));
+   }
+
+   /**
+    * Opens a {@link MediumStore} for the given {@link FileMedium} left by an interrupted flush, and checks that the
+    * flush is completed correctly afterwards.
+    *
+    * @param medium
+    *           The {@link FileMedium}
+    * @param originalBytes
+    *           The bytes of the medium before the interrupted flush
+    * @param insertionOffset
+    *           The offset where the bytes were inserted by the interrupted flush
+    * @param insertedBytes
+    *           The bytes inserted by the interrupted flush
+    */
+   private void assertFlushCompletedOnOpen(FileMedium medium, byte[] originalBytes, int insertionOffset,
+      byte[] insertedBytes) {
+      Assert.assertTrue(Files.exists(medium.getFlushJournalPath()));
+
+      MediumStore store = createCrashingMediumStore(medium, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+      store.open();
+      store.close();
+
+      byte[] expectedBytes = new byte[originalBytes.length + insertedBytes.length];
+      System.arraycopy(originalBytes, 0, expectedBytes, 0, insertionOffset);
+      System.arraycopy(insertedBytes, 0, expectedBytes, insertionOffset, insertedBytes.length);
+      System.arraycopy(originalBytes, insertionOffset, expectedBytes, insertionOffset + insertedBytes.length,
+         originalBytes.length - insertionOffset);
+
+      Assert.assertArrayEquals(expectedBytes, MediaTestUtility.readFileContent(medium.getWrappedMedium()));
+      Assert.assertFalse(Files.exists(medium.getFlushJournalPath()));
+   }
+
+   /**
+    * Checks that the given {@link JournalStep}s equal the expected ones.
+    *
+    * @param expectedSteps
+    *           The expected {@link JournalStep}s
+    * @param actualSteps
+    *           The actual {@link JournalStep}s
+    */
+   private void assertStepsEqual(List<JournalStep> expectedSteps, List<JournalStep> actualSteps) {
+      Assert.assertEquals(expectedSteps.size(), actualSteps.size());
+
+      for (int i = 0; i < expectedSteps.size(); i++) {
+         JournalStep expectedStep = expectedSteps.get(i);
+         JournalStep actualStep = actualSteps.get(i);
+
+         Assert.assertEquals(expectedStep.getType(), actualStep.getType());
+         Assert.assertEquals(expectedStep.getTargetOffset(), actualStep.getTargetOffset());
+         Assert.assertEquals(expectedStep.getSourceOffset(), actualStep.getSourceOffset());
+         Assert.assertEquals(expectedStep.getSize(), actualStep.getSize());
+         Assert.assertEquals(expectedStep.getBytes(), actualStep.getBytes());
+      }
+   }
+
+   /**
+    * Copies the first test file to the temporary output directory.
+    *
+    * @param testName
+    *           The name of the test, used for the name of the copy
+    * @return The {@link Path} of the copy
+    */
+   private Path copyTestFile(String testName) {
+      Path copiedFile = TestMedia.TEST_FILE_TEMP_OUTPUT_DIRECTORY_PATH
+         .resolve(getClass().getSimpleName() + "_" + testName + ".txt");
+
+      try {
+         Files.deleteIfExists(copiedFile.resolveSibling(copiedFile.getFileName() + FileMedium.FLUSH_JOURNAL_FILE_SUFFIX));
+
+         return Files.copy(TestMedia.FIRST_TEST_FILE_PATH, copiedFile, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not copy test file to " + copiedFile, e);
+      }
+   }
+
+   /**
+    * Creates a {@link StandardMediumStore} for the given {@link FileMedium}, which never writes checkpoints due to the
+    * checkpoint interval, and whose {@link FileMediumAccessor} simulates a crash of the process after the given number
+    * of medium accesses.
+    *
+    * @param medium
+    *           The {@link FileMedium}
+    * @param transfersUntilCrash
+    *           The number of transfers after which the crash happens
+    * @param writesUntilCrash
+    *           The number of single buffer writes after which the crash happens, the last one only writing half of its
+    *           bytes
+    * @return The {@link MediumStore}
+    */
+   private MediumStore createCrashingMediumStore(FileMedium medium, int transfersUntilCrash, int writesUntilCrash) {
+      FileMediumAccessor mediumAccessor = new FileMediumAccessor(medium) {
+
+         private int transferCount;
+
+         private int writeCount;
+
+         @Override
+         public void transfer(MediumOffset sourceOffset, int numberOfBytes) throws EndOfMediumException {
+            super.transfer(sourceOffset, numberOfBytes);
+
+            if (++transferCount == transfersUntilCrash) {
+               throw new IllegalStateException("Simulated crash");
+            }
+         }
+
+         @Override
+         public void write(ByteBuffer buffer) {
+            if (++writeCount == writesUntilCrash) {
+               ByteBuffer firstHalf = buffer.duplicate();
+               firstHalf.limit(firstHalf.position() + firstHalf.remaining() / 2);
+
+               super.write(firstHalf);
+
+               throw new IllegalStateException("Simulated crash");
+            }
+
+            super.write(buffer);
+         }
+      };
+
+      MediumOffsetFactory offsetFactory = new MediumOffsetFactory(medium);
+
+      return new StandardMediumStore<>(mediumAccessor,
+         new MediumCache(medium, medium.getMaxCacheSizeInBytes(), medium.getMaxReadWriteBlockSizeInBytes()),
+         offsetFactory, new MediumChangeManager(offsetFactory), null,
+         new FlushJournal(medium.getFlushJournalPath(), mediumAccessor::force, Long.MAX_VALUE));
+   }
+
+   /**
+    * Creates a journaled, writable {@link FileMedium}.
+    *
+    * @param file
+    *           The {@link Path} of the file
+    * @return The {@link FileMedium}
+    */
+   private FileMedium createJournaledMedium(Path file) {
+      return new FileMedium(file, MediumAccessType.READ_WRITE, Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES,
+         Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES, FileMediumAccessMode.FILE_CHANNEL,
+         FileMedium.NO_READ_AHEAD, true);
+   }
+
+   /**
+    * Creates a journaled, writable {@link FileMedium} with a read-write block size of 100 bytes and a cache too small
+    * for caching shifted bytes, i.e. shifts are done block by block directly on the medium.
+    *
+    * @param file
+    *           The {@link Path} of the file
+    * @return The {@link FileMedium}
+    */
+   private FileMedium createSmallBlockJournaledMedium(Path file) {
+      return new FileMedium(file, MediumAccessType.READ_WRITE, 100, 100, FileMediumAccessMode.FILE_CHANNEL,
+         FileMedium.NO_READ_AHEAD, true);
+   }
+
+   /**
+    * Creates a {@link MediumStore} for the given {@link FileMedium}.
+    *
+    * @param medium
+    *           The {@link FileMedium}
+    * @return The {@link MediumStore}
+    */
+   private MediumStore createMediumStore(FileMedium medium) {
+      return new StandardMediaAPI().createMediumStore(medium);
+   }
+
+   /**
+    * Creates a {@link FlushJournal} counting its medium synchronizations.
+    *
+    * @param journalPath
+    *           The {@link Path} of the journal file
+    * @param checkpointIntervalInBytes
+    *           The checkpoint interval
+    * @return The {@link FlushJournal} under test
+    */
+   private FlushJournal createTestling(Path journalPath, long checkpointIntervalInBytes) {
+      return new FlushJournal(journalPath, () -> synchronizationCount++, checkpointIntervalInBytes);
+   }
+
+   /**
+    * Inserts the given bytes and flushes the given {@link MediumStore}, expecting a simulated crash during the flush.
+    *
+    * @param store
+    *           The {@link MediumStore} simulating a crash
+    * @param insertionOffset
+    *           The offset to insert the bytes at
+    * @param insertedBytes
+    *           The bytes to insert
+    */
+   private void interruptFlushAfterInsertion(MediumStore store, int insertionOffset, byte[] insertedBytes) {
+      store.open();
+
+      try {
+         store.insertData(store.createMediumOffset(insertionOffset), ByteBuffer.wrap(insertedBytes));
+         store.flush();
+
+         Assert.fail("Expected a simulated crash");
+      } catch (IllegalStateException e) {
+         Assert.assertEquals("Simulated crash", e.getMessage());
+      } finally {
+         store.close();
+      }
+   }
+
+   /**
+    * Returns the {@link Path} of a journal file that does not exist yet.
+    *
+    * @param testName
+    *           The name of the test, used for the name of the journal file
+    * @return The {@link Path} of the journal file
+    */
+   private Path getJournalPath(String testName) {
+      Path journalPath = TestMedia.TEST_FILE_TEMP_OUTPUT_DIRECTORY_PATH
+         .resolve(getClass().getSimpleName() + "_" + testName + FileMedium.FLUSH_JOURNAL_FILE_SUFFIX);
+
+      try {
+         Files.deleteIfExists(journalPath);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not delete journal " + journalPath, e);
+      }
+
+      journalPaths.add(journalPath);
+
+      return journalPath;
+   }
+}
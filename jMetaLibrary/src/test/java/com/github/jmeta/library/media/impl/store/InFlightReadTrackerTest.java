@@ -0,0 +1,245 @@
+/**
+ *
+ * {@link InFlightReadTrackerTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+
+/**
+ * {@link InFlightReadTrackerTest} tests the {@link InFlightReadTracker} class, both standalone and used by a
+ * {@link StandardMediumStore}.
+ */
+public class InFlightReadTrackerTest {
+
+   private static final int MEDIUM_LENGTH = 1000;
+
+   private static final byte[] MEDIUM_BYTES = new byte[InFlightReadTrackerTest.MEDIUM_LENGTH];
+
+   static {
+      for (int i = 0; i < InFlightReadTrackerTest.MEDIUM_BYTES.length; i++) {
+         InFlightReadTrackerTest.MEDIUM_BYTES[i] = (byte) i;
+      }
+   }
+
+   /**
+    * {@link ManualBlockReader} records all reads started and completes them only on request.
+    */
+   private static class ManualBlockReader implements InFlightReadTracker.AsynchronousBlockReader {
+
+      private final List<long[]> readsStarted = new ArrayList<>();
+
+      private final List<CompletableFuture<ByteBuffer>> pendingReads = new ArrayList<>();
+
+      /**
+       * @see com.github.jmeta.library.media.impl.store.InFlightReadTracker.AsynchronousBlockReader#readBlockAsync(long,
+       *      int)
+       */
+      @Override
+      public CompletableFuture<ByteBuffer> readBlockAsync(long offset, int numberOfBytes) {
+         readsStarted.add(new long[] { offset, numberOfBytes });
+
+         CompletableFuture<ByteBuffer> pendingRead = new CompletableFuture<>();
+
+         pendingReads.add(pendingRead);
+
+         return pendingRead;
+      }
+
+      /**
+       * Completes all reads started so far with the bytes of the medium.
+       */
+      public void completeAll() {
+         for (int i = 0; i < pendingReads.size(); i++) {
+            int offset = (int) readsStarted.get(i)[0];
+            int size = (int) Math.min(readsStarted.get(i)[1], InFlightReadTrackerTest.MEDIUM_LENGTH - offset);
+
+            pendingReads.get(i).complete(ByteBuffer.wrap(InFlightReadTrackerTest.MEDIUM_BYTES, offset, size).slice());
+         }
+      }
+   }
+
+   /**
+    * Tests {@link InFlightReadTracker#read(long, int)}.
+    */
+   @Test
+   public void read_rangeOverlappingReadsInFlight_readsOnlyBytesNotInFlight() throws Exception {
+      ManualBlockReader blockReader = new ManualBlockReader();
+
+      InFlightReadTracker testling = new InFlightReadTracker(blockReader);
+
+      CompletableFuture<ByteBuffer> firstRead = testling.read(100, 100);
+      CompletableFuture<ByteBuffer> secondRead = testling.read(300, 100);
+      CompletableFuture<ByteBuffer> overlappingRead = testling.read(150, 300);
+
+      Assert.assertEquals(4, blockReader.readsStarted.size());
+      Assert.assertArrayEquals(new long[] { 200, 100 }, blockReader.readsStarted.get(2));
+      Assert.assertArrayEquals(new long[] { 400, 50 }, blockReader.readsStarted.get(3));
+      Assert.assertFalse(overlappingRead.isDone());
+
+      blockReader.completeAll();
+
+      assertBytesEqualMediumBytes(100, 100, firstRead.get());
+      assertBytesEqualMediumBytes(300, 100, secondRead.get());
+      assertBytesEqualMediumBytes(150, 300, overlappingRead.get());
+   }
+
+   /**
+    * Tests {@link InFlightReadTracker#read(long, int)}.
+    */
+   @Test
+   public void read_rangeBeyondEndOfMedium_returnsBytesUntilEndOfMedium() throws Exception {
+      ManualBlockReader blockReader = new ManualBlockReader();
+
+      InFlightReadTracker testling = new InFlightReadTracker(blockReader);
+
+      testling.read(900, 50);
+
+      CompletableFuture<ByteBuffer> readBeyondEnd = testling.read(920, 200);
+
+      blockReader.completeAll();
+
+      assertBytesEqualMediumBytes(920, 80, readBeyondEnd.get());
+   }
+
+   /**
+    * Tests {@link InFlightReadTracker#takeCompletedReads()}.
+    */
+   @Test
+   public void takeCompletedReads_someReadsCompleted_returnsAndRemovesOnlyCompletedReads() {
+      ManualBlockReader blockReader = new ManualBlockReader();
+
+      InFlightReadTracker testling = new InFlightReadTracker(blockReader);
+
+      testling.read(0, 100);
+
+      blockReader.completeAll();
+
+      testling.read(500, 100);
+
+      NavigableMap<Long, ByteBuffer> completedReads = testling.takeCompletedReads();
+
+      Assert.assertEquals(Arrays.asList(0L), new ArrayList<>(completedReads.keySet()));
+      assertBytesEqualMediumBytes(0, 100, completedReads.get(0L));
+      Assert.assertTrue(testling.takeCompletedReads().isEmpty());
+
+      // The completed read is not in flight anymore and is therefore read again
+      testling.read(0, 100);
+
+      Assert.assertEquals(3, blockReader.readsStarted.size());
+   }
+
+   /**
+    * Tests {@link InFlightReadTracker#cancel()}.
+    */
+   @Test
+   public void cancel_readsInFlight_completesReadsExceptionallyAndDropsThem() {
+      ManualBlockReader blockReader = new ManualBlockReader();
+
+      InFlightReadTracker testling = new InFlightReadTracker(blockReader);
+
+      CompletableFuture<ByteBuffer> read = testling.read(0, 100);
+
+      testling.cancel();
+
+      blockReader.completeAll();
+
+      Assert.assertTrue(read.isCompletedExceptionally());
+      Assert.assertTrue(testling.takeCompletedReads().isEmpty());
+   }
+
+   /**
+    * Tests {@link MediumStore#getDataAsync(com.github.jmeta.library.media.api.types.MediumOffset, int)} for a
+    * {@link FileMedium} read using an asynchronous file channel.
+    */
+   @Test
+   public void getDataAsync_asynchronousFileMedium_returnsSameBytesAsGetData() throws Exception {
+      int blockSize = 64;
+
+      FileMedium medium = new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY, 4 * blockSize,
+         blockSize, FileMediumAccessMode.ASYNCHRONOUS_FILE_CHANNEL);
+
+      StandardMediaAPI mediaAPI = new StandardMediaAPI();
+      mediaAPI.setMinimumCacheSize(4 * blockSize);
+      mediaAPI.setMinimumReadWriteBlockSize(blockSize);
+
+      MediumStore store = mediaAPI.createMediumStore(medium);
+
+      byte[] expectedBytes = MediaTestUtility.readFileContent(TestMedia.FIRST_TEST_FILE_PATH);
+
+      int chunkSize = 37;
+
+      store.open();
+
+      try {
+         List<CompletableFuture<ByteBuffer>> chunks = new ArrayList<>();
+
+         // Overlapping chunks, all requested before waiting for any of them
+         for (int offset = 0; offset + 2 * chunkSize <= expectedBytes.length; offset += chunkSize) {
+            chunks.add(store.getDataAsync(store.createMediumOffset(offset), 2 * chunkSize));
+         }
+
+         for (int i = 0; i < chunks.size(); i++) {
+            ByteBuffer chunk = chunks.get(i).get();
+
+            Assert.assertEquals(ByteBuffer.wrap(expectedBytes, i * chunkSize, 2 * chunkSize), chunk);
+         }
+
+         store.cacheAsync(store.createMediumOffset(0), blockSize).get();
+
+         Assert.assertEquals(ByteBuffer.wrap(expectedBytes, 10, blockSize),
+            store.getData(store.createMediumOffset(10), blockSize));
+
+         try {
+            store.getDataAsync(store.createMediumOffset(expectedBytes.length - 10), 20).get();
+
+            Assert.fail("Expected " + EndOfMediumException.class);
+         } catch (ExecutionException e) {
+            EndOfMediumException cause = (EndOfMediumException) e.getCause();
+
+            Assert.assertEquals(10, cause.getByteCountActuallyRead());
+            Assert.assertEquals(ByteBuffer.wrap(expectedBytes, expectedBytes.length - 10, 10),
+               cause.getBytesReadSoFar());
+         }
+      } finally {
+         store.close();
+      }
+   }
+
+   /**
+    * Checks that the given bytes equal the bytes of the medium in the given range.
+    *
+    * @param offset
+    *           The offset of the range
+    * @param size
+    *           The size of the range
+    * @param bytes
+    *           The bytes to check
+    */
+   private void assertBytesEqualMediumBytes(int offset, int size, ByteBuffer bytes) {
+      Assert.assertEquals(ByteBuffer.wrap(InFlightReadTrackerTest.MEDIUM_BYTES, offset, size), bytes);
+   }
+}
@@ -0,0 +1,271 @@
+/**
+ *
+ * {@link ReadAheadPrefetcherTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.function.LongUnaryOperator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jmeta.library.media.api.exceptions.EndOfMediumException;
+import com.github.jmeta.library.media.api.helper.MediaTestUtility;
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+
+/**
+ * {@link ReadAheadPrefetcherTest} tests the {@link ReadAheadPrefetcher} class, both standalone and used by a
+ * {@link StandardMediumStore}.
+ */
+public class ReadAheadPrefetcherTest {
+
+   private static final int MEDIUM_LENGTH = 1000;
+
+   private static final int BLOCK_SIZE = 100;
+
+   private static final int READ_AHEAD_BLOCK_COUNT = 2;
+
+   private static final LongUnaryOperator NOTHING_CACHED = offset -> 0;
+
+   private static final byte[] MEDIUM_BYTES = new byte[ReadAheadPrefetcherTest.MEDIUM_LENGTH];
+
+   static {
+      for (int i = 0; i < ReadAheadPrefetcherTest.MEDIUM_BYTES.length; i++) {
+         ReadAheadPrefetcherTest.MEDIUM_BYTES[i] = (byte) i;
+      }
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_forwardSequentialAccess_readsNextBlocksBehindLastAccess() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 0, 10, 20);
+
+      Assert.assertEquals(Arrays.asList(30L, 130L), testling.getPendingBlockOffsets());
+
+      assertCompletedBlocks(testling, new long[] { 30L, 130L }, new int[] { 100, 100 });
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_backwardSequentialAccess_readsNextBlocksBeforeLastAccess() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 990, 980, 970);
+
+      Assert.assertEquals(Arrays.asList(770L, 870L), testling.getPendingBlockOffsets());
+
+      assertCompletedBlocks(testling, new long[] { 770L, 870L }, new int[] { 100, 100 });
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_randomAccess_readsNothingAhead() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 0, 500, 100, 800, 300);
+
+      Assert.assertTrue(testling.getPendingBlockOffsets().isEmpty());
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_nextBlockAlreadyCached_readsOnlyUncachedBlocks() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, offset -> offset >= 30 && offset < 80 ? 80 - offset : 0, 0, 10, 20);
+
+      Assert.assertEquals(Arrays.asList(80L), testling.getPendingBlockOffsets());
+
+      assertCompletedBlocks(testling, new long[] { 80L }, new int[] { 100 });
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_continuedForwardSequentialAccess_doesNotReadPendingBlocksAgain() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 0, 10, 20, 30, 40, 50, 60, 70, 80, 90, 100,
+         110, 120, 130);
+
+      Assert.assertEquals(Arrays.asList(30L, 130L, 230L), testling.getPendingBlockOffsets());
+
+      assertCompletedBlocks(testling, new long[] { 30L, 130L, 230L }, new int[] { 100, 100, 100 });
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#recordAccess(long, int, long, LongUnaryOperator)}.
+    */
+   @Test
+   public void recordAccess_nearEndOfMedium_readsNothingBeyondEndOfMedium() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 930, 940, 950);
+
+      Assert.assertEquals(Arrays.asList(960L), testling.getPendingBlockOffsets());
+
+      assertCompletedBlocks(testling, new long[] { 960L }, new int[] { 40 });
+   }
+
+   /**
+    * Tests {@link ReadAheadPrefetcher#cancel()}.
+    */
+   @Test
+   public void cancel_afterReadingAhead_dropsAllBlocksAndRestartsDetection() {
+      ReadAheadPrefetcher testling = createTestling();
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 0, 10, 20);
+
+      testling.cancel();
+
+      Assert.assertTrue(testling.getPendingBlockOffsets().isEmpty());
+      Assert.assertTrue(testling.takeCompletedBlocks().isEmpty());
+
+      recordAccesses(testling, ReadAheadPrefetcherTest.NOTHING_CACHED, 30);
+
+      Assert.assertTrue(testling.getPendingBlockOffsets().isEmpty());
+
+      testling.close();
+   }
+
+   /**
+    * Tests reading ahead by a {@link StandardMediumStore} reading a whole file forward and backward.
+    */
+   @Test
+   public void getData_readAheadFileMedium_returnsSameBytesAsWithoutReadAhead() {
+      int blockSize = 64;
+
+      FileMedium medium = new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY, 4 * blockSize,
+         blockSize, FileMediumAccessMode.FILE_CHANNEL, 3);
+
+      StandardMediaAPI mediaAPI = new StandardMediaAPI();
+      mediaAPI.setMinimumCacheSize(4 * blockSize);
+      mediaAPI.setMinimumReadWriteBlockSize(blockSize);
+
+      MediumStore store = mediaAPI.createMediumStore(medium);
+
+      byte[] expectedBytes = MediaTestUtility.readFileContent(TestMedia.FIRST_TEST_FILE_PATH);
+
+      int chunkSize = 37;
+
+      store.open();
+
+      try {
+         for (int offset = 0; offset + chunkSize <= expectedBytes.length; offset += chunkSize) {
+            assertStoreReturnsExpectedBytes(store, expectedBytes, offset, chunkSize);
+         }
+
+         for (int offset = expectedBytes.length - chunkSize; offset >= 0; offset -= chunkSize) {
+            assertStoreReturnsExpectedBytes(store, expectedBytes, offset, chunkSize);
+         }
+      } finally {
+         store.close();
+      }
+   }
+
+   /**
+    * Checks that {@link MediumStore#getData(com.github.jmeta.library.media.api.types.MediumOffset, int)} returns the
+    * expected bytes.
+    *
+    * @param store
+    *           The {@link MediumStore} to use
+    * @param expectedBytes
+    *           All bytes of the medium
+    * @param offset
+    *           The offset to read from
+    * @param size
+    *           The number of bytes to read
+    */
+   private void assertStoreReturnsExpectedBytes(MediumStore store, byte[] expectedBytes, int offset, int size) {
+      try {
+         ByteBuffer data = store.getData(store.createMediumOffset(offset), size);
+
+         Assert.assertEquals(ByteBuffer.wrap(expectedBytes, offset, size), data);
+      } catch (EndOfMediumException e) {
+         Assert.fail("Unexpected end of medium: " + e);
+      }
+   }
+
+   /**
+    * Waits for all blocks read ahead and checks that the expected blocks with the correct bytes are returned.
+    *
+    * @param testling
+    *           The {@link ReadAheadPrefetcher} under test
+    * @param expectedOffsets
+    *           The expected offsets of the completed blocks
+    * @param expectedSizes
+    *           The expected sizes of the completed blocks
+    */
+   private void assertCompletedBlocks(ReadAheadPrefetcher testling, long[] expectedOffsets, int[] expectedSizes) {
+      testling.awaitBlocksInRange(0, ReadAheadPrefetcherTest.MEDIUM_LENGTH);
+
+      NavigableMap<Long, ByteBuffer> completedBlocks = testling.takeCompletedBlocks();
+
+      Assert.assertEquals(expectedOffsets.length, completedBlocks.size());
+
+      for (int i = 0; i < expectedOffsets.length; i++) {
+         ByteBuffer blockBytes = completedBlocks.get(expectedOffsets[i]);
+
+         Assert.assertNotNull(blockBytes);
+         Assert.assertEquals(ByteBuffer.wrap(ReadAheadPrefetcherTest.MEDIUM_BYTES, (int) expectedOffsets[i],
+            expectedSizes[i]), blockBytes);
+      }
+
+      Assert.assertTrue(testling.getPendingBlockOffsets().isEmpty());
+
+      testling.close();
+   }
+
+   /**
+    * Creates a {@link ReadAheadPrefetcher} reading from {@link #MEDIUM_BYTES}.
+    *
+    * @return The {@link ReadAheadPrefetcher} under test
+    */
+   private ReadAheadPrefetcher createTestling() {
+      return new ReadAheadPrefetcher((offset, numberOfBytes) -> {
+         int size = (int) Math.min(numberOfBytes, ReadAheadPrefetcherTest.MEDIUM_LENGTH - offset);
+         return ByteBuffer.wrap(Arrays.copyOfRange(ReadAheadPrefetcherTest.MEDIUM_BYTES, (int) offset,
+            (int) offset + size));
+      }, ReadAheadPrefetcherTest.BLOCK_SIZE, ReadAheadPrefetcherTest.READ_AHEAD_BLOCK_COUNT);
+   }
+
+   /**
+    * Records accesses of 10 bytes each at the given offsets.
+    *
+    * @param testling
+    *           The {@link ReadAheadPrefetcher} under test
+    * @param cachedByteCountAt
+    *           The cache state to use
+    * @param offsets
+    *           The offsets accessed in the given order
+    */
+   private void recordAccesses(ReadAheadPrefetcher testling, LongUnaryOperator cachedByteCountAt, long... offsets) {
+      for (long offset : offsets) {
+         testling.recordAccess(offset, 10, ReadAheadPrefetcherTest.MEDIUM_LENGTH, cachedByteCountAt);
+      }
+   }
+}
@@ -0,0 +1,47 @@
+/**
+ *
+ * {@link ReadOnlyMemoryMappedFileMediumStoreTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.io.IOException;
+
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.AbstractReadOnlyMediumStoreTest;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor;
+import com.github.jmeta.library.media.impl.mediumAccessor.MemoryMappedFileMediumAccessor;
+
+/**
+ * {@link ReadOnlyMemoryMappedFileMediumStoreTest} tests a {@link MediumStore} backed by memory-mapped
+ * {@link FileMedium} instances.
+ */
+public class ReadOnlyMemoryMappedFileMediumStoreTest extends AbstractReadOnlyMediumStoreTest<FileMedium> {
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.AbstractMediumStoreTest#createEmptyMedium(java.lang.String)
+    */
+   @Override
+   protected FileMedium createMedium() throws IOException {
+      return new FileMedium(TestMedia.FIRST_TEST_FILE_PATH, MediumAccessType.READ_ONLY,
+         Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES, Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES,
+         FileMediumAccessMode.MEMORY_MAPPED);
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.api.services.AbstractMediumStoreTest#createMediumAccessor(com.github.jmeta.library.media.api.types.Medium)
+    */
+   @Override
+   protected MediumAccessor<FileMedium> createMediumAccessor(FileMedium mediumToUse) {
+      return new MemoryMappedFileMediumAccessor(mediumToUse);
+   }
+}
@@ -22,8 +22,13 @@ import com.github.jmeta.library.media.api.services.AbstractMediumStoreTest;
 import com.github.jmeta.library.media.api.services.MediumStore;
 import com.github.jmeta.library.media.api.types.InputStreamMedium;
 import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.cache.MediumCache;
+import com.github.jmeta.library.media.impl.cache.SpillFile;
+import com.github.jmeta.library.media.impl.changeManager.MediumChangeManager;
 import com.github.jmeta.library.media.impl.mediumAccessor.InputStreamMediumAccessor;
 import com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor;
+import com.github.jmeta.library.media.impl.offset.MediumOffsetFactory;
+import com.github.jmeta.utility.testsetup.api.exceptions.InvalidTestDataException;
 
 /**
  * {@link StreamMediumStoreTest} tests a {@link MediumStore} backed by
@@ -307,6 +312,106 @@ public class StreamMediumStoreTest extends AbstractMediumStoreTest<InputStreamMe
 		getDataNoEOMExpected(TestMedia.at(currentMedium, 10), 20);
 	}
 
+	/**
+	 * Tests {@link MediumStore#releaseCachedDataBefore(MediumOffset)}.
+	 */
+	@Test
+	public void releaseCachedDataBefore_forFilledStreamMediumWithBigCache_keepsAllCachedData() {
+		mediumStoreUnderTest = createFilledMediumStoreWithBigCache();
+
+		mediumStoreUnderTest.open();
+
+		getDataNoEOMExpected(TestMedia.at(currentMedium, 0), 50);
+
+		mediumStoreUnderTest.releaseCachedDataBefore(TestMedia.at(currentMedium, 40));
+
+		Assert.assertEquals(50, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 0)));
+	}
+
+	/**
+	 * Tests {@link MediumStore#releaseCachedDataBefore(MediumOffset)}.
+	 */
+	@Test
+	public void releaseCachedDataBefore_forStreamMediumWithSlidingWindow_removesReleasedRegionsBehindWindowOnly() {
+		int slidingWindowSize = 20;
+		int readWriteBlockSize = 10;
+
+		try {
+			currentMedium = new InputStreamMedium(new FileInputStream(TestMedia.FIRST_TEST_FILE_PATH.toFile()),
+				StreamMediumStoreTest.STREAM_BASED_FILLED_MEDIUM_NAME, 1000, readWriteBlockSize, slidingWindowSize);
+		} catch (IOException e) {
+			throw new InvalidTestDataException("Could not create filled medium due to IO Exception", e);
+		}
+
+		MediumOffsetFactory offsetFactory = new MediumOffsetFactory(currentMedium);
+
+		mediumStoreUnderTest = new StandardMediumStore<>(createMediumAccessor(currentMedium),
+			new MediumCache(currentMedium, 1000, readWriteBlockSize), offsetFactory,
+			new MediumChangeManager(offsetFactory));
+
+		String currentMediumContent = getMediumContentAsString(currentMedium);
+
+		mediumStoreUnderTest.open();
+
+		getDataNoEOMExpected(TestMedia.at(currentMedium, 0), 50);
+
+		// Released up to 40, but the sliding window keeps the 20 bytes behind the read
+		// position 50
+		mediumStoreUnderTest.releaseCachedDataBefore(TestMedia.at(currentMedium, 40));
+
+		Assert.assertEquals(0, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 0)));
+		Assert.assertEquals(0, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 29)));
+		Assert.assertEquals(20, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 30)));
+
+		// Reading on moves the sliding window, but nothing behind the released offset
+		// is removed
+		getDataNoEOMExpected(TestMedia.at(currentMedium, 50), 50);
+
+		Assert.assertEquals(60, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 40)));
+
+		assertByteBufferMatchesMediumRange(getDataNoEOMExpected(TestMedia.at(currentMedium, 40), 60),
+			TestMedia.at(currentMedium, 40), 60, currentMediumContent);
+	}
+
+	/**
+	 * Tests {@link MediumStore#getData(MediumOffset, int)}.
+	 */
+	@Test
+	public void getData_forStreamMediumWithSpillFileAndEvictedRange_returnsSpilledData() {
+		int readWriteBlockSize = 10;
+
+		try {
+			currentMedium = new InputStreamMedium(new FileInputStream(TestMedia.FIRST_TEST_FILE_PATH.toFile()),
+				StreamMediumStoreTest.STREAM_BASED_FILLED_MEDIUM_NAME, 40, readWriteBlockSize,
+				InputStreamMedium.NO_SLIDING_WINDOW, true);
+		} catch (IOException e) {
+			throw new InvalidTestDataException("Could not create filled medium due to IO Exception", e);
+		}
+
+		MediumOffsetFactory offsetFactory = new MediumOffsetFactory(currentMedium);
+		SpillFile spillFile = new SpillFile();
+
+		mediumStoreUnderTest = new StandardMediumStore<>(createMediumAccessor(currentMedium),
+			new MediumCache(currentMedium, 40, readWriteBlockSize), offsetFactory,
+			new MediumChangeManager(offsetFactory), null, null, spillFile);
+
+		String currentMediumContent = getMediumContentAsString(currentMedium);
+
+		mediumStoreUnderTest.open();
+
+		getDataNoEOMExpected(TestMedia.at(currentMedium, 0), 100);
+
+		Assert.assertEquals(0, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 0)));
+		Assert.assertTrue(spillFile.contains(0, 60));
+
+		assertByteBufferMatchesMediumRange(getDataNoEOMExpected(TestMedia.at(currentMedium, 5), 30),
+			TestMedia.at(currentMedium, 5), 30, currentMediumContent);
+
+		mediumStoreUnderTest.close();
+
+		Assert.assertEquals(0, spillFile.getFileSize());
+	}
+
 	/**
 	 * @see com.github.jmeta.library.media.api.services.AbstractMediumStoreTest#getMediumContentAsString(com.github.jmeta.library.media.api.types.Medium)
 	 */
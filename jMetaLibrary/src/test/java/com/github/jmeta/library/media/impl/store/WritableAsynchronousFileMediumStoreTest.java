@@ -0,0 +1,90 @@
+/**
+ *
+ * {@link WritableAsynchronousFileMediumStoreTest}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.library.media.impl.store;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.github.jmeta.library.media.api.helper.TestMedia;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.impl.buffer.HeapByteBufferAllocator;
+import com.github.jmeta.library.media.impl.mediumAccessor.AsynchronousFileMediumAccessor;
+import com.github.jmeta.library.media.impl.mediumAccessor.MediumAccessor;
+
+/**
+ * {@link WritableAsynchronousFileMediumStoreTest} tests a {@link MediumStore} backed by {@link FileMedium} instances
+ * that are additionally read using an asynchronous file channel.
+ */
+public class WritableAsynchronousFileMediumStoreTest extends WritableFileMediumStoreTest {
+
+   /**
+    * Tests {@link MediumStore#getDataAsync(MediumOffset, int)}.
+    *
+    * @throws Exception
+    *            in case the returned futures complete exceptionally
+    */
+   @Test
+   public void getDataAsync_forFilledMediumWithBigCache_overlappingRanges_readsEachByteOnlyOnce() throws Exception {
+      mediumStoreUnderTest = createFilledMediumStoreWithBigCache();
+
+      String currentMediumContent = getMediumContentAsString(currentMedium);
+
+      mediumStoreUnderTest.open();
+
+      CompletableFuture<ByteBuffer> firstRange = mediumStoreUnderTest.getDataAsync(TestMedia.at(currentMedium, 0),
+         100);
+      CompletableFuture<ByteBuffer> overlappingRange = mediumStoreUnderTest
+         .getDataAsync(TestMedia.at(currentMedium, 50), 100);
+
+      assertByteBufferMatchesMediumRange(firstRange.get(), TestMedia.at(currentMedium, 0), 100, currentMediumContent);
+      assertByteBufferMatchesMediumRange(overlappingRange.get(), TestMedia.at(currentMedium, 50), 100,
+         currentMediumContent);
+
+      AsynchronousFileMediumAccessor accessor = (AsynchronousFileMediumAccessor) mediumAccessorSpy;
+
+      Mockito.verify(accessor).readAtAsync(0, 100);
+      Mockito.verify(accessor).readAtAsync(100, 50);
+      Mockito.verify(accessor, Mockito.times(2)).readAtAsync(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt());
+   }
+
+   /**
+    * Tests {@link MediumStore#cacheAsync(MediumOffset, int)}.
+    *
+    * @throws Exception
+    *            in case the returned future completes exceptionally
+    */
+   @Test
+   public void cacheAsync_forFilledMediumWithBigCache_addsBytesReadToCacheWithNextRead() throws Exception {
+      mediumStoreUnderTest = createFilledMediumStoreWithBigCache();
+
+      mediumStoreUnderTest.open();
+
+      mediumStoreUnderTest.cacheAsync(TestMedia.at(currentMedium, 0), 100).get();
+
+      getDataNoEOMExpected(TestMedia.at(currentMedium, 200), 10);
+
+      Assert.assertEquals(100, mediumStoreUnderTest.getCachedByteCountAt(TestMedia.at(currentMedium, 0)));
+   }
+
+   /**
+    * @see com.github.jmeta.library.media.impl.store.WritableFileMediumStoreTest#createMediumAccessor(com.github.jmeta.library.media.api.types.FileMedium)
+    */
+   @Override
+   protected MediumAccessor<FileMedium> createMediumAccessor(FileMedium mediumToUse) {
+      return new AsynchronousFileMediumAccessor(mediumToUse, new HeapByteBufferAllocator());
+   }
+}
@@ -333,6 +333,65 @@ public class WritableFileMediumStoreTest extends AbstractWritableRandomAccessMed
       assertRangeIsNotCached(TestMedia.at(currentMedium, mediumContentAfterFlush.length()), 2000);
    }
 
+   /**
+    * Tests {@link MediumStore#flush()} after {@link MediumStore#declarePadding(MediumOffset, int)}.
+    */
+   @Test
+   public void flush_forFilledRandomAccessMediumWithSmallCache_insertInFrontOfPadding_paddingAbsorbsInsertedBytes() {
+      mediumStoreUnderTest = createFilledMediumStoreWithSmallCache();
+
+      byte[] originalContent = MediaTestUtility.readFileContent(currentMedium.getWrappedMedium());
+      byte[] insertedBytes = new byte[] { 'I', 'N', 'S', 'E', 'R', 'T' };
+
+      mediumStoreUnderTest.open();
+
+      MediumOffset paddingOffset = mediumStoreUnderTest.createMediumOffset(200);
+
+      mediumStoreUnderTest.insertData(TestMedia.at(currentMedium, 10), ByteBuffer.wrap(insertedBytes));
+      mediumStoreUnderTest.declarePadding(paddingOffset, 50);
+      mediumStoreUnderTest.flush();
+
+      Assert.assertEquals(200 + insertedBytes.length, paddingOffset.getAbsoluteMediumOffset());
+
+      mediumStoreUnderTest.close();
+
+      byte[] expectedContent = originalContent.clone();
+      System.arraycopy(insertedBytes, 0, expectedContent, 10, insertedBytes.length);
+      System.arraycopy(originalContent, 10, expectedContent, 10 + insertedBytes.length, 190);
+
+      Assert.assertArrayEquals(expectedContent, MediaTestUtility.readFileContent(currentMedium.getWrappedMedium()));
+   }
+
+   /**
+    * Tests {@link MediumStore#flush()} shifting most of the medium, which is done by rewriting the file.
+    */
+   @Test
+   public void flush_forFilledRandomAccessMediumWithSmallCache_insertAndRemoveShiftingMostBytes_rewritesFileWithExpectedContent() {
+      mediumStoreUnderTest = createFilledMediumStoreWithSmallCache();
+
+      byte[] originalContent = MediaTestUtility.readFileContent(currentMedium.getWrappedMedium());
+      byte[] insertedBytes = new byte[] { 'I', 'N', 'S', 'E', 'R', 'T' };
+
+      mediumStoreUnderTest.open();
+
+      mediumStoreUnderTest.insertData(TestMedia.at(currentMedium, 10), ByteBuffer.wrap(insertedBytes));
+      mediumStoreUnderTest.removeData(TestMedia.at(currentMedium, 500), 100);
+      mediumStoreUnderTest.flush();
+
+      mediumStoreUnderTest.close();
+
+      byte[] expectedContent = new byte[originalContent.length + insertedBytes.length - 100];
+      System.arraycopy(originalContent, 0, expectedContent, 0, 10);
+      System.arraycopy(insertedBytes, 0, expectedContent, 10, insertedBytes.length);
+      System.arraycopy(originalContent, 10, expectedContent, 10 + insertedBytes.length, 490);
+      System.arraycopy(originalContent, 600, expectedContent, 500 + insertedBytes.length,
+         originalContent.length - 600);
+
+      Assert.assertArrayEquals(expectedContent, MediaTestUtility.readFileContent(currentMedium.getWrappedMedium()));
+      Assert.assertFalse(Files.exists(currentMedium.getWrappedMedium().resolveSibling(
+         currentMedium.getWrappedMedium().getFileName() + FileMediumAccessor.REWRITTEN_FILE_SUFFIX)));
+   }
+
    /**
     * Tests {@link MediumStore#getCachedByteCountAt(MediumOffset)} and {@link MediumStore#cache(MediumOffset, int)}.
     */
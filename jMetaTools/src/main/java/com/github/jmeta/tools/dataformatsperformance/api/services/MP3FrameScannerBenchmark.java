@@ -0,0 +1,185 @@
+/**
+ *
+ * {@link MP3FrameScannerBenchmark}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+
+package com.github.jmeta.tools.dataformatsperformance.api.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.jmeta.defaultextensions.mp3.impl.MP3FrameScanner;
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.tools.benchmark.api.services.MeasurementSession;
+import com.github.jmeta.tools.benchmark.api.services.SystemNanosTimeProvider;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommand;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommandExecution;
+import com.github.jmeta.tools.benchmark.api.types.MeasurementResult;
+
+/**
+ * {@link MP3FrameScannerBenchmark} measures how a parallel scan of all frames of a big MP3 file with an
+ * {@link MP3FrameScanner} scales with the number of threads of the {@link ForkJoinPool} used.
+ *
+ * The file consists of MPEG 1 Layer III frames with 128 kbit/s and 44100 Hz only. For each thread count, the average
+ * duration of a scan and the speedup compared to a single thread is printed.
+ */
+public final class MP3FrameScannerBenchmark {
+
+   private static final int FRAME_COUNT = 160_000;
+
+   private static final byte[] FRAME_HEADER = new byte[] { (byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x00 };
+
+   private static final int FRAME_SIZE = 417;
+
+   private static final int SCAN_REPEAT_COUNT = 5;
+
+   /**
+    * Starts the benchmark from command line and prints the results to standard out.
+    *
+    * @param args
+    *           The arguments, not used
+    * @throws IOException
+    *            in case creating the benchmark file failed
+    */
+   public static void main(String[] args) throws IOException {
+      Path file = MP3FrameScannerBenchmark.createMp3File();
+
+      try {
+         MediumStore store = new StandardMediaAPI()
+            .createConcurrentMediumStore(new FileMedium(file, MediumAccessType.READ_ONLY));
+
+         store.open();
+
+         try {
+            MP3FrameScanner scanner = new MP3FrameScanner(store, 0, store.getMedium().getCurrentLength(),
+               MP3FrameScanner.DEFAULT_RANGE_SIZE_IN_BYTES);
+
+            // Warm up the JIT compiler and the operating system's file cache
+            scanner.scanSequentially();
+
+            System.out.println("Threads;Scan duration [ns];Speedup");
+
+            long singleThreadDuration = 0;
+
+            int maximumThreadCount = Runtime.getRuntime().availableProcessors();
+
+            List<Integer> threadCounts = new ArrayList<>();
+
+            for (int threadCount = 1; threadCount < maximumThreadCount; threadCount *= 2) {
+               threadCounts.add(threadCount);
+            }
+
+            threadCounts.add(maximumThreadCount);
+
+            for (int threadCount : threadCounts) {
+               long duration = MP3FrameScannerBenchmark.measureScan(scanner, threadCount);
+
+               if (threadCount == 1) {
+                  singleThreadDuration = duration;
+               }
+
+               System.out.println(threadCount + ";" + duration + ";" + ((double) singleThreadDuration / duration));
+            }
+         } finally {
+            store.close();
+         }
+      } finally {
+         Files.deleteIfExists(file);
+      }
+   }
+
+   /**
+    * Creates a temporary MP3 file consisting of {@link #FRAME_COUNT} frames with silent, i.e. zeroed, payload.
+    *
+    * @return The path of the file
+    * @throws IOException
+    *            in case writing the file failed
+    */
+   private static Path createMp3File() throws IOException {
+      Path file = Files.createTempFile(MP3FrameScannerBenchmark.class.getSimpleName(), ".mp3");
+
+      byte[] frame = new byte[MP3FrameScannerBenchmark.FRAME_SIZE];
+
+      System.arraycopy(MP3FrameScannerBenchmark.FRAME_HEADER, 0, frame, 0,
+         MP3FrameScannerBenchmark.FRAME_HEADER.length);
+
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+         for (int i = 0; i < MP3FrameScannerBenchmark.FRAME_COUNT; i++) {
+            outputStream.write(frame);
+         }
+      }
+
+      return file;
+   }
+
+   /**
+    * Measures scanning all frames with a {@link ForkJoinPool} with the given number of threads.
+    *
+    * @param scanner
+    *           The {@link MP3FrameScanner} to use
+    * @param threadCount
+    *           The number of threads of the {@link ForkJoinPool}
+    * @return The average duration of a single scan in nanoseconds
+    */
+   private static long measureScan(MP3FrameScanner scanner, int threadCount) {
+      ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+      MeasuredCommand scanCommand = new MeasuredCommand() {
+
+         @Override
+         public void execute() {
+            int frameCount = scanner.scan(pool).size();
+
+            if (frameCount != MP3FrameScannerBenchmark.FRAME_COUNT) {
+               throw new IllegalStateException(
+                  "Expected " + MP3FrameScannerBenchmark.FRAME_COUNT + " frames, but found " + frameCount);
+            }
+         }
+
+         @Override
+         public String getUniqueName() {
+            return "Scan with " + threadCount + " threads";
+         }
+      };
+
+      MeasurementSession session = new MeasurementSession(new SystemNanosTimeProvider(),
+         MP3FrameScannerBenchmark.class.getSimpleName());
+
+      MeasurementResult result;
+
+      try {
+         result = session.runMeasurement(new MeasuredCommand[] { scanCommand },
+            MP3FrameScannerBenchmark.SCAN_REPEAT_COUNT);
+      } finally {
+         pool.shutdown();
+      }
+
+      long totalDuration = 0;
+
+      for (MeasuredCommandExecution execution : result.getCommandExecutions()) {
+         if (execution.getThrowed() != null) {
+            throw new RuntimeException("Scan failed", execution.getThrowed());
+         }
+
+         totalDuration += execution.getStopTime() - execution.getStartTime();
+      }
+
+      return totalDuration / MP3FrameScannerBenchmark.SCAN_REPEAT_COUNT;
+   }
+
+   private MP3FrameScannerBenchmark() {
+   }
+}
@@ -0,0 +1,144 @@
+/**
+ *
+ * {@link FlushJournalBenchmark}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+
+package com.github.jmeta.tools.mediaperformance.api.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.github.jmeta.library.media.api.services.MediumStore;
+import com.github.jmeta.library.media.api.types.FileMedium;
+import com.github.jmeta.library.media.api.types.FileMediumAccessMode;
+import com.github.jmeta.library.media.api.types.Medium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.impl.StandardMediaAPI;
+import com.github.jmeta.tools.benchmark.api.services.MeasurementSession;
+import com.github.jmeta.tools.benchmark.api.services.SystemNanosTimeProvider;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommand;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommandExecution;
+import com.github.jmeta.tools.benchmark.api.types.MeasurementResult;
+
+/**
+ * {@link FlushJournalBenchmark} measures the overhead of journaling flushes of a {@link FileMedium}, see
+ * {@link FileMedium#isFlushJournaled()}, compared to plain flushes.
+ *
+ * Each measured command inserts bytes near the start of a file and flushes, and afterwards removes them again and
+ * flushes, i.e. both flushes shift nearly the whole file. A small shift distance needs the shifted bytes to be
+ * journaled, while a shift distance bigger than the maximum read-write block size allows journaling only the offsets.
+ */
+public final class FlushJournalBenchmark {
+
+   private static final int[] FILE_SIZES_IN_BYTES = new int[] { 1024 * 1024, 16 * 1024 * 1024 };
+
+   private static final int[] SHIFT_DISTANCES_IN_BYTES = new int[] { 10, 256 * 1024 };
+
+   private static final int FLUSH_REPEAT_COUNT = 10;
+
+   /**
+    * Starts the benchmark from command line and prints the results to standard out.
+    *
+    * @param args
+    *           The arguments, not used
+    * @throws IOException
+    *            in case creating the benchmark file failed
+    */
+   public static void main(String[] args) throws IOException {
+
+      System.out.println("File size [bytes];Shift distance [bytes];Plain flush [ns];Journaled flush [ns];Overhead [%]");
+
+      for (int fileSize : FlushJournalBenchmark.FILE_SIZES_IN_BYTES) {
+         for (int shiftDistance : FlushJournalBenchmark.SHIFT_DISTANCES_IN_BYTES) {
+            long plainDuration = FlushJournalBenchmark.measureFlush(fileSize, shiftDistance, false);
+            long journaledDuration = FlushJournalBenchmark.measureFlush(fileSize, shiftDistance, true);
+
+            System.out.println(fileSize + ";" + shiftDistance + ";" + plainDuration + ";" + journaledDuration + ";"
+               + (100 * (journaledDuration - plainDuration) / plainDuration));
+         }
+      }
+   }
+
+   /**
+    * Creates a file of the given size and measures pairs of inserting and removing bytes at its start, each followed
+    * by a flush.
+    *
+    * @param fileSize
+    *           The size of the file in bytes
+    * @param shiftDistance
+    *           The number of bytes inserted and removed
+    * @param isFlushJournaled
+    *           true to journal the flushes, false otherwise
+    * @return The average duration of a single flush in nanoseconds
+    * @throws IOException
+    *            in case creating the file failed
+    */
+   private static long measureFlush(int fileSize, int shiftDistance, boolean isFlushJournaled) throws IOException {
+      Path file = Files.createTempFile(FlushJournalBenchmark.class.getSimpleName(), ".bin");
+
+      try {
+         Files.write(file, new byte[fileSize]);
+
+         FileMedium medium = new FileMedium(file, MediumAccessType.READ_WRITE, Medium.DEFAULT_MAX_CACHE_SIZE_IN_BYTES,
+            Medium.DEFAULT_MAX_READ_WRITE_BLOCK_SIZE_IN_BYTES, FileMediumAccessMode.FILE_CHANNEL,
+            FileMedium.NO_READ_AHEAD, isFlushJournaled);
+
+         MediumStore store = new StandardMediaAPI().createMediumStore(medium);
+
+         store.open();
+
+         MeasuredCommand flushCommand = new MeasuredCommand() {
+
+            @Override
+            public void execute() {
+               store.insertData(store.createMediumOffset(100), ByteBuffer.allocate(shiftDistance));
+               store.flush();
+               store.removeData(store.createMediumOffset(100), shiftDistance);
+               store.flush();
+            }
+
+            @Override
+            public String getUniqueName() {
+               return (isFlushJournaled ? "Journaled" : "Plain") + " flush of " + fileSize + " bytes";
+            }
+         };
+
+         MeasurementSession session = new MeasurementSession(new SystemNanosTimeProvider(),
+            FlushJournalBenchmark.class.getSimpleName());
+
+         MeasurementResult result;
+
+         try {
+            result = session.runMeasurement(new MeasuredCommand[] { flushCommand },
+               FlushJournalBenchmark.FLUSH_REPEAT_COUNT);
+         } finally {
+            store.close();
+         }
+
+         long totalDuration = 0;
+
+         for (MeasuredCommandExecution execution : result.getCommandExecutions()) {
+            if (execution.getThrowed() != null) {
+               throw new RuntimeException("Flush failed", execution.getThrowed());
+            }
+
+            totalDuration += execution.getStopTime() - execution.getStartTime();
+         }
+
+         // Each execution consists of two flushes
+         return totalDuration / (2L * FlushJournalBenchmark.FLUSH_REPEAT_COUNT);
+      } finally {
+         Files.deleteIfExists(file);
+      }
+   }
+
+   private FlushJournalBenchmark() {
+   }
+}
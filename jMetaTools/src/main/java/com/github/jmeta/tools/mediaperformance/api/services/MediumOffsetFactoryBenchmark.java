@@ -0,0 +1,144 @@
+/**
+ *
+ * {@link MediumOffsetFactoryBenchmark}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+
+package com.github.jmeta.tools.mediaperformance.api.services;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.jmeta.library.media.api.types.InMemoryMedium;
+import com.github.jmeta.library.media.api.types.MediumAccessType;
+import com.github.jmeta.library.media.api.types.MediumAction;
+import com.github.jmeta.library.media.api.types.MediumActionType;
+import com.github.jmeta.library.media.api.types.MediumOffset;
+import com.github.jmeta.library.media.api.types.MediumRegion;
+import com.github.jmeta.library.media.impl.offset.MediumOffsetFactory;
+import com.github.jmeta.tools.benchmark.api.services.MeasurementSession;
+import com.github.jmeta.tools.benchmark.api.services.SystemNanosTimeProvider;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommand;
+import com.github.jmeta.tools.benchmark.api.types.MeasuredCommandExecution;
+import com.github.jmeta.tools.benchmark.api.types.MeasurementResult;
+
+/**
+ * {@link MediumOffsetFactoryBenchmark} measures the cost of updating the
+ * {@link MediumOffset}s of a {@link MediumOffsetFactory} during a flush, i.e.
+ * the cost of {@link MediumOffsetFactory#updateOffsets(MediumAction)}, depending
+ * on the number of {@link MediumOffset}s created before.
+ *
+ * Like in a long-lived medium store parsing many frames, a lot of
+ * {@link MediumOffset}s are created by advancing, but only a fixed number of
+ * them is still in use at flush time. The flush cost is expected to stay flat
+ * with a growing number of created {@link MediumOffset}s, as it only depends on
+ * the number of {@link MediumOffset}s still in use and behind the change.
+ */
+public final class MediumOffsetFactoryBenchmark {
+
+	private static final int[] CREATED_OFFSET_COUNTS = new int[] { 1_000, 10_000, 100_000, 1_000_000 };
+
+	private static final int OFFSETS_IN_USE_COUNT = 1_000;
+
+	private static final int FRAME_SIZE_IN_BYTES = 417;
+
+	private static final int UPDATE_REPEAT_COUNT = 200;
+
+	private static final ByteBuffer INSERTED_BYTES = ByteBuffer.allocate(10);
+
+	/**
+	 * Starts the benchmark from command line and prints the results to standard
+	 * out.
+	 *
+	 * @param args The arguments, not used
+	 */
+	public static void main(String[] args) {
+
+		System.out.println("Created offsets;Offsets in use;Average update duration [ns]");
+
+		for (int createdOffsetCount : MediumOffsetFactoryBenchmark.CREATED_OFFSET_COUNTS) {
+			System.out.println(createdOffsetCount + ";" + MediumOffsetFactoryBenchmark.OFFSETS_IN_USE_COUNT + ";"
+				+ MediumOffsetFactoryBenchmark.measureUpdateOffsets(createdOffsetCount));
+		}
+	}
+
+	/**
+	 * Creates the given number of {@link MediumOffset}s in a new
+	 * {@link MediumOffsetFactory}, keeping only some of them in use, and measures
+	 * pairs of inserts and removes in front of the last half of the
+	 * {@link MediumOffset}s in use.
+	 *
+	 * @param createdOffsetCount The number of {@link MediumOffset}s to create
+	 * @return The average duration of a single update in nanoseconds
+	 */
+	private static long measureUpdateOffsets(int createdOffsetCount) {
+		InMemoryMedium medium = new InMemoryMedium(new byte[0], "Benchmark", MediumAccessType.READ_WRITE);
+
+		MediumOffsetFactory factory = new MediumOffsetFactory(medium);
+
+		List<MediumOffset> offsetsInUse = new ArrayList<>();
+
+		int inUseInterval = Math.max(1, createdOffsetCount / MediumOffsetFactoryBenchmark.OFFSETS_IN_USE_COUNT);
+
+		MediumOffset currentOffset = factory.createMediumOffset(0);
+
+		for (int i = 0; i < createdOffsetCount; i++) {
+			currentOffset = currentOffset.advance(MediumOffsetFactoryBenchmark.FRAME_SIZE_IN_BYTES);
+
+			if (i % inUseInterval == 0) {
+				offsetsInUse.add(currentOffset);
+			}
+		}
+
+		System.gc();
+
+		MediumOffset changeOffset = offsetsInUse.get(offsetsInUse.size() / 2);
+
+		MediumAction insert = new MediumAction(MediumActionType.INSERT,
+			new MediumRegion(changeOffset, MediumOffsetFactoryBenchmark.INSERTED_BYTES.remaining()), 0,
+			MediumOffsetFactoryBenchmark.INSERTED_BYTES);
+		MediumAction remove = new MediumAction(MediumActionType.REMOVE,
+			new MediumRegion(changeOffset, MediumOffsetFactoryBenchmark.INSERTED_BYTES.remaining()), 1, null);
+
+		MeasuredCommand updateCommand = new MeasuredCommand() {
+
+			@Override
+			public void execute() {
+				factory.updateOffsets(insert);
+				factory.updateOffsets(remove);
+			}
+
+			@Override
+			public String getUniqueName() {
+				return "updateOffsets with " + createdOffsetCount + " created offsets";
+			}
+		};
+
+		MeasurementSession session = new MeasurementSession(new SystemNanosTimeProvider(),
+			MediumOffsetFactoryBenchmark.class.getSimpleName());
+
+		MeasurementResult result = session.runMeasurement(new MeasuredCommand[] { updateCommand },
+			MediumOffsetFactoryBenchmark.UPDATE_REPEAT_COUNT);
+
+		long totalDuration = 0;
+
+		for (MeasuredCommandExecution execution : result.getCommandExecutions()) {
+			if (execution.getThrowed() != null) {
+				throw new RuntimeException("Update of offsets failed", execution.getThrowed());
+			}
+
+			totalDuration += execution.getStopTime() - execution.getStartTime();
+		}
+
+		// Each execution consists of two updates
+		return totalDuration / (2L * MediumOffsetFactoryBenchmark.UPDATE_REPEAT_COUNT);
+	}
+
+	private MediumOffsetFactoryBenchmark() {
+	}
+}
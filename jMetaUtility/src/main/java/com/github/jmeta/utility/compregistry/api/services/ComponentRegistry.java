@@ -25,7 +25,10 @@ import com.github.jmeta.utility.dbc.api.services.Reject;
  * any time you require a provider, which would decrease performance because
  * during loading, also file I/O happens in {@link ServiceLoader}.
  *
- * Note that this class is NOT thread-safe.
+ * This class is thread-safe: Looking up services and clearing the cache are
+ * synchronized, as neither the cache nor {@link ServiceLoader}s may be accessed
+ * concurrently. Thus, media can be parsed by several threads at once, each of
+ * them looking up the services it needs.
  */
 public class ComponentRegistry {
 
@@ -36,7 +39,7 @@ public class ComponentRegistry {
 	 * re-instantiation of any {@link ServiceLoader} and the corresponding services
 	 * it loads whenever it is next requested by {@link #lookupService(Class)}.
 	 */
-	public static void clearServiceCache() {
+	public static synchronized void clearServiceCache() {
 		ComponentRegistry.SERVICE_LOADERS.clear();
 	}
 
@@ -54,7 +57,7 @@ public class ComponentRegistry {
 	 *         service interface.
 	 */
 	@SuppressWarnings("unchecked")
-	public static <S> S lookupService(Class<S> service) {
+	public static synchronized <S> S lookupService(Class<S> service) {
 		Reject.ifNull(service, "service");
 
 		ServiceLoader<S> serviceLoader = null;
@@ -0,0 +1,59 @@
+/**
+ *
+ * {@link GarbageCollectionHelper}.java
+ *
+ * @author Jens Ebert
+ *
+ * @date 17.10.2026
+ *
+ */
+package com.github.jmeta.utility.testsetup.api.services;
+
+import java.util.function.BooleanSupplier;
+
+import com.github.jmeta.utility.dbc.api.services.Reject;
+
+/**
+ * {@link GarbageCollectionHelper} helps to test code holding weakly or softly
+ * reachable objects, by requesting garbage collection until the effect expected
+ * by the test case is visible.
+ */
+public class GarbageCollectionHelper {
+
+	private static final long MAX_WAIT_MILLIS = 10000L;
+
+	private static final long WAIT_INTERVAL_MILLIS = 10L;
+
+	/**
+	 * Repeatedly requests garbage collection until the given condition is met, but
+	 * at most for {@link #MAX_WAIT_MILLIS} milliseconds. Objects only weakly
+	 * reachable are reliably collected this way, while softly reachable objects are
+	 * usually only collected when memory runs short.
+	 * 
+	 * @param condition The condition that is expected to become true after the
+	 *                  garbage collector ran, must not be null
+	 * @return true if the condition was met in time, false otherwise
+	 */
+	public static boolean collectGarbageUntil(BooleanSupplier condition) {
+		Reject.ifNull(condition, "condition");
+
+		long deadline = System.currentTimeMillis() + MAX_WAIT_MILLIS;
+
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+
+			System.gc();
+
+			try {
+				Thread.sleep(WAIT_INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return condition.getAsBoolean();
+			}
+		}
+
+		return true;
+	}
+}